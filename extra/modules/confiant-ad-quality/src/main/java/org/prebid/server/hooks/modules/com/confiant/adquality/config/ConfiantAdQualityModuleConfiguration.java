@@ -4,8 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.BidScanResultCache;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.BidsScanner;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisClient;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisCommandBatcher;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisScanStateChecker;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConnectionConfig;
@@ -36,6 +38,10 @@ public class ConfiantAdQualityModuleConfiguration {
             @Value("${hooks.modules.confiant-ad-quality.scan-state-check-interval}") int scanStateCheckInterval,
             @Value("${hooks.modules.confiant-ad-quality.bidders-to-exclude-from-scan}")
             List<String> biddersToExcludeFromScan,
+            @Value("${hooks.modules.confiant-ad-quality.redis-batch.max-wait-ms}") long redisBatchMaxWaitMs,
+            @Value("${hooks.modules.confiant-ad-quality.redis-batch.max-size}") int redisBatchMaxSize,
+            @Value("${hooks.modules.confiant-ad-quality.scan-result-cache.size}") long scanResultCacheSize,
+            @Value("${hooks.modules.confiant-ad-quality.scan-result-cache.ttl-seconds}") int scanResultCacheTtlSeconds,
             RedisConfig redisConfig,
             RedisRetryConfig retryConfig,
             Vertx vertx,
@@ -59,7 +65,21 @@ public class ConfiantAdQualityModuleConfiguration {
                 retryConfig,
                 "read node");
 
-        final BidsScanner bidsScanner = new BidsScanner(writeRedisNode, readRedisNode, apiKey, objectMapper);
+        final boolean isRedisBatchEnabled = redisBatchMaxWaitMs > 0;
+        final BidsScanner bidsScanner = new BidsScanner(
+                writeRedisNode,
+                readRedisNode,
+                isRedisBatchEnabled
+                        ? new RedisCommandBatcher(writeRedisNode, vertx, redisBatchMaxWaitMs, redisBatchMaxSize)
+                        : null,
+                isRedisBatchEnabled
+                        ? new RedisCommandBatcher(readRedisNode, vertx, redisBatchMaxWaitMs, redisBatchMaxSize)
+                        : null,
+                scanResultCacheSize > 0
+                        ? new BidScanResultCache(scanResultCacheSize, scanResultCacheTtlSeconds)
+                        : null,
+                apiKey,
+                objectMapper);
         final RedisScanStateChecker redisScanStateChecker = new RedisScanStateChecker(
                 bidsScanner, scanStateCheckInterval, vertx);
 
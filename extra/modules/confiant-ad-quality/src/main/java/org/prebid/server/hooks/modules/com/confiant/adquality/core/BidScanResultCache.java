@@ -0,0 +1,77 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.openrtb.response.Bid;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Keeps scan results of creatives already known to Confiant, so that bids with the same creative
+ * are not submitted to Redis again until the result expires.
+ * <p>
+ * Creative is identified by the bidder and the hash of its markup and creative id. Bids without markup
+ * are never cached, since their creative is not known until it is fetched by the win notice.
+ */
+public class BidScanResultCache {
+
+    private final Cache<CreativeKey, BidScanResult> cache;
+
+    public BidScanResultCache(long size, int ttlSeconds) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Scan result cache size should be positive: " + size);
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Scan result cache ttl should be positive: " + ttlSeconds);
+        }
+
+        cache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Returns scan result of the bid creative or null when there is no one.
+     */
+    public BidScanResult get(String dspId, Bid bid) {
+        final CreativeKey key = CreativeKey.of(dspId, bid);
+        final BidScanResult cachedResult = key != null ? cache.getIfPresent(key) : null;
+        return cachedResult != null ? copyForBid(cachedResult, bid) : null;
+    }
+
+    /**
+     * Remembers scan result of the bid creative, unless the creative is not known to Confiant yet.
+     */
+    public void put(String dspId, Bid bid, BidScanResult result) {
+        final CreativeKey key = CreativeKey.of(dspId, bid);
+        if (key != null && result != null && !result.isRoSkipped()) {
+            cache.put(key, copyForBid(result, null));
+        }
+    }
+
+    private static BidScanResult copyForBid(BidScanResult result, Bid bid) {
+        final BidScanResult copy = new BidScanResult();
+        copy.setTagKey(result.getTagKey());
+        copy.setImpId(bid != null ? bid.getImpid() : null);
+        copy.setIssues(result.getIssues());
+        return copy;
+    }
+
+    private record CreativeKey(String dspId, long hashHigh, long hashLow) {
+
+        static CreativeKey of(String dspId, Bid bid) {
+            if (bid == null || StringUtils.isEmpty(bid.getAdm())) {
+                return null;
+            }
+
+            final String creative = StringUtils.defaultString(bid.getCrid()) + '\0' + bid.getAdm();
+            final long[] hash = MurmurHash3.hash128x64(creative.getBytes(StandardCharsets.UTF_8));
+            return new CreativeKey(dspId, hash[0], hash[1]);
+        }
+    }
+}
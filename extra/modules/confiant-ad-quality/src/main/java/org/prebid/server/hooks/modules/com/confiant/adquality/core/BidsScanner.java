@@ -2,16 +2,33 @@ package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.redis.client.Command;
 import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidResponseData;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
+/**
+ * Submits bids of the auction to Confiant Redis for scanning.
+ * <p>
+ * When {@link RedisCommandBatcher}s are given, commands of concurrent auctions are pipelined to each node
+ * instead of being sent one by one. When {@link BidScanResultCache} is given, bids with creatives already
+ * known to Confiant are answered locally and are not submitted at all.
+ */
 public class BidsScanner {
 
     private final RedisParser redisParser;
@@ -26,14 +43,35 @@ public class BidsScanner {
 
     private final ObjectMapper objectMapper;
 
+    private final RedisCommandBatcher writeNodeBatcher;
+
+    private final RedisCommandBatcher readNodeBatcher;
+
+    private final BidScanResultCache bidScanResultCache;
+
+    public BidsScanner(
+            RedisClient writeRedisNode,
+            RedisClient readRedisNode,
+            String apiKey,
+            ObjectMapper objectMapper) {
+
+        this(writeRedisNode, readRedisNode, null, null, null, apiKey, objectMapper);
+    }
+
     public BidsScanner(
             RedisClient writeRedisNode,
             RedisClient readRedisNode,
+            RedisCommandBatcher writeNodeBatcher,
+            RedisCommandBatcher readNodeBatcher,
+            BidScanResultCache bidScanResultCache,
             String apiKey,
             ObjectMapper objectMapper) {
 
         this.writeRedisNode = writeRedisNode;
         this.readRedisNode = readRedisNode;
+        this.writeNodeBatcher = writeNodeBatcher;
+        this.readNodeBatcher = readNodeBatcher;
+        this.bidScanResultCache = bidScanResultCache;
         this.apiKey = apiKey;
         this.objectMapper = objectMapper;
         this.redisParser = new RedisParser(objectMapper);
@@ -60,17 +98,37 @@ public class BidsScanner {
             return Future.succeededFuture(getEmptyScanResult());
         }
 
-        return readRedisNodeAPI.get("function_submit_bids")
+        if (bidScanResultCache == null) {
+            return submitToRedis(bids, readRedisNodeAPI);
+        }
+
+        final List<BidScanResult> cachedResults = getCachedResults(bids);
+        final RedisBidsData bidsToScan = withoutCachedBids(bids, cachedResults);
+
+        if (bidsToScan.getBresps().isEmpty()) {
+            return Future.succeededFuture(BidsScanResult.builder()
+                    .bidScanResults(cachedResults)
+                    .debugMessages(Collections.emptyList())
+                    .build());
+        }
+
+        return submitToRedis(bidsToScan, readRedisNodeAPI)
+                .map(scanResult -> mergeWithCachedResults(scanResult, cachedResults));
+    }
+
+    private Future<BidsScanResult> submitToRedis(RedisBidsData bids, RedisAPI readRedisNodeAPI) {
+        return send(readRedisNodeAPI, readNodeBatcher, Command.GET, List.of("function_submit_bids"))
                 .map(Response::toString)
                 .map(response -> List.of(response, "0", toBidsAsJson(bids), apiKey, "true"))
-                .compose(args -> scanBids(args, readRedisNodeAPI))
+                .compose(args -> scanBids(args, bids, readRedisNodeAPI))
                 .otherwise(ignored -> getEmptyScanResult());
     }
 
-    private Future<BidsScanResult> scanBids(List<String> args, RedisAPI redisAPI) {
-        return redisAPI.evalsha(args)
+    private Future<BidsScanResult> scanBids(List<String> args, RedisBidsData bids, RedisAPI redisAPI) {
+        return send(redisAPI, readNodeBatcher, Command.EVALSHA, args)
                 .map(Response::toString)
                 .map(redisParser::parseBidsScanResult)
+                .map(parsedResult -> cacheKnownCreatives(bids, parsedResult))
                 .compose(parsedResult -> parsedResult.getBidScanResults()
                         .stream().anyMatch(BidScanResult::isRoSkipped)
                         ? reSubmitBidsToWriteNode(args)
@@ -84,11 +142,113 @@ public class BidsScanner {
         }
 
         final List<String> writeArgs = readArgs.stream().limit(4).toList();
-        return writeRedisAPI.evalsha(writeArgs)
+        return send(writeRedisAPI, writeNodeBatcher, Command.EVALSHA, writeArgs)
                 .map(Response::toString)
                 .map(redisParser::parseBidsScanResult);
     }
 
+    private static Future<Response> send(RedisAPI redisAPI,
+                                         RedisCommandBatcher batcher,
+                                         Command command,
+                                         List<String> args) {
+
+        if (batcher == null) {
+            return redisAPI.send(command, args.toArray(String[]::new));
+        }
+
+        final Request request = Request.cmd(command);
+        args.forEach(request::arg);
+        return batcher.send(request);
+    }
+
+    private List<BidScanResult> getCachedResults(RedisBidsData bids) {
+        return flatBids(bids).stream()
+                .map(dspBid -> bidScanResultCache.get(dspBid.dspId(), dspBid.bid()))
+                .toList();
+    }
+
+    private static RedisBidsData withoutCachedBids(RedisBidsData bids, List<BidScanResult> cachedResults) {
+        final List<RedisBidResponseData> bidResponsesToScan = new ArrayList<>();
+        int index = 0;
+        for (RedisBidResponseData bidResponseData : bids.getBresps()) {
+            final List<Bid> bidsToScan = new ArrayList<>();
+            for (Bid bid : getBids(bidResponseData)) {
+                if (cachedResults.get(index++) == null) {
+                    bidsToScan.add(bid);
+                }
+            }
+
+            if (!bidsToScan.isEmpty()) {
+                bidResponsesToScan.add(withBids(bidResponseData, bidsToScan));
+            }
+        }
+
+        return bids.toBuilder().bresps(bidResponsesToScan).build();
+    }
+
+    private static RedisBidResponseData withBids(RedisBidResponseData bidResponseData, List<Bid> bids) {
+        final BidResponse bidResponse = bidResponseData.getBidresponse();
+        return bidResponseData.toBuilder()
+                .bidresponse(bidResponse.toBuilder()
+                        .seatbid(Collections.singletonList(bidResponse.getSeatbid().getFirst().toBuilder()
+                                .bid(bids)
+                                .build()))
+                        .build())
+                .build();
+    }
+
+    private BidsScanResult cacheKnownCreatives(RedisBidsData bids, BidsScanResult scanResult) {
+        if (bidScanResultCache == null) {
+            return scanResult;
+        }
+
+        final List<DspBid> dspBids = flatBids(bids);
+        final List<BidScanResult> bidScanResults = scanResult.getBidScanResults();
+        if (dspBids.size() == bidScanResults.size()) {
+            for (int i = 0; i < dspBids.size(); i++) {
+                bidScanResultCache.put(dspBids.get(i).dspId(), dspBids.get(i).bid(), bidScanResults.get(i));
+            }
+        }
+
+        return scanResult;
+    }
+
+    private static BidsScanResult mergeWithCachedResults(BidsScanResult scanResult,
+                                                         List<BidScanResult> cachedResults) {
+
+        final Iterator<BidScanResult> scannedResults = scanResult.getBidScanResults().iterator();
+        final List<BidScanResult> bidScanResults = new ArrayList<>(cachedResults.size());
+        for (BidScanResult cachedResult : cachedResults) {
+            if (cachedResult != null) {
+                bidScanResults.add(cachedResult);
+            } else {
+                // bid without result is treated as not having issues, the same way as when scan fails
+                bidScanResults.add(scannedResults.hasNext() ? scannedResults.next() : new BidScanResult());
+            }
+        }
+
+        return BidsScanResult.builder()
+                .bidScanResults(bidScanResults)
+                .debugMessages(scanResult.getDebugMessages())
+                .build();
+    }
+
+    private static List<DspBid> flatBids(RedisBidsData bids) {
+        return bids.getBresps().stream()
+                .flatMap(bidResponseData -> getBids(bidResponseData).stream()
+                        .map(bid -> new DspBid(bidResponseData.getDspId(), bid)))
+                .toList();
+    }
+
+    private static List<Bid> getBids(RedisBidResponseData bidResponseData) {
+        final BidResponse bidResponse = bidResponseData.getBidresponse();
+        final List<SeatBid> seatBids = bidResponse != null ? bidResponse.getSeatbid() : null;
+
+        return CollectionUtils.isEmpty(seatBids)
+                ? Collections.emptyList()
+                : ListUtils.emptyIfNull(seatBids.getFirst().getBid());
+    }
+
     public Future<Boolean> isScanDisabledFlag() {
         final RedisAPI redisAPI = this.readRedisNode.getRedisAPI();
         if (redisAPI == null) {
@@ -115,4 +275,7 @@ public class BidsScanner {
                 .debugMessages(Collections.emptyList())
                 .build();
     }
+
+    private record DspBid(String dspId, Bid bid) {
+    }
 }
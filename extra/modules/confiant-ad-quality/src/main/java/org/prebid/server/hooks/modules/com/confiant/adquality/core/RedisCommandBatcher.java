@@ -0,0 +1,67 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.prebid.server.vertx.MicroBatcher;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Pipelines commands sent to one Redis node by concurrent auctions.
+ * <p>
+ * Commands are collected by {@link MicroBatcher} and written to the node at once, replies are matched back
+ * to commands by their order. Redis client fails the whole batch when any reply is an error, so when the batch fails
+ * its commands are written once more one by one, and only the commands failing on their own fail.
+ */
+public class RedisCommandBatcher {
+
+    private final RedisClient redisClient;
+    private final MicroBatcher<RedisClient, Request, Response> batcher;
+
+    public RedisCommandBatcher(RedisClient redisClient, Vertx vertx, long maxWaitMs, int maxBatchSize) {
+        if (maxWaitMs <= 0) {
+            throw new IllegalArgumentException("Redis batch max wait should be positive: " + maxWaitMs);
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Redis batch max size should be positive: " + maxBatchSize);
+        }
+
+        this.redisClient = Objects.requireNonNull(redisClient);
+        this.batcher = new MicroBatcher<>(vertx, maxWaitMs, maxBatchSize, request -> 1, this::write);
+    }
+
+    public Future<Response> send(Request request) {
+        return batcher.submit(redisClient, request);
+    }
+
+    private List<Future<Response>> write(RedisClient node, List<Request> requests) {
+        final Future<List<Response>> batchResult = node.batch(requests);
+
+        return IntStream.range(0, requests.size())
+                .mapToObj(index -> batchResult.transform(result -> reply(node, requests, index, result)))
+                .toList();
+    }
+
+    private Future<Response> reply(RedisClient node,
+                                   List<Request> requests,
+                                   int index,
+                                   AsyncResult<List<Response>> result) {
+
+        if (result.failed()) {
+            return requests.size() > 1
+                    ? write(node, List.of(requests.get(index))).getFirst()
+                    : Future.failedFuture(result.cause());
+        }
+
+        final List<Response> replies = result.result();
+        return replies.size() == requests.size()
+                ? Future.succeededFuture(replies.get(index))
+                : Future.failedFuture("Expected %d replies from Confiant Redis, but got %d"
+                        .formatted(requests.size(), replies.size()));
+    }
+}
@@ -2,11 +2,14 @@ package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.redis.client.Command;
 import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
 import io.vertx.redis.client.Response;
 import io.vertx.redis.client.ResponseType;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,16 +18,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.GroupByIssues;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidResponseData;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.prebid.server.hooks.modules.com.confiant.adquality.util.AdQualityModuleTestUtils.getBidderResponse;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +48,12 @@ public class BidsScannerTest {
     @Mock
     private RedisAPI redisAPI;
 
+    @Mock
+    private RedisCommandBatcher writeNodeBatcher;
+
+    @Mock
+    private RedisCommandBatcher readNodeBatcher;
+
     private BidsScanner bidsScannerTest;
 
     @BeforeEach
@@ -248,6 +263,154 @@ public class BidsScannerTest {
         assertThat(groupByIssues.getWithoutIssues().size()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldSendCommandsThroughBatcherWhenBatcherIsGiven() {
+        // given
+        bidsScannerTest = new BidsScanner(
+                writeRedisNode, readRedisNode, writeNodeBatcher, readNodeBatcher, null, "api-key", new ObjectMapper());
+        bidsScannerTest.enableScan();
+        doReturn(redisAPI).when(readRedisNode).getRedisAPI();
+        given(readNodeBatcher.send(any())).willReturn(
+                Future.succeededFuture(givenResponse("sha")),
+                Future.succeededFuture(givenResponse("[[[{\"tag_key\": \"key_a\", \"imp_id\": \"imp_a\"}]]]")));
+
+        // when
+        final Future<BidsScanResult> scanResult = bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm"));
+
+        // then
+        assertThat(scanResult.result().getBidScanResults())
+                .extracting(BidScanResult::getTagKey)
+                .containsExactly("key_a");
+        verify(readNodeBatcher, times(2)).send(any(Request.class));
+        verifyNoInteractions(redisAPI);
+    }
+
+    @Test
+    public void shouldNotSubmitBidsWithCreativesScannedBeforeToRedis() {
+        // given
+        bidsScannerTest = givenBidsScannerWithCache();
+        final List<String> submittedBids = new ArrayList<>();
+        final RedisAPI redisAPI = getRecordingRedisEmulationWithAnswer(submittedBids, """
+                [[[{
+                    "tag_key": "key_a",
+                    "imp_id": "imp_a",
+                    "issues": [{
+                        "value": "ads.deceivenetworks.net",
+                        "spec_name": "malicious_domain",
+                        "first_adinstance": "e91e8da982bb8b7f80100426"
+                    }]
+                }]]]""");
+        doReturn(redisAPI).when(readRedisNode).getRedisAPI();
+
+        // when
+        bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm"));
+        final Future<BidsScanResult> scanResult = bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm"));
+
+        // then
+        assertThat(submittedBids).hasSize(1);
+        assertThat(scanResult.result().getBidScanResults()).singleElement()
+                .satisfies(bidScanResult -> {
+                    assertThat(bidScanResult.getTagKey()).isEqualTo("key_a");
+                    assertThat(bidScanResult.getImpId()).isEqualTo("imp_adm");
+                    assertThat(bidScanResult.getIssues()).hasSize(1);
+                });
+    }
+
+    @Test
+    public void shouldSubmitOnlyBidsWithCreativesNotScannedBeforeToRedis() {
+        // given
+        bidsScannerTest = givenBidsScannerWithCache();
+        doReturn(getRedisEmulationWithAnswer("[[[{\"tag_key\": \"key_a\", \"imp_id\": \"imp_a\"}]]]"))
+                .when(readRedisNode).getRedisAPI();
+        bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm_a"));
+
+        final List<String> submittedBids = new ArrayList<>();
+        doReturn(getRecordingRedisEmulationWithAnswer(
+                submittedBids, "[[[{\"tag_key\": \"key_b\", \"imp_id\": \"imp_b\"}]]]"))
+                .when(readRedisNode).getRedisAPI();
+
+        // when
+        final Future<BidsScanResult> scanResult = bidsScannerTest.submitBids(
+                givenBidsData("dsp_id", "adm_a", "adm_b"));
+
+        // then
+        assertThat(submittedBids).singleElement().asString()
+                .contains("adm_b")
+                .doesNotContain("adm_a");
+        assertThat(scanResult.result().getBidScanResults())
+                .extracting(BidScanResult::getTagKey)
+                .containsExactly("key_a", "key_b");
+    }
+
+    @Test
+    public void shouldSubmitBidsToRedisAgainWhenCreativeWasNotKnownToConfiant() {
+        // given
+        bidsScannerTest = givenBidsScannerWithCache();
+        final List<String> submittedBids = new ArrayList<>();
+        doReturn(getRecordingRedisEmulationWithAnswer(submittedBids, """
+                [[[{
+                    "tag_key": "key_a",
+                    "imp_id": "imp_a",
+                    "ro_skipped": "true"
+                }]]]""")).when(readRedisNode).getRedisAPI();
+        doReturn(getRedisEmulationWithAnswer("[[[{\"tag_key\": \"key_a\", \"imp_id\": \"imp_a\"}]]]"))
+                .when(writeRedisNode).getRedisAPI();
+
+        // when
+        bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm"));
+        bidsScannerTest.submitBids(givenBidsData("dsp_id", "adm"));
+
+        // then
+        assertThat(submittedBids).hasSize(2);
+    }
+
+    private BidsScanner givenBidsScannerWithCache() {
+        final BidsScanner bidsScanner = new BidsScanner(
+                writeRedisNode,
+                readRedisNode,
+                null,
+                null,
+                new BidScanResultCache(100, 60),
+                "api-key",
+                new ObjectMapper());
+        bidsScanner.enableScan();
+        return bidsScanner;
+    }
+
+    private static RedisBidsData givenBidsData(String dspId, String... adms) {
+        final List<RedisBidResponseData> bidResponses = Arrays.stream(adms)
+                .map(adm -> RedisBidResponseData.builder()
+                        .dspId(dspId)
+                        .bidresponse(BidResponse.builder()
+                                .seatbid(List.of(SeatBid.builder()
+                                        .bid(List.of(Bid.builder().impid("imp_" + adm).adm(adm).build()))
+                                        .build()))
+                                .build())
+                        .build())
+                .toList();
+
+        return RedisBidsData.builder()
+                .breq(BidRequest.builder().build())
+                .bresps(bidResponses)
+                .build();
+    }
+
+    private RedisAPI getRecordingRedisEmulationWithAnswer(List<String> submittedBids, String sendAnswer) {
+        return new RedisAPI() {
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public Future<Response> send(Command command, String... strings) {
+                if (command == Command.EVALSHA) {
+                    submittedBids.add(strings[2]);
+                }
+                return Future.succeededFuture(givenResponse(sendAnswer));
+            }
+        };
+    }
+
     private RedisAPI getRedisEmulationWithAnswer(String sendAnswer) {
         return new RedisAPI() {
             @Override
@@ -256,17 +419,21 @@ public class BidsScannerTest {
 
             @Override
             public Future<Response> send(Command command, String... strings) {
-                return Future.succeededFuture(new Response() {
-                    @Override
-                    public ResponseType type() {
-                        return null;
-                    }
-
-                    @Override
-                    public String toString() {
-                        return sendAnswer;
-                    }
-                });
+                return Future.succeededFuture(givenResponse(sendAnswer));
+            }
+        };
+    }
+
+    private static Response givenResponse(String answer) {
+        return new Response() {
+            @Override
+            public ResponseType type() {
+                return null;
+            }
+
+            @Override
+            public String toString() {
+                return answer;
             }
         };
     }
@@ -0,0 +1,215 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetSocket;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link RedisCommandBatcher} over a real {@link RedisClient} connected to an in-process RESP server stub.
+ */
+public class RedisCommandBatcherRespTest {
+
+    private static final long TIMEOUT_SECONDS = 5L;
+
+    private Vertx vertx;
+
+    private RespServerStub redisServer;
+
+    private RedisClient redisClient;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        redisServer = new RespServerStub();
+        final int port = await(vertx.createNetServer()
+                .connectHandler(redisServer::connect)
+                .listen(0)
+                .map(NetServer::actualPort));
+
+        final RedisRetryConfig retryConfig = new RedisRetryConfig();
+        retryConfig.setShortIntervalAttempts(1);
+        retryConfig.setShortInterval(100);
+        retryConfig.setLongInterval(100);
+
+        redisClient = new RedisClient(vertx, "localhost", port, "password", retryConfig, "read");
+        final Promise<Void> started = Promise.promise();
+        redisClient.start(started);
+        await(started.future());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        await(vertx.close());
+    }
+
+    @Test
+    public void sendShouldPipelineCommandsOfConcurrentCalls() throws Exception {
+        // given
+        final RedisCommandBatcher target = new RedisCommandBatcher(redisClient, vertx, 50L, 2);
+        redisServer.holdRepliesUntil(2);
+
+        // when
+        final Future<Response> firstResult = target.send(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> secondResult = target.send(Request.cmd(Command.GET).arg("second"));
+
+        // then
+        assertThat(await(firstResult)).hasToString("value-of-first");
+        assertThat(await(secondResult)).hasToString("value-of-second");
+        assertThat(redisServer.commands()).containsExactly("GET first", "GET second");
+    }
+
+    @Test
+    public void sendShouldFailOnlyCommandFailingOnItsOwnWhenBatchFails() throws Exception {
+        // given
+        final RedisCommandBatcher target = new RedisCommandBatcher(redisClient, vertx, 50L, 2);
+
+        // when
+        final Future<Response> firstResult = target.send(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> secondResult = target.send(Request.cmd(Command.EVALSHA).arg("sha").arg(0));
+        await(Future.join(firstResult, secondResult).otherwiseEmpty());
+
+        // then
+        assertThat(firstResult.result()).hasToString("value-of-first");
+        assertThat(secondResult.cause()).hasMessageContaining("NOSCRIPT");
+        assertThat(redisServer.commands())
+                .containsExactly("GET first", "EVALSHA sha 0", "GET first", "EVALSHA sha 0");
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Replies to GET with a bulk string derived from the key and to EVALSHA with NOSCRIPT error. Connection
+     * handshake is answered as by a RESP2 server. Replies to GET and EVALSHA can be held until the given number
+     * of them is received, so commands written one at a time waiting for replies never complete.
+     */
+    private static class RespServerStub {
+
+        private final List<String> commands = new CopyOnWriteArrayList<>();
+
+        private volatile int repliesHeldUntil = 1;
+
+        private void holdRepliesUntil(int replies) {
+            repliesHeldUntil = replies;
+        }
+
+        private List<String> commands() {
+            return commands;
+        }
+
+        private void connect(NetSocket socket) {
+            final Connection connection = new Connection(socket);
+            socket.handler(connection::read);
+        }
+
+        private class Connection {
+
+            private final NetSocket socket;
+
+            private Buffer input = Buffer.buffer();
+
+            private Buffer heldReplies = Buffer.buffer();
+
+            private int heldRepliesCount;
+
+            private Connection(NetSocket socket) {
+                this.socket = socket;
+            }
+
+            private void read(Buffer buffer) {
+                input.appendBuffer(buffer);
+
+                List<String> command = parseCommand();
+                while (command != null) {
+                    reply(command);
+                    command = parseCommand();
+                }
+            }
+
+            private void reply(List<String> command) {
+                switch (command.getFirst().toUpperCase()) {
+                    case "HELLO" -> socket.write("-ERR unknown command 'HELLO'\r\n");
+                    case "PING" -> socket.write("+PONG\r\n");
+                    case "GET" -> hold(command, bulkString("value-of-" + command.get(1)));
+                    case "EVALSHA" -> hold(command, "-NOSCRIPT No matching script. Please use EVAL.\r\n");
+                    default -> socket.write("+OK\r\n");
+                }
+            }
+
+            private void hold(List<String> command, String reply) {
+                commands.add(String.join(" ", command));
+                heldReplies.appendString(reply);
+                heldRepliesCount++;
+
+                if (heldRepliesCount >= repliesHeldUntil) {
+                    socket.write(heldReplies);
+                    heldReplies = Buffer.buffer();
+                    heldRepliesCount = 0;
+                }
+            }
+
+            private static String bulkString(String value) {
+                return "$" + value.length() + "\r\n" + value + "\r\n";
+            }
+
+            /**
+             * Returns arguments of the next command read in full, or null if there is none yet.
+             */
+            private List<String> parseCommand() {
+                final int countEnd = lineEnd(0);
+                if (countEnd < 0) {
+                    return null;
+                }
+
+                final int count = Integer.parseInt(input.getString(1, countEnd));
+                final List<String> arguments = new ArrayList<>(count);
+                int position = countEnd + 2;
+                for (int i = 0; i < count; i++) {
+                    final int lengthEnd = lineEnd(position);
+                    if (lengthEnd < 0) {
+                        return null;
+                    }
+
+                    final int length = Integer.parseInt(input.getString(position + 1, lengthEnd));
+                    position = lengthEnd + 2;
+                    if (input.length() < position + length + 2) {
+                        return null;
+                    }
+
+                    arguments.add(input.getString(position, position + length));
+                    position += length + 2;
+                }
+
+                input = input.getBuffer(position, input.length());
+                return arguments;
+            }
+
+            private int lineEnd(int from) {
+                for (int i = from; i < input.length() - 1; i++) {
+                    if (input.getByte(i) == '\r' && input.getByte(i + 1) == '\n') {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+}
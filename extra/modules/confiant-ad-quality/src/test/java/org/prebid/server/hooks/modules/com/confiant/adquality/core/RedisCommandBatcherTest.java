@@ -0,0 +1,199 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisCommandBatcherTest {
+
+    @Mock
+    private RedisClient redisClient;
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock
+    private Response firstResponse;
+
+    @Mock
+    private Response secondResponse;
+
+    private RedisCommandBatcher target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new RedisCommandBatcher(redisClient, vertx, 5L, 3);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxWait() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new RedisCommandBatcher(redisClient, vertx, 0L, 3))
+                .withMessage("Redis batch max wait should be positive: 0");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new RedisCommandBatcher(redisClient, vertx, 5L, 0))
+                .withMessage("Redis batch max size should be positive: 0");
+    }
+
+    @Test
+    public void sendShouldWriteCommandsOfConcurrentCallsInOneBatchWhenMaxWaitIsReached() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList())).willReturn(Future.succeededFuture(List.of(firstResponse, secondResponse)));
+
+        final Request firstRequest = Request.cmd(Command.GET).arg("first");
+        final Request secondRequest = Request.cmd(Command.GET).arg("second");
+
+        // when
+        final Future<Response> firstResult = target.send(firstRequest);
+        final Future<Response> secondResult = target.send(secondRequest);
+
+        // then
+        verify(redisClient, never()).batch(anyList());
+        assertThat(firstResult.isComplete()).isFalse();
+
+        captureTimerHandler().handle(1L);
+
+        verify(redisClient).batch(List.of(firstRequest, secondRequest));
+        assertThat(firstResult.result()).isSameAs(firstResponse);
+        assertThat(secondResult.result()).isSameAs(secondResponse);
+    }
+
+    @Test
+    public void sendShouldWriteBatchRightAwayWhenMaxSizeIsReached() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList()))
+                .willReturn(Future.succeededFuture(List.of(firstResponse, firstResponse, secondResponse)));
+
+        // when
+        target.send(Request.cmd(Command.GET).arg("first"));
+        target.send(Request.cmd(Command.GET).arg("second"));
+        final Future<Response> result = target.send(Request.cmd(Command.GET).arg("third"));
+
+        // then
+        assertThat(result.result()).isSameAs(secondResponse);
+        verify(vertx).cancelTimer(1L);
+    }
+
+    @Test
+    public void sendShouldNotWriteBatchAgainWhenTimerOfWrittenBatchFires() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList()))
+                .willReturn(Future.succeededFuture(List.of(firstResponse, firstResponse, firstResponse)));
+
+        target.send(Request.cmd(Command.GET).arg("first"));
+        target.send(Request.cmd(Command.GET).arg("second"));
+        target.send(Request.cmd(Command.GET).arg("third"));
+
+        // when
+        captureTimerHandler().handle(1L);
+
+        // then
+        verify(redisClient).batch(anyList());
+    }
+
+    @Test
+    public void sendShouldFailAllCommandsOfBatchWhenBatchAndCommandsOnTheirOwnFail() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList())).willReturn(Future.failedFuture("connection is not established"));
+
+        // when
+        final Future<Response> firstResult = target.send(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> secondResult = target.send(Request.cmd(Command.GET).arg("second"));
+        captureTimerHandler().handle(1L);
+
+        // then
+        assertThat(firstResult.failed()).isTrue();
+        assertThat(secondResult.cause()).hasMessage("connection is not established");
+        verify(redisClient, times(3)).batch(anyList());
+    }
+
+    @Test
+    public void sendShouldRetryCommandsOneByOneWhenOneCommandFailsBatch() {
+        // given
+        final Request firstRequest = Request.cmd(Command.GET).arg("first");
+        final Request secondRequest = Request.cmd(Command.EVALSHA).arg("sha");
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList())).willReturn(Future.failedFuture("NOSCRIPT No matching script"));
+        given(redisClient.batch(List.of(firstRequest))).willReturn(Future.succeededFuture(List.of(firstResponse)));
+
+        // when
+        final Future<Response> firstResult = target.send(firstRequest);
+        final Future<Response> secondResult = target.send(secondRequest);
+        captureTimerHandler().handle(1L);
+
+        // then
+        verify(redisClient).batch(List.of(firstRequest, secondRequest));
+        verify(redisClient).batch(List.of(secondRequest));
+        assertThat(firstResult.result()).isSameAs(firstResponse);
+        assertThat(secondResult.cause()).hasMessage("NOSCRIPT No matching script");
+    }
+
+    @Test
+    public void sendShouldNotRetrySingleCommandBatch() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList())).willReturn(Future.failedFuture("connection is not established"));
+
+        // when
+        final Future<Response> result = target.send(Request.cmd(Command.GET).arg("first"));
+        captureTimerHandler().handle(1L);
+
+        // then
+        assertThat(result.cause()).hasMessage("connection is not established");
+        verify(redisClient).batch(anyList());
+    }
+
+    @Test
+    public void sendShouldFailAllCommandsOfBatchWhenRepliesDoNotMatchCommands() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        given(redisClient.batch(anyList())).willReturn(Future.succeededFuture(List.of(firstResponse)));
+
+        // when
+        final Future<Response> firstResult = target.send(Request.cmd(Command.GET).arg("first"));
+        final Future<Response> secondResult = target.send(Request.cmd(Command.GET).arg("second"));
+        captureTimerHandler().handle(1L);
+
+        // then
+        assertThat(firstResult.failed()).isTrue();
+        assertThat(secondResult.cause()).hasMessage("Expected 2 replies from Confiant Redis, but got 1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureTimerHandler() {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(anyLong(), timerHandlerCaptor.capture());
+        return timerHandlerCaptor.getValue();
+    }
+}
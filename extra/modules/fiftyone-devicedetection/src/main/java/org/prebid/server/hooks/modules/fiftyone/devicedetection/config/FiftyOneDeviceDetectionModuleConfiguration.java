@@ -2,6 +2,7 @@ package org.prebid.server.hooks.modules.fiftyone.devicedetection.config;
 
 import fiftyone.devicedetection.DeviceDetectionPipelineBuilder;
 import fiftyone.pipeline.core.flowelements.Pipeline;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.model.config.ModuleConfig;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.FiftyOneDeviceDetectionModule;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.core.DeviceEnricher;
@@ -34,8 +35,8 @@ public class FiftyOneDeviceDetectionModuleConfiguration {
     }
 
     @Bean
-    DeviceEnricher deviceEnricher(Pipeline pipeline) {
-        return new DeviceEnricher(pipeline);
+    DeviceEnricher deviceEnricher(Pipeline pipeline, DeviceDetectionCache deviceDetectionCache) {
+        return new DeviceEnricher(pipeline, deviceDetectionCache);
     }
 
     @Bean
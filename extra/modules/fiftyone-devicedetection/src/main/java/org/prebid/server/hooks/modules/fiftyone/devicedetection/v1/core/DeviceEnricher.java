@@ -10,7 +10,9 @@ import fiftyone.pipeline.engines.data.AspectPropertyValue;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.model.boundary.CollectedEvidence;
+import org.prebid.server.hooks.modules.fiftyone.devicedetection.v1.FiftyOneDeviceDetectionModule;
 import org.prebid.server.model.UpdateResult;
 import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
 
@@ -24,6 +26,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 public class DeviceEnricher {
@@ -31,9 +34,15 @@ public class DeviceEnricher {
     private static final String EXT_DEVICE_ID_KEY = "fiftyonedegrees_deviceId";
 
     private final Pipeline pipeline;
+    private final DeviceDetectionCache deviceDetectionCache;
 
     public DeviceEnricher(@Nonnull Pipeline pipeline) {
+        this(pipeline, null);
+    }
+
+    public DeviceEnricher(@Nonnull Pipeline pipeline, DeviceDetectionCache deviceDetectionCache) {
         this.pipeline = Objects.requireNonNull(pipeline);
+        this.deviceDetectionCache = deviceDetectionCache;
     }
 
     public static boolean shouldSkipEnriching(Device device) {
@@ -41,15 +50,40 @@ public class DeviceEnricher {
     }
 
     public EnrichmentResult populateDeviceInfo(Device device, CollectedEvidence collectedEvidence) throws Exception {
+        final Device detectedDevice = deviceDetectionCache != null
+                ? deviceDetectionCache.get(
+                        FiftyOneDeviceDetectionModule.CODE,
+                        pickRelevantFrom(collectedEvidence),
+                        () -> detectDeviceUnchecked(collectedEvidence))
+                : detectDevice(collectedEvidence);
+        if (detectedDevice == null) {
+            return null;
+        }
+
+        final Device properDevice = Optional.ofNullable(device).orElseGet(() -> Device.builder().build());
+        return patchDevice(properDevice, detectedDevice);
+    }
+
+    private Device detectDeviceUnchecked(CollectedEvidence collectedEvidence) {
+        try {
+            return detectDevice(collectedEvidence);
+        } catch (Exception e) {
+            throw e instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns device holding only the values detected from the evidence, so that it does not depend on the device
+     * of the request and can be shared between requests with the same evidence.
+     */
+    private Device detectDevice(CollectedEvidence collectedEvidence) throws Exception {
         try (FlowData data = pipeline.createFlowData()) {
             data.addEvidence(pickRelevantFrom(collectedEvidence));
             data.process();
             final DeviceData deviceData = data.get(DeviceData.class);
-            if (deviceData == null) {
-                return null;
-            }
-            final Device properDevice = Optional.ofNullable(device).orElseGet(() -> Device.builder().build());
-            return patchDevice(properDevice, deviceData);
+            return deviceData != null ? toDetectedDevice(deviceData) : null;
         }
     }
 
@@ -75,71 +109,179 @@ public class DeviceEnricher {
         return evidence;
     }
 
-    private EnrichmentResult patchDevice(Device device, DeviceData deviceData) {
+    private Device toDetectedDevice(DeviceData deviceData) {
+        final String deviceId = detectDeviceId(deviceData);
+        final ExtDevice ext = deviceId != null ? ExtDevice.empty() : null;
+        if (ext != null) {
+            ext.addProperty(EXT_DEVICE_ID_KEY, new TextNode(deviceId));
+        }
+
+        return Device.builder()
+                .devicetype(detectDeviceType(deviceData))
+                .make(detectMake(deviceData))
+                .model(detectModel(deviceData))
+                .hwv(detectDeviceHwv(deviceData))
+                .os(detectOs(deviceData))
+                .osv(detectOsv(deviceData))
+                .h(detectH(deviceData))
+                .w(detectW(deviceData))
+                .ppi(detectPpi(deviceData))
+                .pxratio(detectPixelRatio(deviceData))
+                .ext(ext)
+                .build();
+    }
+
+    private Integer detectDeviceType(DeviceData deviceData) {
+        final String rawDeviceType = getSafe(deviceData, DeviceData::getDeviceType);
+        if (rawDeviceType == null) {
+            return null;
+        }
+
+        final OrtbDeviceType properDeviceType = OrtbDeviceType.resolveFrom(rawDeviceType);
+        return properDeviceType != OrtbDeviceType.UNKNOWN ? properDeviceType.ordinal() : null;
+    }
+
+    private String detectMake(DeviceData deviceData) {
+        final String make = getSafe(deviceData, DeviceData::getHardwareVendor);
+        return StringUtils.isNotBlank(make) ? make : null;
+    }
+
+    private String detectModel(DeviceData deviceData) {
+        final String hardwareNamePrefix = getSafe(deviceData, DeviceData::getHardwareNamePrefix);
+        if (StringUtils.isNotBlank(hardwareNamePrefix)) {
+            return hardwareNamePrefix;
+        }
+
+        final String model = getSafe(deviceData, DeviceData::getHardwareModel);
+        if (StringUtils.isNotBlank(model)) {
+            return model;
+        }
+
+        final List<String> names = getSafe(deviceData, DeviceData::getHardwareName);
+        return CollectionUtils.isNotEmpty(names) ? String.join(",", names) : null;
+    }
+
+    private String detectDeviceHwv(DeviceData deviceData) {
+        final String deviceHwv = getSafe(deviceData, DeviceData::getHardwareNameVersion);
+        return StringUtils.isNotEmpty(deviceHwv) ? deviceHwv : null;
+    }
+
+    private String detectOs(DeviceData deviceData) {
+        final String os = getSafe(deviceData, DeviceData::getPlatformName);
+        return StringUtils.isNotBlank(os) ? os : null;
+    }
+
+    private String detectOsv(DeviceData deviceData) {
+        final String osv = getSafe(deviceData, DeviceData::getPlatformVersion);
+        return StringUtils.isNotBlank(osv) ? osv : null;
+    }
+
+    private Integer detectH(DeviceData deviceData) {
+        final Integer h = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
+        return isPositive(h) ? h : null;
+    }
+
+    private Integer detectW(DeviceData deviceData) {
+        final Integer w = getSafe(deviceData, DeviceData::getScreenPixelsWidth);
+        return isPositive(w) ? w : null;
+    }
+
+    private Integer detectPpi(DeviceData deviceData) {
+        final Integer pixelsHeight = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
+        if (pixelsHeight == null) {
+            return null;
+        }
+
+        final Double inchesHeight = getSafe(deviceData, DeviceData::getScreenInchesHeight);
+        return isPositive(inchesHeight) ? (int) Math.round(pixelsHeight / inchesHeight) : null;
+    }
+
+    private BigDecimal detectPixelRatio(DeviceData deviceData) {
+        final Double rawRatio = getSafe(deviceData, DeviceData::getPixelRatio);
+        return isPositive(rawRatio) ? BigDecimal.valueOf(rawRatio) : null;
+    }
+
+    private String detectDeviceId(DeviceData deviceData) {
+        final String deviceID = getSafe(deviceData, DeviceData::getDeviceId);
+        return StringUtils.isNotBlank(deviceID) ? deviceID : null;
+    }
+
+    private EnrichmentResult patchDevice(Device device, Device detectedDevice) {
         final List<String> updatedFields = new ArrayList<>();
         final Device.DeviceBuilder deviceBuilder = device.toBuilder();
 
-        final UpdateResult<Integer> resolvedDeviceType = resolveDeviceType(device, deviceData);
+        final UpdateResult<Integer> resolvedDeviceType = resolve(
+                device.getDevicetype(), DeviceEnricher::isPositive, detectedDevice.getDevicetype());
         if (resolvedDeviceType.isUpdated()) {
             deviceBuilder.devicetype(resolvedDeviceType.getValue());
             updatedFields.add("devicetype");
         }
 
-        final UpdateResult<String> resolvedMake = resolveMake(device, deviceData);
+        final UpdateResult<String> resolvedMake = resolve(
+                device.getMake(), StringUtils::isNotBlank, detectedDevice.getMake());
         if (resolvedMake.isUpdated()) {
             deviceBuilder.make(resolvedMake.getValue());
             updatedFields.add("make");
         }
 
-        final UpdateResult<String> resolvedModel = resolveModel(device, deviceData);
+        final UpdateResult<String> resolvedModel = resolve(
+                device.getModel(), StringUtils::isNotBlank, detectedDevice.getModel());
         if (resolvedModel.isUpdated()) {
             deviceBuilder.model(resolvedModel.getValue());
             updatedFields.add("model");
         }
 
-        final UpdateResult<String> resolvedHwv = resolveDeviceHwv(device, deviceData);
+        final UpdateResult<String> resolvedHwv = resolve(
+                device.getHwv(), StringUtils::isNotEmpty, detectedDevice.getHwv());
         if (resolvedHwv.isUpdated()) {
             deviceBuilder.hwv(resolvedHwv.getValue());
             updatedFields.add("hwv");
         }
 
-        final UpdateResult<String> resolvedOs = resolveOs(device, deviceData);
+        final UpdateResult<String> resolvedOs = resolve(
+                device.getOs(), StringUtils::isNotBlank, detectedDevice.getOs());
         if (resolvedOs.isUpdated()) {
             deviceBuilder.os(resolvedOs.getValue());
             updatedFields.add("os");
         }
 
-        final UpdateResult<String> resolvedOsv = resolveOsv(device, deviceData);
+        final UpdateResult<String> resolvedOsv = resolve(
+                device.getOsv(), StringUtils::isNotBlank, detectedDevice.getOsv());
         if (resolvedOsv.isUpdated()) {
             deviceBuilder.osv(resolvedOsv.getValue());
             updatedFields.add("osv");
         }
 
-        final UpdateResult<Integer> resolvedH = resolveH(device, deviceData);
+        final UpdateResult<Integer> resolvedH = resolve(
+                device.getH(), DeviceEnricher::isPositive, detectedDevice.getH());
         if (resolvedH.isUpdated()) {
             deviceBuilder.h(resolvedH.getValue());
             updatedFields.add("h");
         }
 
-        final UpdateResult<Integer> resolvedW = resolveW(device, deviceData);
+        final UpdateResult<Integer> resolvedW = resolve(
+                device.getW(), DeviceEnricher::isPositive, detectedDevice.getW());
         if (resolvedW.isUpdated()) {
             deviceBuilder.w(resolvedW.getValue());
             updatedFields.add("w");
         }
 
-        final UpdateResult<Integer> resolvedPpi = resolvePpi(device, deviceData);
+        final UpdateResult<Integer> resolvedPpi = resolve(
+                device.getPpi(), DeviceEnricher::isPositive, detectedDevice.getPpi());
         if (resolvedPpi.isUpdated()) {
             deviceBuilder.ppi(resolvedPpi.getValue());
             updatedFields.add("ppi");
         }
 
-        final UpdateResult<BigDecimal> resolvedPixelRatio = resolvePixelRatio(device, deviceData);
+        final UpdateResult<BigDecimal> resolvedPixelRatio = resolve(
+                device.getPxratio(), DeviceEnricher::isPositive, detectedDevice.getPxratio());
         if (resolvedPixelRatio.isUpdated()) {
             deviceBuilder.pxratio(resolvedPixelRatio.getValue());
             updatedFields.add("pxratio");
         }
 
-        final UpdateResult<String> resolvedDeviceId = resolveDeviceId(device, deviceData);
+        final UpdateResult<String> resolvedDeviceId = resolve(
+                getDeviceId(device), StringUtils::isNotBlank, getDeviceId(detectedDevice));
         if (resolvedDeviceId.isUpdated()) {
             setDeviceId(deviceBuilder, device, resolvedDeviceId.getValue());
             updatedFields.add("ext." + EXT_DEVICE_ID_KEY);
@@ -155,156 +297,10 @@ public class DeviceEnricher {
                 .build();
     }
 
-    private UpdateResult<Integer> resolveDeviceType(Device device, DeviceData deviceData) {
-        final Integer currentDeviceType = device.getDevicetype();
-        if (isPositive(currentDeviceType)) {
-            return UpdateResult.unaltered(currentDeviceType);
-        }
-
-        final String rawDeviceType = getSafe(deviceData, DeviceData::getDeviceType);
-        if (rawDeviceType == null) {
-            return UpdateResult.unaltered(currentDeviceType);
-        }
-
-        final OrtbDeviceType properDeviceType = OrtbDeviceType.resolveFrom(rawDeviceType);
-        return properDeviceType != OrtbDeviceType.UNKNOWN
-                ? UpdateResult.updated(properDeviceType.ordinal())
-                : UpdateResult.unaltered(currentDeviceType);
-    }
-
-    private UpdateResult<String> resolveMake(Device device, DeviceData deviceData) {
-        final String currentMake = device.getMake();
-        if (StringUtils.isNotBlank(currentMake)) {
-            return UpdateResult.unaltered(currentMake);
-        }
-
-        final String make = getSafe(deviceData, DeviceData::getHardwareVendor);
-        return StringUtils.isNotBlank(make)
-                ? UpdateResult.updated(make)
-                : UpdateResult.unaltered(currentMake);
-    }
-
-    private UpdateResult<String> resolveModel(Device device, DeviceData deviceData) {
-        final String currentModel = device.getModel();
-        if (StringUtils.isNotBlank(currentModel)) {
-            return UpdateResult.unaltered(currentModel);
-        }
-
-        final String hardwareNamePrefix = getSafe(deviceData, DeviceData::getHardwareNamePrefix);
-        if (StringUtils.isNotBlank(hardwareNamePrefix)) {
-            return UpdateResult.updated(hardwareNamePrefix);
-        }
-
-        final String model = getSafe(deviceData, DeviceData::getHardwareModel);
-        if (StringUtils.isNotBlank(model)) {
-            return UpdateResult.updated(model);
-        }
-
-        final List<String> names = getSafe(deviceData, DeviceData::getHardwareName);
-        return CollectionUtils.isNotEmpty(names)
-                ? UpdateResult.updated(String.join(",", names))
-                : UpdateResult.unaltered(currentModel);
-    }
-
-    private UpdateResult<String> resolveOs(Device device, DeviceData deviceData) {
-        final String currentOs = device.getOs();
-        if (StringUtils.isNotBlank(currentOs)) {
-            return UpdateResult.unaltered(currentOs);
-        }
-
-        final String os = getSafe(deviceData, DeviceData::getPlatformName);
-        return StringUtils.isNotBlank(os)
-                ? UpdateResult.updated(os)
-                : UpdateResult.unaltered(currentOs);
-    }
-
-    private UpdateResult<String> resolveOsv(Device device, DeviceData deviceData) {
-        final String currentOsv = device.getOsv();
-        if (StringUtils.isNotBlank(currentOsv)) {
-            return UpdateResult.unaltered(currentOsv);
-        }
-
-        final String osv = getSafe(deviceData, DeviceData::getPlatformVersion);
-        return StringUtils.isNotBlank(osv)
-                ? UpdateResult.updated(osv)
-                : UpdateResult.unaltered(currentOsv);
-    }
-
-    private UpdateResult<Integer> resolveH(Device device, DeviceData deviceData) {
-        final Integer currentH = device.getH();
-        if (isPositive(currentH)) {
-            return UpdateResult.unaltered(currentH);
-        }
-
-        final Integer h = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
-        return isPositive(h)
-                ? UpdateResult.updated(h)
-                : UpdateResult.unaltered(currentH);
-    }
-
-    private UpdateResult<Integer> resolveW(Device device, DeviceData deviceData) {
-        final Integer currentW = device.getW();
-        if (isPositive(currentW)) {
-            return UpdateResult.unaltered(currentW);
-        }
-
-        final Integer w = getSafe(deviceData, DeviceData::getScreenPixelsWidth);
-        return isPositive(w)
-                ? UpdateResult.updated(w)
-                : UpdateResult.unaltered(currentW);
-    }
-
-    private UpdateResult<Integer> resolvePpi(Device device, DeviceData deviceData) {
-        final Integer currentPpi = device.getPpi();
-        if (isPositive(currentPpi)) {
-            return UpdateResult.unaltered(currentPpi);
-        }
-
-        final Integer pixelsHeight = getSafe(deviceData, DeviceData::getScreenPixelsHeight);
-        if (pixelsHeight == null) {
-            return UpdateResult.unaltered(currentPpi);
-        }
-
-        final Double inchesHeight = getSafe(deviceData, DeviceData::getScreenInchesHeight);
-        return isPositive(inchesHeight)
-                ? UpdateResult.updated((int) Math.round(pixelsHeight / inchesHeight))
-                : UpdateResult.unaltered(currentPpi);
-    }
-
-    private UpdateResult<BigDecimal> resolvePixelRatio(Device device, DeviceData deviceData) {
-        final BigDecimal currentPixelRatio = device.getPxratio();
-        if (currentPixelRatio != null && currentPixelRatio.intValue() > 0) {
-            return UpdateResult.unaltered(currentPixelRatio);
-        }
-
-        final Double rawRatio = getSafe(deviceData, DeviceData::getPixelRatio);
-        return isPositive(rawRatio)
-                ? UpdateResult.updated(BigDecimal.valueOf(rawRatio))
-                : UpdateResult.unaltered(currentPixelRatio);
-    }
-
-    private UpdateResult<String> resolveDeviceId(Device device, DeviceData deviceData) {
-        final String currentDeviceId = getDeviceId(device);
-        if (StringUtils.isNotBlank(currentDeviceId)) {
-            return UpdateResult.unaltered(currentDeviceId);
-        }
-
-        final String deviceID = getSafe(deviceData, DeviceData::getDeviceId);
-        return StringUtils.isNotBlank(deviceID)
-                ? UpdateResult.updated(deviceID)
-                : UpdateResult.unaltered(currentDeviceId);
-    }
-
-    private UpdateResult<String> resolveDeviceHwv(Device device, DeviceData deviceData) {
-        final String currentDeviceHwv = device.getHwv();
-        if (StringUtils.isNotEmpty(currentDeviceHwv)) {
-            return UpdateResult.unaltered(currentDeviceHwv);
-        }
-
-        final String deviceHwv = getSafe(deviceData, DeviceData::getHardwareNameVersion);
-        return StringUtils.isNotEmpty(deviceHwv)
-                ? UpdateResult.updated(deviceHwv)
-                : UpdateResult.unaltered(currentDeviceHwv);
+    private static <T> UpdateResult<T> resolve(T currentValue, Predicate<T> isPresent, T detectedValue) {
+        return isPresent.test(currentValue) || detectedValue == null
+                ? UpdateResult.unaltered(currentValue)
+                : UpdateResult.updated(detectedValue);
     }
 
     private static boolean isPositive(Integer value) {
@@ -315,6 +311,10 @@ public class DeviceEnricher {
         return value != null && value > 0;
     }
 
+    private static boolean isPositive(BigDecimal value) {
+        return value != null && value.intValue() > 0;
+    }
+
     private static String getDeviceId(Device device) {
         final ExtDevice ext = device.getExt();
         if (ext == null) {
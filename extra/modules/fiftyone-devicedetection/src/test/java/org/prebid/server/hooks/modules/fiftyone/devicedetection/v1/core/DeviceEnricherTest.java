@@ -13,7 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.hooks.modules.fiftyone.devicedetection.model.boundary.CollectedEvidence;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
 
 import java.math.BigDecimal;
@@ -42,6 +44,9 @@ public class DeviceEnricherTest {
     @Mock(strictness = LENIENT)
     private DeviceData deviceData;
 
+    @Mock
+    private Metrics metrics;
+
     private DeviceEnricher target;
 
     @BeforeEach
@@ -575,6 +580,28 @@ public class DeviceEnricherTest {
                 .isEqualTo("fake-device-id");
     }
 
+    @Test
+    public void populateDeviceInfoShouldDetectDeviceOnceForRepeatedEvidenceWhenCacheIsSet() throws Exception {
+        // given
+        target = new DeviceEnricher(pipeline, new DeviceDetectionCache(100, 60, metrics));
+        buildCompleteDeviceData();
+        final CollectedEvidence collectedEvidence = CollectedEvidence.builder()
+                .deviceUA("fake-UserAgent")
+                .build();
+        final Device testDevice = buildCompleteDevice().toBuilder()
+                .make(null)
+                .build();
+
+        // when
+        target.populateDeviceInfo(null, collectedEvidence);
+        final EnrichmentResult result = target.populateDeviceInfo(testDevice, collectedEvidence);
+
+        // then
+        verify(pipeline, times(1)).createFlowData();
+        assertThat(result.enrichedFields()).containsExactly("make");
+        assertThat(result.enrichedDevice().getMake()).isEqualTo("StarFleet");
+    }
+
     private static Device buildCompleteDevice() {
         final Device device = Device.builder()
                 .devicetype(1)
@@ -0,0 +1,96 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring throttling rows of concurrent auctions with a model run per auction against
+ * a single batched model run, as done by {@link OnnxInferenceScheduler}.
+ * <p>
+ * Uses the test model of the module, so it should be run from the module directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OnnxInferenceBenchmark {
+
+    private static final String MODEL_PATH = "src/test/resources/models_pbuid=test-pbuid.onnx";
+
+    @Param({"1", "8", "32"})
+    private int auctions;
+
+    @Param({"4", "16"})
+    private int rowsPerAuction;
+
+    private OnnxModelRunner onnxModelRunner;
+
+    private String[][][] auctionsRows;
+
+    private String[][] batchRows;
+
+    @Setup
+    public void setUp() throws IOException, OrtException {
+        onnxModelRunner = new OnnxModelRunner(Files.readAllBytes(Paths.get(MODEL_PATH)));
+
+        auctionsRows = new String[auctions][][];
+        for (int auction = 0; auction < auctions; auction++) {
+            auctionsRows[auction] = givenRows(auction, rowsPerAuction);
+        }
+
+        batchRows = Arrays.stream(auctionsRows).flatMap(Arrays::stream).toArray(String[][]::new);
+    }
+
+    @Benchmark
+    public int runPerAuction() throws OrtException {
+        int outputs = 0;
+        for (String[][] rows : auctionsRows) {
+            try (OrtSession.Result result = onnxModelRunner.runModel(rows)) {
+                outputs += result.size();
+            }
+        }
+        return outputs;
+    }
+
+    @Benchmark
+    public int runBatched() throws OrtException {
+        try (OrtSession.Result result = onnxModelRunner.runModel(batchRows)) {
+            return result.size();
+        }
+    }
+
+    private static String[][] givenRows(int auction, int size) {
+        final String[][] rows = new String[size][];
+        for (int i = 0; i < size; i++) {
+            rows[i] = new String[]{
+                    "Chrome 59",
+                    "bidder" + i,
+                    "adunit" + auction,
+                    "US",
+                    "www.leparisien.fr",
+                    "PC",
+                    String.valueOf(auction % 24),
+                    String.valueOf(i % 4)};
+        }
+        return rows;
+    }
+}
@@ -9,6 +9,7 @@ import org.prebid.server.geolocation.CountryCodeMapper;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.ModelCache;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxInferenceScheduler;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunner;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerFactory;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerWithThresholds;
@@ -36,11 +37,16 @@ public class GreenbidsRealTimeDataConfiguration {
     }
 
     @Bean
-    GreenbidsInferenceDataService greenbidsInferenceDataService(DatabaseReaderFactory databaseReaderFactory,
+    GreenbidsInferenceDataService greenbidsInferenceDataService(GreenbidsRealTimeDataProperties properties,
+                                                                DatabaseReaderFactory databaseReaderFactory,
                                                                 CountryCodeMapper countryCodeMapper) {
 
+        final Cache<String, String> ipCountryCache = Caffeine.newBuilder()
+                .maximumSize(properties.getIpCountryCacheSize())
+                .build();
+
         return new GreenbidsInferenceDataService(
-                databaseReaderFactory, ObjectMapperProvider.mapper(), countryCodeMapper);
+                databaseReaderFactory, ObjectMapperProvider.mapper(), countryCodeMapper, ipCountryCache);
     }
 
     @Bean
@@ -58,8 +64,17 @@ public class GreenbidsRealTimeDataConfiguration {
     }
 
     @Bean
-    FilterService filterService() {
-        return new FilterService();
+    OnnxInferenceScheduler onnxInferenceScheduler(GreenbidsRealTimeDataProperties properties, Vertx vertx) {
+        return new OnnxInferenceScheduler(
+                vertx,
+                vertx.createSharedWorkerExecutor("greenbids-inference", properties.getInferenceWorkerPoolSize()),
+                properties.getInferenceMaxWaitMs(),
+                properties.getInferenceMaxBatchRows());
+    }
+
+    @Bean
+    FilterService filterService(OnnxInferenceScheduler onnxInferenceScheduler) {
+        return new FilterService(onnxInferenceScheduler);
     }
 
     @Bean
@@ -92,6 +107,7 @@ public class GreenbidsRealTimeDataConfiguration {
         return new ModelCache(
                 storage,
                 properties.getGcsBucketName(),
+                ObjectMapperProvider.mapper(),
                 modelCacheWithExpiration,
                 properties.getOnnxModelCacheKeyPrefix(),
                 vertx,
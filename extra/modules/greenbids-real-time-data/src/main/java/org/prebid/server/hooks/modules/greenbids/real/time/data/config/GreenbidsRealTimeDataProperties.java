@@ -24,4 +24,12 @@ public class GreenbidsRealTimeDataProperties {
     Long timeoutMs;
 
     Integer maxRedirects;
+
+    long inferenceMaxWaitMs = 2L;
+
+    int inferenceMaxBatchRows = 1024;
+
+    int inferenceWorkerPoolSize = 2;
+
+    long ipCountryCacheSize = 100_000L;
 }
@@ -0,0 +1,81 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import org.prebid.server.exception.PreBidException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of throttling features for models consuming integer feature ids instead of strings.
+ * <p>
+ * Vocabulary is published next to the model as a JSON object mapping every feature name to the ids of its values.
+ * Ids are expected to start from 1: id 0 is given to values the model has not been trained on.
+ */
+public class FeatureVocabulary {
+
+    /**
+     * Feature names in the order of throttling inference row columns.
+     */
+    public static final List<String> FEATURES = List.of(
+            "browser",
+            "bidder",
+            "ad_unit_code",
+            "country",
+            "hostname",
+            "device",
+            "hour_bucket",
+            "minute_quadrant");
+
+    private static final long UNKNOWN_VALUE_ID = 0L;
+
+    private final List<Map<String, Long>> featuresValueIds;
+
+    private FeatureVocabulary(List<Map<String, Long>> featuresValueIds) {
+        this.featuresValueIds = featuresValueIds;
+    }
+
+    public static FeatureVocabulary of(Map<String, Map<String, Long>> vocabulary) {
+        final List<Map<String, Long>> featuresValueIds = FEATURES.stream()
+                .map(feature -> featureValueIds(vocabulary, feature))
+                .toList();
+
+        return new FeatureVocabulary(featuresValueIds);
+    }
+
+    private static Map<String, Long> featureValueIds(Map<String, Map<String, Long>> vocabulary, String feature) {
+        final Map<String, Long> valueIds = vocabulary != null ? vocabulary.get(feature) : null;
+        if (valueIds == null) {
+            throw new PreBidException("Feature vocabulary has no values for: " + feature);
+        }
+
+        return new HashMap<>(valueIds);
+    }
+
+    public int size() {
+        return featuresValueIds.size();
+    }
+
+    /**
+     * Returns ids of the row values flattened in row-major order, ready to back a [rows, features] tensor.
+     */
+    public long[] encode(String[][] rows) {
+        final int features = featuresValueIds.size();
+        final long[] ids = new long[rows.length * features];
+
+        for (int row = 0; row < rows.length; row++) {
+            final String[] values = rows[row];
+            if (values.length != features) {
+                throw new PreBidException("Expected %d features in inference row, but found %d"
+                        .formatted(features, values.length));
+            }
+
+            for (int feature = 0; feature < features; feature++) {
+                ids[row * features + feature] = featuresValueIds.get(feature)
+                        .getOrDefault(values[feature], UNKNOWN_VALUE_ID);
+            }
+        }
+
+        return ids;
+    }
+}
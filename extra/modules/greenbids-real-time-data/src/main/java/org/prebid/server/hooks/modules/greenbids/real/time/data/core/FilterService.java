@@ -1,36 +1,35 @@
 package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
 
-import ai.onnxruntime.OnnxTensor;
-import ai.onnxruntime.OnnxValue;
-import ai.onnxruntime.OrtException;
-import ai.onnxruntime.OrtSession;
+import io.vertx.core.Future;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.model.data.ThrottlingMessage;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 public class FilterService {
 
-    public Map<String, Map<String, Boolean>> filterBidders(
+    private final OnnxInferenceScheduler onnxInferenceScheduler;
+
+    public FilterService(OnnxInferenceScheduler onnxInferenceScheduler) {
+        this.onnxInferenceScheduler = Objects.requireNonNull(onnxInferenceScheduler);
+    }
+
+    public Future<Map<String, Map<String, Boolean>>> filterBidders(
             OnnxModelRunner onnxModelRunner,
             List<ThrottlingMessage> throttlingMessages,
             Double threshold) {
 
-        final OrtSession.Result results;
-        try {
-            final String[][] throttlingInferenceRows = convertToArray(throttlingMessages);
-            results = onnxModelRunner.runModel(throttlingInferenceRows);
-            return processModelResults(results, throttlingMessages, threshold);
-        } catch (OrtException e) {
-            throw new PreBidException("Exception during model inference: ", e);
+        if (CollectionUtils.isEmpty(throttlingMessages)) {
+            return Future.failedFuture(new PreBidException("throttlingMessages cannot be null or empty"));
         }
+
+        final String[][] throttlingInferenceRows = convertToArray(throttlingMessages);
+        return onnxInferenceScheduler.submit(onnxModelRunner, throttlingInferenceRows)
+                .map(probabilities -> processProbabilities(probabilities, throttlingMessages, threshold));
     }
 
     private static String[][] convertToArray(List<ThrottlingMessage> messages) {
@@ -47,62 +46,6 @@ public class FilterService {
                 .toArray(String[][]::new);
     }
 
-    private Map<String, Map<String, Boolean>> processModelResults(
-            OrtSession.Result results,
-            List<ThrottlingMessage> throttlingMessages,
-            Double threshold) {
-
-        validateThrottlingMessages(throttlingMessages);
-
-        return StreamSupport.stream(results.spliterator(), false)
-                .peek(FilterService::validateOnnxTensor)
-                .filter(onnxItem -> Objects.equals(onnxItem.getKey(), "probabilities"))
-                .map(Map.Entry::getValue)
-                .map(OnnxTensor.class::cast)
-                .peek(tensor -> validateTensorSize(tensor, throttlingMessages.size()))
-                .map(tensor -> extractAndProcessProbabilities(tensor, throttlingMessages, threshold))
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    private static void validateThrottlingMessages(List<ThrottlingMessage> throttlingMessages) {
-        if (throttlingMessages == null || CollectionUtils.isEmpty(throttlingMessages)) {
-            throw new PreBidException("throttlingMessages cannot be null or empty");
-        }
-    }
-
-    private static void validateOnnxTensor(Map.Entry<String, OnnxValue> onnxItem) {
-        if (!(onnxItem.getValue() instanceof OnnxTensor)) {
-            throw new PreBidException("Expected OnnxTensor for 'probabilities', but found: "
-                    + onnxItem.getValue().getClass().getName());
-        }
-    }
-
-    private static void validateTensorSize(OnnxTensor tensor, int expectedSize) {
-        final long[] tensorShape = tensor.getInfo().getShape();
-        if (tensorShape.length == 0 || tensorShape[0] != expectedSize) {
-            throw new PreBidException("Mismatch between tensor size and throttlingMessages size");
-        }
-    }
-
-    private Map<String, Map<String, Boolean>> extractAndProcessProbabilities(
-            OnnxTensor tensor,
-            List<ThrottlingMessage> throttlingMessages,
-            Double threshold) {
-
-        try {
-            final float[][] probabilities = extractProbabilitiesValues(tensor);
-            return processProbabilities(probabilities, throttlingMessages, threshold);
-        } catch (OrtException e) {
-            throw new PreBidException("Exception when extracting proba from OnnxTensor: ", e);
-        }
-    }
-
-    private float[][] extractProbabilitiesValues(OnnxTensor tensor) throws OrtException {
-        return (float[][]) tensor.getValue();
-    }
-
     private Map<String, Map<String, Boolean>> processProbabilities(
             float[][] probabilities,
             List<ThrottlingMessage> throttlingMessages,
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
 import com.iab.openrtb.request.Geo;
@@ -28,24 +29,32 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class GreenbidsInferenceDataService {
 
+    private static final Map<String, String> COUNTRY_NAMES = new ConcurrentHashMap<>();
+
     private final DatabaseReaderFactory databaseReaderFactory;
 
     private final ObjectMapper mapper;
 
     private final CountryCodeMapper countryCodeMapper;
 
+    private final Cache<String, String> ipCountryCache;
+
     public GreenbidsInferenceDataService(DatabaseReaderFactory dbReaderFactory,
                                          ObjectMapper mapper,
-                                         CountryCodeMapper countryCodeMapper) {
+                                         CountryCodeMapper countryCodeMapper,
+                                         Cache<String, String> ipCountryCache) {
         this.databaseReaderFactory = Objects.requireNonNull(dbReaderFactory);
         this.mapper = Objects.requireNonNull(mapper);
         this.countryCodeMapper = Objects.requireNonNull(countryCodeMapper);
+        this.ipCountryCache = Objects.requireNonNull(ipCountryCache);
     }
 
     public List<ThrottlingMessage> extractThrottlingMessagesFromBidRequest(BidRequest bidRequest) {
@@ -115,13 +124,17 @@ public class GreenbidsInferenceDataService {
     private static String getCountryNameFromAlpha2(String isoCode) {
         return StringUtils.isBlank(isoCode)
                 ? StringUtils.EMPTY
-                : Locale.forLanguageTag("und-" + isoCode).getDisplayCountry(Locale.ENGLISH);
+                : COUNTRY_NAMES.computeIfAbsent(isoCode, GreenbidsInferenceDataService::getDisplayCountry);
+    }
+
+    private static String getDisplayCountry(String isoCode) {
+        return Locale.forLanguageTag("und-" + isoCode).getDisplayCountry(Locale.ENGLISH);
     }
 
     private String getCountry(String ip) {
         final DatabaseReader databaseReader = databaseReaderFactory.getDatabaseReader();
         return ip != null && databaseReader != null
-                ? getCountryFromIpUsingDatabase(databaseReader, ip)
+                ? ipCountryCache.get(ip, key -> getCountryFromIpUsingDatabase(databaseReader, key))
                 : null;
     }
 
@@ -130,7 +143,8 @@ public class GreenbidsInferenceDataService {
             final InetAddress inetAddress = InetAddress.getByName(ip);
             final CountryResponse response = databaseReader.country(inetAddress);
             final Country country = response.getCountry();
-            return country.getName();
+            // unknown country is cached as empty, which ends up in the same throttling message as null
+            return StringUtils.defaultString(country.getName());
         } catch (IOException | GeoIp2Exception e) {
             throw new PreBidException("Failed to fetch country from geoLite DB", e);
         }
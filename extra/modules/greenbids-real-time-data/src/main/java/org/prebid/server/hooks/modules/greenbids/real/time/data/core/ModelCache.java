@@ -1,6 +1,8 @@
 package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
 
 import ai.onnxruntime.OrtException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Storage;
@@ -11,6 +13,8 @@ import org.prebid.server.exception.PreBidException;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 
+import java.io.IOException;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -19,12 +23,18 @@ public class ModelCache {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelCache.class);
 
+    private static final TypeReference<Map<String, Map<String, Long>>> FEATURE_VOCABULARY_TYPE_REFERENCE =
+            new TypeReference<>() {
+            };
+
     private final String gcsBucketName;
 
     private final Cache<String, OnnxModelRunner> cache;
 
     private final Storage storage;
 
+    private final ObjectMapper mapper;
+
     private final String onnxModelCacheKeyPrefix;
 
     private final AtomicBoolean isFetching;
@@ -36,6 +46,7 @@ public class ModelCache {
     public ModelCache(
             Storage storage,
             String gcsBucketName,
+            ObjectMapper mapper,
             Cache<String, OnnxModelRunner> cache,
             String onnxModelCacheKeyPrefix,
             Vertx vertx,
@@ -43,13 +54,18 @@ public class ModelCache {
         this.gcsBucketName = Objects.requireNonNull(gcsBucketName);
         this.cache = Objects.requireNonNull(cache);
         this.storage = Objects.requireNonNull(storage);
+        this.mapper = Objects.requireNonNull(mapper);
         this.onnxModelCacheKeyPrefix = Objects.requireNonNull(onnxModelCacheKeyPrefix);
         this.isFetching = new AtomicBoolean(false);
         this.vertx = Objects.requireNonNull(vertx);
         this.onnxModelRunnerFactory = Objects.requireNonNull(onnxModelRunnerFactory);
     }
 
-    public Future<OnnxModelRunner> get(String onnxModelPath, String pbuid) {
+    /**
+     * Returns runner of the model at the given path. If there is a feature vocabulary at the given path as well,
+     * the model is expected to consume dictionary encoded features.
+     */
+    public Future<OnnxModelRunner> get(String onnxModelPath, String featureVocabularyPath, String pbuid) {
         final String cacheKey = onnxModelCacheKeyPrefix + pbuid;
         final OnnxModelRunner cachedOnnxModelRunner = cache.getIfPresent(cacheKey);
 
@@ -59,7 +75,7 @@ public class ModelCache {
 
         if (isFetching.compareAndSet(false, true)) {
             try {
-                return fetchAndCacheModelRunner(onnxModelPath, cacheKey);
+                return fetchAndCacheModelRunner(onnxModelPath, featureVocabularyPath, cacheKey);
             } finally {
                 isFetching.set(false);
             }
@@ -68,9 +84,13 @@ public class ModelCache {
         return Future.failedFuture("ModelRunner fetching in progress. Skip current request");
     }
 
-    private Future<OnnxModelRunner> fetchAndCacheModelRunner(String onnxModelPath, String cacheKey) {
-        return vertx.executeBlocking(() -> getBlob(onnxModelPath))
-                .map(this::loadModelRunner)
+    private Future<OnnxModelRunner> fetchAndCacheModelRunner(String onnxModelPath,
+                                                             String featureVocabularyPath,
+                                                             String cacheKey) {
+
+        return vertx.executeBlocking(() -> loadModelRunner(
+                        getBlob(onnxModelPath),
+                        getFeatureVocabulary(featureVocabularyPath)))
                 .onSuccess(onnxModelRunner -> cache.put(cacheKey, onnxModelRunner))
                 .onFailure(error -> logger.error("Failed to fetch ONNX model"));
     }
@@ -85,10 +105,33 @@ public class ModelCache {
         }
     }
 
-    private OnnxModelRunner loadModelRunner(Blob blob) {
+    private FeatureVocabulary getFeatureVocabulary(String featureVocabularyPath) {
+        final Blob blob;
+        try {
+            blob = Optional.ofNullable(storage.get(gcsBucketName))
+                    .map(bucket -> bucket.get(featureVocabularyPath))
+                    .orElse(null);
+        } catch (StorageException e) {
+            throw new PreBidException("Error accessing GCS artefact for feature vocabulary: ", e);
+        }
+
+        if (blob == null) {
+            return null;
+        }
+
+        try {
+            return FeatureVocabulary.of(mapper.readValue(blob.getContent(), FEATURE_VOCABULARY_TYPE_REFERENCE));
+        } catch (IOException e) {
+            throw new PreBidException("Failed to load feature vocabulary json", e);
+        }
+    }
+
+    private OnnxModelRunner loadModelRunner(Blob blob, FeatureVocabulary featureVocabulary) {
         try {
             final byte[] onnxModelBytes = blob.getContent();
-            return onnxModelRunnerFactory.create(onnxModelBytes);
+            return featureVocabulary != null
+                    ? onnxModelRunnerFactory.create(onnxModelBytes, featureVocabulary)
+                    : onnxModelRunnerFactory.create(onnxModelBytes);
         } catch (OrtException e) {
             throw new PreBidException("Failed to convert blob to ONNX model", e);
         }
@@ -0,0 +1,104 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.vertx.MicroBatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Coalesces throttling rows of concurrent auctions scored by the same model into a single batched inference.
+ * <p>
+ * Rows submitted for a model are collected by {@link MicroBatcher} into batches of up to {@code maxBatchRows} rows,
+ * run on the dedicated worker pool. Probabilities of the batch are split back by rows.
+ */
+public class OnnxInferenceScheduler {
+
+    private static final String PROBABILITIES = "probabilities";
+
+    private final WorkerExecutor workerExecutor;
+    private final MicroBatcher<OnnxModelRunner, String[][], float[][]> batcher;
+
+    public OnnxInferenceScheduler(Vertx vertx, WorkerExecutor workerExecutor, long maxWaitMs, int maxBatchRows) {
+        if (maxWaitMs < 0) {
+            throw new IllegalArgumentException("Inference max wait should not be negative: " + maxWaitMs);
+        }
+        if (maxBatchRows <= 0) {
+            throw new IllegalArgumentException("Inference max batch rows should be positive: " + maxBatchRows);
+        }
+
+        this.workerExecutor = Objects.requireNonNull(workerExecutor);
+        this.batcher = new MicroBatcher<>(vertx, maxWaitMs, maxBatchRows, rows -> rows.length, this::run);
+    }
+
+    /**
+     * Returns probabilities predicted by the model for given rows, in the same order.
+     */
+    public Future<float[][]> submit(OnnxModelRunner onnxModelRunner, String[][] throttlingInferenceRows) {
+        return batcher.submit(onnxModelRunner, throttlingInferenceRows);
+    }
+
+    private List<Future<float[][]>> run(OnnxModelRunner onnxModelRunner, List<String[][]> pendingRows) {
+        final Future<float[][]> probabilities =
+                workerExecutor.executeBlocking(() -> infer(onnxModelRunner, pendingRows), false);
+
+        final List<Future<float[][]>> results = new ArrayList<>(pendingRows.size());
+        int offset = 0;
+        for (String[][] rows : pendingRows) {
+            final int from = offset;
+            final int to = offset + rows.length;
+            results.add(probabilities.map(batchProbabilities -> Arrays.copyOfRange(batchProbabilities, from, to)));
+            offset = to;
+        }
+        return results;
+    }
+
+    private static float[][] infer(OnnxModelRunner onnxModelRunner, List<String[][]> pendingRows) {
+        final String[][] batchRows = pendingRows.stream()
+                .flatMap(Arrays::stream)
+                .toArray(String[][]::new);
+
+        try (OrtSession.Result results = onnxModelRunner.runModel(batchRows)) {
+            return extractProbabilities(results, batchRows.length);
+        } catch (OrtException e) {
+            throw new PreBidException("Exception during model inference: ", e);
+        }
+    }
+
+    private static float[][] extractProbabilities(OrtSession.Result results, int expectedSize) throws OrtException {
+        for (Map.Entry<String, OnnxValue> onnxItem : results) {
+            validateOnnxTensor(onnxItem);
+            if (Objects.equals(onnxItem.getKey(), PROBABILITIES)) {
+                final OnnxTensor tensor = (OnnxTensor) onnxItem.getValue();
+                validateTensorSize(tensor, expectedSize);
+                return (float[][]) tensor.getValue();
+            }
+        }
+
+        throw new PreBidException("Model output has no 'probabilities'");
+    }
+
+    private static void validateOnnxTensor(Map.Entry<String, OnnxValue> onnxItem) {
+        if (!(onnxItem.getValue() instanceof OnnxTensor)) {
+            throw new PreBidException("Expected OnnxTensor for 'probabilities', but found: "
+                    + onnxItem.getValue().getClass().getName());
+        }
+    }
+
+    private static void validateTensorSize(OnnxTensor tensor, int expectedSize) {
+        final long[] tensorShape = tensor.getInfo().getShape();
+        if (tensorShape.length == 0 || tensorShape[0] != expectedSize) {
+            throw new PreBidException("Mismatch between tensor size and throttlingMessages size");
+        }
+    }
+}
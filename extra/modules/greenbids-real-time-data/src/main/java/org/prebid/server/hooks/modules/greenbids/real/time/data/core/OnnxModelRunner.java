@@ -5,20 +5,45 @@ import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
 
+import java.nio.LongBuffer;
 import java.util.Collections;
 
+/**
+ * Runs the model on throttling inference rows.
+ * <p>
+ * Rows are passed to the model as a string tensor, unless the model comes with {@link FeatureVocabulary}:
+ * then they are dictionary encoded and passed as an int64 tensor of the same shape.
+ */
 public class OnnxModelRunner {
 
     private static final OrtEnvironment ENVIRONMENT = OrtEnvironment.getEnvironment();
 
     private final OrtSession session;
 
+    private final FeatureVocabulary featureVocabulary;
+
     public OnnxModelRunner(byte[] onnxModelBytes) throws OrtException {
+        this(onnxModelBytes, null);
+    }
+
+    public OnnxModelRunner(byte[] onnxModelBytes, FeatureVocabulary featureVocabulary) throws OrtException {
         session = ENVIRONMENT.createSession(onnxModelBytes, new OrtSession.SessionOptions());
+        this.featureVocabulary = featureVocabulary;
     }
 
     public OrtSession.Result runModel(String[][] throttlingInferenceRow) throws OrtException {
-        final OnnxTensor inputTensor = OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow);
-        return session.run(Collections.singletonMap("input", inputTensor));
+        try (OnnxTensor inputTensor = createInputTensor(throttlingInferenceRow)) {
+            return session.run(Collections.singletonMap("input", inputTensor));
+        }
+    }
+
+    private OnnxTensor createInputTensor(String[][] throttlingInferenceRow) throws OrtException {
+        if (featureVocabulary == null) {
+            return OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow);
+        }
+
+        final long[] featureIds = featureVocabulary.encode(throttlingInferenceRow);
+        final long[] shape = {throttlingInferenceRow.length, featureVocabulary.size()};
+        return OnnxTensor.createTensor(ENVIRONMENT, LongBuffer.wrap(featureIds), shape);
     }
 }
@@ -7,4 +7,8 @@ public class OnnxModelRunnerFactory {
     public OnnxModelRunner create(byte[] bytes) throws OrtException {
         return new OnnxModelRunner(bytes);
     }
+
+    public OnnxModelRunner create(byte[] bytes, FeatureVocabulary featureVocabulary) throws OrtException {
+        return new OnnxModelRunner(bytes, featureVocabulary);
+    }
 }
@@ -20,7 +20,8 @@ public class OnnxModelRunnerWithThresholds {
 
     public Future<OnnxModelRunner> retrieveOnnxModelRunner(GreenbidsConfig greenbidsConfig) {
         final String onnxModelPath = "models_pbuid=" + greenbidsConfig.getPbuid() + ".onnx";
-        return modelCache.get(onnxModelPath, greenbidsConfig.getPbuid());
+        final String featureVocabularyPath = "vocabulary_pbuid=" + greenbidsConfig.getPbuid() + ".json";
+        return modelCache.get(onnxModelPath, featureVocabularyPath, greenbidsConfig.getPbuid());
     }
 
     public Future<Double> retrieveThreshold(GreenbidsConfig greenbidsConfig) {
@@ -0,0 +1,79 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.exception.PreBidException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FeatureVocabularyTest {
+
+    @Test
+    public void ofShouldFailWhenFeatureIsMissing() {
+        // given
+        final Map<String, Map<String, Long>> vocabulary = givenVocabulary();
+        vocabulary.remove("hostname");
+
+        // when & then
+        assertThatThrownBy(() -> FeatureVocabulary.of(vocabulary))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Feature vocabulary has no values for: hostname");
+    }
+
+    @Test
+    public void encodeShouldReturnIdsOfValuesInRowMajorOrder() {
+        // given
+        final FeatureVocabulary target = FeatureVocabulary.of(givenVocabulary());
+        final String[][] rows = {
+                {"Chrome", "magnite", "adunit", "France", "www.leparisien.fr", "PC", "10", "1"},
+                {"Chrome", "appnexus", "adunit", "France", "www.leparisien.fr", "PC", "10", "1"}};
+
+        // when
+        final long[] result = target.encode(rows);
+
+        // then
+        assertThat(result).containsExactly(
+                1, 1, 1, 1, 1, 1, 1, 1,
+                1, 2, 1, 1, 1, 1, 1, 1);
+    }
+
+    @Test
+    public void encodeShouldReturnZeroIdForUnknownValue() {
+        // given
+        final FeatureVocabulary target = FeatureVocabulary.of(givenVocabulary());
+        final String[][] rows = {{"Safari", "magnite", "adunit", "France", "www.leparisien.fr", "PC", "10", null}};
+
+        // when
+        final long[] result = target.encode(rows);
+
+        // then
+        assertThat(result).containsExactly(0, 1, 1, 1, 1, 1, 1, 0);
+    }
+
+    @Test
+    public void encodeShouldFailWhenRowHasUnexpectedNumberOfFeatures() {
+        // given
+        final FeatureVocabulary target = FeatureVocabulary.of(givenVocabulary());
+
+        // when & then
+        assertThatThrownBy(() -> target.encode(new String[][]{{"Chrome", "magnite"}}))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Expected 8 features in inference row, but found 2");
+    }
+
+    private static Map<String, Map<String, Long>> givenVocabulary() {
+        final Map<String, Map<String, Long>> vocabulary = new HashMap<>();
+        vocabulary.put("browser", Map.of("Chrome", 1L));
+        vocabulary.put("bidder", Map.of("magnite", 1L, "appnexus", 2L));
+        vocabulary.put("ad_unit_code", Map.of("adunit", 1L));
+        vocabulary.put("country", Map.of("France", 1L));
+        vocabulary.put("hostname", Map.of("www.leparisien.fr", 1L));
+        vocabulary.put("device", Map.of("PC", 1L));
+        vocabulary.put("hour_bucket", Map.of("10", 1L));
+        vocabulary.put("minute_quadrant", Map.of("1", 1L));
+        return vocabulary;
+    }
+}
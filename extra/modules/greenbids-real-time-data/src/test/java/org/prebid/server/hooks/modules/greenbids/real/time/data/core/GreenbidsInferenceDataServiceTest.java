@@ -1,5 +1,6 @@
 package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.Banner;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Device;
@@ -31,6 +32,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequestProvider.givenBanner;
 import static org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequestProvider.givenBidRequest;
@@ -58,7 +61,7 @@ public class GreenbidsInferenceDataServiceTest {
     public void setUp() {
         when(databaseReaderFactory.getDatabaseReader()).thenReturn(databaseReader);
         target = new GreenbidsInferenceDataService(
-                databaseReaderFactory, TestBidRequestProvider.MAPPER, countryCodeMapper);
+                databaseReaderFactory, TestBidRequestProvider.MAPPER, countryCodeMapper, Caffeine.newBuilder().build());
     }
 
     @Test
@@ -194,6 +197,33 @@ public class GreenbidsInferenceDataServiceTest {
                 .hasMessageContaining("Failed to fetch country from geoLite DB");
     }
 
+    @Test
+    public void extractThrottlingMessagesFromBidRequestShouldLookUpCountryOfSameIpOnce()
+            throws IOException, GeoIp2Exception {
+        // given
+        final Imp imp = Imp.builder()
+                .id("adunitcodevalue")
+                .ext(givenImpExt())
+                .banner(givenBanner())
+                .build();
+        final BidRequest bidRequest = givenBidRequest(request -> request, List.of(imp));
+
+        final CountryResponse countryResponse = mock(CountryResponse.class);
+        when(databaseReader.country(any(InetAddress.class))).thenReturn(countryResponse);
+        when(countryResponse.getCountry()).thenReturn(country);
+        when(country.getName()).thenReturn("United States");
+
+        // when
+        target.extractThrottlingMessagesFromBidRequest(bidRequest);
+        final List<ThrottlingMessage> throttlingMessages = target.extractThrottlingMessagesFromBidRequest(bidRequest);
+
+        // then
+        assertThat(throttlingMessages)
+                .extracting(ThrottlingMessage::getCountry)
+                .containsOnly("United States");
+        verify(databaseReader, times(1)).country(any(InetAddress.class));
+    }
+
     private Device givenDeviceWithoutIp() {
         final String userAgent = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_12_6) AppleWebKit/537.36"
                 + " (KHTML, like Gecko) Chrome/59.0.3071.115 Safari/537.36";
@@ -1,6 +1,7 @@
 package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
 
 import ai.onnxruntime.OrtException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.Bucket;
@@ -16,15 +17,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
 
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequestProvider.MAPPER;
 
 @ExtendWith(MockitoExtension.class)
 public class ModelCacheTest {
@@ -33,6 +37,7 @@ public class ModelCacheTest {
     private static final String MODEL_CACHE_KEY_PREFIX = "onnxModelRunner_";
     private static final String PBUUID = "test-pbuid";
     private static final String ONNX_MODEL_PATH = "model.onnx";
+    private static final String FEATURE_VOCABULARY_PATH = "vocabulary.json";
 
     @Mock
     private Cache<String, OnnxModelRunner> cache;
@@ -61,7 +66,7 @@ public class ModelCacheTest {
     public void setUp() {
         vertx = Vertx.vertx();
         target = new ModelCache(
-                storage, GCS_BUCKET_NAME, cache, MODEL_CACHE_KEY_PREFIX, vertx, onnxModelRunnerFactory);
+                storage, GCS_BUCKET_NAME, MAPPER, cache, MODEL_CACHE_KEY_PREFIX, vertx, onnxModelRunnerFactory);
     }
 
     @Test
@@ -71,7 +76,7 @@ public class ModelCacheTest {
         when(cache.getIfPresent(eq(cacheKey))).thenReturn(onnxModelRunner);
 
         // when
-        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         assertThat(future.succeeded()).isTrue();
@@ -94,7 +99,7 @@ public class ModelCacheTest {
         isFetchingField.set(spyModelCache, mockFetchingState);
 
         // when
-        final Future<OnnxModelRunner> result = spyModelCache.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> result = spyModelCache.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         assertThat(result.failed()).isTrue();
@@ -115,7 +120,33 @@ public class ModelCacheTest {
         when(onnxModelRunnerFactory.create(bytes)).thenReturn(onnxModelRunner);
 
         // when
-        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
+
+        // then
+        future.onComplete(ar -> {
+            assertThat(ar.succeeded()).isTrue();
+            assertThat(ar.result()).isEqualTo(onnxModelRunner);
+            verify(cache).put(eq(cacheKey), eq(onnxModelRunner));
+        });
+    }
+
+    @Test
+    public void getShouldCreateModelRunnerWithFeatureVocabularyWhenPresent() throws OrtException {
+        // given
+        final String cacheKey = MODEL_CACHE_KEY_PREFIX + PBUUID;
+        final byte[] bytes = new byte[]{1, 2, 3};
+        final Blob featureVocabularyBlob = mock(Blob.class);
+
+        when(cache.getIfPresent(eq(cacheKey))).thenReturn(null);
+        when(storage.get(GCS_BUCKET_NAME)).thenReturn(bucket);
+        when(bucket.get(ONNX_MODEL_PATH)).thenReturn(blob);
+        when(bucket.get(FEATURE_VOCABULARY_PATH)).thenReturn(featureVocabularyBlob);
+        when(blob.getContent()).thenReturn(bytes);
+        when(featureVocabularyBlob.getContent()).thenReturn(givenFeatureVocabularyJson());
+        when(onnxModelRunnerFactory.create(eq(bytes), any(FeatureVocabulary.class))).thenReturn(onnxModelRunner);
+
+        // when
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         future.onComplete(ar -> {
@@ -134,7 +165,7 @@ public class ModelCacheTest {
         when(storage.get(GCS_BUCKET_NAME)).thenThrow(new StorageException(500, "Storage Error"));
 
         // when
-        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         future.onComplete(ar -> {
@@ -157,7 +188,7 @@ public class ModelCacheTest {
                 new OrtException("Failed to convert blob to ONNX model"));
 
         // when
-        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         future.onComplete(ar -> {
@@ -178,7 +209,7 @@ public class ModelCacheTest {
         when(blob.getContent()).thenThrow(new PreBidException("Bucket not found"));
 
         // when
-        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, PBUUID);
+        final Future<OnnxModelRunner> future = target.get(ONNX_MODEL_PATH, FEATURE_VOCABULARY_PATH, PBUUID);
 
         // then
         future.onComplete(ar -> {
@@ -187,4 +218,10 @@ public class ModelCacheTest {
             assertThat(ar.cause().getMessage()).contains("Bucket not found");
         });
     }
+
+    private static byte[] givenFeatureVocabularyJson() {
+        final ObjectNode vocabulary = MAPPER.createObjectNode();
+        FeatureVocabulary.FEATURES.forEach(feature -> vocabulary.putObject(feature).put("value", 1));
+        return vocabulary.toString().getBytes(StandardCharsets.UTF_8);
+    }
 }
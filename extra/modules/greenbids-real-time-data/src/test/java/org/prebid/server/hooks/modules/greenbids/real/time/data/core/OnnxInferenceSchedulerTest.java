@@ -0,0 +1,202 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxValue;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class OnnxInferenceSchedulerTest {
+
+    private static final String[] ROW = {
+            "Chrome 59", "magnite", "adunitcodevalue", "US", "www.leparisien.fr", "PC", "10", "1"};
+
+    @Mock
+    private Vertx vertx;
+
+    @Mock(strictness = LENIENT)
+    private WorkerExecutor workerExecutor;
+
+    @Mock
+    private OnnxModelRunner onnxModelRunner;
+
+    @Mock
+    private OrtSession.Result results;
+
+    @Mock
+    private OnnxTensor onnxTensor;
+
+    @Mock
+    private TensorInfo tensorInfo;
+
+    @Mock
+    private OnnxValue onnxValue;
+
+    @BeforeEach
+    public void setUp() {
+        given(workerExecutor.executeBlocking(any(Callable.class), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(invocation.<Callable<?>>getArgument(0).call());
+            } catch (Exception e) {
+                return Future.failedFuture(e);
+            }
+        });
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxBatchRows() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new OnnxInferenceScheduler(vertx, workerExecutor, 2L, 0));
+    }
+
+    @Test
+    public void submitShouldRunRowsSubmittedWithinMaxWaitAsSingleBatch() throws OrtException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 2L, 100);
+        givenProbabilities(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}, {0.3f, 0.7f}});
+
+        // when
+        final Future<float[][]> first = target.submit(onnxModelRunner, new String[][]{ROW, ROW});
+        final Future<float[][]> second = target.submit(onnxModelRunner, new String[][]{ROW});
+
+        // then
+        assertThat(first.isComplete()).isFalse();
+        verify(vertx).setTimer(eq(2L), any());
+
+        // when
+        fireTimer();
+
+        // then
+        verify(onnxModelRunner).runModel(argThat(rows -> rows.length == 3));
+        assertThat(first.result()).isDeepEqualTo(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}});
+        assertThat(second.result()).isDeepEqualTo(new float[][]{{0.3f, 0.7f}});
+    }
+
+    @Test
+    public void submitShouldRunBatchWithoutWaitingWhenMaxBatchRowsReached() throws OrtException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 2L, 2);
+        givenProbabilities(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}});
+
+        // when
+        final Future<float[][]> result = target.submit(onnxModelRunner, new String[][]{ROW, ROW});
+
+        // then
+        verify(vertx, never()).setTimer(anyLong(), any());
+        assertThat(result.result()).isDeepEqualTo(new float[][]{{0.1f, 0.9f}, {0.2f, 0.8f}});
+    }
+
+    @Test
+    public void submitShouldFailAllRowsOfBatchWhenInferenceFails() throws OrtException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 2L, 100);
+        given(onnxModelRunner.runModel(any())).willThrow(new OrtException("Exception during runModel"));
+
+        // when
+        final Future<float[][]> first = target.submit(onnxModelRunner, new String[][]{ROW});
+        final Future<float[][]> second = target.submit(onnxModelRunner, new String[][]{ROW});
+        fireTimer();
+
+        // then
+        assertThat(List.of(first, second)).allSatisfy(future -> assertThat(future.cause())
+                .isInstanceOf(PreBidException.class)
+                .hasMessageContaining("Exception during model inference"));
+    }
+
+    @Test
+    public void submitShouldFailWhenOnnxValueIsNotTensor() throws OrtException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 0L, 100);
+        given(onnxModelRunner.runModel(any())).willReturn(results);
+        given(results.iterator()).willReturn(List.<Map.Entry<String, OnnxValue>>of(
+                new AbstractMap.SimpleEntry<>("probabilities", onnxValue)).iterator());
+
+        // when
+        final Future<float[][]> result = target.submit(onnxModelRunner, new String[][]{ROW});
+
+        // then
+        assertThat(result.cause()).isInstanceOf(PreBidException.class)
+                .hasMessageContaining("Expected OnnxTensor for 'probabilities', but found");
+    }
+
+    @Test
+    public void submitShouldFailWhenTensorSizeMismatchOccurs() throws OrtException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 0L, 100);
+        given(onnxModelRunner.runModel(any())).willReturn(results);
+        given(results.iterator()).willReturn(List.<Map.Entry<String, OnnxValue>>of(
+                new AbstractMap.SimpleEntry<>("probabilities", onnxTensor)).iterator());
+        given(onnxTensor.getInfo()).willReturn(tensorInfo);
+        given(tensorInfo.getShape()).willReturn(new long[]{0});
+
+        // when
+        final Future<float[][]> result = target.submit(onnxModelRunner, new String[][]{ROW});
+
+        // then
+        assertThat(result.cause()).isInstanceOf(PreBidException.class)
+                .hasMessageContaining("Mismatch between tensor size and throttlingMessages size");
+    }
+
+    @Test
+    public void submitShouldReturnProbabilitiesOfRealModel() throws OrtException, IOException {
+        // given
+        final OnnxInferenceScheduler target = new OnnxInferenceScheduler(vertx, workerExecutor, 0L, 100);
+        final OnnxModelRunner realOnnxModelRunner = new OnnxModelRunner(Files.readAllBytes(Paths.get(
+                "src/test/resources/models_pbuid=test-pbuid.onnx")));
+
+        // when
+        final Future<float[][]> result = target.submit(realOnnxModelRunner, new String[][]{ROW, ROW});
+
+        // then
+        assertThat(result.result()).hasDimensions(2, 2);
+        assertThat(result.result()[0][1]).isBetween(0.0f, 1.0f);
+    }
+
+    private void givenProbabilities(float[][] probabilities) throws OrtException {
+        given(onnxModelRunner.runModel(any())).willReturn(results);
+        given(results.iterator()).willReturn(List.<Map.Entry<String, OnnxValue>>of(
+                new AbstractMap.SimpleEntry<>("probabilities", onnxTensor)).iterator());
+        given(onnxTensor.getInfo()).willReturn(tensorInfo);
+        given(tensorInfo.getShape()).willReturn(new long[]{probabilities.length, 2});
+        given(onnxTensor.getValue()).willReturn(probabilities);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireTimer() {
+        final ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(anyLong(), timerCaptor.capture());
+        timerCaptor.getValue().handle(0L);
+    }
+}
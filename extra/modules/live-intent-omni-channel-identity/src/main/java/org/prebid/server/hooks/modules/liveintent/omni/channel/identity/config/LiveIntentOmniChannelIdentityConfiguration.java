@@ -1,11 +1,14 @@
 package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.config;
 
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.IdentityCacheProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.core.IdentityResolutionCache;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.hooks.LiveIntentOmniChannelIdentityProcessedAuctionRequestHook;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -13,6 +16,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
 import java.util.Collections;
 
 @Configuration
@@ -33,11 +37,28 @@ public class LiveIntentOmniChannelIdentityConfiguration {
                                                JacksonMapper mapper,
                                                UserFpdActivityMask userFpdActivityMask,
                                                HttpClient httpClient,
+                                               Metrics metrics,
+                                               Clock clock,
                                                @Value("${logging.sampling-rate:0.01}") double logSamplingRate) {
 
+        final IdentityCacheProperties cacheProperties = liveIntentOmniChannelProperties.getCache();
+        final IdentityResolutionCache identityResolutionCache = cacheProperties != null && cacheProperties.getSize() > 0
+                ? new IdentityResolutionCache(
+                        cacheProperties.getSize(),
+                        cacheProperties.getTtlSeconds(),
+                        cacheProperties.getNegativeTtlSeconds(),
+                        metrics,
+                        clock)
+                : null;
+
         final LiveIntentOmniChannelIdentityProcessedAuctionRequestHook hook =
                 new LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(
-                        liveIntentOmniChannelProperties, userFpdActivityMask, mapper, httpClient, logSamplingRate);
+                        liveIntentOmniChannelProperties,
+                        userFpdActivityMask,
+                        mapper,
+                        httpClient,
+                        logSamplingRate,
+                        identityResolutionCache);
 
         return new LiveIntentOmniChannelIdentityModule(Collections.singleton(hook));
     }
@@ -0,0 +1,13 @@
+package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config;
+
+import lombok.Data;
+
+@Data
+public final class IdentityCacheProperties {
+
+    long size;
+
+    int ttlSeconds;
+
+    int negativeTtlSeconds;
+}
@@ -16,4 +16,6 @@ public final class LiveIntentOmniChannelProperties {
     float treatmentRate;
 
     Set<String> targetBidders;
+
+    IdentityCacheProperties cache;
 }
@@ -0,0 +1,159 @@
+package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.iab.openrtb.request.Eid;
+import com.iab.openrtb.request.Uid;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps identities resolved for a user, so that auctions of the same user do not call the identity resolution
+ * endpoint again until the entry expires.
+ * <p>
+ * User is identified by the normalized set of its EIDs: the source is lower-cased, the order of EIDs and UIDs
+ * is ignored and UIDs without id are skipped. Requests without any EID are always passed to the endpoint.
+ * Resolutions with no identity found are kept for their own, usually shorter, time, while failed ones are not kept.
+ * Concurrent auctions of the same user not found in the cache share a single call to the endpoint.
+ */
+public class IdentityResolutionCache {
+
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final Cache<Set<UidKey>, IdResResponse> cache;
+    private final Map<Set<UidKey>, Future<IdResResponse>> inFlightResolutions = new ConcurrentHashMap<>();
+
+    public IdentityResolutionCache(long size, int ttlSeconds, int negativeTtlSeconds, Metrics metrics, Clock clock) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Identity cache size should be positive: " + size);
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Identity cache ttl should be positive: " + ttlSeconds);
+        }
+        if (negativeTtlSeconds < 0) {
+            throw new IllegalArgumentException("Identity cache negative ttl should not be negative: "
+                    + negativeTtlSeconds);
+        }
+
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        final Duration ttl = Duration.ofSeconds(ttlSeconds);
+        final Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfter(Expiry.<Set<UidKey>, IdResResponse>creating((key, response) ->
+                        CollectionUtils.isEmpty(response.getEids()) ? negativeTtl : ttl))
+                .build();
+    }
+
+    /**
+     * Returns identities of the user with the given EIDs, resolving them by the resolver when they are not known.
+     */
+    public Future<IdResResponse> resolve(List<Eid> eids, Supplier<Future<IdResResponse>> resolver) {
+        final Set<UidKey> key = key(eids);
+        if (key == null) {
+            return resolver.get();
+        }
+
+        final IdResResponse cachedResponse = cache.getIfPresent(key);
+        if (cachedResponse != null) {
+            updateMetric(MetricName.hit);
+            return Future.succeededFuture(cachedResponse);
+        }
+
+        final Promise<IdResResponse> promise = Promise.promise();
+        final Future<IdResResponse> inFlightResolution = inFlightResolutions.putIfAbsent(key, promise.future());
+        if (inFlightResolution != null) {
+            updateMetric(MetricName.coalesced);
+            return onCallerContext(inFlightResolution);
+        }
+
+        updateMetric(MetricName.miss);
+        final long startTime = clock.millis();
+        callResolver(resolver).onComplete(result -> {
+            metrics.updateModuleCacheRequestTime(LiveIntentOmniChannelIdentityModule.CODE, clock.millis() - startTime);
+            if (result.succeeded() && result.result() != null) {
+                cache.put(key, result.result());
+            }
+
+            inFlightResolutions.remove(key);
+            promise.handle(result);
+        });
+
+        return promise.future();
+    }
+
+    private static Set<UidKey> key(List<Eid> eids) {
+        if (CollectionUtils.isEmpty(eids)) {
+            return null;
+        }
+
+        final Set<UidKey> key = new HashSet<>();
+        for (Eid eid : eids) {
+            final List<Uid> uids = eid != null ? eid.getUids() : null;
+            if (uids == null) {
+                continue;
+            }
+
+            final String source = StringUtils.lowerCase(StringUtils.trim(eid.getSource()));
+            for (Uid uid : uids) {
+                if (uid != null && StringUtils.isNotBlank(uid.getId())) {
+                    key.add(new UidKey(source, uid.getId(), uid.getAtype()));
+                }
+            }
+        }
+
+        return key.isEmpty() ? null : Set.copyOf(key);
+    }
+
+    private static Future<IdResResponse> callResolver(Supplier<Future<IdResResponse>> resolver) {
+        try {
+            return resolver.get();
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    /**
+     * Completes joined resolution on the context of the auction that joined it, rather than on the context of
+     * the auction that started the call.
+     */
+    private static Future<IdResResponse> onCallerContext(Future<IdResResponse> resolution) {
+        final Context context = Vertx.currentContext();
+        if (context == null) {
+            return resolution;
+        }
+
+        final Promise<IdResResponse> promise = Promise.promise();
+        resolution.onComplete(result -> context.runOnContext(ignored -> promise.handle(result)));
+        return promise.future();
+    }
+
+    private void updateMetric(MetricName event) {
+        metrics.updateModuleCacheMetric(LiveIntentOmniChannelIdentityModule.CODE, event);
+    }
+
+    private record UidKey(String source, String id, Integer atype) {
+    }
+}
@@ -26,6 +26,7 @@ import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.config.LiveIntentOmniChannelProperties;
 import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.LiveIntentOmniChannelIdentityModule;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.core.IdentityResolutionCache;
 import org.prebid.server.hooks.v1.InvocationAction;
 import org.prebid.server.hooks.v1.InvocationResult;
 import org.prebid.server.hooks.v1.InvocationStatus;
@@ -65,6 +66,7 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
     private final UserFpdActivityMask userFpdActivityMask;
     private final double logSamplingRate;
     private final Set<String> targetBidders;
+    private final IdentityResolutionCache identityResolutionCache;
 
     public LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(LiveIntentOmniChannelProperties config,
                                                                     UserFpdActivityMask userFpdActivityMask,
@@ -72,6 +74,16 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
                                                                     HttpClient httpClient,
                                                                     double logSamplingRate) {
 
+        this(config, userFpdActivityMask, mapper, httpClient, logSamplingRate, null);
+    }
+
+    public LiveIntentOmniChannelIdentityProcessedAuctionRequestHook(LiveIntentOmniChannelProperties config,
+                                                                    UserFpdActivityMask userFpdActivityMask,
+                                                                    JacksonMapper mapper,
+                                                                    HttpClient httpClient,
+                                                                    double logSamplingRate,
+                                                                    IdentityResolutionCache identityResolutionCache) {
+
         this.config = Objects.requireNonNull(config);
         HttpUtil.validateUrl(config.getIdentityResolutionEndpoint());
         this.mapper = Objects.requireNonNull(mapper);
@@ -79,6 +91,7 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
         this.logSamplingRate = logSamplingRate;
         this.userFpdActivityMask = Objects.requireNonNull(userFpdActivityMask);
         this.targetBidders = SetUtils.emptyIfNull(config.getTargetBidders());
+        this.identityResolutionCache = identityResolutionCache;
     }
 
     @Override
@@ -95,6 +108,15 @@ public class LiveIntentOmniChannelIdentityProcessedAuctionRequestHook implements
 
     private Future<IdResResponse> requestIdentities(BidRequest bidRequest, AuctionContext auctionContext) {
         final BidRequest restrictedBidRequest = applyActivityRestrictions(bidRequest, auctionContext);
+        if (identityResolutionCache == null) {
+            return resolveIdentities(restrictedBidRequest);
+        }
+
+        final List<Eid> eids = Optional.ofNullable(restrictedBidRequest.getUser()).map(User::getEids).orElse(null);
+        return identityResolutionCache.resolve(eids, () -> resolveIdentities(restrictedBidRequest));
+    }
+
+    private Future<IdResResponse> resolveIdentities(BidRequest restrictedBidRequest) {
         return httpClient.post(
                         config.getIdentityResolutionEndpoint(),
                         headers(),
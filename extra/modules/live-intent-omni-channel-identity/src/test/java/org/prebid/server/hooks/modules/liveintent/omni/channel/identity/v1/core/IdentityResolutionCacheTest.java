@@ -0,0 +1,233 @@
+package org.prebid.server.hooks.modules.liveintent.omni.channel.identity.v1.core;
+
+import com.iab.openrtb.request.Eid;
+import com.iab.openrtb.request.Uid;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.hooks.modules.liveintent.omni.channel.identity.model.IdResResponse;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.TimingWheel;
+import org.prebid.server.vertx.httpclient.BasicHttpClient;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class IdentityResolutionCacheTest {
+
+    private static final JacksonMapper MAPPER = new JacksonMapper(ObjectMapperProvider.mapper());
+
+    private static final String MODULE_CODE = "liveintent-omni-channel-identity";
+
+    private static final Eid RESOLVED_EID = Eid.builder()
+            .source("liveintent.com")
+            .uids(singletonList(Uid.builder().id("resolved").atype(3).build()))
+            .build();
+
+    @Mock
+    private Metrics metrics;
+
+    private Vertx vertx;
+
+    private HttpServer stubServer;
+
+    private AtomicInteger stubRequests;
+
+    private volatile String stubResponseBody;
+
+    private HttpClient httpClient;
+
+    private IdentityResolutionCache target;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        vertx = Vertx.vertx();
+        stubRequests = new AtomicInteger();
+        stubResponseBody = MAPPER.encodeToString(IdResResponse.of(singletonList(RESOLVED_EID)));
+
+        // answers with a delay, so that concurrent lookups find the call in flight
+        stubServer = await(vertx.createHttpServer()
+                .requestHandler(request -> {
+                    stubRequests.incrementAndGet();
+                    vertx.setTimer(100L, ignored -> request.response().end(stubResponseBody));
+                })
+                .listen(0));
+
+        httpClient = new BasicHttpClient(new TimingWheel(vertx, 10L, 512), vertx.createHttpClient());
+
+        target = new IdentityResolutionCache(100L, 60, 60, metrics, Clock.systemUTC());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        await(vertx.close());
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidConfiguration() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new IdentityResolutionCache(0L, 60, 60, metrics, Clock.systemUTC()))
+                .withMessage("Identity cache size should be positive: 0");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new IdentityResolutionCache(100L, 0, 60, metrics, Clock.systemUTC()))
+                .withMessage("Identity cache ttl should be positive: 0");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new IdentityResolutionCache(100L, 60, -1, metrics, Clock.systemUTC()))
+                .withMessage("Identity cache negative ttl should not be negative: -1");
+    }
+
+    @Test
+    public void resolveShouldShareSingleCallBetweenConcurrentLookupsOfSameUser() throws Exception {
+        // given
+        final List<Eid> eids = givenEids("some.source.com", "id1");
+
+        // when
+        final Future<IdResResponse> firstResult = target.resolve(eids, this::callStubServer);
+        final Future<IdResResponse> secondResult = target.resolve(eids, this::callStubServer);
+
+        // then
+        assertThat(await(firstResult).getEids()).containsExactly(RESOLVED_EID);
+        assertThat(await(secondResult).getEids()).containsExactly(RESOLVED_EID);
+        assertThat(stubRequests.get()).isEqualTo(1);
+
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.miss);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.coalesced);
+        verify(metrics).updateModuleCacheRequestTime(eq(MODULE_CODE), anyLong());
+    }
+
+    @Test
+    public void resolveShouldReturnCachedIdentitiesForSameEidsInAnyOrder() throws Exception {
+        // given
+        final Eid firstEid = givenEid("some.source.com", "id1");
+        final Eid secondEid = givenEid("other.source.com", "id2");
+        await(target.resolve(List.of(firstEid, secondEid), this::callStubServer));
+
+        // when
+        final IdResResponse result = await(target.resolve(
+                List.of(secondEid, firstEid.toBuilder().source("Some.Source.com").build()),
+                this::callStubServer));
+
+        // then
+        assertThat(result.getEids()).containsExactly(RESOLVED_EID);
+        assertThat(stubRequests.get()).isEqualTo(1);
+        verify(metrics).updateModuleCacheMetric(MODULE_CODE, MetricName.hit);
+    }
+
+    @Test
+    public void resolveShouldCallEndpointForDifferentUsers() throws Exception {
+        // when
+        await(target.resolve(givenEids("some.source.com", "id1"), this::callStubServer));
+        await(target.resolve(givenEids("some.source.com", "id2"), this::callStubServer));
+
+        // then
+        assertThat(stubRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void resolveShouldCacheResolutionWithoutIdentities() throws Exception {
+        // given
+        stubResponseBody = MAPPER.encodeToString(IdResResponse.of(emptyList()));
+        final List<Eid> eids = givenEids("some.source.com", "id1");
+        await(target.resolve(eids, this::callStubServer));
+
+        // when
+        final IdResResponse result = await(target.resolve(eids, this::callStubServer));
+
+        // then
+        assertThat(result.getEids()).isEmpty();
+        assertThat(stubRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolveShouldNotKeepResolutionWithoutIdentitiesWhenNegativeTtlIsZero() throws Exception {
+        // given
+        target = new IdentityResolutionCache(100L, 60, 0, metrics, Clock.systemUTC());
+        stubResponseBody = MAPPER.encodeToString(IdResResponse.of(emptyList()));
+        final List<Eid> eids = givenEids("some.source.com", "id1");
+        await(target.resolve(eids, this::callStubServer));
+
+        // when
+        await(target.resolve(eids, this::callStubServer));
+
+        // then
+        assertThat(stubRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void resolveShouldNotCacheFailedResolution() throws Exception {
+        // given
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<Future<IdResResponse>> failingResolver = () -> {
+            calls.incrementAndGet();
+            return Future.failedFuture("Timeout exceeded");
+        };
+        final List<Eid> eids = givenEids("some.source.com", "id1");
+
+        // when
+        final Future<IdResResponse> firstResult = target.resolve(eids, failingResolver);
+        final IdResResponse secondResult = await(target.resolve(eids, this::callStubServer));
+
+        // then
+        assertThat(firstResult.failed()).isTrue();
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(secondResult.getEids()).containsExactly(RESOLVED_EID);
+        assertThat(stubRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void resolveShouldAlwaysCallEndpointForUsersWithoutEids() throws Exception {
+        // when
+        await(target.resolve(null, this::callStubServer));
+        await(target.resolve(givenEids("some.source.com", " "), this::callStubServer));
+
+        // then
+        assertThat(stubRequests.get()).isEqualTo(2);
+    }
+
+    private Future<IdResResponse> callStubServer() {
+        return httpClient.post(
+                        "http://localhost:%d/idres".formatted(stubServer.actualPort()),
+                        MultiMap.caseInsensitiveMultiMap(),
+                        "{}",
+                        1000L)
+                .map(response -> MAPPER.decodeValue(response.getBody(), IdResResponse.class));
+    }
+
+    private static List<Eid> givenEids(String source, String id) {
+        return singletonList(givenEid(source, id));
+    }
+
+    private static Eid givenEid(String source, String id) {
+        return Eid.builder()
+                .source(source)
+                .uids(singletonList(Uid.builder().id(id).atype(1).build()))
+                .build();
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(5L, TimeUnit.SECONDS);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.SetUtils;
@@ -17,6 +18,7 @@ import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BidAttributeBlo
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.BlockedAttributes;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.ResponseBlockingConfig;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.model.Result;
+import org.prebid.server.hooks.modules.ortb2.blocking.core.util.LookupList;
 import org.prebid.server.hooks.modules.ortb2.blocking.core.util.MergeUtils;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 import org.prebid.server.util.ObjectUtil;
@@ -29,9 +31,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Reads blocking configuration of the account for the given bidder and ORTB version.
+ * <p>
+ * Everything that doesn't depend on the deal of the bid is memoized per set of media types, so a reader
+ * shared between requests (see {@link AccountConfigReaderCache}) walks the account configuration only once.
+ * Blocked values lists are returned as {@link LookupList}s for constant time matching of bid attributes.
+ */
 public class AccountConfigReader {
 
     private static final String ATTRIBUTES_FIELD = "attributes";
@@ -74,6 +84,10 @@ public class AccountConfigReader {
     private final OrtbVersion ortbVersion;
     private final boolean debugEnabled;
 
+    private final Map<BlockedAttributeKey, Result<? extends List<?>>> blockedAttributes = new ConcurrentHashMap<>();
+    private final Map<Set<String>, Result<ResponseBlockingConfig>> responseBlockingConfigs =
+            new ConcurrentHashMap<>();
+
     private AccountConfigReader(ObjectNode config, String bidder, OrtbVersion ortbVersion, boolean debugEnabled) {
         this.config = config;
         this.bidder = bidder;
@@ -123,6 +137,13 @@ public class AccountConfigReader {
         final Set<String> bidMediaTypes = mediaTypesFrom(bidderBid);
         final String dealid = bidderBid.getBid().getDealid();
 
+        return StringUtils.isNotBlank(dealid)
+                ? responseBlockingConfigFor(bidMediaTypes, dealid)
+                : responseBlockingConfigs.computeIfAbsent(
+                bidMediaTypes, mediaTypes -> responseBlockingConfigFor(mediaTypes, null));
+    }
+
+    private Result<ResponseBlockingConfig> responseBlockingConfigFor(Set<String> bidMediaTypes, String dealid) {
         final Result<BidAttributeBlockingConfig<String>> badv = blockingConfigForAttribute(
                 BADV_FIELD,
                 String.class,
@@ -181,11 +202,22 @@ public class AccountConfigReader {
         return Result.of(response, warnings);
     }
 
+    @SuppressWarnings("unchecked")
     private <T> Result<List<T>> blockedAttribute(String attribute,
                                                  Class<T> attributeType,
                                                  String fieldName,
                                                  Set<String> actualMediaTypes) {
 
+        return (Result<List<T>>) blockedAttributes.computeIfAbsent(
+                BlockedAttributeKey.of(fieldName, actualMediaTypes),
+                key -> readBlockedAttribute(attribute, attributeType, fieldName, actualMediaTypes));
+    }
+
+    private <T> Result<List<T>> readBlockedAttribute(String attribute,
+                                                     Class<T> attributeType,
+                                                     String fieldName,
+                                                     Set<String> actualMediaTypes) {
+
         final JsonNode attributeConfig = attributeConfig(attribute);
         if (attributeConfig == null) {
             return Result.empty();
@@ -195,7 +227,7 @@ public class AccountConfigReader {
 
         final List<T> result = overrideArrayAttribute(attributeConfig, override.getValue(), attributeType, fieldName);
 
-        return Result.of(result, override.getMessages());
+        return Result.of(LookupList.of(result), override.getMessages());
     }
 
     private Result<Integer> blockedCattaxComplement(BidRequest bidRequest) {
@@ -600,4 +632,12 @@ public class AccountConfigReader {
 
         return object;
     }
+
+    @Value(staticConstructor = "of")
+    private static class BlockedAttributeKey {
+
+        String field;
+
+        Set<String> mediaTypes;
+    }
 }
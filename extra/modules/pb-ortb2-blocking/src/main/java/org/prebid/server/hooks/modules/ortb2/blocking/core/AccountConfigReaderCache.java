@@ -0,0 +1,64 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Value;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares {@link AccountConfigReader}s between requests, so that account blocking configuration is read once
+ * per configuration version, bidder and ORTB version instead of on every bidder request and response.
+ * <p>
+ * Account configuration object is hashed once per auction: it is the same object for all bidder requests
+ * and responses of the auction.
+ */
+public class AccountConfigReaderCache {
+
+    private static final int MAX_ACCOUNT_CONFIGS = 10_000;
+
+    // keyed by content of account config, since account settings may build a new config object for every request
+    private final Cache<ObjectNode, Map<ReaderKey, AccountConfigReader>> readersByContent =
+            Caffeine.newBuilder().maximumSize(MAX_ACCOUNT_CONFIGS).build();
+
+    // keyed by identity of account config object, so that config is hashed and compared by content only on its
+    // first lookup, later lookups of the same auction for other bidders and for bidder responses are identity hits
+    private final Cache<ObjectNode, Map<ReaderKey, AccountConfigReader>> readersByInstance =
+            Caffeine.newBuilder().weakKeys().build();
+
+    public AccountConfigReader readerFor(ObjectNode accountConfig,
+                                         String bidder,
+                                         OrtbVersion ortbVersion,
+                                         boolean debugEnabled) {
+
+        Objects.requireNonNull(bidder);
+        Objects.requireNonNull(ortbVersion);
+
+        if (accountConfig == null) {
+            return AccountConfigReader.create(null, bidder, ortbVersion, debugEnabled);
+        }
+
+        return readersByInstance.get(accountConfig, this::readersByContent)
+                .computeIfAbsent(
+                        ReaderKey.of(bidder, ortbVersion, debugEnabled),
+                        key -> AccountConfigReader.create(accountConfig, bidder, ortbVersion, debugEnabled));
+    }
+
+    private Map<ReaderKey, AccountConfigReader> readersByContent(ObjectNode accountConfig) {
+        return readersByContent.get(accountConfig, key -> new ConcurrentHashMap<>());
+    }
+
+    @Value(staticConstructor = "of")
+    private static class ReaderKey {
+
+        String bidder;
+
+        OrtbVersion ortbVersion;
+
+        boolean debugEnabled;
+    }
+}
@@ -1,6 +1,5 @@
 package org.prebid.server.hooks.modules.ortb2.blocking.core;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
@@ -48,21 +47,21 @@ public class BidsBlocker {
     private final List<BidderBid> bids;
     private final String bidder;
     private final OrtbVersion ortbVersion;
-    private final ObjectNode accountConfig;
+    private final AccountConfigReader accountConfigReader;
     private final BlockedAttributes blockedAttributes;
     private final boolean debugEnabled;
 
     private BidsBlocker(List<BidderBid> bids,
                         String bidder,
                         OrtbVersion ortbVersion,
-                        ObjectNode accountConfig,
+                        AccountConfigReader accountConfigReader,
                         BlockedAttributes blockedAttributes,
                         boolean debugEnabled) {
 
         this.bids = bids;
         this.bidder = bidder;
         this.ortbVersion = ortbVersion;
-        this.accountConfig = accountConfig;
+        this.accountConfigReader = accountConfigReader;
         this.blockedAttributes = blockedAttributes;
         this.debugEnabled = debugEnabled;
     }
@@ -70,7 +69,7 @@ public class BidsBlocker {
     public static BidsBlocker create(List<BidderBid> bids,
                                      String bidder,
                                      OrtbVersion ortbVersion,
-                                     ObjectNode accountConfig,
+                                     AccountConfigReader accountConfigReader,
                                      BlockedAttributes blockedAttributes,
                                      boolean debugEnabled) {
 
@@ -78,18 +77,15 @@ public class BidsBlocker {
                 Objects.requireNonNull(bids),
                 Objects.requireNonNull(bidder),
                 Objects.requireNonNull(ortbVersion),
-                accountConfig,
+                Objects.requireNonNull(accountConfigReader),
                 blockedAttributes,
                 debugEnabled);
     }
 
     public ExecutionResult<BlockedBids> block() {
-        final AccountConfigReader accountConfigReader = AccountConfigReader.create(
-                accountConfig, bidder, ortbVersion, debugEnabled);
-
         try {
             final List<Result<BlockingResult>> blockedBidResults = bids.stream()
-                    .map(bid -> isBlocked(bid, accountConfigReader))
+                    .map(this::isBlocked)
                     .toList();
 
             final Set<Integer> blockedBidIndexes = IntStream.range(0, bids.size())
@@ -118,7 +114,7 @@ public class BidsBlocker {
         }
     }
 
-    private Result<BlockingResult> isBlocked(BidderBid bidderBid, AccountConfigReader accountConfigReader) {
+    private Result<BlockingResult> isBlocked(BidderBid bidderBid) {
         final Result<ResponseBlockingConfig> blockingConfigResult = accountConfigReader
                 .responseBlockingConfigFor(bidderBid);
         final ResponseBlockingConfig blockingConfig = blockingConfigResult.getValue();
@@ -0,0 +1,42 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core.util;
+
+import java.util.AbstractList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable list answering {@link #contains(Object)} in constant time, so that bids can be checked against
+ * blocked values lists of thousands of entries without scanning them. Null values are left out.
+ */
+public class LookupList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> values;
+    private final Set<T> lookup;
+
+    private LookupList(List<T> values) {
+        this.values = values.stream().filter(Objects::nonNull).toList();
+        this.lookup = new HashSet<>(this.values);
+    }
+
+    public static <T> List<T> of(List<T> values) {
+        return values == null || values instanceof LookupList<T> ? values : new LookupList<>(values);
+    }
+
+    @Override
+    public T get(int index) {
+        return values.get(index);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return lookup.contains(value);
+    }
+}
@@ -0,0 +1,93 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.auction.versionconverter.OrtbVersion;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccountConfigReaderCacheTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final AccountConfigReaderCache target = new AccountConfigReaderCache();
+
+    @Test
+    public void readerForShouldReturnSameReaderForSameAccountConfigBidderAndOrtbVersion() {
+        // given
+        final ObjectNode accountConfig = MAPPER.createObjectNode();
+
+        // when
+        final AccountConfigReader reader = target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false)).isSameAs(reader);
+        assertThat(target.readerFor(accountConfig, "bidder2", OrtbVersion.ORTB_2_5, false)).isNotSameAs(reader);
+        assertThat(target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_6, false)).isNotSameAs(reader);
+    }
+
+    @Test
+    public void readerForShouldReturnSameReaderForEqualAccountConfig() {
+        // given
+        final ObjectNode accountConfig = MAPPER.createObjectNode();
+        final AccountConfigReader reader = target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // when
+        final AccountConfigReader result = target.readerFor(
+                accountConfig.deepCopy(), "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(result).isSameAs(reader);
+    }
+
+    @Test
+    public void readerForShouldNotHashOrCompareSameAccountConfigObjectOnLaterLookups() {
+        // given
+        final AtomicInteger contentAccesses = new AtomicInteger();
+        final ObjectNode accountConfig = new ObjectNode(JsonNodeFactory.instance) {
+
+            @Override
+            public int hashCode() {
+                contentAccesses.incrementAndGet();
+                return super.hashCode();
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                contentAccesses.incrementAndGet();
+                return super.equals(o);
+            }
+        };
+        accountConfig.putObject("attributes").putObject("badv").putArray("blocked-adomain").add("domain.com");
+
+        final AccountConfigReader reader = target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+        final int firstLookupContentAccesses = contentAccesses.get();
+
+        // when
+        final AccountConfigReader result = target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+        target.readerFor(accountConfig, "bidder2", OrtbVersion.ORTB_2_5, false);
+        target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_6, false);
+
+        // then
+        assertThat(result).isSameAs(reader);
+        assertThat(contentAccesses).hasValue(firstLookupContentAccesses);
+    }
+
+    @Test
+    public void readerForShouldReturnNewReaderForChangedAccountConfig() {
+        // given
+        final ObjectNode accountConfig = MAPPER.createObjectNode();
+        final AccountConfigReader reader = target.readerFor(accountConfig, "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // when
+        final AccountConfigReader result = target.readerFor(
+                accountConfig.deepCopy().put("field", "value"), "bidder1", OrtbVersion.ORTB_2_5, false);
+
+        // then
+        assertThat(result).isNotSameAs(reader);
+    }
+}
@@ -421,6 +421,24 @@ public class AccountConfigReaderTest {
                 Result.withValue(attributesWithBadv(asList("domain1.com", "domain2.com"))));
     }
 
+    @Test
+    public void blockedAttributesForShouldReuseBadvReadForSameMediaTypes() {
+        // given
+        final ObjectNode accountConfig = toObjectNode(ModuleConfig.of(Attributes.builder()
+                .badv(Attribute.badvBuilder()
+                        .blocked(asList("domain1.com", "domain2.com"))
+                        .build())
+                .build()));
+        final AccountConfigReader reader = AccountConfigReader.create(accountConfig, "bidder1", ORTB_VERSION, true);
+
+        // when
+        final List<String> badv = reader.blockedAttributesFor(emptyRequest()).getValue().getBadv();
+
+        // then
+        assertThat(reader.blockedAttributesFor(emptyRequest()).getValue().getBadv()).isSameAs(badv);
+        assertThat(badv).contains("domain2.com").doesNotContain("domain3.com");
+    }
+
     @Test
     public void blockedAttributesForShouldReturnResultWithDefaultBadvWhenOverridesDoNotMatchRequestByBidder() {
         // given
@@ -662,6 +662,12 @@ public class BidsBlockerTest {
                                     BlockedAttributes blockedAttributes,
                                     boolean debugEnabled) {
 
-        return BidsBlocker.create(bids, "bidder1", ortbVersion, accountConfig, blockedAttributes, debugEnabled);
+        return BidsBlocker.create(
+                bids,
+                "bidder1",
+                ortbVersion,
+                AccountConfigReader.create(accountConfig, "bidder1", ortbVersion, debugEnabled),
+                blockedAttributes,
+                debugEnabled);
     }
 }
@@ -0,0 +1,36 @@
+package org.prebid.server.hooks.modules.ortb2.blocking.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LookupListTest {
+
+    @Test
+    public void ofShouldReturnNullForNullValues() {
+        assertThat(LookupList.of(null)).isNull();
+    }
+
+    @Test
+    public void ofShouldReturnSameListForLookupList() {
+        // given
+        final List<String> lookupList = LookupList.of(asList("a.com", "b.com"));
+
+        // when and then
+        assertThat(LookupList.of(lookupList)).isSameAs(lookupList);
+    }
+
+    @Test
+    public void ofShouldLeaveOutNullValues() {
+        // when
+        final List<String> result = LookupList.of(asList("a.com", null, "b.com"));
+
+        // then
+        assertThat(result).containsExactly("a.com", "b.com");
+        assertThat(result.contains("b.com")).isTrue();
+        assertThat(result.contains(null)).isFalse();
+    }
+}
@@ -21,12 +21,14 @@ public class PbRichmediaFilterModuleConfiguration {
     @Bean
     PbRichmediaFilterModule pbRichmediaFilterModule(
             @Value("${hooks.modules.pb-richmedia-filter.filter-mraid:false}") boolean filterMraid,
-            @Value("${hooks.modules.pb-richmedia-filter.mraid-script-pattern:#{null}}") String mraidScriptPattern) {
+            @Value("${hooks.modules.pb-richmedia-filter.mraid-script-pattern:#{null}}") String mraidScriptPattern,
+            @Value("${hooks.modules.pb-richmedia-filter.forbidden-patterns:}") List<String> forbiddenPatterns) {
 
         final ObjectMapper mapper = ObjectMapperProvider.mapper();
         final PbRichMediaFilterProperties globalProperties = PbRichMediaFilterProperties.of(
                 filterMraid,
-                mraidScriptPattern);
+                mraidScriptPattern,
+                forbiddenPatterns);
 
         return new PbRichmediaFilterModule(List.of(
                 new PbRichmediaFilterAllProcessedBidResponsesHook(
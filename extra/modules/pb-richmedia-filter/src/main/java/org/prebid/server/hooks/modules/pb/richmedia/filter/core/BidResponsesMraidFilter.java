@@ -1,7 +1,8 @@
 package org.prebid.server.hooks.modules.pb.richmedia.filter.core;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.iab.openrtb.response.Bid;
-import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.bidder.model.BidderBid;
@@ -11,35 +12,54 @@ import org.prebid.server.hooks.modules.pb.richmedia.filter.model.AnalyticsResult
 import org.prebid.server.hooks.modules.pb.richmedia.filter.model.MraidFilterResult;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Filters out bids whose markup contains any of the forbidden patterns, e.g. richmedia scripts.
+ * <p>
+ * Patterns are compiled into {@link MultiPatternMatcher} once per distinct list of patterns, so the markup
+ * of each bid is scanned in a single pass whatever the number of patterns is.
+ */
 public class BidResponsesMraidFilter {
 
     private static final String TAG_STATUS = "success-block";
     private static final Map<String, Object> TAG_VALUES = Map.of("richmedia-format", "mraid");
 
-    public MraidFilterResult filterByPattern(String mraidScriptPattern,
-                                             List<BidderResponse> responses) {
+    // patterns come either from the host or from account configs, so there are only a few distinct lists of them
+    private static final int MATCHERS_CACHE_SIZE = 1000;
 
-        final List<BidderResponse> filteredResponses = new ArrayList<>();
+    private final LoadingCache<List<String>, MultiPatternMatcher> matchers = Caffeine.newBuilder()
+            .maximumSize(MATCHERS_CACHE_SIZE)
+            .build(MultiPatternMatcher::of);
+
+    public MraidFilterResult filterByPatterns(List<String> patterns, List<BidderResponse> responses) {
+        final MultiPatternMatcher matcher = matchers.get(patterns);
+
+        final List<BidderResponse> filteredResponses = new ArrayList<>(responses.size());
         final List<AnalyticsResult> analyticsResults = new ArrayList<>();
 
         for (BidderResponse bidderResponse : responses) {
             final BidderSeatBid seatBid = bidderResponse.getSeatBid();
             final List<BidderBid> originalBids = seatBid.getBids();
-            final Map<Boolean, List<BidderBid>> bidsMap = originalBids.stream().collect(
-                    Collectors.groupingBy(bid -> StringUtils.contains(bid.getBid().getAdm(), mraidScriptPattern)));
-
-            final List<BidderBid> validBids = bidsMap.getOrDefault(false, Collections.emptyList());
-            final List<BidderBid> invalidBids = bidsMap.getOrDefault(true, Collections.emptyList());
+            final int firstInvalidBidIndex = indexOfFirstMatchingBid(matcher, originalBids);
 
-            if (validBids.size() == originalBids.size()) {
-                filteredResponses.add(bidderResponse.with(seatBid.with(originalBids)));
+            if (firstInvalidBidIndex == -1) {
+                filteredResponses.add(bidderResponse);
             } else {
+                final List<BidderBid> validBids = new ArrayList<>(originalBids.subList(0, firstInvalidBidIndex));
+                final List<BidderBid> invalidBids = new ArrayList<>();
+                invalidBids.add(originalBids.get(firstInvalidBidIndex));
+                for (int i = firstInvalidBidIndex + 1; i < originalBids.size(); i++) {
+                    final BidderBid bid = originalBids.get(i);
+                    if (matches(matcher, bid)) {
+                        invalidBids.add(bid);
+                    } else {
+                        validBids.add(bid);
+                    }
+                }
+
                 final List<String> rejectedImps = invalidBids.stream()
                         .map(BidderBid::getBid)
                         .map(Bid::getImpid)
@@ -64,4 +84,18 @@ public class BidResponsesMraidFilter {
 
         return MraidFilterResult.of(filteredResponses, analyticsResults);
     }
+
+    private static int indexOfFirstMatchingBid(MultiPatternMatcher matcher, List<BidderBid> bids) {
+        for (int i = 0; i < bids.size(); i++) {
+            if (matches(matcher, bids.get(i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean matches(MultiPatternMatcher matcher, BidderBid bid) {
+        return matcher.matches(bid.getBid().getAdm());
+    }
 }
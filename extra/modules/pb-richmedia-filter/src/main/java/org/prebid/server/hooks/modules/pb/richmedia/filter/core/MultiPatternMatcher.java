@@ -0,0 +1,166 @@
+package org.prebid.server.hooks.modules.pb.richmedia.filter.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Tells whether a text contains any of the given patterns, scanning the text once however many patterns there are.
+ * <p>
+ * Patterns are compiled into an Aho-Corasick automaton. Transitions on ASCII characters, which ad markup mostly
+ * consists of, are precomputed into a table, while other characters follow the failure links. Matching stops at
+ * the first pattern found and allocates nothing, so an instance can be shared by concurrent auctions.
+ * <p>
+ * Matching is case-sensitive, the same way as {@link String#contains(CharSequence)}.
+ */
+public class MultiPatternMatcher {
+
+    private static final int ROOT = 0;
+    private static final int ASCII_SIZE = 128;
+
+    private final int[] asciiTransitions;
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failures;
+    private final boolean[] terminals;
+
+    private MultiPatternMatcher(List<Map<Character, Integer>> trie, boolean[] terminals) {
+        final int statesCount = trie.size();
+
+        this.terminals = terminals;
+        failures = new int[statesCount];
+        edgeChars = new char[statesCount][];
+        edgeTargets = new int[statesCount][];
+        asciiTransitions = new int[statesCount * ASCII_SIZE];
+
+        for (int state = 0; state < statesCount; state++) {
+            final Map<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        linkStates();
+    }
+
+    /**
+     * Compiles matcher of the given patterns. Null patterns are skipped, while an empty pattern is contained
+     * in any text.
+     */
+    public static MultiPatternMatcher of(Collection<String> patterns) {
+        final List<Map<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        final List<Integer> terminalStates = new ArrayList<>();
+
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                final Map<Character, Integer> edges = trie.get(state);
+                final Integer next = edges.get(pattern.charAt(i));
+                if (next != null) {
+                    state = next;
+                } else {
+                    trie.add(new TreeMap<>());
+                    state = trie.size() - 1;
+                    edges.put(pattern.charAt(i), state);
+                }
+            }
+            terminalStates.add(state);
+        }
+
+        final boolean[] terminals = new boolean[trie.size()];
+        terminalStates.forEach(state -> terminals[state] = true);
+
+        return new MultiPatternMatcher(trie, terminals);
+    }
+
+    /**
+     * Returns true when the text contains at least one of the patterns.
+     */
+    public boolean matches(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        if (terminals[ROOT]) {
+            return true;
+        }
+
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (terminals[state]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Links states breadth-first, so the failure state of each state is linked before the state itself: sets the
+     * failure link, inherits terminal flag of the failure state and fills the ASCII transitions table.
+     */
+    private void linkStates() {
+        final Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+
+        while (!queue.isEmpty()) {
+            final int state = queue.remove();
+            final int failure = failures[state];
+            terminals[state] |= terminals[failure];
+
+            for (int c = 0; c < ASCII_SIZE; c++) {
+                final int target = gotoState(state, (char) c);
+                if (target != -1) {
+                    asciiTransitions[state * ASCII_SIZE + c] = target;
+                } else if (state != ROOT) {
+                    asciiTransitions[state * ASCII_SIZE + c] = asciiTransitions[failure * ASCII_SIZE + c];
+                }
+            }
+
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                final int child = edgeTargets[state][i];
+                failures[child] = state == ROOT ? ROOT : next(failure, edgeChars[state][i]);
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        if (c < ASCII_SIZE) {
+            return asciiTransitions[state * ASCII_SIZE + c];
+        }
+
+        int current = state;
+        while (true) {
+            final int target = gotoState(current, c);
+            if (target != -1) {
+                return target;
+            }
+            if (current == ROOT) {
+                return ROOT;
+            }
+            current = failures[current];
+        }
+    }
+
+    private int gotoState(int state, char c) {
+        final int index = Arrays.binarySearch(edgeChars[state], c);
+        return index >= 0 ? edgeTargets[state][index] : -1;
+    }
+}
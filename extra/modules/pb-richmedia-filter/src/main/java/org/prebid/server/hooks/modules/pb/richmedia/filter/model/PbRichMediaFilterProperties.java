@@ -3,6 +3,8 @@ package org.prebid.server.hooks.modules.pb.richmedia.filter.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Value;
 
+import java.util.List;
+
 @Value(staticConstructor = "of")
 public class PbRichMediaFilterProperties {
 
@@ -12,4 +14,6 @@ public class PbRichMediaFilterProperties {
     @JsonProperty(value = "mraid-script-pattern", required = true)
     String mraidScriptPattern;
 
+    @JsonProperty("forbidden-patterns")
+    List<String> forbiddenPatterns;
 }
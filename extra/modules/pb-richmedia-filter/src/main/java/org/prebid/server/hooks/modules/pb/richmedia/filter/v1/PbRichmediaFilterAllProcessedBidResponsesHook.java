@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.Rejection;
@@ -62,8 +63,8 @@ public class PbRichmediaFilterAllProcessedBidResponsesHook implements AllProcess
         final List<BidderResponse> responses = allProcessedBidResponsesPayload.bidResponses();
 
         if (BooleanUtils.isTrue(properties.getFilterMraid())) {
-            final MraidFilterResult filterResult = mraidFilter.filterByPattern(
-                    properties.getMraidScriptPattern(),
+            final MraidFilterResult filterResult = mraidFilter.filterByPatterns(
+                    forbiddenPatterns(properties),
                     responses);
             final InvocationAction action = filterResult.hasRejectedBids()
                     ? InvocationAction.update
@@ -82,6 +83,15 @@ public class PbRichmediaFilterAllProcessedBidResponsesHook implements AllProcess
                 InvocationAction.no_action));
     }
 
+    private static List<String> forbiddenPatterns(PbRichMediaFilterProperties properties) {
+        final List<String> forbiddenPatterns = ListUtils.emptyIfNull(properties.getForbiddenPatterns());
+        final String mraidScriptPattern = properties.getMraidScriptPattern();
+
+        return mraidScriptPattern != null
+                ? ListUtil.union(Collections.singletonList(mraidScriptPattern), forbiddenPatterns)
+                : forbiddenPatterns;
+    }
+
     private Map<String, List<Rejection>> toRejections(List<AnalyticsResult> analyticsResults) {
         return analyticsResults.stream().collect(Collectors.toMap(
                 AnalyticsResult::getBidder,
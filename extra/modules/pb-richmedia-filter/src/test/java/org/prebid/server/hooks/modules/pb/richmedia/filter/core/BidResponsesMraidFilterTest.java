@@ -27,8 +27,8 @@ public class BidResponsesMraidFilterTest {
         final BidderResponse responseB = givenBidderResponse("bidderB", List.of(givenBid("imp_id", "adm2")));
 
         // when
-        final MraidFilterResult filterResult = target.filterByPattern(
-                "mraid.js", List.of(responseA, responseB));
+        final MraidFilterResult filterResult = target.filterByPatterns(
+                List.of("mraid.js"), List.of(responseA, responseB));
 
         // then
         assertThat(filterResult.getFilterResult()).containsExactly(responseA, responseB);
@@ -49,8 +49,8 @@ public class BidResponsesMraidFilterTest {
         final BidderResponse responseC = givenBidderResponse("bidderC", List.of(givenInvalidBid1, givenInvalidBid2));
 
         // when
-        final MraidFilterResult filterResult = target.filterByPattern(
-                "mraid.js",
+        final MraidFilterResult filterResult = target.filterByPatterns(
+                List.of("mraid.js"),
                 List.of(responseA, responseB, responseC));
 
         // then
@@ -88,6 +88,30 @@ public class BidResponsesMraidFilterTest {
         assertThat(filterResult.hasRejectedBids()).isTrue();
     }
 
+    @Test
+    public void filterShouldFilterOutBidsContainingAnyOfPatterns() {
+        // given
+        final BidderBid givenBid = givenBid("imp_id1", "adm1");
+        final BidderBid givenMraidBid = givenBid("imp_id2", "adm2_mraid.js");
+        final BidderBid givenVendorBid = givenBid("imp_id3", "adm3_vendor.js");
+
+        final BidderResponse response = givenBidderResponse(
+                "bidderA", List.of(givenMraidBid, givenBid, givenVendorBid));
+
+        // when
+        final MraidFilterResult filterResult = target.filterByPatterns(
+                List.of("mraid.js", "vendor.js"), List.of(response));
+
+        // then
+        assertThat(filterResult.getFilterResult()).containsExactly(givenBidderResponse(
+                "bidderA",
+                List.of(givenBid),
+                List.of(givenError("imp_id2", "imp_id3"))));
+        assertThat(filterResult.getAnalyticsResult())
+                .extracting(AnalyticsResult::getRejectedBids)
+                .containsExactly(List.of(givenMraidBid, givenVendorBid));
+    }
+
     private static BidderResponse givenBidderResponse(String bidder, List<BidderBid> bids) {
         return BidderResponse.of(bidder, BidderSeatBid.of(bids), 100);
     }
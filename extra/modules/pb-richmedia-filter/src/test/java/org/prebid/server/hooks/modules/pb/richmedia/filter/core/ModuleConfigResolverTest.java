@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import org.prebid.server.hooks.modules.pb.richmedia.filter.model.PbRichMediaFilterProperties;
 import org.prebid.server.json.ObjectMapperProvider;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ModuleConfigResolverTest {
@@ -15,9 +17,9 @@ public class ModuleConfigResolverTest {
     private static final ObjectMapper OBJECT_MAPPER = ObjectMapperProvider.mapper();
 
     private static final PbRichMediaFilterProperties GLOBAL_PROPERTIES =
-            PbRichMediaFilterProperties.of(false, "pattern");
+            PbRichMediaFilterProperties.of(false, "pattern", null);
     private static final PbRichMediaFilterProperties ACCOUNT_PROPERTIES =
-            PbRichMediaFilterProperties.of(true, "<script src=\"mraid.js\"></script>");
+            PbRichMediaFilterProperties.of(true, "<script src=\"mraid.js\"></script>", null);
 
     private ModuleConfigResolver target;
 
@@ -44,6 +46,26 @@ public class ModuleConfigResolverTest {
         assertThat(actualProperties).isEqualTo(ACCOUNT_PROPERTIES);
     }
 
+    @Test
+    public void resolveShouldReturnAccountConfigWithForbiddenPatterns() throws JsonProcessingException {
+        // given
+        final String accountConfig = """
+                {
+                   "filter-mraid": true,
+                   "mraid-script-pattern": "mraid.js",
+                   "forbidden-patterns": ["vendor-a.js", "vendor-b.js"]
+                }
+                """;
+        final ObjectNode objectNode = OBJECT_MAPPER.readValue(accountConfig, ObjectNode.class);
+
+        // when
+        final PbRichMediaFilterProperties actualProperties = target.resolve(objectNode);
+
+        // then
+        assertThat(actualProperties).isEqualTo(
+                PbRichMediaFilterProperties.of(true, "mraid.js", List.of("vendor-a.js", "vendor-b.js")));
+    }
+
     @Test
     public void resolveShouldReturnGlobalConfigWhenAccountConfigIsEmpty() {
         // given
@@ -0,0 +1,92 @@
+package org.prebid.server.hooks.modules.pb.richmedia.filter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void matchesShouldReturnTrueWhenTextContainsAnyOfPatterns() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of("mraid.js", "vendor.js"));
+
+        // when and then
+        assertThat(target.matches("<script src=\"mraid.js\"></script>")).isTrue();
+        assertThat(target.matches("<div><script src=\"vendor.js\"></script></div>")).isTrue();
+        assertThat(target.matches("<script src=\"other.js\"></script>")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldFindPatternsSharingPrefixesAndSuffixes() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of("abcd", "bce", "cx"));
+
+        // when and then
+        assertThat(target.matches("abce")).isTrue();
+        assertThat(target.matches("abcx")).isTrue();
+        assertThat(target.matches("aabcabcd")).isTrue();
+        assertThat(target.matches("abcabc")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldFindPatternContainedInAnotherPattern() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of("mraid.js.map", "id.j"));
+
+        // when and then
+        assertThat(target.matches("mraid.jsx")).isTrue();
+    }
+
+    @Test
+    public void matchesShouldFindNonAsciiPatterns() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of("реклама", "广告"));
+
+        // when and then
+        assertThat(target.matches("<div>ререклама</div>")).isTrue();
+        assertThat(target.matches("<div>广广告</div>")).isTrue();
+        assertThat(target.matches("<div>реклам广</div>")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldBeCaseSensitive() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of("mraid.js"));
+
+        // when and then
+        assertThat(target.matches("MRAID.js")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldSkipNullPatterns() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(Arrays.asList(null, "mraid.js"));
+
+        // when and then
+        assertThat(target.matches("mraid.js")).isTrue();
+        assertThat(target.matches("adm")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldReturnFalseWhenThereAreNoPatterns() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of());
+
+        // when and then
+        assertThat(target.matches("mraid.js")).isFalse();
+    }
+
+    @Test
+    public void matchesShouldReturnFalseForNullText() {
+        // given
+        final MultiPatternMatcher target = MultiPatternMatcher.of(List.of(""));
+
+        // when and then
+        assertThat(target.matches(null)).isFalse();
+        assertThat(target.matches("adm")).isTrue();
+    }
+}
@@ -69,7 +69,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
     public void setUp() {
         target = new PbRichmediaFilterAllProcessedBidResponsesHook(
                 ObjectMapperProvider.mapper(), mraidFilter, configResolver);
-        when(configResolver.resolve(any())).thenReturn(PbRichMediaFilterProperties.of(true, "pattern"));
+        when(configResolver.resolve(any())).thenReturn(PbRichMediaFilterProperties.of(true, "pattern", null));
     }
 
     @Test
@@ -81,7 +81,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
     @Test
     public void callShouldReturnResultWithNoActionWhenFilterMraidIsFalse() {
         // given
-        when(configResolver.resolve(any())).thenReturn(PbRichMediaFilterProperties.of(false, "pattern"));
+        when(configResolver.resolve(any())).thenReturn(PbRichMediaFilterProperties.of(false, "pattern", null));
         final List<BidderResponse> givenResponses = givenBidderResponses(2);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
 
@@ -111,7 +111,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
         // given
         final List<BidderResponse> givenResponses = givenBidderResponses(2);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
-        given(mraidFilter.filterByPattern("pattern", givenResponses))
+        given(mraidFilter.filterByPatterns(List.of("pattern"), givenResponses))
                 .willReturn(MraidFilterResult.of(givenResponses, List.of(givenAnalyticsResult("bidder", "imp_id"))));
 
         // when
@@ -129,12 +129,31 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
         assertThat(result.action()).isEqualTo(InvocationAction.update);
     }
 
+    @Test
+    public void callShouldFilterByMraidScriptPatternAlongWithForbiddenPatterns() {
+        // given
+        when(configResolver.resolve(any()))
+                .thenReturn(PbRichMediaFilterProperties.of(true, "pattern", List.of("vendorA", "vendorB")));
+        final List<BidderResponse> givenResponses = givenBidderResponses(2);
+        doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
+        given(mraidFilter.filterByPatterns(List.of("pattern", "vendorA", "vendorB"), givenResponses))
+                .willReturn(MraidFilterResult.of(givenResponses, List.of(givenAnalyticsResult("bidder", "imp_id"))));
+
+        // when
+        final Future<InvocationResult<AllProcessedBidResponsesPayload>> future = target.call(
+                allProcessedBidResponsesPayload,
+                auctionInvocationContext);
+
+        // then
+        assertThat(future.result().action()).isEqualTo(InvocationAction.update);
+    }
+
     @Test
     public void callShouldReturnResultWithNoActionWhenNothingWereFilteredOut() {
         // given
         final List<BidderResponse> givenResponses = givenBidderResponses(2);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
-        given(mraidFilter.filterByPattern("pattern", givenResponses))
+        given(mraidFilter.filterByPatterns(List.of("pattern"), givenResponses))
                 .willReturn(MraidFilterResult.of(givenResponses, Collections.emptyList()));
 
         // when
@@ -158,7 +177,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
         final List<BidderResponse> givenResponses = givenBidderResponses(3);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
         final List<BidderResponse> expectedResponses = givenBidderResponses(2);
-        given(mraidFilter.filterByPattern("pattern", givenResponses))
+        given(mraidFilter.filterByPatterns(List.of("pattern"), givenResponses))
                 .willReturn(MraidFilterResult.of(expectedResponses, Collections.emptyList()));
 
         // when
@@ -182,7 +201,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
         // given
         final List<BidderResponse> givenResponses = givenBidderResponses(3);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
-        given(mraidFilter.filterByPattern("pattern", givenResponses))
+        given(mraidFilter.filterByPatterns(List.of("pattern"), givenResponses))
                 .willReturn(MraidFilterResult.of(
                         givenResponses,
                         List.of(
@@ -245,7 +264,7 @@ public class PbRichmediaFilterAllProcessedBidResponsesHookTest {
         // given
         final List<BidderResponse> givenResponses = givenBidderResponses(3);
         doReturn(givenResponses).when(allProcessedBidResponsesPayload).bidResponses();
-        given(mraidFilter.filterByPattern("pattern", givenResponses))
+        given(mraidFilter.filterByPatterns(List.of("pattern"), givenResponses))
                 .willReturn(MraidFilterResult.of(givenResponses, Collections.emptyList()));
 
         // when
@@ -0,0 +1,120 @@
+package org.prebid.server.hooks.modules.rule.engine.core.rules.tree;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of the compiled {@link RuleTree}, by values and by value ids interned beforehand, against
+ * walking the {@link RuleNode}s with a list of matches collected per lookup, as the tree did before compilation.
+ * <p>
+ * The tree has {@code branching ^ depth} leaves and a wildcard on every level, and one path of eight misses
+ * the values of the tree to take the wildcard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleTreeBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"3"})
+    private int depth;
+
+    @Param({"4", "16", "32"})
+    private int branching;
+
+    private RuleNode<String> root;
+
+    private RuleTree<String> ruleTree;
+
+    private List<List<String>> paths;
+
+    private int[][] valueIdPaths;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        root = givenNode(depth, "");
+        ruleTree = new RuleTree<>(root, depth);
+
+        final Random random = new Random(42);
+        paths = new ArrayList<>(PATHS);
+        valueIdPaths = new int[PATHS][];
+        for (int i = 0; i < PATHS; i++) {
+            final List<String> path = new ArrayList<>(depth);
+            for (int level = 0; level < depth; level++) {
+                path.add(i % 8 == 0 ? "missing" : "value" + random.nextInt(branching));
+            }
+
+            paths.add(path);
+            valueIdPaths[i] = path.stream().mapToInt(ruleTree::valueId).toArray();
+        }
+    }
+
+    @Benchmark
+    public LookupResult<String> lookupNodes() {
+        return lookupNodes(root, paths.get(nextPath()));
+    }
+
+    @Benchmark
+    public LookupResult<String> lookupByValues() {
+        return ruleTree.lookup(paths.get(nextPath()));
+    }
+
+    @Benchmark
+    public LookupResult<String> lookupByValueIds() {
+        return ruleTree.lookup(valueIdPaths[nextPath()]);
+    }
+
+    private int nextPath() {
+        next = (next + 1) & (PATHS - 1);
+        return next;
+    }
+
+    private RuleNode<String> givenNode(int levels, String prefix) {
+        if (levels == 0) {
+            return new RuleNode.LeafNode<>(prefix);
+        }
+
+        final Map<String, RuleNode<String>> children = new HashMap<>();
+        for (int i = 0; i < branching; i++) {
+            children.put("value" + i, givenNode(levels - 1, prefix + i + "|"));
+        }
+        children.put(RuleTree.WILDCARD_MATCHER, givenNode(levels - 1, prefix + "*|"));
+
+        return new RuleNode.IntermediateNode<>(children);
+    }
+
+    private static LookupResult<String> lookupNodes(RuleNode<String> root, List<String> path) {
+        final List<String> matches = new ArrayList<>();
+        RuleNode<String> next = root;
+        for (String pathPart : path) {
+            final RuleNode.IntermediateNode<String> node = (RuleNode.IntermediateNode<String>) next;
+            final RuleNode<String> result = node.next(pathPart);
+            matches.add(result == null ? RuleTree.WILDCARD_MATCHER : pathPart);
+            next = result != null ? result : node.next(RuleTree.WILDCARD_MATCHER);
+        }
+
+        return LookupResult.of(((RuleNode.LeafNode<String>) next).value(), matches);
+    }
+}
@@ -4,8 +4,12 @@ import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.ConditionalRule;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.Rule;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleMatch;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleResult;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class PerImpConditionalRule implements Rule<BidRequest, RequestRuleContext> {
@@ -16,11 +20,25 @@ public class PerImpConditionalRule implements Rule<BidRequest, RequestRuleContex
         this.delegate = Objects.requireNonNull(delegate);
     }
 
+    /**
+     * Evaluates the rule for every imp, walking the rule tree once per distinct tuple of schema values: imps
+     * sharing the values share the matched rule, while its actions are still applied to each imp separately.
+     */
     @Override
     public RuleResult<BidRequest> process(BidRequest value, RequestRuleContext context) {
+        // none of the result functions changes what request level schema functions extract, so they are shared
+        final String[] requestSchemaValues = delegate.resolveSchemaValues(
+                value, context, PerImpConditionalRule::isRequestSchemaFunction);
+        final Map<List<String>, RuleMatch<BidRequest, RequestRuleContext>> matches = new HashMap<>();
+
         RuleResult<BidRequest> result = RuleResult.noAction(value);
         for (Imp imp : value.getImp()) {
-            result = result.mergeWith(delegate.process(result.getValue(), contextForImp(context, imp)));
+            final RequestRuleContext impContext = contextForImp(context, imp);
+            final List<String> schemaValues = delegate.schemaValues(result.getValue(), impContext, requestSchemaValues);
+            final RuleMatch<BidRequest, RequestRuleContext> match =
+                    matches.computeIfAbsent(schemaValues, delegate::match);
+
+            result = result.mergeWith(delegate.apply(match, result.getValue(), impContext));
 
             if (result.isReject()) {
                 return result;
@@ -30,6 +48,11 @@ public class PerImpConditionalRule implements Rule<BidRequest, RequestRuleContex
         return result;
     }
 
+    private static boolean isRequestSchemaFunction(String name) {
+        return !RequestStageSpecification.PER_IMP_SCHEMA_FUNCTIONS.contains(name)
+                && !RequestStageSpecification.PER_EVALUATION_SCHEMA_FUNCTIONS.contains(name);
+    }
+
     private RequestRuleContext contextForImp(RequestRuleContext context, Imp imp) {
         return RequestRuleContext.of(
                 context.getAuctionContext(),
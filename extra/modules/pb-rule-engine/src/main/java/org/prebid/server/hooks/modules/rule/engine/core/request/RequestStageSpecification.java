@@ -45,6 +45,8 @@ public class RequestStageSpecification implements StageSpecification<BidRequest,
     public static final Set<String> PER_IMP_SCHEMA_FUNCTIONS =
             Set.of(AdUnitCodeFunction.NAME, AdUnitCodeInFunction.NAME, MediaTypeInFunction.NAME);
 
+    public static final Set<String> PER_EVALUATION_SCHEMA_FUNCTIONS = Set.of(PercentFunction.NAME);
+
     private final Map<String, SchemaFunction<BidRequest, RequestRuleContext>> schemaFunctions;
     private final Map<String, ResultFunction<BidRequest, RequestRuleContext>> resultFunctions;
 
@@ -11,9 +11,11 @@ import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.SchemaFunct
 import org.prebid.server.hooks.modules.rule.engine.core.rules.tree.LookupResult;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.tree.RuleTree;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -39,21 +41,69 @@ public class ConditionalRule<T, C> implements Rule<T, C> {
 
     @Override
     public RuleResult<T> process(T value, C context) {
+        return process(value, context, new String[schema.getFunctions().size()]);
+    }
+
+    /**
+     * Resolves values of the schema functions accepted by the filter, so that evaluations of the same request
+     * could share them instead of extracting them from the value each time. Values of other functions are left null.
+     */
+    public String[] resolveSchemaValues(T value, C context, Predicate<String> functionNameFilter) {
+        final List<SchemaFunctionHolder<T, C>> schemaFunctions = schema.getFunctions();
+        final String[] schemaValues = new String[schemaFunctions.size()];
+        for (int i = 0; i < schemaValues.length; i++) {
+            final SchemaFunctionHolder<T, C> holder = schemaFunctions.get(i);
+            if (functionNameFilter.test(holder.getName())) {
+                schemaValues[i] = extract(holder, value, context);
+            }
+        }
+
+        return schemaValues;
+    }
+
+    /**
+     * Processes value with the schema values resolved by {@link #resolveSchemaValues}, null ones are extracted anew.
+     */
+    public RuleResult<T> process(T value, C context, String[] resolvedSchemaValues) {
+        return apply(match(schemaValues(value, context, resolvedSchemaValues)), value, context);
+    }
+
+    /**
+     * Completes the schema values resolved by {@link #resolveSchemaValues} with the ones extracted from the value.
+     */
+    public List<String> schemaValues(T value, C context, String[] resolvedSchemaValues) {
         final List<SchemaFunctionHolder<T, C>> schemaFunctions = schema.getFunctions();
-        final List<String> matchers = schemaFunctions.stream()
-                .map(holder -> holder.getSchemaFunction().extract(
-                        SchemaFunctionArguments.of(value, holder.getConfig(), context)))
-                .map(matcher -> StringUtils.defaultIfEmpty(matcher, SchemaFunction.UNDEFINED_RESULT))
-                .toList();
+        final String[] schemaValues = new String[schemaFunctions.size()];
+        for (int i = 0; i < schemaValues.length; i++) {
+            schemaValues[i] = resolvedSchemaValues[i] != null
+                    ? resolvedSchemaValues[i]
+                    : extract(schemaFunctions.get(i), value, context);
+        }
 
-        final LookupResult<RuleConfig<T, C>> lookupResult = ruleTree.lookup(matchers);
-        final RuleConfig<T, C> ruleConfig = lookupResult.getValue();
+        return Arrays.asList(schemaValues);
+    }
+
+    /**
+     * Looks up the rule fired by the schema values. The match depends on the values only, so evaluations
+     * with the same values may share it.
+     */
+    public RuleMatch<T, C> match(List<String> schemaValues) {
+        final LookupResult<RuleConfig<T, C>> lookupResult = ruleTree.lookup(schemaValues);
+
+        return RuleMatch.of(
+                lookupResult.getValue(),
+                mergeWithSchema(schema, schemaValues),
+                mergeWithSchema(schema, lookupResult.getMatches()));
+    }
+
+    public RuleResult<T> apply(RuleMatch<T, C> match, T value, C context) {
+        final RuleConfig<T, C> ruleConfig = match.getRuleConfig();
 
         final InfrastructureArguments<C> infrastructureArguments =
                 InfrastructureArguments.<C>builder()
                         .context(context)
-                        .schemaFunctionResults(mergeWithSchema(schema, matchers))
-                        .schemaFunctionMatches(mergeWithSchema(schema, lookupResult.getMatches()))
+                        .schemaFunctionResults(match.getSchemaFunctionResults())
+                        .schemaFunctionMatches(match.getSchemaFunctionMatches())
                         .ruleFired(ruleConfig.getCondition())
                         .analyticsKey(analyticsKey)
                         .modelVersion(modelVersion)
@@ -71,6 +121,13 @@ public class ConditionalRule<T, C> implements Rule<T, C> {
         return result;
     }
 
+    private String extract(SchemaFunctionHolder<T, C> holder, T value, C context) {
+        final String matcher = holder.getSchemaFunction().extract(
+                SchemaFunctionArguments.of(value, holder.getConfig(), context));
+
+        return StringUtils.defaultIfEmpty(matcher, SchemaFunction.UNDEFINED_RESULT);
+    }
+
     private Map<String, String> mergeWithSchema(Schema<T, C> schema, List<String> values) {
         return IntStream.range(0, values.size())
                 .boxed()
@@ -0,0 +1,15 @@
+package org.prebid.server.hooks.modules.rule.engine.core.rules;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value(staticConstructor = "of")
+public class RuleMatch<T, C> {
+
+    RuleConfig<T, C> ruleConfig;
+
+    Map<String, String> schemaFunctionResults;
+
+    Map<String, String> schemaFunctionMatches;
+}
@@ -1,48 +1,169 @@
 package org.prebid.server.hooks.modules.rule.engine.core.rules.tree;
 
 import lombok.Getter;
-import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.exception.NoMatchingRuleException;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Rule tree compiled into flat arrays, so that lookup cost depends on the tree depth only.
+ * <p>
+ * Dimension values of the tree are interned to int ids, children of every intermediate node are kept sorted by
+ * value id and found by binary search, and the wildcard child is kept aside. Every leaf is reached by a single path,
+ * so its {@link LookupResult} is built once at compilation and lookup returns it without allocating anything.
+ */
 public class RuleTree<T> {
 
     public static final String WILDCARD_MATCHER = "*";
 
-    private final RuleNode<T> root;
+    /**
+     * Id of a value not present in the tree, which is matched by wildcards only.
+     */
+    public static final int UNKNOWN_VALUE = -1;
+
+    private static final int NO_NODE = Integer.MIN_VALUE;
 
     @Getter
     private final int depth;
 
+    private final Map<String, Integer> valueIds;
+    private final int[][] childValueIds;
+    private final int[][] childNodes;
+    private final int[] wildcardNodes;
+    private final List<LookupResult<T>> leafResults;
+    private final int rootNode;
+
     public RuleTree(RuleNode<T> root, int depth) {
-        this.root = Objects.requireNonNull(root);
         this.depth = depth;
+
+        final Compiler<T> compiler = new Compiler<>();
+        rootNode = compiler.compile(Objects.requireNonNull(root));
+
+        valueIds = compiler.valueIds;
+        childValueIds = compiler.childValueIds.toArray(int[][]::new);
+        childNodes = compiler.childNodes.toArray(int[][]::new);
+        wildcardNodes = compiler.wildcardNodes.stream().mapToInt(Integer::intValue).toArray();
+        leafResults = List.copyOf(compiler.leafResults);
     }
 
-    public LookupResult<T> lookup(List<String> path) {
-        final List<String> matches = new ArrayList<>();
-        RuleNode<T> next = root;
+    /**
+     * Returns id of the dimension value to be used for {@link #lookup(int[])}.
+     */
+    public int valueId(String value) {
+        return valueIds.getOrDefault(value, UNKNOWN_VALUE);
+    }
 
+    public LookupResult<T> lookup(List<String> path) {
+        int node = rootNode;
         for (String pathPart : path) {
-            next = switch (next) {
-                case RuleNode.IntermediateNode<T> node -> {
-                    final RuleNode<T> result = node.next(pathPart);
-                    matches.add(result == null ? WILDCARD_MATCHER : pathPart);
-                    yield ObjectUtils.defaultIfNull(result, node.next(WILDCARD_MATCHER));
-                }
+            node = next(node, valueId(pathPart));
+        }
+
+        return result(node);
+    }
+
+    public LookupResult<T> lookup(int[] path) {
+        int node = rootNode;
+        for (int valueId : path) {
+            node = next(node, valueId);
+        }
+
+        return result(node);
+    }
+
+    private int next(int node, int valueId) {
+        if (node == NO_NODE) {
+            throw new NoMatchingRuleException();
+        }
+        if (isLeaf(node)) {
+            throw new IllegalArgumentException("Argument count mismatch");
+        }
+
+        final int index = valueId != UNKNOWN_VALUE ? Arrays.binarySearch(childValueIds[node], valueId) : -1;
+        return index >= 0 ? childNodes[node][index] : wildcardNodes[node];
+    }
+
+    private LookupResult<T> result(int node) {
+        if (node == NO_NODE) {
+            throw new NoMatchingRuleException();
+        }
+        if (!isLeaf(node)) {
+            throw new IllegalArgumentException("Argument count mismatch");
+        }
+
+        return leafResults.get(leafIndex(node));
+    }
+
+    private static boolean isLeaf(int node) {
+        return node < 0;
+    }
+
+    private static int leafIndex(int node) {
+        return -node - 1;
+    }
+
+    /**
+     * Numbers intermediate nodes from zero and leaves from minus one downwards.
+     */
+    private static class Compiler<T> {
+
+        private final Map<String, Integer> valueIds = new HashMap<>();
+        private final List<int[]> childValueIds = new ArrayList<>();
+        private final List<int[]> childNodes = new ArrayList<>();
+        private final List<Integer> wildcardNodes = new ArrayList<>();
+        private final List<LookupResult<T>> leafResults = new ArrayList<>();
+
+        private final Deque<String> matches = new ArrayDeque<>();
 
-                case RuleNode.LeafNode<T> ignored -> throw new IllegalArgumentException("Argument count mismatch");
-                case null -> throw new NoMatchingRuleException();
+        private int compile(RuleNode<T> node) {
+            return switch (node) {
+                case RuleNode.LeafNode<T> leaf -> {
+                    leafResults.add(LookupResult.of(leaf.value(), List.copyOf(matches)));
+                    yield -leafResults.size();
+                }
+                case RuleNode.IntermediateNode<T> intermediate -> compileIntermediate(intermediate);
             };
         }
 
-        return switch (next) {
-            case RuleNode.LeafNode<T> leaf -> LookupResult.of(leaf.value(), matches);
-            case RuleNode.IntermediateNode<T> ignored -> throw new IllegalArgumentException("Argument count mismatch");
-            case null -> throw new NoMatchingRuleException();
-        };
+        private int compileIntermediate(RuleNode.IntermediateNode<T> node) {
+            final int index = childValueIds.size();
+            childValueIds.add(null);
+            childNodes.add(null);
+            wildcardNodes.add(NO_NODE);
+
+            final int[][] children = node.children().entrySet().stream()
+                    .filter(child -> !WILDCARD_MATCHER.equals(child.getKey()))
+                    .map(child -> new int[]{intern(child.getKey()), compileChild(child.getKey(), child.getValue())})
+                    .sorted((left, right) -> Integer.compare(left[0], right[0]))
+                    .toArray(int[][]::new);
+
+            childValueIds.set(index, Arrays.stream(children).mapToInt(child -> child[0]).toArray());
+            childNodes.set(index, Arrays.stream(children).mapToInt(child -> child[1]).toArray());
+
+            final RuleNode<T> wildcard = node.next(WILDCARD_MATCHER);
+            if (wildcard != null) {
+                wildcardNodes.set(index, compileChild(WILDCARD_MATCHER, wildcard));
+            }
+
+            return index;
+        }
+
+        private int compileChild(String match, RuleNode<T> child) {
+            matches.addLast(match);
+            final int result = compile(Objects.requireNonNull(child));
+            matches.removeLast();
+            return result;
+        }
+
+        private int intern(String value) {
+            return valueIds.computeIfAbsent(value, ignored -> valueIds.size());
+        }
     }
 }
@@ -5,27 +5,40 @@ import com.iab.openrtb.request.Imp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidRejectionReason;
 import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.TagsImpl;
+import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.AdUnitCodeFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.DeviceCountryFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.DomainFunction;
+import org.prebid.server.hooks.modules.rule.engine.core.request.schema.functions.MediaTypeInFunction;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.ConditionalRule;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleAction;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleConfig;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleMatch;
 import org.prebid.server.hooks.modules.rule.engine.core.rules.RuleResult;
+import org.prebid.server.hooks.modules.rule.engine.core.rules.schema.functions.PercentFunction;
 import org.prebid.server.hooks.v1.analytics.Activity;
 import org.prebid.server.proto.openrtb.ext.response.seatnonbid.NonBid;
 import org.prebid.server.proto.openrtb.ext.response.seatnonbid.SeatNonBid;
 import org.prebid.server.util.ListUtil;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class PerImpConditionalRuleTest {
@@ -47,6 +60,9 @@ public class PerImpConditionalRuleTest {
                 .imp(List.of(Imp.builder().id("1").build(), Imp.builder().id("2").build()))
                 .build();
 
+        final String[] requestSchemaValues = new String[]{"requestValue", null};
+        given(conditionalRule.resolveSchemaValues(eq(bidRequest), any(), any())).willReturn(requestSchemaValues);
+
         final RequestRuleContext firstImpContext = RequestRuleContext.of(
                 AuctionContext.builder().build(),
                 new Granularity.Imp("1"),
@@ -56,7 +72,12 @@ public class PerImpConditionalRuleTest {
         final List<Activity> firstActivities = singletonList(ActivityImpl.of("activity1", "success", emptyList()));
         final List<SeatNonBid> firstSeatNonBids = singletonList(
                 SeatNonBid.of("seat1", singletonList(NonBid.of("1", BidRejectionReason.NO_BID))));
-        given(conditionalRule.process(bidRequest, firstImpContext)).willReturn(
+        final List<String> firstSchemaValues = List.of("requestValue", "1");
+        final RuleMatch<BidRequest, RequestRuleContext> firstMatch = givenRuleMatch("first");
+        given(conditionalRule.schemaValues(bidRequest, firstImpContext, requestSchemaValues))
+                .willReturn(firstSchemaValues);
+        given(conditionalRule.match(firstSchemaValues)).willReturn(firstMatch);
+        given(conditionalRule.apply(firstMatch, bidRequest, firstImpContext)).willReturn(
                 RuleResult.of(
                         updatedBidRequest,
                         RuleAction.UPDATE,
@@ -72,7 +93,12 @@ public class PerImpConditionalRuleTest {
         final List<Activity> secondActivities = singletonList(ActivityImpl.of("activity2", "success", emptyList()));
         final List<SeatNonBid> secondSeatNonBids = singletonList(
                 SeatNonBid.of("seat2", singletonList(NonBid.of("2", BidRejectionReason.NO_BID))));
-        given(conditionalRule.process(updatedBidRequest, secondImpContext)).willReturn(
+        final List<String> secondSchemaValues = List.of("requestValue", "2");
+        final RuleMatch<BidRequest, RequestRuleContext> secondMatch = givenRuleMatch("second");
+        given(conditionalRule.schemaValues(updatedBidRequest, secondImpContext, requestSchemaValues))
+                .willReturn(secondSchemaValues);
+        given(conditionalRule.match(secondSchemaValues)).willReturn(secondMatch);
+        given(conditionalRule.apply(secondMatch, updatedBidRequest, secondImpContext)).willReturn(
                 RuleResult.of(
                         resultBidRequest,
                         RuleAction.UPDATE,
@@ -92,4 +118,77 @@ public class PerImpConditionalRuleTest {
                         TagsImpl.of(ListUtil.union(firstActivities, secondActivities)),
                         ListUtil.union(firstSeatNonBids, secondSeatNonBids)));
     }
+
+    @Test
+    public void processShouldLookUpRuleOncePerDistinctSchemaValuesAndApplyItToEveryImp() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(List.of(
+                        Imp.builder().id("1").build(),
+                        Imp.builder().id("2").build(),
+                        Imp.builder().id("3").build()))
+                .build();
+
+        final RequestRuleContext requestContext = RequestRuleContext.of(
+                AuctionContext.builder().build(),
+                Granularity.Request.instance(),
+                null);
+
+        final List<String> bannerSchemaValues = List.of("requestValue", "banner");
+        final List<String> videoSchemaValues = List.of("requestValue", "video");
+        given(conditionalRule.schemaValues(any(), eq(givenImpContext(requestContext, "1")), any()))
+                .willReturn(bannerSchemaValues);
+        given(conditionalRule.schemaValues(any(), eq(givenImpContext(requestContext, "2")), any()))
+                .willReturn(videoSchemaValues);
+        given(conditionalRule.schemaValues(any(), eq(givenImpContext(requestContext, "3")), any()))
+                .willReturn(List.of("requestValue", "banner"));
+
+        final RuleMatch<BidRequest, RequestRuleContext> bannerMatch = givenRuleMatch("banner");
+        given(conditionalRule.match(bannerSchemaValues)).willReturn(bannerMatch);
+        given(conditionalRule.match(videoSchemaValues)).willReturn(givenRuleMatch("video"));
+        given(conditionalRule.apply(any(), any(), any())).willReturn(RuleResult.noAction(bidRequest));
+
+        // when
+        target.process(bidRequest, requestContext);
+
+        // then
+        verify(conditionalRule).match(bannerSchemaValues);
+        verify(conditionalRule).match(videoSchemaValues);
+        verify(conditionalRule).apply(bannerMatch, bidRequest, givenImpContext(requestContext, "1"));
+        verify(conditionalRule).apply(bannerMatch, bidRequest, givenImpContext(requestContext, "3"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void processShouldResolveOnlyRequestLevelSchemaFunctionsOncePerRequest() {
+        // given
+        final BidRequest bidRequest = BidRequest.builder()
+                .imp(List.of(Imp.builder().id("1").build(), Imp.builder().id("2").build()))
+                .build();
+
+        given(conditionalRule.apply(any(), any(), any())).willReturn(RuleResult.noAction(bidRequest));
+
+        final RequestRuleContext requestContext = RequestRuleContext.of(
+                AuctionContext.builder().build(),
+                Granularity.Request.instance(),
+                null);
+
+        // when
+        target.process(bidRequest, requestContext);
+
+        // then
+        final ArgumentCaptor<Predicate<String>> filterCaptor = ArgumentCaptor.forClass(Predicate.class);
+        verify(conditionalRule).resolveSchemaValues(eq(bidRequest), eq(requestContext), filterCaptor.capture());
+        assertThat(filterCaptor.getValue())
+                .accepts(DomainFunction.NAME, DeviceCountryFunction.NAME)
+                .rejects(AdUnitCodeFunction.NAME, MediaTypeInFunction.NAME, PercentFunction.NAME);
+    }
+
+    private static RequestRuleContext givenImpContext(RequestRuleContext requestContext, String impId) {
+        return RequestRuleContext.of(requestContext.getAuctionContext(), new Granularity.Imp(impId), null);
+    }
+
+    private static RuleMatch<BidRequest, RequestRuleContext> givenRuleMatch(String condition) {
+        return RuleMatch.of(RuleConfig.of(condition, emptyList()), emptyMap(), emptyMap());
+    }
 }
@@ -33,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class ConditionalRuleTest {
@@ -173,4 +174,52 @@ public class ConditionalRuleTest {
                         TagsImpl.of(ListUtil.union(firstTags.activities(), secondTags.activities())),
                         ListUtil.union(firstSeatNonBids, secondSeatNonBids)));
     }
+
+    @Test
+    public void resolveSchemaValuesShouldExtractValuesOfAcceptedFunctionsOnly() {
+        // given
+        final Object value = new Object();
+        final Object context = new Object();
+        givenSchemaFunctions(value, context);
+
+        // when
+        final String[] result = target.resolveSchemaValues(value, context, "firstFunction"::equals);
+
+        // then
+        assertThat(result).containsExactly("firstSchemaOutput", null);
+        verifyNoInteractions(secondSchemaFunction);
+    }
+
+    @Test
+    public void processShouldExtractOnlyValuesThatAreNotResolvedYet() {
+        // given
+        final Object value = new Object();
+        final Object context = new Object();
+        givenSchemaFunctions(value, context);
+
+        final RuleConfig<Object, Object> ruleConfig = RuleConfig.of("ruleCondition", Collections.emptyList());
+        given(ruleTree.lookup(eq(List.of("resolvedOutput", "secondSchemaOutput"))))
+                .willReturn(LookupResult.of(ruleConfig, List.of("resolvedOutput", "*")));
+
+        // when
+        final RuleResult<Object> result = target.process(value, context, new String[]{"resolvedOutput", null});
+
+        // then
+        assertThat(result).isEqualTo(RuleResult.noAction(value));
+        verifyNoInteractions(firstSchemaFunction);
+    }
+
+    private void givenSchemaFunctions(Object value, Object context) {
+        final ObjectNode firstSchemaFunctionConfig = MAPPER.createObjectNode();
+        final ObjectNode secondSchemaFunctionConfig = MAPPER.createObjectNode();
+
+        given(schema.getFunctions()).willReturn(List.of(
+                SchemaFunctionHolder.of("firstFunction", firstSchemaFunction, firstSchemaFunctionConfig),
+                SchemaFunctionHolder.of("secondFunction", secondSchemaFunction, secondSchemaFunctionConfig)));
+
+        given(firstSchemaFunction.extract(eq(SchemaFunctionArguments.of(value, firstSchemaFunctionConfig, context))))
+                .willReturn("firstSchemaOutput");
+        given(secondSchemaFunction.extract(eq(SchemaFunctionArguments.of(value, secondSchemaFunctionConfig, context))))
+                .willReturn("secondSchemaOutput");
+    }
 }
@@ -10,6 +10,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 public class RuleTreeTest {
 
@@ -34,4 +35,61 @@ public class RuleTreeTest {
         assertThatExceptionOfType(NoMatchingRuleException.class).isThrownBy(() -> tree.lookup(asList("C", "B")));
         assertThatExceptionOfType(NoMatchingRuleException.class).isThrownBy(() -> tree.lookup(singletonList("C")));
     }
+
+    @Test
+    public void lookupByValueIdsShouldReturnSameResultAsLookupByValues() {
+        // given
+        final RuleTree<String> tree = givenTree();
+
+        // when and then
+        assertThat(tree.lookup(new int[]{tree.valueId("A"), tree.valueId("B")}))
+                .isEqualTo(LookupResult.of("AB", List.of("A", "B")));
+        assertThat(tree.lookup(new int[]{tree.valueId("A"), tree.valueId("C")}))
+                .isEqualTo(LookupResult.of("AC", List.of("A", "*")));
+        assertThatExceptionOfType(NoMatchingRuleException.class)
+                .isThrownBy(() -> tree.lookup(new int[]{tree.valueId("C"), tree.valueId("B")}));
+    }
+
+    @Test
+    public void valueIdShouldReturnUnknownValueForValuesNotPresentInTree() {
+        // given
+        final RuleTree<String> tree = givenTree();
+
+        // when and then
+        assertThat(tree.valueId("A")).isNotEqualTo(RuleTree.UNKNOWN_VALUE);
+        assertThat(tree.valueId("D")).isEqualTo(RuleTree.UNKNOWN_VALUE);
+        assertThat(tree.valueId("*")).isEqualTo(RuleTree.UNKNOWN_VALUE);
+        assertThat(tree.valueId(null)).isEqualTo(RuleTree.UNKNOWN_VALUE);
+    }
+
+    @Test
+    public void lookupShouldReturnPreallocatedResultForSameLeaf() {
+        // given
+        final RuleTree<String> tree = givenTree();
+
+        // when and then
+        assertThat(tree.lookup(asList("A", "C"))).isSameAs(tree.lookup(asList("A", "D")));
+    }
+
+    @Test
+    public void lookupShouldFailOnArgumentCountMismatch() {
+        // given
+        final RuleTree<String> tree = givenTree();
+
+        // when and then
+        assertThatIllegalArgumentException().isThrownBy(() -> tree.lookup(singletonList("A")));
+        assertThatIllegalArgumentException().isThrownBy(() -> tree.lookup(asList("A", "B", "C")));
+    }
+
+    private static RuleTree<String> givenTree() {
+        final Map<String, RuleNode<String>> subnodes = Map.of(
+                "A",
+                new RuleNode.IntermediateNode<>(
+                        Map.of("B", new RuleNode.LeafNode<>("AB"), "*", new RuleNode.LeafNode<>("AC"))),
+                "B",
+                new RuleNode.IntermediateNode<>(
+                        Map.of("B", new RuleNode.LeafNode<>("BB"), "C", new RuleNode.LeafNode<>("BC"))));
+
+        return new RuleTree<>(new RuleNode.IntermediateNode<>(subnodes), 2);
+    }
 }
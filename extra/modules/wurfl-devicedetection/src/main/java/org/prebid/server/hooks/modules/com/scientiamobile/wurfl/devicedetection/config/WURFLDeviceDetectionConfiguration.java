@@ -9,6 +9,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import io.vertx.core.Vertx;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.execution.file.syncer.FileSyncer;
 import org.prebid.server.spring.config.model.FileSyncerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
@@ -35,15 +36,20 @@ public class WURFLDeviceDetectionConfiguration {
     @Bean
     public WURFLDeviceDetectionModule wurflDeviceDetectionModule(WURFLDeviceDetectionConfigProperties configProperties,
                                                                  JacksonMapper mapper,
-                                                                 Vertx vertx) {
+                                                                 Vertx vertx,
+                                                                 DeviceDetectionCache deviceDetectionCache) {
 
-        final WURFLService wurflService = new WURFLService(null, configProperties);
+        final WURFLService wurflService = new WURFLService(null, configProperties, deviceDetectionCache);
         final FileSyncer fileSyncer = createFileSyncer(configProperties, wurflService, vertx);
         fileSyncer.sync();
 
         return new WURFLDeviceDetectionModule(List.of(
                 new WURFLDeviceDetectionEntrypointHook(),
-                new WURFLDeviceDetectionRawAuctionRequestHook(wurflService, configProperties, mapper)));
+                new WURFLDeviceDetectionRawAuctionRequestHook(
+                        wurflService,
+                        configProperties,
+                        mapper,
+                        deviceDetectionCache)));
     }
 
     private FileSyncer createFileSyncer(WURFLDeviceDetectionConfigProperties configProperties,
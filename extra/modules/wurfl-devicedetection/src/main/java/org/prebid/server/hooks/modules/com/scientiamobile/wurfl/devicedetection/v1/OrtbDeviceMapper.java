@@ -0,0 +1,240 @@
+package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.v1;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.Device;
+import com.scientiamobile.wurfl.core.exc.CapabilityNotDefinedException;
+import com.scientiamobile.wurfl.core.exc.VirtualCapabilityNotDefinedException;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.proto.openrtb.ext.request.ExtDevice;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maps WURFL device to ORTB device holding only the values resolved by WURFL.
+ * <p>
+ * Resulting device does not depend on the device of the request, so it can be shared between requests with the
+ * same headers and merged into each of them by {@link OrtbDeviceUpdater}.
+ */
+public class OrtbDeviceMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrtbDeviceMapper.class);
+
+    private static final String WURFL_PROPERTY = "wurfl";
+
+    private final com.scientiamobile.wurfl.core.Device wurflDevice;
+    private final Set<String> staticCaps;
+    private final Set<String> virtualCaps;
+    private final boolean addExtCaps;
+    private final JacksonMapper mapper;
+
+    public OrtbDeviceMapper(com.scientiamobile.wurfl.core.Device wurflDevice,
+                            Set<String> staticCaps,
+                            Set<String> virtualCaps,
+                            boolean addExtCaps,
+                            JacksonMapper mapper) {
+
+        this.wurflDevice = Objects.requireNonNull(wurflDevice);
+        this.staticCaps = Objects.requireNonNull(staticCaps);
+        this.virtualCaps = Objects.requireNonNull(virtualCaps);
+        this.addExtCaps = addExtCaps;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    public Device toOrtbDevice() {
+        final ExtDevice ext = ExtDevice.empty();
+        ext.addProperty(WURFL_PROPERTY, createWurflObject());
+
+        return Device.builder()
+                .make(getWurflMake())
+                .model(getWurflModel())
+                .devicetype(getWurflDeviceType())
+                .hwv(getWurflModel())
+                .os(getWurflOs())
+                .osv(getWurflOsv())
+                .h(getWurflH())
+                .w(getWurflW())
+                .ppi(getWurflPpi())
+                .pxratio(getWurflPxRatio())
+                .js(getWurflJs())
+                .ext(ext)
+                .build();
+    }
+
+    private String getWurflMake() {
+        return wurflDevice.getCapability("brand_name");
+    }
+
+    private String getWurflModel() {
+        return wurflDevice.getCapability("model_name");
+    }
+
+    private Integer getWurflDeviceType() {
+
+        if (getWurflIsOtt()) {
+            return 7;
+        }
+
+        if (getWurflIsConsole()) {
+            return 6;
+        }
+
+        if ("out_of_home_device".equals(getWurflPhysicalFormFactor())) {
+            return 8;
+        }
+
+        final String formFactor = getWurflFormFactor();
+        if (formFactor == null) {
+            return null;
+        }
+
+        return switch (formFactor) {
+            case "Desktop" -> 2;
+            case "Smartphone", "Feature Phone" -> 4;
+            case "Tablet" -> 5;
+            case "Smart-TV" -> 3;
+            case "Other Non-Mobile" -> 6;
+            case "Other Mobile" -> 1;
+            default -> null;
+        };
+    }
+
+    private Boolean getWurflIsOtt() {
+        try {
+            return wurflDevice.getCapabilityAsBool("is_ott");
+        } catch (CapabilityNotDefinedException e) {
+            logger.warn("Failed to get is_ott from WURFL device capabilities");
+            return Boolean.FALSE;
+        }
+    }
+
+    private String getWurflFormFactor() {
+        try {
+            return wurflDevice.getVirtualCapability("form_factor");
+        } catch (VirtualCapabilityNotDefinedException e) {
+            logger.warn("Failed to get form_factor from WURFL device capabilities");
+            return "";
+        }
+    }
+
+    private String getWurflPhysicalFormFactor() {
+        try {
+            return wurflDevice.getCapability("physical_form_factor");
+        } catch (CapabilityNotDefinedException e) {
+            logger.warn("Failed to get physical_form_factor from WURFL device capabilities");
+            return "";
+        }
+    }
+
+    private Boolean getWurflIsConsole() {
+        try {
+            return wurflDevice.getCapabilityAsBool("is_console");
+        } catch (CapabilityNotDefinedException e) {
+            logger.warn("Failed to get is_console from WURFL device capabilities");
+            return Boolean.FALSE;
+        }
+    }
+
+    private String getWurflOs() {
+        try {
+            return wurflDevice.getVirtualCapability("advertised_device_os");
+        } catch (VirtualCapabilityNotDefinedException e) {
+            logger.warn("Failed to evaluate advertised device OS");
+            return null;
+        }
+    }
+
+    private String getWurflOsv() {
+        try {
+            return wurflDevice.getVirtualCapability("advertised_device_os_version");
+        } catch (VirtualCapabilityNotDefinedException e) {
+            logger.warn("Failed to evaluate advertised device OS version");
+        }
+        return null;
+    }
+
+    private Integer getWurflH() {
+        try {
+            return wurflDevice.getCapabilityAsInt("resolution_height");
+        } catch (NumberFormatException e) {
+            logger.warn("Failed to get resolution height from WURFL device capabilities");
+            return null;
+        }
+    }
+
+    private Integer getWurflW() {
+        try {
+            return wurflDevice.getCapabilityAsInt("resolution_width");
+        } catch (NumberFormatException e) {
+            logger.warn("Failed to get resolution width from WURFL device capabilities");
+            return null;
+        }
+    }
+
+    private Integer getWurflPpi() {
+        try {
+            return wurflDevice.getVirtualCapabilityAsInt("pixel_density");
+        } catch (VirtualCapabilityNotDefinedException e) {
+            logger.warn("Failed to get pixel density from WURFL device capabilities");
+            return null;
+        }
+    }
+
+    private BigDecimal getWurflPxRatio() {
+        try {
+            final String densityAsString = wurflDevice.getCapability("density_class");
+            return densityAsString != null
+                    ? new BigDecimal(densityAsString)
+                    : null;
+        } catch (CapabilityNotDefinedException | NumberFormatException e) {
+            logger.warn("Failed to get pixel ratio from WURFL device capabilities");
+            return null;
+        }
+    }
+
+    private Integer getWurflJs() {
+        try {
+            return wurflDevice.getCapabilityAsBool("ajax_support_javascript") ? 1 : 0;
+        } catch (CapabilityNotDefinedException | NumberFormatException e) {
+            logger.warn("Failed to get JS support from WURFL device capabilities");
+            return null;
+        }
+    }
+
+    private ObjectNode createWurflObject() {
+        final ObjectNode wurfl = mapper.mapper().createObjectNode();
+
+        wurfl.put("wurfl_id", wurflDevice.getId());
+
+        if (!addExtCaps) {
+            return wurfl;
+        }
+
+        for (String capability : staticCaps) {
+            try {
+                final String value = wurflDevice.getCapability(capability);
+                if (value != null) {
+                    wurfl.put(capability, value);
+                }
+            } catch (Exception e) {
+                logger.warn("Error getting capability for {}: {}", capability, e.getMessage());
+            }
+        }
+
+        for (String virtualCapability : virtualCaps) {
+            try {
+                final String value = wurflDevice.getVirtualCapability(virtualCapability);
+                if (value != null) {
+                    wurfl.put(virtualCapability, value);
+                }
+            } catch (Exception e) {
+                logger.warn("Could not fetch virtual capability {}", virtualCapability);
+            }
+        }
+
+        return wurfl;
+    }
+}
@@ -7,6 +7,7 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.json.JacksonMapper;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.MapUtils;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.config.WURFLDeviceDetectionConfigProperties;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.model.AuctionRequestHeadersContext;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.resolver.HeadersResolver;
@@ -21,7 +22,10 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.settings.model.Account;
 import io.vertx.core.Future;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
+import org.prebid.server.util.HttpUtil;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -38,15 +42,25 @@ public class WURFLDeviceDetectionRawAuctionRequestHook implements RawAuctionRequ
     private final Set<String> allowedPublisherIDs;
     private final boolean addExtCaps;
     private final JacksonMapper mapper;
+    private final DeviceDetectionCache deviceDetectionCache;
 
     public WURFLDeviceDetectionRawAuctionRequestHook(WURFLService wurflService,
                                                      WURFLDeviceDetectionConfigProperties configProperties,
                                                      JacksonMapper mapper) {
 
+        this(wurflService, configProperties, mapper, null);
+    }
+
+    public WURFLDeviceDetectionRawAuctionRequestHook(WURFLService wurflService,
+                                                     WURFLDeviceDetectionConfigProperties configProperties,
+                                                     JacksonMapper mapper,
+                                                     DeviceDetectionCache deviceDetectionCache) {
+
         this.wurflService = Objects.requireNonNull(wurflService);
         this.addExtCaps = Objects.requireNonNull(configProperties).isExtCaps();
         this.allowedPublisherIDs = Objects.requireNonNull(configProperties.getAllowedPublisherIds());
         this.mapper = Objects.requireNonNull(mapper);
+        this.deviceDetectionCache = deviceDetectionCache;
     }
 
     @Override
@@ -74,9 +88,11 @@ public class WURFLDeviceDetectionRawAuctionRequestHook implements RawAuctionRequ
                         ? moduleContext.getHeaders()
                         : null;
 
-        final Map<String, String> headers = HeadersResolver.resolve(device, requestHeaders);
-        final Optional<com.scientiamobile.wurfl.core.Device> wurflDevice = wurflService.lookupDevice(headers);
-        if (wurflDevice.isEmpty()) {
+        final Map<String, String> headers = deviceEvidence(HeadersResolver.resolve(device, requestHeaders));
+        final Device wurflOrtbDevice = deviceDetectionCache != null
+                ? deviceDetectionCache.get(WURFLDeviceDetectionModule.CODE, headers, () -> lookupOrtbDevice(headers))
+                : lookupOrtbDevice(headers);
+        if (wurflOrtbDevice == null) {
             logger.info("No WURFL device found, returning original bid request");
             return noActionResult();
         }
@@ -85,15 +101,39 @@ public class WURFLDeviceDetectionRawAuctionRequestHook implements RawAuctionRequ
                 InvocationResultImpl.<AuctionRequestPayload>builder()
                         .status(InvocationStatus.success)
                         .action(InvocationAction.update)
-                        .payloadUpdate(new OrtbDeviceUpdater(
-                                wurflDevice.get(),
-                                wurflService.getAllCapabilities(),
-                                wurflService.getAllVirtualCapabilities(),
-                                addExtCaps,
-                                mapper))
+                        .payloadUpdate(new OrtbDeviceUpdater(wurflOrtbDevice, mapper))
                         .build());
     }
 
+    /**
+     * Keeps only the headers describing the device, so that request specific ones (e.g. cookies) taken from
+     * the request when device.ua and device.sua are missing neither split nor get retained by the cache entries.
+     */
+    private static Map<String, String> deviceEvidence(Map<String, String> headers) {
+        final Map<String, String> evidence = new HashMap<>();
+        MapUtils.emptyIfNull(headers).forEach((name, value) -> {
+            if (StringUtils.equalsIgnoreCase(name, HttpUtil.USER_AGENT_HEADER)
+                    || StringUtils.startsWithIgnoreCase(name, HttpUtil.SEC_CH_UA)) {
+
+                evidence.put(name, value);
+            }
+        });
+
+        return evidence;
+    }
+
+    private Device lookupOrtbDevice(Map<String, String> headers) {
+        return wurflService.lookupDevice(headers)
+                .map(wurflDevice -> new OrtbDeviceMapper(
+                        wurflDevice,
+                        wurflService.getAllCapabilities(),
+                        wurflService.getAllVirtualCapabilities(),
+                        addExtCaps,
+                        mapper))
+                .map(OrtbDeviceMapper::toOrtbDevice)
+                .orElse(null);
+    }
+
     private boolean isDeviceAlreadyEnriched(Device device) {
         final ExtDevice extDevice = device.getExt();
         if (extDevice != null && extDevice.containsProperty(WURFL_PROPERTY)) {
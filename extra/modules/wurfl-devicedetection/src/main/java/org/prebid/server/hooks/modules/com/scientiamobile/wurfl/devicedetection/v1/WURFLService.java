@@ -3,6 +3,7 @@ package org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection
 import com.scientiamobile.wurfl.core.Device;
 import com.scientiamobile.wurfl.core.WURFLEngine;
 import io.vertx.core.Future;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.execution.file.FileProcessor;
@@ -22,16 +23,28 @@ public class WURFLService implements FileProcessor {
 
     private final AtomicReference<WURFLEngine> wurflEngine;
     private final WURFLDeviceDetectionConfigProperties configProperties;
+    private final DeviceDetectionCache deviceDetectionCache;
 
     public WURFLService(WURFLEngine wurflEngine, WURFLDeviceDetectionConfigProperties configProperties) {
+        this(wurflEngine, configProperties, null);
+    }
+
+    public WURFLService(WURFLEngine wurflEngine,
+                        WURFLDeviceDetectionConfigProperties configProperties,
+                        DeviceDetectionCache deviceDetectionCache) {
+
         this.wurflEngine = new AtomicReference<>(wurflEngine);
         this.configProperties = Objects.requireNonNull(configProperties);
+        this.deviceDetectionCache = deviceDetectionCache;
     }
 
     public Future<?> setDataPath(String dataFilePath) {
         try {
             final WURFLEngine engine = createEngine(dataFilePath);
             this.wurflEngine.set(engine);
+            if (deviceDetectionCache != null) {
+                deviceDetectionCache.invalidate(WURFLDeviceDetectionModule.CODE);
+            }
         } catch (Exception e) {
             return Future.failedFuture(e);
         }
@@ -52,7 +52,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getCapabilityAsBool("is_tablet")).willReturn(false);
         given(wurflDevice.getVirtualCapabilityAsBool("is_full_desktop")).willReturn(false);
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(payload.bidRequest()).willReturn(bidRequest);
@@ -73,7 +73,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getCapability("brand_name")).willReturn("TestPhone");
         given(wurflDevice.getCapability("model_name")).willReturn("youPhone");
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -93,7 +93,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getCapability("brand_name")).willReturn("TestPhone");
         given(wurflDevice.getCapability("density_class")).willReturn("2.2");
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -112,7 +112,7 @@ public class OrtbDeviceUpdaterTest {
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getCapability("model_name")).willReturn("youPhone");
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -130,7 +130,7 @@ public class OrtbDeviceUpdaterTest {
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getVirtualCapability("advertised_device_os")).willReturn("testOS");
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -149,7 +149,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
         given(wurflDevice.getCapabilityAsInt("resolution_width")).willReturn(3200);
         given(wurflDevice.getCapabilityAsInt("resolution_height")).willReturn(1440);
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
         // when
         final AuctionRequestPayload result = target.apply(payload);
@@ -168,7 +168,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getCapabilityAsBool("ajax_support_javascript")).willReturn(true);
         given(wurflDevice.getVirtualCapabilityAsBool("is_mobile")).willReturn(true);
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -185,7 +185,7 @@ public class OrtbDeviceUpdaterTest {
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getCapabilityAsBool("is_ott")).willReturn(true);
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
         // when
         final AuctionRequestPayload result = target.apply(payload);
@@ -201,7 +201,7 @@ public class OrtbDeviceUpdaterTest {
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getCapability("physical_form_factor")).willReturn("out_of_home_device");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
         // when
         final AuctionRequestPayload result = target.apply(payload);
@@ -217,7 +217,7 @@ public class OrtbDeviceUpdaterTest {
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Other Non-Mobile");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
 
         // when
@@ -233,7 +233,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Other non-Mobile");
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -252,7 +252,7 @@ public class OrtbDeviceUpdaterTest {
                 .thenThrow(new VirtualCapabilityNotDefinedException("form_factor"));
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -268,7 +268,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Other Mobile");
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -283,7 +283,7 @@ public class OrtbDeviceUpdaterTest {
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Desktop");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -299,7 +299,7 @@ public class OrtbDeviceUpdaterTest {
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smart-TV");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -315,7 +315,7 @@ public class OrtbDeviceUpdaterTest {
                 .devicetype(3)
                 .build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
         final AuctionRequestPayload result = target.apply(payload);
@@ -331,7 +331,7 @@ public class OrtbDeviceUpdaterTest {
 
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
         // when
         final AuctionRequestPayload result = target.apply(payload);
@@ -348,7 +348,7 @@ public class OrtbDeviceUpdaterTest {
 
         final Device device = Device.builder().build();
         final BidRequest bidRequest = BidRequest.builder().device(device).build();
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
         given(payload.bidRequest()).willReturn(bidRequest);
         // when
         final AuctionRequestPayload result = target.apply(payload);
@@ -377,7 +377,7 @@ public class OrtbDeviceUpdaterTest {
         given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
         final Set<String> staticCaps = Set.of("brand_name");
         final Set<String> virtualCaps = Set.of("advertised_device_os");
-        final OrtbDeviceUpdater target = new OrtbDeviceUpdater(wurflDevice, staticCaps, virtualCaps, true, mapper);
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
 
         // when
         given(payload.bidRequest()).willReturn(bidRequest);
@@ -391,4 +391,28 @@ public class OrtbDeviceUpdaterTest {
         assertThat(resultExt.getProperty("wurfl")).isNotNull();
 
     }
+
+    @Test
+    public void updateShouldGiveEachRequestItsOwnWurflProperty() {
+        // given
+        given(wurflDevice.getId()).willReturn("test_phone_ver1");
+        given(wurflDevice.getVirtualCapability("form_factor")).willReturn("Smartphone");
+        final OrtbDeviceUpdater target = givenOrtbDeviceUpdater(staticCaps, virtualCaps);
+        final BidRequest bidRequest = BidRequest.builder().device(Device.builder().build()).build();
+        given(payload.bidRequest()).willReturn(bidRequest);
+
+        // when
+        final ExtDevice firstExt = target.apply(payload).bidRequest().getDevice().getExt();
+        final ExtDevice secondExt = target.apply(payload).bidRequest().getDevice().getExt();
+
+        // then
+        assertThat(firstExt.getProperty("wurfl")).isEqualTo(secondExt.getProperty("wurfl"));
+        assertThat(firstExt.getProperty("wurfl")).isNotSameAs(secondExt.getProperty("wurfl"));
+    }
+
+    private OrtbDeviceUpdater givenOrtbDeviceUpdater(Set<String> staticCaps, Set<String> virtualCaps) {
+        final Device wurflOrtbDevice = new OrtbDeviceMapper(wurflDevice, staticCaps, virtualCaps, true, mapper)
+                .toOrtbDevice();
+        return new OrtbDeviceUpdater(wurflOrtbDevice, mapper);
+    }
 }
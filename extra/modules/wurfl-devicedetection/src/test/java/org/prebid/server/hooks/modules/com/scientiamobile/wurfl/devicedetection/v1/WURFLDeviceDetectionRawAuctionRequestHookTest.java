@@ -23,6 +23,8 @@ import org.prebid.server.hooks.v1.InvocationStatus;
 import org.prebid.server.hooks.v1.auction.AuctionInvocationContext;
 import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
+import org.prebid.server.metric.Metrics;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.util.Collections;
@@ -32,6 +34,8 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class WURFLDeviceDetectionRawAuctionRequestHookTest {
@@ -56,6 +60,9 @@ public class WURFLDeviceDetectionRawAuctionRequestHookTest {
     @Mock(strictness = Mock.Strictness.LENIENT)
     private com.scientiamobile.wurfl.core.Device wurflDevice;
 
+    @Mock
+    private Metrics metrics;
+
     private JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
 
     private WURFLDeviceDetectionRawAuctionRequestHook target;
@@ -199,6 +206,65 @@ public class WURFLDeviceDetectionRawAuctionRequestHookTest {
         assertThat(result.action()).isEqualTo(InvocationAction.update);
     }
 
+    @Test
+    public void callShouldLookupDeviceOnceForRepeatedHeadersWhenCacheIsSet() {
+        // given
+        final String ua = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_7_2) Version/17.4.1 Mobile/15E148 Safari/604.1";
+        final BidRequest bidRequest = BidRequest.builder().device(Device.builder().ua(ua).build()).build();
+        given(payload.bidRequest()).willReturn(bidRequest);
+        given(wurflEngine.getDeviceForRequest(any(Map.class))).willReturn(wurflDevice);
+        given(wurflDevice.getId()).willReturn("apple_iphone_ver1");
+
+        final WURFLService wurflService = new WURFLService(wurflEngine, configProperties);
+        target = new WURFLDeviceDetectionRawAuctionRequestHook(
+                wurflService,
+                configProperties,
+                mapper,
+                new DeviceDetectionCache(100, 60, metrics));
+
+        // when
+        target.call(payload, context);
+        final InvocationResult<AuctionRequestPayload> result = target.call(payload, context).result();
+
+        // then
+        assertThat(result.action()).isEqualTo(InvocationAction.update);
+        verify(wurflEngine, times(1)).getDeviceForRequest(any(Map.class));
+    }
+
+    @Test
+    public void callShouldShareCacheEntryForRequestHeadersDifferingOnlyInCookie() {
+        // given
+        final String ua = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_7_2) Version/17.4.1 Mobile/15E148 Safari/604.1";
+        final BidRequest bidRequest = BidRequest.builder().device(Device.builder().build()).build();
+        given(payload.bidRequest()).willReturn(bidRequest);
+        given(context.moduleContext()).willReturn(
+                AuctionRequestHeadersContext.from(CaseInsensitiveMultiMap.builder()
+                        .add("User-Agent", ua)
+                        .add("Cookie", "uids=first")
+                        .build()),
+                AuctionRequestHeadersContext.from(CaseInsensitiveMultiMap.builder()
+                        .add("User-Agent", ua)
+                        .add("Cookie", "uids=second")
+                        .build()));
+        given(wurflEngine.getDeviceForRequest(any(Map.class))).willReturn(wurflDevice);
+        given(wurflDevice.getId()).willReturn("apple_iphone_ver1");
+
+        final WURFLService wurflService = new WURFLService(wurflEngine, configProperties);
+        target = new WURFLDeviceDetectionRawAuctionRequestHook(
+                wurflService,
+                configProperties,
+                mapper,
+                new DeviceDetectionCache(100, 60, metrics));
+
+        // when
+        target.call(payload, context);
+        final InvocationResult<AuctionRequestPayload> result = target.call(payload, context).result();
+
+        // then
+        assertThat(result.action()).isEqualTo(InvocationAction.update);
+        verify(wurflEngine).getDeviceForRequest(Map.of("User-Agent", ua));
+    }
+
     @Test
     public void shouldEnrichDeviceWhenAllowedPublisherIdsIsEmpty() throws Exception {
         // given
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.hooks.modules.com.scientiamobile.wurfl.devicedetection.config.WURFLDeviceDetectionConfigProperties;
 
 import java.util.HashMap;
@@ -61,6 +62,20 @@ public class WURFLServiceTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void setDataPathShouldDropDevicesCachedForPreviousData() {
+        // given
+        final DeviceDetectionCache deviceDetectionCache = mock(DeviceDetectionCache.class);
+        final WURFLService spyWurflService = spy(new WURFLService(null, configProperties, deviceDetectionCache));
+        doReturn(wurflEngine).when(spyWurflService).createEngine("test-data-path");
+
+        // when
+        spyWurflService.setDataPath("test-data-path");
+
+        // then
+        verify(deviceDetectionCache).invalidate("wurfl-devicedetection");
+    }
+
     @Test
     public void setDataPathShouldReturnFailedFutureWhenExceptionOccurs() {
         // given
@@ -0,0 +1,117 @@
+package org.prebid.server.vast;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares single pass impression insertion with the regular expressions based one it replaced
+ * on InLine VAST documents of realistic size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VastXmlRewriterBenchmark {
+
+    private static final String TRACKING_URL =
+            "https://prebid.example.com/event?t=imp&b=bid-id&a=account&bidder=bidder";
+
+    private static final Pattern INLINE_OPEN_TAG_PATTERN =
+            Pattern.compile("<\\s*inline(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern INLINE_CLOSE_TAG_PATTERN =
+            Pattern.compile("<\\s*/\\s*inline(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern IMPRESSION_CLOSE_TAG_PATTERN =
+            Pattern.compile("<\\s*/\\s*impression(?:>|\\s.*?>)", Pattern.CASE_INSENSITIVE);
+
+    @Param({"10", "50", "100"})
+    private int sizeKb;
+
+    private String vastXml;
+
+    @Setup
+    public void setUp() {
+        vastXml = givenInLineVast(sizeKb * 1024);
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return VastXmlRewriter.insertImpressionTracking(vastXml, TRACKING_URL);
+    }
+
+    @Benchmark
+    public String regex() {
+        final Matcher openTagMatcher = INLINE_OPEN_TAG_PATTERN.matcher(vastXml);
+        if (!openTagMatcher.find()) {
+            return null;
+        }
+
+        final Matcher impressionCloseTagMatcher = IMPRESSION_CLOSE_TAG_PATTERN.matcher(vastXml);
+        if (impressionCloseTagMatcher.find(openTagMatcher.end())) {
+            int replacementEnd = impressionCloseTagMatcher.end();
+            while (impressionCloseTagMatcher.find(replacementEnd)) {
+                replacementEnd = impressionCloseTagMatcher.end();
+            }
+            return insertUrlTracking(vastXml, replacementEnd);
+        }
+
+        final Matcher closeTagMatcher = INLINE_CLOSE_TAG_PATTERN.matcher(vastXml);
+        return closeTagMatcher.find(openTagMatcher.end())
+                ? insertUrlTracking(vastXml, closeTagMatcher.start())
+                : vastXml;
+    }
+
+    private static String insertUrlTracking(String vastXml, int index) {
+        final String impressionTag = "<Impression><![CDATA[" + TRACKING_URL + "]]></Impression>";
+        return vastXml.substring(0, index) + impressionTag + vastXml.substring(index);
+    }
+
+    private static String givenInLineVast(int targetSize) {
+        final StringBuilder xml = new StringBuilder(targetSize + 1024)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<VAST version=\"4.2\">\n  <Ad id=\"ad-1\" sequence=\"1\">\n    <InLine>\n")
+                .append("      <AdSystem version=\"1.0\">Example Ad Server</AdSystem>\n")
+                .append("      <AdTitle><![CDATA[Example video ad]]></AdTitle>\n");
+
+        for (int i = 0; i < 4; i++) {
+            xml.append("      <Impression id=\"imp-").append(i)
+                    .append("\"><![CDATA[https://impression.example.com/pixel?id=").append(i)
+                    .append("&cb=[CACHEBUSTING]]]></Impression>\n");
+        }
+
+        xml.append("      <Creatives>\n        <Creative id=\"creative-1\" adId=\"ad-1\">\n")
+                .append("          <Linear>\n            <Duration>00:00:30</Duration>\n")
+                .append("            <TrackingEvents>\n");
+
+        final String[] events = {"start", "firstQuartile", "midpoint", "thirdQuartile", "complete", "mute", "pause"};
+        int event = 0;
+        while (xml.length() < targetSize - 2048) {
+            xml.append("              <Tracking event=\"").append(events[event % events.length])
+                    .append("\"><![CDATA[https://tracking.example.com/event?e=")
+                    .append(events[event % events.length]).append("&id=").append(event)
+                    .append("&cb=[CACHEBUSTING]&ts=[TIMESTAMP]]]></Tracking>\n");
+            event++;
+        }
+
+        return xml.append("            </TrackingEvents>\n            <MediaFiles>\n")
+                .append("              <MediaFile delivery=\"progressive\" type=\"video/mp4\" width=\"1280\" ")
+                .append("height=\"720\"><![CDATA[https://cdn.example.com/video-720.mp4]]></MediaFile>\n")
+                .append("            </MediaFiles>\n          </Linear>\n        </Creative>\n      </Creatives>\n")
+                .append("    </InLine>\n  </Ad>\n</VAST>\n")
+                .toString();
+    }
+}
@@ -0,0 +1,40 @@
+#!/bin/sh
+
+# Produces an AOT cache (JEP 483/514) for the given Prebid Server JAR.
+#
+# The JAR is extracted into the destination directory because classes loaded from nested JARs can not be archived.
+# The application is then started from the extracted JAR with a training workload, and the cache is written when it
+# exits. At runtime the application must be launched from the same extracted JAR:
+#   java -XX:AOTCache=<destination>/prebid-server.aot -jar <destination>/prebid-server.jar
+#
+# Requires JDK 25 or later on the PATH, as older JDKs do not support -XX:AOTCacheOutput.
+#
+# Usage: aot-training.sh <path-to-prebid-server.jar> <destination-directory>
+
+set -e
+
+if ! java -XX:+PrintFlagsFinal -version 2> /dev/null | grep -q AOTCacheOutput; then
+  echo "AOT cache requires JDK 25 or later, found:"
+  java -version
+  exit 1
+fi
+
+APP_JAR=$(realpath "$1")
+DESTINATION=$(realpath -m "$2")
+
+rm -rf "${DESTINATION}"
+java -Djarmode=tools -jar "${APP_JAR}" extract --destination "${DESTINATION}"
+if [ "$(basename "${APP_JAR}")" != "prebid-server.jar" ]; then
+  mv "${DESTINATION}/$(basename "${APP_JAR}")" "${DESTINATION}/prebid-server.jar"
+fi
+
+"$(dirname "$0")/startup-benchmark.sh" \
+  "${DESTINATION}/prebid-server.jar" \
+  -XX:AOTCacheOutput="${DESTINATION}/prebid-server.aot"
+
+echo "Running with AOT cache:"
+"$(dirname "$0")/startup-benchmark.sh" \
+  "${DESTINATION}/prebid-server.jar" \
+  -XX:AOTCache="${DESTINATION}/prebid-server.aot"
+
+rm -rf /tmp/prebid-server-aot /tmp/prebid-server-aot.log
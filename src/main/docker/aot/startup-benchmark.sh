@@ -0,0 +1,75 @@
+#!/bin/sh
+
+# Measures time from JVM launch until the first successful auction response.
+#
+# Usage: startup-benchmark.sh <path-to-prebid-server.jar> [JVM options...]
+#
+# Environment:
+#   WARMUP_REQUESTS - number of auction requests sent after the first one succeeded, 100 by default
+#   BENCHMARK_PORT  - application port, 8080 by default
+#   STARTUP_TIMEOUT - seconds to wait for the first successful auction before giving up, 300 by default
+
+set -e
+
+APP_JAR=$(realpath "$1")
+shift
+
+WARMUP_REQUESTS=${WARMUP_REQUESTS:-100}
+BENCHMARK_PORT=${BENCHMARK_PORT:-8080}
+STARTUP_TIMEOUT=${STARTUP_TIMEOUT:-300}
+AUCTION_URL="http://localhost:${BENCHMARK_PORT}/openrtb2/auction"
+
+cd "$(dirname "$0")"
+
+auction() {
+  curl -sf -o /dev/null -H 'Content-Type: application/json' --data @training-request.json "${AUCTION_URL}"
+}
+
+# milliseconds since epoch, "date +%s%3N" is not supported by BSD date
+now_ms() {
+  if command -v python3 > /dev/null 2>&1; then
+    python3 -c 'import time; print(int(time.time() * 1000))'
+  elif command -v perl > /dev/null 2>&1; then
+    perl -MTime::HiRes=time -e 'printf("%d\n", time() * 1000)'
+  else
+    echo $(($(date +%s) * 1000))
+  fi
+}
+
+START_MS=$(now_ms)
+DEADLINE_MS=$((START_MS + STARTUP_TIMEOUT * 1000))
+
+java \
+  "$@" \
+  -Dvertx.cacheDirBase=/tmp/prebid-server-aot/.vertx \
+  -Dspring.config.additional-location=./training-config.yaml \
+  -Dserver.http.port="${BENCHMARK_PORT}" \
+  -jar "${APP_JAR}" > /tmp/prebid-server-aot.log 2>&1 &
+APP_PID=$!
+
+until auction; do
+  if ! kill -0 "${APP_PID}" 2>/dev/null; then
+    echo "Prebid Server exited before serving first auction:"
+    cat /tmp/prebid-server-aot.log
+    exit 1
+  fi
+  if [ "$(now_ms)" -ge "${DEADLINE_MS}" ]; then
+    echo "Prebid Server did not serve first auction within ${STARTUP_TIMEOUT} seconds:"
+    cat /tmp/prebid-server-aot.log
+    kill -KILL "${APP_PID}" 2>/dev/null || true
+    exit 1
+  fi
+  sleep 0.05
+done
+
+END_MS=$(now_ms)
+echo "time-to-first-auction: $((END_MS - START_MS)) ms"
+
+i=0
+while [ "${i}" -lt "${WARMUP_REQUESTS}" ]; do
+  auction || true
+  i=$((i + 1))
+done
+
+kill -TERM "${APP_PID}"
+wait "${APP_PID}" || true
@@ -1,8 +1,18 @@
 #!/bin/sh
 
+APP_JAR=/app/prebid-server/prebid-server.jar
+AOT_OPTS=
+
+# use AOT cache when image was built with AOT_CACHE=true, see src/main/docker/aot/aot-training.sh
+if [ -f /app/prebid-server/aot-app/prebid-server.aot ]; then
+  APP_JAR=/app/prebid-server/aot-app/prebid-server.jar
+  AOT_OPTS=-XX:AOTCache=/app/prebid-server/aot-app/prebid-server.aot
+fi
+
 exec java \
   -Dvertx.cacheDirBase=/app/prebid-server/data/.vertx \
   -Dspring.config.additional-location=/app/prebid-server/,/app/prebid-server/conf/ \
+  ${AOT_OPTS} \
   ${JAVA_OPTS} \
   -jar \
-  /app/prebid-server/prebid-server.jar "$@"
+  ${APP_JAR} "$@"
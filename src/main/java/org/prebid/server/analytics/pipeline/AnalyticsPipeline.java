@@ -0,0 +1,449 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffers analytics events of a single reporter and delivers them in batches.
+ * <p>
+ * Event loop threads only put events into a bounded lock-free ring buffer. Serialization and compression happen
+ * on a worker thread, then encoded batches are handed over to {@link BatchSender} back on the event loop.
+ * Offered events are therefore expected to be immutable snapshots holding only the data the reporter emits,
+ * so that the buffer neither keeps whole auction objects alive nor reads them while the request goes on.
+ * Buffered events are sent once there are enough of them, either by number or by size, or periodically.
+ * Since events are encoded only when sent, their size is estimated by the size of previously encoded events.
+ * Events that do not fit into the buffer are dropped according to {@link OverflowPolicy}.
+ * <p>
+ * If {@link DiskSpool} is configured, batches the collector failed to accept or produced while too many requests
+ * are in flight are written to disk and replayed later with bounded throughput. Batches failed with
+ * {@link BatchRejectedException} are discarded, since sending them again can not succeed.
+ */
+public class AnalyticsPipeline<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsPipeline.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+    private static final int LOG_PERIOD_SECONDS = 10;
+    private static final int INITIAL_EVENT_BUFFER_SIZE = 1024;
+
+    private final String name;
+    private final BatchOptions batchOptions;
+    private final EventEncoder<T> encoder;
+    private final BatchSender sender;
+    private final DiskSpool spool;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final OverflowPolicy overflowPolicy;
+    private final double sampleRate;
+    private final int highWatermark;
+    private final int maxBatchEvents;
+    private final SpoolConfig spoolConfig;
+
+    private final MpmcRingBuffer<BufferedEvent<T>> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final AtomicInteger inFlightBatches = new AtomicInteger();
+    private final AtomicInteger replayFailures = new AtomicInteger();
+    private final List<Long> timerIds = new CopyOnWriteArrayList<>();
+
+    private volatile long averageEventBytes;
+
+    AnalyticsPipeline(String name,
+                      AnalyticsPipelineConfig config,
+                      BatchOptions batchOptions,
+                      EventEncoder<T> encoder,
+                      BatchSender sender,
+                      DiskSpool spool,
+                      Vertx vertx,
+                      Metrics metrics,
+                      Clock clock) {
+
+        this.name = Objects.requireNonNull(name);
+        this.batchOptions = Objects.requireNonNull(batchOptions);
+        this.encoder = Objects.requireNonNull(encoder);
+        this.sender = Objects.requireNonNull(sender);
+        this.spool = spool;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+
+        overflowPolicy = Objects.requireNonNull(config.getOverflowPolicy());
+        sampleRate = config.getSampleRate();
+        buffer = new MpmcRingBuffer<>(config.getCapacity());
+        highWatermark = (int) (buffer.capacity() * config.getHighWatermark());
+        maxBatchEvents = Math.max(1, batchOptions.getMaxEvents());
+        spoolConfig = spool != null ? Objects.requireNonNull(config.getSpool()) : null;
+    }
+
+    /**
+     * Starts periodic delivery of buffered events.
+     */
+    public void start() {
+        timerIds.add(vertx.setPeriodic(batchOptions.getFlushIntervalMs(), ignored -> flush()));
+
+        if (spool != null) {
+            metrics.createAnalyticsSpoolSizeGauge(name, spool::sizeBytes);
+            timerIds.add(vertx.setPeriodic(spoolConfig.getReplayIntervalMs(), ignored -> replay()));
+        }
+    }
+
+    /**
+     * Stops periodic delivery. If spool is configured, buffered events are written to it and the spool is closed,
+     * so they are replayed after restart, otherwise they are flushed for the last time.
+     * <p>
+     * Blocks on spool I/O, so must not be called from the event loop.
+     */
+    public void close() {
+        timerIds.forEach(vertx::cancelTimer);
+        timerIds.clear();
+
+        if (spool == null) {
+            flush();
+            return;
+        }
+
+        final EncodedBatches encodedBatches = encodeBatches();
+        if (encodedBatches.failedEvents() > 0) {
+            drop(encodedBatches.failedEvents());
+        }
+        for (EncodedBatch batch : encodedBatches.batches()) {
+            metrics.updateAnalyticsSpoolMetric(
+                    name, spool.append(batch.payload()) ? MetricName.spool_written : MetricName.spool_dropped);
+        }
+        spool.close();
+    }
+
+    /**
+     * Buffers the event. Never blocks and never serializes the event on the calling thread.
+     */
+    public void offer(T event) {
+        if (overflowPolicy == OverflowPolicy.SAMPLE
+                && buffer.size() >= highWatermark
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+
+            drop(1);
+            return;
+        }
+
+        final BufferedEvent<T> bufferedEvent = new BufferedEvent<>(event, clock.millis());
+        if (!buffer.offer(bufferedEvent)) {
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null) {
+                drop(1);
+                if (!buffer.offer(bufferedEvent)) {
+                    drop(1);
+                }
+            } else {
+                drop(1);
+            }
+        }
+
+        if (isBatchReady()) {
+            flush();
+        }
+    }
+
+    private boolean isBatchReady() {
+        final int bufferedEvents = buffer.size();
+        return bufferedEvents >= maxBatchEvents
+                || averageEventBytes > 0 && bufferedEvents * averageEventBytes >= batchOptions.getMaxBytes();
+    }
+
+    /**
+     * Sends all buffered events unless delivery is already in progress.
+     */
+    public void flush() {
+        if (buffer.size() == 0 || !draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        vertx.executeBlocking(this::encodeBatches, false)
+                .onComplete(this::sendBatches);
+    }
+
+    private EncodedBatches encodeBatches() {
+        final List<EncodedBatch> batches = new ArrayList<>();
+        final ByteArrayOutputStream eventBytes = new ByteArrayOutputStream(INITIAL_EVENT_BUFFER_SIZE);
+        int failedEvents = 0;
+        int encodedEvents = 0;
+        long encodedBytes = 0;
+
+        // do not let a single drain run forever while producers keep adding events
+        int remaining = buffer.capacity();
+        BatchWriter writer = null;
+        BufferedEvent<T> bufferedEvent;
+        while (remaining-- > 0 && (bufferedEvent = buffer.poll()) != null) {
+            eventBytes.reset();
+            try {
+                encoder.encode(bufferedEvent.event(), eventBytes);
+            } catch (Exception e) {
+                failedEvents++;
+                conditionalLogger.error(
+                        "[%s] Failed to encode analytics event: %s".formatted(name, e.getMessage()),
+                        LOG_PERIOD_SECONDS,
+                        TimeUnit.SECONDS);
+                continue;
+            }
+
+            encodedEvents++;
+            encodedBytes += eventBytes.size();
+
+            if (writer != null && !writer.fits(eventBytes.size())) {
+                batches.add(writer.finish());
+                writer = null;
+            }
+            if (writer == null) {
+                writer = new BatchWriter(batchOptions, bufferedEvent.enqueuedAt());
+            }
+            writer.append(eventBytes);
+        }
+
+        if (writer != null) {
+            batches.add(writer.finish());
+        }
+        if (encodedEvents > 0) {
+            averageEventBytes = Math.max(1, encodedBytes / encodedEvents);
+        }
+
+        return new EncodedBatches(batches, failedEvents);
+    }
+
+    private void sendBatches(AsyncResult<EncodedBatches> result) {
+        draining.set(false);
+
+        if (result.failed()) {
+            conditionalLogger.error(
+                    "[%s] Failed to prepare analytics events batch: %s".formatted(name, result.cause().getMessage()),
+                    LOG_PERIOD_SECONDS,
+                    TimeUnit.SECONDS);
+        } else {
+            final EncodedBatches encodedBatches = result.result();
+            if (encodedBatches.failedEvents() > 0) {
+                drop(encodedBatches.failedEvents());
+            }
+
+            final long now = clock.millis();
+            for (EncodedBatch batch : encodedBatches.batches()) {
+                metrics.updateAnalyticsPipelineLagMetric(name, now - batch.oldestEnqueuedAt());
+                deliver(batch.payload());
+            }
+        }
+
+        if (isBatchReady()) {
+            flush();
+        }
+    }
+
+    private void deliver(byte[] payload) {
+        if (spool == null) {
+            sender.send(payload);
+            return;
+        }
+
+        if (inFlightBatches.get() >= spoolConfig.getMaxInFlightBatches()) {
+            writeToSpool(payload);
+            return;
+        }
+
+        send(payload).onFailure(error -> {
+            if (error instanceof BatchRejectedException) {
+                discard(error);
+            } else {
+                writeToSpool(payload);
+            }
+        });
+    }
+
+    private Future<?> send(byte[] payload) {
+        inFlightBatches.incrementAndGet();
+        return sender.send(payload)
+                .onComplete(ignored -> inFlightBatches.decrementAndGet());
+    }
+
+    private void writeToSpool(byte[] payload) {
+        vertx.executeBlocking(() -> spool.append(payload), false)
+                .onComplete(result -> {
+                    if (result.succeeded() && result.result()) {
+                        metrics.updateAnalyticsSpoolMetric(name, MetricName.spool_written);
+                        return;
+                    }
+
+                    if (result.failed()) {
+                        conditionalLogger.error(
+                                "[%s] Failed to spool analytics batch: %s".formatted(name, result.cause().getMessage()),
+                                LOG_PERIOD_SECONDS,
+                                TimeUnit.SECONDS);
+                    }
+                    metrics.updateAnalyticsSpoolMetric(name, MetricName.spool_dropped);
+                });
+    }
+
+    private void replay() {
+        if (replaying.compareAndSet(false, true)) {
+            replayNext(spoolConfig.getReplayBatches());
+        }
+    }
+
+    /**
+     * Replays spooled batches one by one, a batch is removed from the spool only after the collector accepted it,
+     * rejected it for good or failed it {@link SpoolConfig#getMaxReplayAttempts()} times in a row, so that the head
+     * batch can not block the spool. Replay stops on the first retryable failure and is resumed by the next tick.
+     */
+    private void replayNext(int remaining) {
+        if (remaining <= 0 || inFlightBatches.get() >= spoolConfig.getMaxInFlightBatches()) {
+            replaying.set(false);
+            return;
+        }
+
+        vertx.executeBlocking(spool::peek, false)
+                .compose(payload -> payload != null ? replayHead(payload) : Future.succeededFuture(false))
+                .onComplete(result -> {
+                    if (result.succeeded() && result.result()) {
+                        replayNext(remaining - 1);
+                    } else {
+                        replaying.set(false);
+                    }
+                });
+    }
+
+    private Future<Boolean> replayHead(byte[] payload) {
+        return send(payload).transform(result -> {
+            if (result.succeeded()) {
+                return commitHead(MetricName.spool_replayed);
+            }
+
+            final Throwable error = result.cause();
+            if (error instanceof BatchRejectedException
+                    || replayFailures.incrementAndGet() >= spoolConfig.getMaxReplayAttempts()) {
+
+                conditionalLogger.error(
+                        "[%s] Discarding spooled analytics batch: %s".formatted(name, error.getMessage()),
+                        LOG_PERIOD_SECONDS,
+                        TimeUnit.SECONDS);
+                return commitHead(MetricName.spool_discarded);
+            }
+
+            return Future.succeededFuture(false);
+        });
+    }
+
+    private Future<Boolean> commitHead(MetricName metricName) {
+        replayFailures.set(0);
+        return vertx.executeBlocking(() -> {
+            spool.commit();
+            return true;
+        }, false).onSuccess(ignored -> metrics.updateAnalyticsSpoolMetric(name, metricName));
+    }
+
+    private void discard(Throwable error) {
+        conditionalLogger.error(
+                "[%s] Discarding analytics batch: %s".formatted(name, error.getMessage()),
+                LOG_PERIOD_SECONDS,
+                TimeUnit.SECONDS);
+        metrics.updateAnalyticsSpoolMetric(name, MetricName.spool_discarded);
+    }
+
+    private void drop(int count) {
+        metrics.updateAnalyticsPipelineDroppedMetric(name, count);
+    }
+
+    private record BufferedEvent<T>(T event, long enqueuedAt) {
+    }
+
+    private record EncodedBatch(byte[] payload, long oldestEnqueuedAt) {
+    }
+
+    private record EncodedBatches(List<EncodedBatch> batches, int failedEvents) {
+    }
+
+    /**
+     * Streams events into the (optionally gzipped) batch payload.
+     */
+    private class BatchWriter {
+
+        private final BatchFormat format;
+        private final long maxBytes;
+        private final long oldestEnqueuedAt;
+        private final ByteArrayOutputStream payload;
+        private final OutputStream outputStream;
+
+        private long uncompressedSize;
+        private int events;
+
+        BatchWriter(BatchOptions options, long oldestEnqueuedAt) {
+            this.format = options.getFormat();
+            this.maxBytes = options.getMaxBytes();
+            this.oldestEnqueuedAt = oldestEnqueuedAt;
+
+            payload = new ByteArrayOutputStream(INITIAL_EVENT_BUFFER_SIZE);
+            outputStream = options.isGzip() ? gzipOutputStream(payload) : payload;
+            write(format.prefix);
+        }
+
+        boolean fits(int eventSize) {
+            return events < maxBatchEvents && uncompressedSize + format.separator.length + eventSize <= maxBytes;
+        }
+
+        void append(ByteArrayOutputStream eventBytes) {
+            if (events > 0) {
+                write(format.separator);
+            }
+
+            try {
+                eventBytes.writeTo(outputStream);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            uncompressedSize += eventBytes.size();
+            events++;
+        }
+
+        EncodedBatch finish() {
+            write(format.suffix);
+            try {
+                outputStream.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            return new EncodedBatch(payload.toByteArray(), oldestEnqueuedAt);
+        }
+
+        private void write(byte[] bytes) {
+            try {
+                outputStream.write(bytes);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            uncompressedSize += bytes.length;
+        }
+
+        private static OutputStream gzipOutputStream(ByteArrayOutputStream payload) {
+            try {
+                return new GZIPOutputStream(payload);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
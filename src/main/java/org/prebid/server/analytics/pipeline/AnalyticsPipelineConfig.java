@@ -0,0 +1,34 @@
+package org.prebid.server.analytics.pipeline;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Host-wide buffering parameters shared by all {@link AnalyticsPipeline}s.
+ */
+@Builder
+@Value
+public class AnalyticsPipelineConfig {
+
+    /**
+     * Maximum number of events buffered per reporter, rounded up to the power of two.
+     */
+    int capacity;
+
+    OverflowPolicy overflowPolicy;
+
+    /**
+     * Share of events accepted under pressure with {@link OverflowPolicy#SAMPLE}.
+     */
+    double sampleRate;
+
+    /**
+     * Buffer fill ratio starting from which {@link OverflowPolicy#SAMPLE} is applied.
+     */
+    double highWatermark;
+
+    /**
+     * Disk spool for batches not accepted by the collector, disabled if null.
+     */
+    SpoolConfig spool;
+}
@@ -0,0 +1,57 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.Vertx;
+import org.prebid.server.metric.Metrics;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class AnalyticsPipelineFactory {
+
+    private final AnalyticsPipelineConfig config;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+
+    private final List<AnalyticsPipeline<?>> pipelines = new CopyOnWriteArrayList<>();
+
+    public AnalyticsPipelineFactory(AnalyticsPipelineConfig config, Vertx vertx, Metrics metrics, Clock clock) {
+        this.config = Objects.requireNonNull(config);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Creates pipeline for the reporter with given name, the name is used for metrics, logging
+     * and as spool directory, so it should be unique.
+     */
+    public <T> AnalyticsPipeline<T> create(String reporterName,
+                                           BatchOptions batchOptions,
+                                           EventEncoder<T> encoder,
+                                           BatchSender sender) {
+
+        final SpoolConfig spoolConfig = config.getSpool();
+        final DiskSpool spool = spoolConfig != null
+                ? new DiskSpool(
+                Path.of(spoolConfig.getDirectory(), reporterName),
+                spoolConfig.getSegmentSizeBytes(),
+                spoolConfig.getMaxSizeBytes())
+                : null;
+
+        final AnalyticsPipeline<T> pipeline = new AnalyticsPipeline<>(
+                reporterName, config, batchOptions, encoder, sender, spool, vertx, metrics, clock);
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    /**
+     * Closes all created pipelines. Invoked by Spring on application shutdown.
+     */
+    public void close() {
+        pipelines.forEach(AnalyticsPipeline::close);
+    }
+}
@@ -0,0 +1,23 @@
+package org.prebid.server.analytics.pipeline;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Defines how encoded events are joined into a single batch payload.
+ */
+public enum BatchFormat {
+
+    JSON_ARRAY("[", ",", "]"),
+
+    NEWLINE_DELIMITED("", "\n", "");
+
+    final byte[] prefix;
+    final byte[] separator;
+    final byte[] suffix;
+
+    BatchFormat(String prefix, String separator, String suffix) {
+        this.prefix = prefix.getBytes(StandardCharsets.UTF_8);
+        this.separator = separator.getBytes(StandardCharsets.UTF_8);
+        this.suffix = suffix.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,31 @@
+package org.prebid.server.analytics.pipeline;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Reporter specific batching parameters of {@link AnalyticsPipeline}.
+ */
+@Builder
+@Value
+public class BatchOptions {
+
+    /**
+     * Batch is sent as soon as this number of events is buffered.
+     */
+    int maxEvents;
+
+    /**
+     * Batch is sent as soon as about this number of uncompressed bytes is buffered. Bigger batches are split.
+     */
+    long maxBytes;
+
+    /**
+     * Buffered events are sent at least this often regardless of their number.
+     */
+    long flushIntervalMs;
+
+    boolean gzip;
+
+    BatchFormat format;
+}
@@ -0,0 +1,27 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.prebid.server.exception.PreBidException;
+
+/**
+ * Fails {@link BatchSender} future when the collector rejected the batch for good, so that the batch is discarded
+ * instead of being spooled and retried.
+ */
+@SuppressWarnings("serial")
+public class BatchRejectedException extends PreBidException {
+
+    public BatchRejectedException(String message) {
+        super(message);
+    }
+
+    /**
+     * Returns true if the collector response status means that sending the same batch again will not help: any client
+     * error except request timeout and too many requests.
+     */
+    public static boolean isPermanent(int statusCode) {
+        return statusCode >= 400
+                && statusCode < 500
+                && statusCode != HttpResponseStatus.REQUEST_TIMEOUT.code()
+                && statusCode != HttpResponseStatus.TOO_MANY_REQUESTS.code();
+    }
+}
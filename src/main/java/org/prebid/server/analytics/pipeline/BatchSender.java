@@ -0,0 +1,16 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.Future;
+
+/**
+ * Delivers encoded (and possibly compressed) batch of events. Invoked on the event loop.
+ * <p>
+ * Returned future should fail if the collector did not accept the batch, so it can be spooled and replayed.
+ * If retrying can not help, e.g. the collector found the batch malformed, the future should fail with
+ * {@link BatchRejectedException}, so the batch is discarded.
+ */
+@FunctionalInterface
+public interface BatchSender {
+
+    Future<?> send(byte[] payload);
+}
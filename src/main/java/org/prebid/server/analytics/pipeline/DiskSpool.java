@@ -0,0 +1,275 @@
+package org.prebid.server.analytics.pipeline;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only FIFO of byte records persisted in fixed-size memory-mapped segment files.
+ * <p>
+ * Every segment starts with the committed read offset followed by records of
+ * {@code [int length][int crc32][payload]}. Length is written last, so a record torn by a crash is detected
+ * on recovery and the segment tail is discarded. Fully consumed segments are unmapped and deleted.
+ * <p>
+ * Methods perform file I/O and must not be called from the event loop. Once closed, the spool neither accepts nor
+ * returns records.
+ */
+class DiskSpool {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final int HEADER_SIZE = Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+    private final int maxSegments;
+
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long sizeBytes;
+    private boolean closed;
+
+    DiskSpool(Path directory, long segmentSizeBytes, long maxSizeBytes) {
+        if (segmentSizeBytes <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Spool segment size is too small: " + segmentSizeBytes);
+        }
+
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.maxSegments = (int) Math.max(1, maxSizeBytes / segmentSizeBytes);
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns false if the record can not be stored because of size limits.
+     */
+    synchronized boolean append(byte[] payload) {
+        final long recordSize = RECORD_HEADER_SIZE + (long) payload.length;
+        if (closed || HEADER_SIZE + recordSize > segmentSizeBytes) {
+            return false;
+        }
+
+        Segment segment = segments.peekLast();
+        if (segment == null || !segment.fits(recordSize)) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            segment = createSegment(segment != null ? segment.sequence + 1 : 0);
+            segments.addLast(segment);
+        }
+
+        segment.write(payload);
+        sizeBytes += recordSize;
+        return true;
+    }
+
+    /**
+     * Returns the oldest not committed record without removing it, or null if the spool is empty.
+     */
+    synchronized byte[] peek() {
+        if (closed) {
+            return null;
+        }
+
+        final Segment segment = readableSegment();
+        return segment != null ? segment.read() : null;
+    }
+
+    /**
+     * Removes the record previously returned by {@link #peek()}.
+     */
+    synchronized void commit() {
+        final Segment segment = closed ? null : readableSegment();
+        if (segment == null) {
+            return;
+        }
+
+        sizeBytes -= segment.skip();
+        if (!segment.hasUnread() && segments.size() > 1) {
+            segments.pollFirst().delete();
+        }
+    }
+
+    /**
+     * Returns the number of bytes occupied by not committed records.
+     */
+    synchronized long sizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Writes records and read offsets through to disk and unmaps segments.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        segments.forEach(Segment::close);
+        segments.clear();
+    }
+
+    private Segment readableSegment() {
+        Segment segment = segments.peekFirst();
+        while (segment != null && !segment.hasUnread() && segments.size() > 1) {
+            segments.pollFirst().delete();
+            segment = segments.peekFirst();
+        }
+        return segment != null && segment.hasUnread() ? segment : null;
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        final String glob = SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        for (Path file : files) {
+            final Segment segment = new Segment(file, parseSequence(file), Files.size(file));
+            segment.recover();
+            if (segment.hasUnread() || file == files.getLast()) {
+                segments.addLast(segment);
+                sizeBytes += segment.writeOffset - segment.readOffset;
+            } else {
+                segment.delete();
+            }
+        }
+    }
+
+    private Segment createSegment(long sequence) {
+        final Path file = directory.resolve("%s%020d%s".formatted(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        final Segment segment = new Segment(file, sequence, segmentSizeBytes);
+        segment.commitReadOffset(HEADER_SIZE);
+        return segment;
+    }
+
+    private static long parseSequence(Path file) {
+        final String fileName = file.getFileName().toString();
+        final int end = fileName.length() - SEGMENT_SUFFIX.length();
+        return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), end));
+    }
+
+    private static int crc(byte[] payload) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    private static class Segment {
+
+        private final Path file;
+        private final long sequence;
+        private final Arena arena;
+        private final MemorySegment memory;
+
+        private long readOffset = HEADER_SIZE;
+        private long writeOffset = HEADER_SIZE;
+
+        Segment(Path file, long sequence, long size) {
+            this.file = file;
+            this.sequence = sequence;
+
+            arena = Arena.ofShared();
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+            } catch (IOException e) {
+                arena.close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void recover() {
+            long offset = HEADER_SIZE;
+            while (offset + RECORD_HEADER_SIZE <= memory.byteSize()) {
+                final int length = memory.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+                final long end = offset + RECORD_HEADER_SIZE + length;
+                if (length <= 0 || end > memory.byteSize() || crc(payloadAt(offset, length)) != crcAt(offset)) {
+                    break;
+                }
+                offset = end;
+            }
+            writeOffset = offset;
+
+            final long committedReadOffset = memory.byteSize() >= HEADER_SIZE
+                    ? memory.get(ValueLayout.JAVA_LONG_UNALIGNED, 0)
+                    : HEADER_SIZE;
+            readOffset = Math.clamp(committedReadOffset, HEADER_SIZE, writeOffset);
+        }
+
+        void write(byte[] payload) {
+            final long payloadOffset = writeOffset + RECORD_HEADER_SIZE;
+            MemorySegment.copy(payload, 0, memory, ValueLayout.JAVA_BYTE, payloadOffset, payload.length);
+            memory.set(ValueLayout.JAVA_INT_UNALIGNED, writeOffset + Integer.BYTES, crc(payload));
+            memory.set(ValueLayout.JAVA_INT_UNALIGNED, writeOffset, payload.length);
+            writeOffset = payloadOffset + payload.length;
+        }
+
+        byte[] read() {
+            return payloadAt(readOffset, memory.get(ValueLayout.JAVA_INT_UNALIGNED, readOffset));
+        }
+
+        long skip() {
+            final long recordSize = RECORD_HEADER_SIZE + memory.get(ValueLayout.JAVA_INT_UNALIGNED, readOffset);
+            commitReadOffset(readOffset + recordSize);
+            return recordSize;
+        }
+
+        boolean fits(long recordSize) {
+            return writeOffset + recordSize <= memory.byteSize();
+        }
+
+        boolean hasUnread() {
+            return readOffset < writeOffset;
+        }
+
+        void commitReadOffset(long offset) {
+            readOffset = offset;
+            memory.set(ValueLayout.JAVA_LONG_UNALIGNED, 0, offset);
+        }
+
+        void close() {
+            memory.force();
+            arena.close();
+        }
+
+        void delete() {
+            arena.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] payloadAt(long offset, int length) {
+            return memory.asSlice(offset + RECORD_HEADER_SIZE, length).toArray(ValueLayout.JAVA_BYTE);
+        }
+
+        private int crcAt(long offset) {
+            return memory.get(ValueLayout.JAVA_INT_UNALIGNED, offset + Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.prebid.server.analytics.pipeline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a single analytics event into the batch. Invoked on a worker thread.
+ */
+@FunctionalInterface
+public interface EventEncoder<T> {
+
+    void encode(T event, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,23 @@
+package org.prebid.server.analytics.pipeline;
+
+/**
+ * Defines what {@link AnalyticsPipeline} does with events when its buffer is under pressure.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Incoming event is dropped when the buffer is full.
+     */
+    DROP_NEWEST,
+
+    /**
+     * The oldest buffered event is dropped to make room for the incoming one when the buffer is full.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Once the buffer fill reaches the high watermark, only the configured share of incoming events is accepted.
+     * Incoming event is dropped when the buffer is full.
+     */
+    SAMPLE
+}
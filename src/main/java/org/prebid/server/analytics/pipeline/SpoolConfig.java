@@ -0,0 +1,41 @@
+package org.prebid.server.analytics.pipeline;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Parameters of the disk spool keeping batches the collector was not able to accept.
+ */
+@Builder
+@Value
+public class SpoolConfig {
+
+    /**
+     * Base directory, every reporter gets its own subdirectory.
+     */
+    String directory;
+
+    long segmentSizeBytes;
+
+    /**
+     * Upper bound of disk space per reporter, batches above it are dropped.
+     */
+    long maxSizeBytes;
+
+    long replayIntervalMs;
+
+    /**
+     * Maximum number of spooled batches replayed per {@link #replayIntervalMs}.
+     */
+    int replayBatches;
+
+    /**
+     * Batches are spooled right away instead of being sent while this number of requests is in flight.
+     */
+    int maxInFlightBatches;
+
+    /**
+     * Spooled batch is discarded after this number of failed replays in a row, so that it does not block the spool.
+     */
+    int maxReplayAttempts;
+}
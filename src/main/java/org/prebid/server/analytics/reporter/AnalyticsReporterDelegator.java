@@ -43,6 +43,7 @@ import org.prebid.server.settings.model.AccountAnalyticsConfig;
 import org.prebid.server.util.StreamUtil;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -117,13 +118,15 @@ public class AnalyticsReporterDelegator {
             final Map<Integer, PrivacyEnforcementAction> privacyEnforcementActionMap =
                     privacyEnforcementMapResult.result();
             checkUnknownAdaptersForAuctionEvent(event);
+            // reporters with the same activity outcome share the masked view of the event
+            final Map<ActivityOutcome, MaskedAuctionEvent> maskedEvents = new HashMap<>();
             for (AnalyticsReporter analyticsReporter : delegates) {
                 final String name = analyticsReporter.name();
                 if (!isAllowedAdapter(event, name)) {
                     continue;
                 }
 
-                final T updatedEvent = updateEvent(event, name);
+                final T updatedEvent = updateEvent(event, name, maskedEvents);
                 final int reporterVendorId = analyticsReporter.vendorId();
                 // resultForVendorIds is guaranteed returning for each provided value except null,
                 // but to be sure lets use getOrDefault
@@ -254,62 +257,73 @@ public class AnalyticsReporterDelegator {
         return ActivityInvocationPayloadImpl.of(ComponentType.ANALYTICS, adapterName);
     }
 
-    private <T> T updateEvent(T event, String adapter) {
-        if (!ADAPTERS_PERMITTED_FOR_FULL_DATA.contains(adapter) && event instanceof AuctionEvent auctionEvent) {
-            final AuctionContext updatedAuctionContext =
-                    updateAuctionContextAdapter(auctionEvent.getAuctionContext(), adapter);
-            return updatedAuctionContext != null
-                    ? (T) auctionEvent.toBuilder().auctionContext(updatedAuctionContext).build()
-                    : event;
-        }
-
-        return event;
-    }
+    private <T> T updateEvent(T event, String adapter, Map<ActivityOutcome, MaskedAuctionEvent> maskedEvents) {
+        if (ADAPTERS_PERMITTED_FOR_FULL_DATA.contains(adapter)
+                || !(event instanceof AuctionEvent auctionEvent)
+                || auctionEvent.getAuctionContext() == null) {
 
-    private AuctionContext updateAuctionContextAdapter(AuctionContext context, String adapter) {
-        if (context == null) {
-            return null;
+            return event;
         }
 
+        final AuctionContext context = auctionEvent.getAuctionContext();
         final BidRequest bidRequest = context.getBidRequest();
-        final ActivityInfrastructure activityInfrastructure = context.getActivityInfrastructure();
-        final BidRequest updatedBidRequest = updateBidRequest(bidRequest, adapter, activityInfrastructure);
+        final ActivityOutcome activityOutcome =
+                activityOutcome(bidRequest, adapter, context.getActivityInfrastructure());
+        final MaskedAuctionEvent maskedEvent = maskedEvents.computeIfAbsent(
+                activityOutcome, outcome -> maskAuctionEvent(auctionEvent, outcome));
 
-        return updatedBidRequest != null
-                ? context.toBuilder()
-                .bidRequest(updatedBidRequest)
-                .build()
-                : null;
+        final ExtRequest requestExt = bidRequest != null ? bidRequest.getExt() : null;
+        final ExtRequest updatedExtRequest = updateExtRequest(requestExt, adapter);
+        if (updatedExtRequest == null) {
+            return (T) maskedEvent.event();
+        }
+
+        final BidRequest updatedBidRequest = maskedEvent.bidRequest().toBuilder()
+                .ext(updatedExtRequest)
+                .build();
+        return (T) auctionEvent.toBuilder()
+                .auctionContext(context.toBuilder().bidRequest(updatedBidRequest).build())
+                .build();
     }
 
-    private BidRequest updateBidRequest(BidRequest bidRequest,
-                                        String adapter,
-                                        ActivityInfrastructure infrastructure) {
+    private static ActivityOutcome activityOutcome(BidRequest bidRequest,
+                                                   String adapter,
+                                                   ActivityInfrastructure infrastructure) {
 
         final ActivityInvocationPayload payload = BidRequestActivityInvocationPayload.of(
                 activityInvocationPayload(adapter),
                 bidRequest);
 
-        final boolean disallowTransmitUfpd = !isAllowedActivity(infrastructure, Activity.TRANSMIT_UFPD, payload);
-        final boolean disallowTransmitEids = !isAllowedActivity(infrastructure, Activity.TRANSMIT_EIDS, payload);
-        final boolean disallowTransmitGeo = !isAllowedActivity(infrastructure, Activity.TRANSMIT_GEO, payload);
+        return new ActivityOutcome(
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_UFPD, payload),
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_EIDS, payload),
+                !isAllowedActivity(infrastructure, Activity.TRANSMIT_GEO, payload));
+    }
+
+    private MaskedAuctionEvent maskAuctionEvent(AuctionEvent auctionEvent, ActivityOutcome outcome) {
+        final AuctionContext context = auctionEvent.getAuctionContext();
+        final BidRequest bidRequest = context.getBidRequest();
 
         final User user = bidRequest != null ? bidRequest.getUser() : null;
-        final User resolvedUser = mask.maskUser(user, disallowTransmitUfpd, disallowTransmitEids);
+        final User resolvedUser = mask.maskUser(user, outcome.disallowTransmitUfpd(), outcome.disallowTransmitEids());
 
         final Device device = bidRequest != null ? bidRequest.getDevice() : null;
-        final Device resolvedDevice = mask.maskDevice(device, disallowTransmitUfpd, disallowTransmitGeo);
+        final Device resolvedDevice = mask.maskDevice(
+                device, outcome.disallowTransmitUfpd(), outcome.disallowTransmitGeo());
 
-        final ExtRequest requestExt = bidRequest != null ? bidRequest.getExt() : null;
-        final ExtRequest updatedExtRequest = updateExtRequest(requestExt, adapter);
+        if (resolvedUser == null && resolvedDevice == null) {
+            return new MaskedAuctionEvent(auctionEvent, bidRequest);
+        }
 
-        return resolvedUser != null || resolvedDevice != null || updatedExtRequest != null
-                ? bidRequest.toBuilder()
+        final BidRequest maskedBidRequest = bidRequest.toBuilder()
                 .user(resolvedUser != null ? resolvedUser : user)
                 .device(resolvedDevice != null ? resolvedDevice : device)
-                .ext(updatedExtRequest != null ? updatedExtRequest : requestExt)
-                .build()
-                : null;
+                .build();
+        final AuctionEvent maskedEvent = auctionEvent.toBuilder()
+                .auctionContext(context.toBuilder().bidRequest(maskedBidRequest).build())
+                .build();
+
+        return new MaskedAuctionEvent(maskedEvent, maskedBidRequest);
     }
 
     private static boolean isAllowedActivity(ActivityInfrastructure activityInfrastructure,
@@ -474,4 +488,12 @@ public class AnalyticsReporterDelegator {
 
         return false;
     }
+
+    private record ActivityOutcome(boolean disallowTransmitUfpd,
+                                   boolean disallowTransmitEids,
+                                   boolean disallowTransmitGeo) {
+    }
+
+    private record MaskedAuctionEvent(AuctionEvent event, BidRequest bidRequest) {
+    }
 }
@@ -12,7 +12,6 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
@@ -21,6 +20,11 @@ import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipeline;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.BatchFormat;
+import org.prebid.server.analytics.pipeline.BatchOptions;
+import org.prebid.server.analytics.pipeline.BatchRejectedException;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
 import org.prebid.server.auction.model.AuctionContext;
@@ -39,17 +43,14 @@ import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
 
 public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
@@ -57,14 +58,12 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
     private final String url;
     private final boolean compressToGzip;
-    private final long bufferTimeoutMs;
     private final long httpTimeoutMs;
 
-    private final EventBuffer<String> buffer;
+    private final AnalyticsPipeline<AgmaEvent> pipeline;
 
     private final Map<String, String> accounts;
 
-    private final Vertx vertx;
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
     private final Clock clock;
@@ -75,29 +74,35 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                                  JacksonMapper jacksonMapper,
                                  Clock clock,
                                  HttpClient httpClient,
-                                 Vertx vertx) {
+                                 AnalyticsPipelineFactory pipelineFactory) {
 
         this.accounts = agmaAnalyticsProperties.getAccounts();
 
         this.url = HttpUtil.validateUrl(agmaAnalyticsProperties.getUrl());
-        this.bufferTimeoutMs = agmaAnalyticsProperties.getBufferTimeoutMs();
         this.httpTimeoutMs = agmaAnalyticsProperties.getHttpTimeoutMs();
         this.compressToGzip = agmaAnalyticsProperties.isGzip();
 
-        this.buffer = new EventBuffer<>(
-                agmaAnalyticsProperties.getMaxEventsCount(),
-                agmaAnalyticsProperties.getBufferSize());
-
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.httpClient = Objects.requireNonNull(httpClient);
-        this.vertx = Objects.requireNonNull(vertx);
         this.clock = Objects.requireNonNull(clock);
         this.headers = makeHeaders(Objects.requireNonNull(prebidVersionProvider));
+
+        this.pipeline = pipelineFactory.create(
+                name(),
+                BatchOptions.builder()
+                        .maxEvents(agmaAnalyticsProperties.getMaxEventsCount())
+                        .maxBytes(agmaAnalyticsProperties.getBufferSize())
+                        .flushIntervalMs(agmaAnalyticsProperties.getBufferTimeoutMs())
+                        .gzip(compressToGzip)
+                        .format(BatchFormat.JSON_ARRAY)
+                        .build(),
+                this::encode,
+                this::sendEvents);
     }
 
     @Override
     public Future<Void> initialize() {
-        vertx.setPeriodic(bufferTimeoutMs, ignored -> sendEvents(buffer.pollAll()));
+        pipeline.start();
         return Future.succeededFuture();
     }
 
@@ -149,9 +154,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                         Instant.ofEpochMilli(timeoutContext.getStartTime()), clock.getZone()))
                 .build();
 
-        final String eventString = jacksonMapper.encodeToString(agmaEvent);
-        buffer.put(eventString, eventString.length());
-        sendEvents(buffer.pollToFlush());
+        pipeline.offer(agmaEvent);
         return Future.succeededFuture();
     }
 
@@ -206,33 +209,26 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                 : publisherId;
     }
 
-    private void sendEvents(List<String> events) {
-        if (events.isEmpty()) {
-            return;
-        }
-        final String payload = preparePayload(events);
-        final Future<HttpClientResponse> responseFuture = compressToGzip
-                ? httpClient.request(HttpMethod.POST, url, headers, gzip(payload), httpTimeoutMs)
-                : httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs);
-
-        responseFuture.onComplete(this::handleReportResponse);
+    private void encode(AgmaEvent event, OutputStream outputStream) throws IOException {
+        jacksonMapper.mapper().writeValue(outputStream, event);
     }
 
-    private static String preparePayload(List<String> events) {
-        return "[" + String.join(",", events) + "]";
+    private Future<HttpClientResponse> sendEvents(byte[] payload) {
+        return httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs)
+                .onComplete(this::handleReportResponse)
+                .compose(AgmaAnalyticsReporter::acceptedResponse);
     }
 
-    private static byte[] gzip(String value) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[agmaAnalytics] failed to compress, skip the events : " + e.getMessage());
+    private static Future<HttpClientResponse> acceptedResponse(HttpClientResponse response) {
+        final int statusCode = response.getStatusCode();
+        if (statusCode == HttpResponseStatus.OK.code()) {
+            return Future.succeededFuture(response);
         }
+
+        final String message = "Unexpected response status: " + statusCode;
+        return Future.failedFuture(BatchRejectedException.isPermanent(statusCode)
+                ? new BatchRejectedException(message)
+                : new PreBidException(message));
     }
 
     private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
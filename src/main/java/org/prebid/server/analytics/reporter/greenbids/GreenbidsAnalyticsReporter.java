@@ -17,10 +17,16 @@ import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipeline;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.BatchFormat;
+import org.prebid.server.analytics.pipeline.BatchOptions;
+import org.prebid.server.analytics.pipeline.BatchRejectedException;
 import org.prebid.server.analytics.reporter.greenbids.model.CommonMessage;
 import org.prebid.server.analytics.reporter.greenbids.model.ExplorationResult;
 import org.prebid.server.analytics.reporter.greenbids.model.ExtBanner;
@@ -45,8 +51,8 @@ import org.prebid.server.hooks.execution.model.StageExecutionOutcome;
 import org.prebid.server.hooks.v1.analytics.Activity;
 import org.prebid.server.hooks.v1.analytics.Result;
 import org.prebid.server.hooks.v1.analytics.Tags;
-import org.prebid.server.json.EncodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.proto.openrtb.ext.request.ExtImpPrebid;
@@ -60,9 +66,13 @@ import org.prebid.server.settings.model.AccountAnalyticsConfig;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.util.StreamUtil;
 import org.prebid.server.version.PrebidVersionProvider;
+import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
@@ -71,34 +81,59 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class GreenbidsAnalyticsReporter implements AnalyticsReporter {
+public class GreenbidsAnalyticsReporter implements AnalyticsReporter, Initializable {
 
     private static final String BID_REQUEST_ANALYTICS_EXTENSION_NAME = "greenbids";
     private static final int RANGE_16_BIT_INTEGER_DIVISION_BASIS = 0x10000;
     private static final String ANALYTICS_REQUEST_ORIGIN_HEADER = "X-Request-Origin";
     private static final String PREBID_SERVER_HEADER_VALUE = "Prebid Server";
+    private static final byte USER_AGENT_SEPARATOR = '\n';
     private static final Logger logger = LoggerFactory.getLogger(GreenbidsAnalyticsReporter.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+    private static final int LOG_PERIOD_SECONDS = 10;
+    private static final long FLUSH_INTERVAL_MS = 1000L;
 
     private final GreenbidsAnalyticsProperties greenbidsAnalyticsProperties;
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
     private final Clock clock;
     private final PrebidVersionProvider prebidVersionProvider;
+    private final AnalyticsPipeline<GreenbidsEvent> pipeline;
 
     public GreenbidsAnalyticsReporter(
             GreenbidsAnalyticsProperties greenbidsAnalyticsProperties,
             JacksonMapper jacksonMapper,
             HttpClient httpClient,
             Clock clock,
-            PrebidVersionProvider prebidVersionProvider) {
+            PrebidVersionProvider prebidVersionProvider,
+            AnalyticsPipelineFactory pipelineFactory) {
         this.greenbidsAnalyticsProperties = Objects.requireNonNull(greenbidsAnalyticsProperties);
         this.httpClient = Objects.requireNonNull(httpClient);
         this.clock = Objects.requireNonNull(clock);
         this.prebidVersionProvider = Objects.requireNonNull(prebidVersionProvider);
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
+
+        // collector accepts a single message per request
+        this.pipeline = pipelineFactory.create(
+                name(),
+                BatchOptions.builder()
+                        .maxEvents(1)
+                        .maxBytes(Long.MAX_VALUE)
+                        .flushIntervalMs(FLUSH_INTERVAL_MS)
+                        .format(BatchFormat.NEWLINE_DELIMITED)
+                        .build(),
+                this::encode,
+                this::sendEvent);
+    }
+
+    @Override
+    public Future<Void> initialize() {
+        pipeline.start();
+        return Future.succeededFuture();
     }
 
     @Override
@@ -140,9 +175,9 @@ public class GreenbidsAnalyticsReporter implements AnalyticsReporter {
             return Future.succeededFuture();
         }
 
-        final String commonMessageJson;
+        final CommonMessage commonMessage;
         try {
-            final CommonMessage commonMessage = createBidMessage(
+            commonMessage = createBidMessage(
                     auctionContext,
                     bidResponse,
                     greenbidsId,
@@ -150,30 +185,55 @@ public class GreenbidsAnalyticsReporter implements AnalyticsReporter {
                     greenbidsConfig,
                     analyticsResultFromAnalyticsTag,
                     samplingRate);
-            commonMessageJson = jacksonMapper.encodeToString(commonMessage);
         } catch (PreBidException e) {
             return Future.failedFuture(e);
-        } catch (EncodeException e) {
-            return Future.failedFuture(new PreBidException("Failed to encode as JSON: ", e));
         }
 
+        final String userAgent = Optional.ofNullable(auctionContext.getBidRequest())
+                .map(BidRequest::getDevice)
+                .map(Device::getUa)
+                .orElse(null);
+
+        pipeline.offer(new GreenbidsEvent(commonMessage, userAgent));
+        return Future.succeededFuture();
+    }
+
+    /**
+     * Writes user agent line ahead of the message, so that the user agent header can be restored from the payload
+     * when it is sent, including payloads replayed from the spool.
+     */
+    private void encode(GreenbidsEvent event, OutputStream outputStream) throws IOException {
+        outputStream.write(StringUtils.replaceChars(StringUtils.defaultString(event.userAgent()), "\r\n", "  ")
+                .getBytes(StandardCharsets.UTF_8));
+        outputStream.write(USER_AGENT_SEPARATOR);
+        jacksonMapper.mapper().writeValue(outputStream, event.message());
+    }
+
+    private Future<Void> sendEvent(byte[] payload) {
+        final int separatorIndex = ArrayUtils.indexOf(payload, USER_AGENT_SEPARATOR);
+        final String userAgent = new String(payload, 0, separatorIndex, StandardCharsets.UTF_8);
+        final String commonMessageJson = new String(
+                payload, separatorIndex + 1, payload.length - separatorIndex - 1, StandardCharsets.UTF_8);
+
         final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
                 .add(HttpUtil.ACCEPT_HEADER, HttpHeaderValues.APPLICATION_JSON)
                 .add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON)
                 .add(ANALYTICS_REQUEST_ORIGIN_HEADER, PREBID_SERVER_HEADER_VALUE);
 
-        Optional.ofNullable(auctionContext.getBidRequest())
-                .map(BidRequest::getDevice)
-                .map(Device::getUa)
-                .ifPresent(userAgent -> headers.add(HttpUtil.USER_AGENT_HEADER, userAgent));
-
-        final Future<HttpClientResponse> responseFuture = httpClient.post(
-                greenbidsAnalyticsProperties.getAnalyticsServerUrl(),
-                headers,
-                commonMessageJson,
-                greenbidsAnalyticsProperties.getTimeoutMs());
+        if (!userAgent.isEmpty()) {
+            headers.add(HttpUtil.USER_AGENT_HEADER, userAgent);
+        }
 
-        return responseFuture.compose(this::processAnalyticServerResponse);
+        return httpClient.post(
+                        greenbidsAnalyticsProperties.getAnalyticsServerUrl(),
+                        headers,
+                        commonMessageJson,
+                        greenbidsAnalyticsProperties.getTimeoutMs())
+                .compose(this::processAnalyticServerResponse)
+                .onFailure(error -> conditionalLogger.error(
+                        "[greenbids] Failed to send analytics event: " + error.getMessage(),
+                        LOG_PERIOD_SECONDS,
+                        TimeUnit.SECONDS));
     }
 
     private GreenbidsConfig parseBidRequestExt(AuctionContext auctionContext) {
@@ -281,7 +341,11 @@ public class GreenbidsAnalyticsReporter implements AnalyticsReporter {
         if (responseStatusCode >= 200 && responseStatusCode < 300) {
             return Future.succeededFuture();
         }
-        return Future.failedFuture(new PreBidException("Unexpected response status: " + response.getStatusCode()));
+
+        final String message = "Unexpected response status: " + responseStatusCode;
+        return Future.failedFuture(BatchRejectedException.isPermanent(responseStatusCode)
+                ? new BatchRejectedException(message)
+                : new PreBidException(message));
     }
 
     private boolean isSampled(Double samplingRate, String greenbidsId) {
@@ -501,6 +565,9 @@ public class GreenbidsAnalyticsReporter implements AnalyticsReporter {
         return 0;
     }
 
+    private record GreenbidsEvent(CommonMessage message, String userAgent) {
+    }
+
     @Override
     public String name() {
         return "greenbids";
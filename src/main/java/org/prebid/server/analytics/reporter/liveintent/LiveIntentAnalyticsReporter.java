@@ -9,6 +9,11 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipeline;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.BatchFormat;
+import org.prebid.server.analytics.pipeline.BatchOptions;
+import org.prebid.server.analytics.pipeline.BatchRejectedException;
 import org.prebid.server.analytics.reporter.liveintent.model.LiveIntentAnalyticsProperties;
 import org.prebid.server.analytics.reporter.liveintent.model.PbsjBid;
 import org.prebid.server.auction.model.AuctionContext;
@@ -25,27 +30,37 @@ import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
 import org.prebid.server.util.Uri;
+import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-public class LiveIntentAnalyticsReporter implements AnalyticsReporter {
+public class LiveIntentAnalyticsReporter implements AnalyticsReporter, Initializable {
 
     private static final String LIVEINTENT_HOOK_ID = "liveintent-omni-channel-identity-processed-auction-request-hook";
+    private static final String NOTIFICATIONS_PIPELINE_NAME = "liveintentAnalyticsNotifications";
+    private static final long FLUSH_INTERVAL_MS = 1000L;
 
     private final HttpClient httpClient;
     private final LiveIntentAnalyticsProperties properties;
     private final String auctionEventEndpoint;
     private final Uri notificationEventEndpoint;
     private final JacksonMapper jacksonMapper;
+    private final AnalyticsPipeline<List<PbsjBid>> auctionPipeline;
+    private final AnalyticsPipeline<String> notificationPipeline;
 
     public LiveIntentAnalyticsReporter(
             LiveIntentAnalyticsProperties properties,
             HttpClient httpClient,
-            JacksonMapper jacksonMapper) {
+            JacksonMapper jacksonMapper,
+            AnalyticsPipelineFactory pipelineFactory) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
         this.properties = Objects.requireNonNull(properties);
@@ -55,6 +70,29 @@ public class LiveIntentAnalyticsReporter implements AnalyticsReporter {
         this.notificationEventEndpoint = Uri.of(endpointBase + "/analytic-events/pbsj-winning-bid");
 
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
+
+        // collector accepts a single event per request, so every event is sent as a batch of its own
+        this.auctionPipeline = pipelineFactory.create(
+                name(), singleEventBatchOptions(), this::encodeBids, this::sendBids);
+        this.notificationPipeline = pipelineFactory.create(
+                NOTIFICATIONS_PIPELINE_NAME, singleEventBatchOptions(), LiveIntentAnalyticsReporter::encodeUrl,
+                this::sendNotification);
+    }
+
+    private static BatchOptions singleEventBatchOptions() {
+        return BatchOptions.builder()
+                .maxEvents(1)
+                .maxBytes(Long.MAX_VALUE)
+                .flushIntervalMs(FLUSH_INTERVAL_MS)
+                .format(BatchFormat.NEWLINE_DELIMITED)
+                .build();
+    }
+
+    @Override
+    public Future<Void> initialize() {
+        auctionPipeline.start();
+        notificationPipeline.start();
+        return Future.succeededFuture();
     }
 
     @Override
@@ -96,11 +134,20 @@ public class LiveIntentAnalyticsReporter implements AnalyticsReporter {
                 .map(Optional::get)
                 .toList();
 
+        auctionPipeline.offer(pbsjBids);
+        return Future.succeededFuture();
+    }
+
+    private void encodeBids(List<PbsjBid> pbsjBids, OutputStream outputStream) throws IOException {
+        jacksonMapper.mapper().writeValue(outputStream, pbsjBids);
+    }
+
+    private Future<Void> sendBids(byte[] payload) {
         return httpClient.post(
                         auctionEventEndpoint,
-                        jacksonMapper.encodeToString(pbsjBids),
+                        new String(payload, StandardCharsets.UTF_8),
                         properties.getTimeoutMs())
-                .mapEmpty();
+                .compose(LiveIntentAnalyticsReporter::acceptedResponse);
     }
 
     private List<Activity> getActivities(AuctionContext auctionContext) {
@@ -167,7 +214,30 @@ public class LiveIntentAnalyticsReporter implements AnalyticsReporter {
                 .addQueryParam("b", notificationEvent.getBidder())
                 .addQueryParam("bidId", notificationEvent.getBidId())
                 .expand();
-        return httpClient.get(url, properties.getTimeoutMs()).mapEmpty();
+
+        notificationPipeline.offer(url);
+        return Future.succeededFuture();
+    }
+
+    private static void encodeUrl(String url, OutputStream outputStream) throws IOException {
+        outputStream.write(url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Future<Void> sendNotification(byte[] payload) {
+        return httpClient.get(new String(payload, StandardCharsets.UTF_8), properties.getTimeoutMs())
+                .compose(LiveIntentAnalyticsReporter::acceptedResponse);
+    }
+
+    private static Future<Void> acceptedResponse(HttpClientResponse response) {
+        final int statusCode = response.getStatusCode();
+        if (statusCode >= 200 && statusCode < 300) {
+            return Future.succeededFuture();
+        }
+
+        final String message = "Unexpected response status: " + statusCode;
+        return Future.failedFuture(BatchRejectedException.isPermanent(statusCode)
+                ? new BatchRejectedException(message)
+                : new PreBidException(message));
     }
 
     @Override
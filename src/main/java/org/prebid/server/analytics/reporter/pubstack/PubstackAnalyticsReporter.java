@@ -11,6 +11,7 @@ import org.prebid.server.analytics.model.CookieSyncEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
@@ -50,6 +51,7 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
     public PubstackAnalyticsReporter(PubstackAnalyticsProperties pubstackAnalyticsProperties,
                                      HttpClient httpClient,
                                      JacksonMapper jacksonMapper,
+                                     AnalyticsPipelineFactory pipelineFactory,
                                      Vertx vertx) {
 
         this.configurationRefreshDelay =
@@ -59,7 +61,8 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.vertx = Objects.requireNonNull(vertx);
 
-        this.eventHandlers = createEventHandlers(pubstackAnalyticsProperties, httpClient, jacksonMapper, vertx);
+        this.eventHandlers = createEventHandlers(
+                pubstackAnalyticsProperties, httpClient, jacksonMapper, Objects.requireNonNull(pipelineFactory));
         this.pubstackConfig = PubstackConfig.of(pubstackAnalyticsProperties.getScopeId(),
                 pubstackAnalyticsProperties.getEndpoint(), Collections.emptyMap());
     }
@@ -68,17 +71,18 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
             PubstackAnalyticsProperties pubstackAnalyticsProperties,
             HttpClient httpClient,
             JacksonMapper jacksonMapper,
-            Vertx vertx) {
+            AnalyticsPipelineFactory pipelineFactory) {
 
         return Arrays.stream(EventType.values())
                 .collect(Collectors.toMap(Function.identity(),
                         eventType -> new PubstackEventHandler(
                                 pubstackAnalyticsProperties,
+                                eventType,
                                 false,
                                 buildEventEndpointUrl(pubstackAnalyticsProperties.getEndpoint(), eventType),
                                 jacksonMapper,
                                 httpClient,
-                                vertx)));
+                                pipelineFactory)));
     }
 
     private static String buildEventEndpointUrl(String endpoint, EventType eventType) {
@@ -116,6 +120,7 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
 
     @Override
     public Future<Void> initialize() {
+        eventHandlers.values().forEach(PubstackEventHandler::start);
         vertx.setPeriodic(configurationRefreshDelay, id -> fetchRemoteConfig());
         return fetchRemoteConfig();
     }
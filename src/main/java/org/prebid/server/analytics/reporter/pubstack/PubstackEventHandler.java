@@ -3,10 +3,16 @@ package org.prebid.server.analytics.reporter.pubstack;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
+import org.prebid.server.analytics.pipeline.AnalyticsPipeline;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.BatchFormat;
+import org.prebid.server.analytics.pipeline.BatchOptions;
+import org.prebid.server.analytics.pipeline.BatchRejectedException;
+import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
@@ -16,17 +22,9 @@ import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.Predicate;
-import java.util.zip.GZIPOutputStream;
 
 public class PubstackEventHandler {
 
@@ -34,131 +32,93 @@ public class PubstackEventHandler {
     private static final String SCOPE_FIELD_NAME = "scope";
     private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
     private static final String GZIP = "gzip";
-    private static final String NEW_LINE = "\n";
 
     private volatile boolean enabled;
     private volatile String endpoint;
     private volatile String scopeId;
-    private final long maxByteSize;
-    private final long maxEventCount;
-    private final long reportTtlMillis;
     private final long timeoutMs;
-    private final Vertx vertx;
     private final JacksonMapper jacksonMapper;
     private final HttpClient httpClient;
 
-    private final ReentrantLock lockOnSend;
-    private final AtomicReference<Queue<String>> events;
     private final MultiMap headers;
-    private final AtomicLong byteSize;
-    private volatile long reportTimerId;
+    private final AnalyticsPipeline<ScopedEvent> pipeline;
 
     public PubstackEventHandler(PubstackAnalyticsProperties pubstackAnalyticsProperties,
+                                EventType eventType,
                                 boolean enabled,
                                 String endpoint,
                                 JacksonMapper jacksonMapper,
                                 HttpClient httpClient,
-                                Vertx vertx) {
+                                AnalyticsPipelineFactory pipelineFactory) {
         this.enabled = enabled;
         this.endpoint = HttpUtil.validateUrl(endpoint);
         this.scopeId = pubstackAnalyticsProperties.getScopeId();
-        this.maxByteSize = pubstackAnalyticsProperties.getSizeBytes();
-        this.maxEventCount = pubstackAnalyticsProperties.getCount();
-        this.reportTtlMillis = pubstackAnalyticsProperties.getReportTtlMs();
         this.timeoutMs = pubstackAnalyticsProperties.getTimeoutMs();
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.httpClient = Objects.requireNonNull(httpClient);
-        this.vertx = Objects.requireNonNull(vertx);
 
-        this.lockOnSend = new ReentrantLock();
-        this.events = new AtomicReference<>(new ConcurrentLinkedQueue<>());
         this.headers = makeHeaders();
-        this.byteSize = new AtomicLong();
-        if (enabled) {
-            this.reportTimerId = setReportTtlTimer();
-        }
+        this.pipeline = pipelineFactory.create(
+                "pubstack." + eventType.name(),
+                BatchOptions.builder()
+                        .maxEvents(pubstackAnalyticsProperties.getCount())
+                        .maxBytes(pubstackAnalyticsProperties.getSizeBytes())
+                        .flushIntervalMs(pubstackAnalyticsProperties.getReportTtlMs())
+                        .gzip(true)
+                        .format(BatchFormat.NEWLINE_DELIMITED)
+                        .build(),
+                this::encode,
+                this::sendEvents);
+    }
+
+    public void start() {
+        pipeline.start();
     }
 
     public <T> void handle(T event) {
         if (enabled) {
-            buffer(event);
-            reportEventsOnCondition(byteSize -> byteSize.get() > maxByteSize, byteSize);
-            reportEventsOnCondition(eventsReference -> eventsReference.get().size() > maxEventCount, events);
+            pipeline.offer(new ScopedEvent(PubstackEventSnapshot.of(event), scopeId));
         }
     }
 
     public void reportEvents() {
-        if (enabled) {
-            reportEventsOnCondition(events -> !events.get().isEmpty(), events);
-        }
+        pipeline.flush();
     }
 
     public void updateConfig(boolean enabled, String endpoint, String scopeId) {
-        updateTimerOnEnabling(enabled);
         this.enabled = enabled;
         this.endpoint = endpoint;
         this.scopeId = scopeId;
     }
 
-    private <T> void buffer(T event) {
-        final ObjectNode eventNode = jacksonMapper.mapper().valueToTree(event);
-        eventNode.put(SCOPE_FIELD_NAME, scopeId);
-        final String jsonEvent = jacksonMapper.encodeToString(eventNode);
-        events.get().add(jsonEvent);
-        byteSize.getAndAdd(jsonEvent.getBytes().length);
+    private void encode(ScopedEvent scopedEvent, OutputStream outputStream) throws IOException {
+        final ObjectNode eventNode = jacksonMapper.mapper().valueToTree(scopedEvent.event());
+        eventNode.put(SCOPE_FIELD_NAME, scopedEvent.scopeId());
+        jacksonMapper.mapper().writeValue(outputStream, eventNode);
     }
 
-    private <T> boolean reportEventsOnCondition(Predicate<T> conditionToSend, T conditionValue) {
-        boolean requestWasSent = false;
-        if (conditionToSend.test(conditionValue)) {
-            lockOnSend.lock();
-            try {
-                if (conditionToSend.test(conditionValue)) {
-                    requestWasSent = true;
-                    sendEvents(events);
-                }
-            } catch (Exception exception) {
-                logger.error("[pubstack] Failed to send analytics report to endpoint {} with a reason {}",
-                        endpoint, exception.getMessage());
-            } finally {
-                lockOnSend.unlock();
-            }
+    private Future<HttpClientResponse> sendEvents(byte[] payload) {
+        try {
+            return httpClient.request(HttpMethod.POST, HttpUtil.validateUrl(endpoint), headers, payload, timeoutMs)
+                    .onComplete(this::handleReportResponse)
+                    .compose(PubstackEventHandler::acceptedResponse);
+        } catch (IllegalArgumentException e) {
+            logger.error("[pubstack] Failed to send analytics report to endpoint {} with a reason {}",
+                    endpoint, e.getMessage());
+            return Future.failedFuture(e);
         }
-        return requestWasSent;
-    }
-
-    private void sendEvents(AtomicReference<Queue<String>> events) {
-        final String url = HttpUtil.validateUrl(endpoint);
-        final Queue<String> copyToSend = events.getAndSet(new ConcurrentLinkedQueue<>());
-
-        resetReportEventsConditions();
-
-        httpClient.request(HttpMethod.POST, url, headers, toGzippedBytes(copyToSend), timeoutMs)
-                .onComplete(this::handleReportResponse);
-    }
-
-    private void resetReportEventsConditions() {
-        byteSize.set(0);
-        vertx.cancelTimer(reportTimerId);
-        reportTimerId = setReportTtlTimer();
-    }
-
-    private static byte[] toGzippedBytes(Queue<String> events) {
-        return gzip(String.join(NEW_LINE, events));
     }
 
-    private static byte[] gzip(String value) {
-        try (
-                ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[pubstack] failed to compress, skip the events : " + e.getMessage());
+    private static Future<HttpClientResponse> acceptedResponse(HttpClientResponse response) {
+        final int statusCode = response.getStatusCode();
+        if (statusCode == HttpResponseStatus.OK.code()) {
+            return Future.succeededFuture(response);
         }
+
+        final String message = "Unexpected response status: " + statusCode;
+        return Future.failedFuture(BatchRejectedException.isPermanent(statusCode)
+                ? new BatchRejectedException(message)
+                : new PreBidException(message));
     }
 
     private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
@@ -174,28 +134,12 @@ public class PubstackEventHandler {
         }
     }
 
-    private long setReportTtlTimer() {
-        return vertx.setTimer(reportTtlMillis, timerId -> sendOnTimer());
-    }
-
-    private void sendOnTimer() {
-        final boolean requestWasSent = reportEventsOnCondition(events -> !events.get().isEmpty(), events);
-        if (!requestWasSent) {
-            setReportTtlTimer();
-        }
-    }
-
-    private void updateTimerOnEnabling(boolean enabled) {
-        if (this.enabled && !enabled) {
-            vertx.cancelTimer(reportTimerId);
-        } else if (!this.enabled && enabled) {
-            reportTimerId = setReportTtlTimer();
-        }
-    }
-
     private static MultiMap makeHeaders() {
         return MultiMap.caseInsensitiveMultiMap()
                 .add(HttpHeaders.CONTENT_TYPE, APPLICATION_OCTET_STREAM)
                 .add(HttpHeaders.CONTENT_ENCODING, GZIP);
     }
+
+    private record ScopedEvent(Object event, String scopeId) {
+    }
 }
@@ -0,0 +1,111 @@
+package org.prebid.server.analytics.reporter.pubstack;
+
+import org.prebid.server.analytics.model.AmpEvent;
+import org.prebid.server.analytics.model.AuctionEvent;
+import org.prebid.server.analytics.model.CookieSyncEvent;
+import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidRejectionTracker;
+import org.prebid.server.cache.model.DebugHttpCall;
+import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.hooks.execution.model.Stage;
+import org.prebid.server.hooks.execution.model.StageExecutionOutcome;
+import org.prebid.server.util.MapUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes a snapshot of the event before it is buffered, so it can be serialized later on a worker thread.
+ * <p>
+ * The snapshot keeps only what Pubstack serializes: parts of {@link AuctionContext} ignored by JSON serialization
+ * (e.g. bidder responses) are dropped, so buffered events do not keep them alive, and collections the auction
+ * may still change are copied. Immutable objects, like bid request and response, are shared with the event.
+ */
+final class PubstackEventSnapshot {
+
+    private PubstackEventSnapshot() {
+    }
+
+    static Object of(Object event) {
+        return switch (event) {
+            case AuctionEvent auctionEvent -> auctionEvent.toBuilder()
+                    .errors(copyList(auctionEvent.getErrors()))
+                    .auctionContext(snapshot(auctionEvent.getAuctionContext()))
+                    .build();
+            case AmpEvent ampEvent -> ampEvent.toBuilder()
+                    .errors(copyList(ampEvent.getErrors()))
+                    .auctionContext(snapshot(ampEvent.getAuctionContext()))
+                    .targeting(copyMap(ampEvent.getTargeting()))
+                    .build();
+            case VideoEvent videoEvent -> videoEvent.toBuilder()
+                    .errors(copyList(videoEvent.getErrors()))
+                    .auctionContext(snapshot(videoEvent.getAuctionContext()))
+                    .build();
+            case CookieSyncEvent cookieSyncEvent -> CookieSyncEvent.builder()
+                    .status(cookieSyncEvent.getStatus())
+                    .errors(copyList(cookieSyncEvent.getErrors()))
+                    .bidderStatus(copyList(cookieSyncEvent.getBidderStatus()))
+                    .build();
+            case null, default -> event;
+        };
+    }
+
+    private static AuctionContext snapshot(AuctionContext auctionContext) {
+        if (auctionContext == null) {
+            return null;
+        }
+
+        return auctionContext.toBuilder()
+                .uidsCookie(null)
+                .bidResponse(null)
+                .auctionParticipations(null)
+                .timeoutContext(null)
+                .geoInfo(null)
+                .prebidErrors(copyList(auctionContext.getPrebidErrors()))
+                .debugWarnings(copyList(auctionContext.getDebugWarnings()))
+                .debugHttpCalls(copyDebugHttpCalls(auctionContext.getDebugHttpCalls()))
+                .bidRejectionTrackers(copyTrackers(auctionContext.getBidRejectionTrackers()))
+                .hookExecutionContext(snapshot(auctionContext.getHookExecutionContext()))
+                .build();
+    }
+
+    private static Map<String, List<DebugHttpCall>> copyDebugHttpCalls(Map<String, List<DebugHttpCall>> calls) {
+        return calls != null
+                ? Collections.unmodifiableMap(MapUtil.mapValues(calls, PubstackEventSnapshot::copyList))
+                : null;
+    }
+
+    private static Map<String, BidRejectionTracker> copyTrackers(Map<String, BidRejectionTracker> trackers) {
+        return trackers != null
+                ? Collections.unmodifiableMap(MapUtil.mapValues(trackers, BidRejectionTracker::copyOf))
+                : null;
+    }
+
+    private static HookExecutionContext snapshot(HookExecutionContext hookExecutionContext) {
+        if (hookExecutionContext == null) {
+            return null;
+        }
+
+        final EnumMap<Stage, List<StageExecutionOutcome>> stageOutcomes = new EnumMap<>(Stage.class);
+        hookExecutionContext.getStageOutcomes()
+                .forEach((stage, outcomes) -> stageOutcomes.put(stage, copyList(outcomes)));
+
+        final HookExecutionContext snapshot =
+                HookExecutionContext.of(hookExecutionContext.getEndpoint(), stageOutcomes);
+        snapshot.getModuleContexts().putAll(hookExecutionContext.getModuleContexts());
+        return snapshot;
+    }
+
+    private static <E> List<E> copyList(List<E> list) {
+        return list != null ? Collections.unmodifiableList(new ArrayList<>(list)) : null;
+    }
+
+    private static <K, V> Map<K, V> copyMap(Map<K, V> map) {
+        return map != null ? Collections.unmodifiableMap(new HashMap<>(map)) : null;
+    }
+}
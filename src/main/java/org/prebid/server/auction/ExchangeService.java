@@ -279,7 +279,7 @@ public class ExchangeService {
                         .map(bidResponse -> criteriaLogManager.traceResponse(
                                 logger,
                                 bidResponse,
-                                context.getBidRequest(),
+                                context,
                                 debugEnabled))
                         .compose(bidResponse -> bidResponsePostProcessor.postProcess(
                                 context.getHttpRequest(), uidsCookie, bidRequest, bidResponse, account))
@@ -1510,6 +1510,7 @@ public class ExchangeService {
             case failed_to_request_bids -> MetricName.failedtorequestbids;
             case timeout -> MetricName.timeout;
             case invalid_bid -> MetricName.bid_validation;
+            case concurrency_limited -> MetricName.concurrency_limited;
             case rejected_ipf, generic -> MetricName.unknown_error;
         };
     }
@@ -1,9 +1,13 @@
 package org.prebid.server.auction;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixList;
 import io.vertx.core.MultiMap;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.util.HttpUtil;
@@ -19,10 +23,20 @@ import java.util.function.Function;
  */
 public class ImplicitParametersExtractor {
 
+    // cached instead of null for hosts without registrable domain, since cache can not hold null values
+    private static final String NO_DOMAIN = "";
+
     private final PublicSuffixList psl;
+    private final Metrics metrics;
+    private final Cache<String, String> domainCache;
 
-    public ImplicitParametersExtractor(PublicSuffixList psl) {
+    public ImplicitParametersExtractor(PublicSuffixList psl, int domainCacheSize, Metrics metrics) {
         this.psl = Objects.requireNonNull(psl);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        domainCache = domainCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(domainCacheSize).build()
+                : null;
     }
 
     /**
@@ -49,7 +63,7 @@ public class ImplicitParametersExtractor {
             throw new PreBidException("Host is not defined or can not be derived from request");
         }
 
-        final String domain = psl.getRegistrableDomain(host);
+        final String domain = registrableDomain(host);
 
         if (domain == null) {
             // null means effective top level domain plus one couldn't be derived
@@ -59,6 +73,23 @@ public class ImplicitParametersExtractor {
         return domain;
     }
 
+    private String registrableDomain(String host) {
+        if (domainCache == null) {
+            return psl.getRegistrableDomain(host);
+        }
+
+        final String cachedDomain = domainCache.getIfPresent(host);
+        if (cachedDomain != null) {
+            metrics.updateDomainCacheMetric(MetricName.hit);
+            return !cachedDomain.isEmpty() ? cachedDomain : null;
+        }
+
+        metrics.updateDomainCacheMetric(MetricName.miss);
+        final String domain = psl.getRegistrableDomain(host);
+        domainCache.put(host, domain != null ? domain : NO_DOMAIN);
+        return domain;
+    }
+
     /**
      * Determines IP-Address candidates by checking http headers and remote host address.
      */
@@ -10,38 +10,47 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 public class IpAddressHelper {
 
     private static final Logger logger = LoggerFactory.getLogger(IpAddressHelper.class);
 
-    private static final Pattern IP_V4_PATTERN = Pattern.compile("""
-            ^\
-            (?:[1-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.\
-            (?:(?:[0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])\\.){2}\
-            (?:[0-9]|[1-9][0-9]|1[0-9]{2}|2[0-4][0-9]|25[0-5])$""");
     private static final IPAddressStringParameters IP_ADDRESS_VALIDATION_OPTIONS =
             IPAddressString.DEFAULT_VALIDATION_OPTIONS.toBuilder()
                     .allowSingleSegment(false)
                     .allowEmpty(false)
                     .toParams();
 
+    private static final int IPV6_GROUPS = 8;
+    private static final int IPV6_GROUP_BITS = 16;
+    private static final long IPV6_6TO4_PREFIX = 0x2002L;
+
+    private final int ipv6AlwaysMaskBits;
+    private final int ipv6AnonLeftMaskBits;
     private final IPAddress ipv6AlwaysMaskAddress;
     private final IPAddress ipv6AnonLeftMaskAddress;
     private final List<IPAddress> ipv6LocalNetworkMaskAddresses;
+    private final List<AddressRange> ipv6LocalNetworkRanges;
 
     public IpAddressHelper(int ipv6AlwaysMaskBits, int ipv6AnonLeftMaskBits, List<String> ipv6LocalNetworks) {
-        ipv6AlwaysMaskAddress =
-                toAddress("::/" + validateIpv6AlwaysMaskBits(ipv6AlwaysMaskBits)).getNetworkMask();
-        ipv6AnonLeftMaskAddress =
-                toAddress("::/" + validateIpv6AnonLeftMaskBits(ipv6AnonLeftMaskBits)).getNetworkMask();
+        this.ipv6AlwaysMaskBits = validateIpv6AlwaysMaskBits(ipv6AlwaysMaskBits);
+        this.ipv6AnonLeftMaskBits = validateIpv6AnonLeftMaskBits(ipv6AnonLeftMaskBits);
+        ipv6AlwaysMaskAddress = toAddress("::/" + ipv6AlwaysMaskBits).getNetworkMask();
+        ipv6AnonLeftMaskAddress = toAddress("::/" + ipv6AnonLeftMaskBits).getNetworkMask();
         ipv6LocalNetworkMaskAddresses = ipv6LocalNetworks.stream()
                 .map(this::toAddress)
                 .toList();
+        ipv6LocalNetworkRanges = ipv6LocalNetworkMaskAddresses.stream().allMatch(IPAddress::isSequential)
+                ? ipv6LocalNetworkMaskAddresses.stream().map(AddressRange::of).toList()
+                : null;
     }
 
     public String anonymizeIpv6(String ip) {
+        final long[] ipv6 = ip != null ? parseIpv6(ip) : null;
+        if (ipv6 != null) {
+            return maskIpv6(ipv6, ipv6AnonLeftMaskBits);
+        }
+
         try {
             final IPAddressString ipAddressString = new IPAddressString(ip);
             return ipAddressString.isIPv6()
@@ -54,6 +63,21 @@ public class IpAddressHelper {
     }
 
     public IpAddress toIpAddress(String ip) {
+        if (ip != null && ipv6LocalNetworkRanges != null) {
+            final long ipv4 = parseIpv4(ip);
+            if (ipv4 >= 0 && isRegularIpv4(ipv4)) {
+                return isInLocalNetwork(true, 0L, ipv4) ? null : IpAddress.of(ip, IpAddress.IP.v4);
+            }
+
+            final long[] ipv6 = ipv4 < 0 ? parseIpv6(ip) : null;
+            if (ipv6 != null && isGlobalUnicastIpv6(ipv6[0])) {
+                return isInLocalNetwork(false, ipv6[0], ipv6[1])
+                        ? null
+                        : IpAddress.of(maskIpv6(ipv6, ipv6AlwaysMaskBits), IpAddress.IP.v6);
+            }
+        }
+
+        // uncommon notations and special purpose ranges are handled by the library
         final IPAddress ipAddress = toIpAddressInternal(ip);
 
         if (ipAddress == null) {
@@ -78,20 +102,17 @@ public class IpAddressHelper {
     }
 
     public String maskIpv4(String ip) {
-        if (StringUtils.isBlank(ip) || !IP_V4_PATTERN.matcher(ip).matches()) {
+        if (StringUtils.isBlank(ip)) {
             return ip;
         }
 
-        String maskedIp = ip;
-        final int lastDotIndex = maskedIp.lastIndexOf(".");
-        if (lastDotIndex != -1) {
-            maskedIp = maskedIp.substring(0, lastDotIndex);
-        } else {
-            // ip is malformed
+        final long ipv4 = parseIpv4(ip);
+        if (ipv4 < 0 || ipv4 >>> 24 == 0) {
             return ip;
         }
 
-        return maskedIp + ".0";
+        final int lastDotIndex = ip.lastIndexOf('.');
+        return new StringBuilder(lastDotIndex + 2).append(ip, 0, lastDotIndex + 1).append('0').toString();
     }
 
     private String maskIpv6(IPAddress ipAddress) {
@@ -142,4 +163,248 @@ public class IpAddressHelper {
                 && !ipAddress.isMax()
                 && ipv6LocalNetworkMaskAddresses.stream().noneMatch(network -> network.contains(ipAddress));
     }
+
+    private boolean isInLocalNetwork(boolean ipv4, long high, long low) {
+        for (AddressRange range : ipv6LocalNetworkRanges) {
+            if (range.contains(ipv4, high, low)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true for IPv4 addresses outside of networks the library treats as special, like private, loopback,
+     * link-local or multicast ones.
+     */
+    private static boolean isRegularIpv4(long ipv4) {
+        final long firstOctet = ipv4 >>> 24;
+        return firstOctet != 0
+                && firstOctet != 10
+                && firstOctet != 127
+                && firstOctet != 169
+                && firstOctet != 172
+                && firstOctet != 192
+                && firstOctet < 224;
+    }
+
+    /**
+     * Returns true for 2000::/3 global unicast addresses, except for 6to4 ones with embedded IPv4 address.
+     */
+    private static boolean isGlobalUnicastIpv6(long high) {
+        return high >>> 61 == 1 && high >>> 48 != IPV6_6TO4_PREFIX;
+    }
+
+    /**
+     * Parses strict dotted decimal IPv4 address without leading zeros, returns -1 for any other input.
+     */
+    private static long parseIpv4(String ip) {
+        final int length = ip.length();
+        if (length < 7 || length > 15) {
+            return -1;
+        }
+
+        long value = 0;
+        int octet = 0;
+        int digits = 0;
+        int octets = 0;
+        for (int i = 0; i <= length; i++) {
+            final char current = i < length ? ip.charAt(i) : '.';
+            if (current == '.') {
+                if (digits == 0 || ++octets > 4) {
+                    return -1;
+                }
+                value = value << 8 | octet;
+                octet = 0;
+                digits = 0;
+            } else if (current >= '0' && current <= '9') {
+                if (digits > 0 && octet == 0) {
+                    return -1;
+                }
+                octet = octet * 10 + (current - '0');
+                if (++digits > 3 || octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        return octets == 4 ? value : -1;
+    }
+
+    /**
+     * Parses IPv6 address of hexadecimal groups with optional zero compression into high and low 64 bits,
+     * returns null for any other input, including zones, prefixes and embedded IPv4 notation.
+     */
+    private static long[] parseIpv6(String ip) {
+        final int length = ip.length();
+        if (length < 2 || length > 39) {
+            return null;
+        }
+
+        final long[] result = new long[2];
+        final int compression = ip.indexOf("::");
+        if (compression < 0) {
+            return parseIpv6Groups(ip, 0, length, 0, result) == IPV6_GROUPS ? result : null;
+        }
+        if (ip.indexOf("::", compression + 1) >= 0) {
+            return null;
+        }
+
+        final int groupsBefore = parseIpv6Groups(ip, 0, compression, 0, result);
+        final int afterStart = compression + 2;
+        final int groupsAfter = afterStart == length ? 0 : countGroupSeparators(ip, afterStart, length) + 1;
+        if (groupsBefore < 0 || groupsBefore + groupsAfter >= IPV6_GROUPS) {
+            return null;
+        }
+
+        return parseIpv6Groups(ip, afterStart, length, IPV6_GROUPS - groupsAfter, result) == groupsAfter
+                ? result
+                : null;
+    }
+
+    private static int parseIpv6Groups(String ip, int start, int end, int position, long[] result) {
+        if (start == end) {
+            return 0;
+        }
+
+        int groups = 0;
+        long group = 0;
+        int digits = 0;
+        for (int i = start; i <= end; i++) {
+            final char current = i < end ? ip.charAt(i) : ':';
+            if (current == ':') {
+                if (digits == 0 || position + groups >= IPV6_GROUPS) {
+                    return -1;
+                }
+                final int index = position + groups;
+                result[index / 4] |= group << (IPV6_GROUP_BITS * (3 - index % 4));
+                groups++;
+                group = 0;
+                digits = 0;
+            } else {
+                final int digit = hexDigit(current);
+                if (digit < 0 || ++digits > 4) {
+                    return -1;
+                }
+                group = group << 4 | digit;
+            }
+        }
+
+        return groups;
+    }
+
+    private static int countGroupSeparators(String ip, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (ip.charAt(i) == ':') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int hexDigit(char value) {
+        if (value >= '0' && value <= '9') {
+            return value - '0';
+        }
+        if (value >= 'a' && value <= 'f') {
+            return value - 'a' + 10;
+        }
+        if (value >= 'A' && value <= 'F') {
+            return value - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Keeps given number of leftmost bits and formats the result in RFC 5952 canonical form.
+     */
+    private static String maskIpv6(long[] ipv6, int maskBits) {
+        final long high = ipv6[0] & (maskBits >= 64 ? -1L : -1L << (64 - maskBits));
+        final long low = ipv6[1] & (maskBits <= 64 ? 0L : -1L << (128 - maskBits));
+
+        // the longest run of at least two zero groups is compressed, the leftmost one if there are several
+        int zerosStart = -1;
+        int zerosLength = 1;
+        int runStart = 0;
+        while (runStart < IPV6_GROUPS) {
+            int runEnd = runStart;
+            while (runEnd < IPV6_GROUPS && ipv6Group(high, low, runEnd) == 0) {
+                runEnd++;
+            }
+            if (runEnd - runStart > zerosLength) {
+                zerosStart = runStart;
+                zerosLength = runEnd - runStart;
+            }
+            runStart = runEnd + 1;
+        }
+
+        final StringBuilder result = new StringBuilder(39);
+        int group = 0;
+        while (group < IPV6_GROUPS) {
+            if (group == zerosStart) {
+                result.append("::");
+                group += zerosLength;
+                continue;
+            }
+            if (!result.isEmpty() && result.charAt(result.length() - 1) != ':') {
+                result.append(':');
+            }
+            appendHex(result, ipv6Group(high, low, group));
+            group++;
+        }
+
+        return result.toString();
+    }
+
+    private static int ipv6Group(long high, long low, int index) {
+        final long half = index < 4 ? high : low;
+        return (int) (half >>> (IPV6_GROUP_BITS * (3 - index % 4))) & 0xFFFF;
+    }
+
+    private static void appendHex(StringBuilder builder, int value) {
+        boolean significant = false;
+        for (int shift = 12; shift >= 0; shift -= 4) {
+            final int digit = (value >>> shift) & 0xF;
+            if (significant || digit != 0 || shift == 0) {
+                builder.append(Character.forDigit(digit, 16));
+                significant = true;
+            }
+        }
+    }
+
+    private record AddressRange(boolean ipv4, long lowerHigh, long lowerLow, long upperHigh, long upperLow) {
+
+        static AddressRange of(IPAddress address) {
+            final byte[] lower = address.getLower().getBytes();
+            final byte[] upper = address.getUpper().getBytes();
+            return new AddressRange(
+                    address.isIPv4(),
+                    toLong(lower, 0, lower.length - 8),
+                    toLong(lower, Math.max(0, lower.length - 8), lower.length),
+                    toLong(upper, 0, upper.length - 8),
+                    toLong(upper, Math.max(0, upper.length - 8), upper.length));
+        }
+
+        boolean contains(boolean ipv4, long high, long low) {
+            return this.ipv4 == ipv4
+                    && compare(high, low, lowerHigh, lowerLow) >= 0
+                    && compare(high, low, upperHigh, upperLow) <= 0;
+        }
+
+        private static int compare(long high, long low, long otherHigh, long otherLow) {
+            final int highComparison = Long.compareUnsigned(high, otherHigh);
+            return highComparison != 0 ? highComparison : Long.compareUnsigned(low, otherLow);
+        }
+
+        private static long toLong(byte[] bytes, int start, int end) {
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                value = value << 8 | (bytes[i] & 0xFF);
+            }
+            return value;
+        }
+    }
 }
@@ -71,6 +71,11 @@ public enum BidRejectionReason {
      */
     REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY(205),
 
+    /**
+     * If the bidder was not called because its host reached the limit of concurrent requests.
+     */
+    REQUEST_BLOCKED_CONCURRENCY_LIMITED(206),
+
     /**
      * The bidder is called, but its response is rejected.
      * Applied if any other RESPONSE_REJECTED reason is not recognized.
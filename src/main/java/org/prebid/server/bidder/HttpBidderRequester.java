@@ -30,6 +30,7 @@ import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.httpclient.ConcurrencyLimitExceededException;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
@@ -247,10 +248,14 @@ public class HttpBidderRequester {
         logger.debug("Error occurred while sending HTTP request to a bidder url: {}",
                 exception, httpRequest.getUri());
 
-        final BidderError.Type errorType =
-                exception instanceof TimeoutException || exception instanceof ConnectTimeoutException
-                        ? BidderError.Type.timeout
-                        : BidderError.Type.generic;
+        final BidderError.Type errorType;
+        if (exception instanceof TimeoutException || exception instanceof ConnectTimeoutException) {
+            errorType = BidderError.Type.timeout;
+        } else if (exception instanceof ConcurrencyLimitExceededException) {
+            errorType = BidderError.Type.concurrency_limited;
+        } else {
+            errorType = BidderError.Type.generic;
+        }
 
         return Future.succeededFuture(
                 BidderCall.failedHttp(httpRequest, BidderError.create(exception.getMessage(), errorType)));
@@ -406,9 +411,11 @@ public class HttpBidderRequester {
                 return;
             }
 
-            final BidRejectionReason reason = callErrorType == BidderError.Type.timeout
-                    ? BidRejectionReason.ERROR_TIMED_OUT
-                    : BidRejectionReason.ERROR_GENERAL;
+            final BidRejectionReason reason = switch (callErrorType) {
+                case timeout -> BidRejectionReason.ERROR_TIMED_OUT;
+                case concurrency_limited -> BidRejectionReason.REQUEST_BLOCKED_CONCURRENCY_LIMITED;
+                default -> BidRejectionReason.ERROR_GENERAL;
+            };
 
             bidRejectionTracker.rejectImps(requestedImpIds, reason);
         }
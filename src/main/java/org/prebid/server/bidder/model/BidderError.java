@@ -95,6 +95,11 @@ public class BidderError {
          */
         rejected_ipf(6),
 
+        /**
+         * Covers the case where a request was not sent because the bidder host reached its concurrency limit.
+         */
+        concurrency_limited(7),
+
         timeout(1),
         generic(999);
 
@@ -1,5 +1,6 @@
 package org.prebid.server.cache;
 
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import org.apache.commons.codec.binary.Base64;
@@ -15,6 +16,7 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.net.URL;
 import java.time.Clock;
@@ -32,6 +34,7 @@ public class BasicPbcStorageService implements PbcStorageService {
     private final JacksonMapper mapper;
     private final Clock clock;
     private final Metrics metrics;
+    private final PbcStorageNearCache nearCache;
 
     public BasicPbcStorageService(HttpClient httpClient,
                                   URL endpointUrl,
@@ -39,7 +42,8 @@ public class BasicPbcStorageService implements PbcStorageService {
                                   int callTimeoutMs,
                                   JacksonMapper mapper,
                                   Clock clock,
-                                  Metrics metrics) {
+                                  Metrics metrics,
+                                  PbcStorageNearCache nearCache) {
 
         this.httpClient = Objects.requireNonNull(httpClient);
         this.endpointUrl = Objects.requireNonNull(endpointUrl);
@@ -48,6 +52,7 @@ public class BasicPbcStorageService implements PbcStorageService {
         this.mapper = Objects.requireNonNull(mapper);
         this.clock = Objects.requireNonNull(clock);
         this.metrics = Objects.requireNonNull(metrics);
+        this.nearCache = nearCache;
     }
 
     @Override
@@ -85,6 +90,14 @@ public class BasicPbcStorageService implements PbcStorageService {
                         response.getStatusCode(),
                         response.getBody(),
                         startTime,
+                        appCode))
+                .andThen(result -> updateNearCache(
+                        result.succeeded(),
+                        key,
+                        value,
+                        type,
+                        ttlseconds,
+                        application,
                         appCode));
 
     }
@@ -155,6 +168,26 @@ public class BasicPbcStorageService implements PbcStorageService {
         return Future.succeededFuture();
     }
 
+    private void updateNearCache(boolean stored,
+                                 String key,
+                                 String value,
+                                 StorageDataType type,
+                                 Integer ttlseconds,
+                                 String application,
+                                 String appCode) {
+
+        if (nearCache == null) {
+            return;
+        }
+
+        if (stored) {
+            final String entryKey = constructEntryKey(key, appCode);
+            nearCache.putStored(key, appCode, application, ModuleCacheResponse.of(entryKey, type, value), ttlseconds);
+        } else {
+            nearCache.invalidate(key, appCode, application);
+        }
+    }
+
     @Override
     public Future<ModuleCacheResponse> retrieveEntry(String key, String appCode, String application) {
         try {
@@ -163,16 +196,26 @@ public class BasicPbcStorageService implements PbcStorageService {
             return Future.failedFuture(e);
         }
 
+        final PbcStorageNearCache.Entry nearCacheEntry = nearCache != null
+                ? nearCache.get(key, appCode, application)
+                : null;
+        if (nearCache != null) {
+            metrics.updateModuleStorageNearCacheMetric(
+                    appCode,
+                    nearCacheEntry != null ? MetricName.hit : MetricName.miss);
+        }
+        if (nearCacheEntry != null) {
+            return nearCacheEntry.isNotFound()
+                    ? Future.failedFuture(notFoundException())
+                    : Future.succeededFuture(nearCacheEntry.response());
+        }
+
         final long startTime = clock.millis();
         return httpClient.get(
                         getRetrieveEndpoint(key, appCode, application),
                         securedCallHeaders(),
                         callTimeoutMs)
-                .map(response -> toModuleCacheResponse(
-                        response.getStatusCode(),
-                        response.getBody(),
-                        startTime,
-                        appCode));
+                .map(response -> processRetrieveResponse(response, key, appCode, application, startTime));
 
     }
 
@@ -199,6 +242,34 @@ public class BasicPbcStorageService implements PbcStorageService {
                 + "&a=" + application;
     }
 
+    private ModuleCacheResponse processRetrieveResponse(HttpClientResponse response,
+                                                        String key,
+                                                        String appCode,
+                                                        String application,
+                                                        long startTime) {
+
+        final int statusCode = response.getStatusCode();
+        if (nearCache != null && statusCode == HttpResponseStatus.NOT_FOUND.code()) {
+            nearCache.putNotFound(key, appCode, application);
+        }
+
+        final ModuleCacheResponse moduleCacheResponse = toModuleCacheResponse(
+                statusCode,
+                response.getBody(),
+                startTime,
+                appCode);
+
+        if (nearCache != null) {
+            nearCache.putRetrieved(key, appCode, application, moduleCacheResponse);
+        }
+
+        return moduleCacheResponse;
+    }
+
+    private static PreBidException notFoundException() {
+        return new PreBidException("HTTP status code " + HttpResponseStatus.NOT_FOUND.code());
+    }
+
     private ModuleCacheResponse toModuleCacheResponse(int statusCode,
                                                       String responseBody,
                                                       long startTime,
@@ -206,7 +277,9 @@ public class BasicPbcStorageService implements PbcStorageService {
 
         if (statusCode != 200) {
             metrics.updateModuleStorageCacheReadRequestTime(application, clock.millis() - startTime, MetricName.err);
-            throw new PreBidException("HTTP status code " + statusCode);
+            throw statusCode == HttpResponseStatus.NOT_FOUND.code()
+                    ? notFoundException()
+                    : new PreBidException("HTTP status code " + statusCode);
         }
 
         metrics.updateModuleStorageCacheReadRequestTime(application, clock.millis() - startTime, MetricName.ok);
@@ -0,0 +1,105 @@
+package org.prebid.server.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.prebid.server.cache.proto.response.module.ModuleCacheResponse;
+
+import java.time.Duration;
+
+/**
+ * In-process tier in front of the module storage of Prebid Cache.
+ * <p>
+ * Keeps entries retrieved from and stored to the module storage for a short time, so repeated lookups of the same
+ * key do not cost a network round trip each. Keys missing in the storage are remembered as well, for a shorter time.
+ * Stored entries are never kept longer than the storage itself keeps them. The storage does not tell how long
+ * a retrieved entry has left to live, so retrieved entries are kept for a separate short time and may outlive
+ * the storage entry by no more than that.
+ */
+public class PbcStorageNearCache {
+
+    private final Duration ttl;
+    private final Duration retrievedTtl;
+    private final Duration notFoundTtl;
+    private final Cache<EntryKey, Entry> cache;
+
+    public PbcStorageNearCache(int ttlSeconds, int retrievedTtlSeconds, int notFoundTtlSeconds, long maxSize) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Near cache ttl should be positive: " + ttlSeconds);
+        }
+        if (retrievedTtlSeconds < 0) {
+            throw new IllegalArgumentException("Near cache retrieved ttl should not be negative: "
+                    + retrievedTtlSeconds);
+        }
+        if (notFoundTtlSeconds < 0) {
+            throw new IllegalArgumentException("Near cache not found ttl should not be negative: "
+                    + notFoundTtlSeconds);
+        }
+
+        ttl = Duration.ofSeconds(ttlSeconds);
+        retrievedTtl = limitTtl(retrievedTtlSeconds);
+        notFoundTtl = Duration.ofSeconds(notFoundTtlSeconds);
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<EntryKey, Entry>writing((key, entry) -> entry.ttl()))
+                .build();
+    }
+
+    /**
+     * Returns cached entry or null when there is no one.
+     */
+    Entry get(String key, String appCode, String application) {
+        return cache.getIfPresent(new EntryKey(key, appCode, application));
+    }
+
+    /**
+     * Keeps entry just stored to the storage with given storage TTL.
+     */
+    void putStored(String key, String appCode, String application, ModuleCacheResponse response, Integer ttlSeconds) {
+        putEntry(key, appCode, application, new Entry(response, limitTtl(ttlSeconds)));
+    }
+
+    /**
+     * Keeps entry retrieved from the storage, whose remaining storage TTL is unknown.
+     */
+    void putRetrieved(String key, String appCode, String application, ModuleCacheResponse response) {
+        final Duration entryTtl = response.getValue() == null ? notFoundTtl : retrievedTtl;
+        putEntry(key, appCode, application, new Entry(response, entryTtl));
+    }
+
+    void putNotFound(String key, String appCode, String application) {
+        putEntry(key, appCode, application, new Entry(null, notFoundTtl));
+    }
+
+    void invalidate(String key, String appCode, String application) {
+        cache.invalidate(new EntryKey(key, appCode, application));
+    }
+
+    private Duration limitTtl(Integer ttlSeconds) {
+        return ttlSeconds != null && ttlSeconds < ttl.toSeconds()
+                ? Duration.ofSeconds(Math.max(ttlSeconds, 0))
+                : ttl;
+    }
+
+    private void putEntry(String key, String appCode, String application, Entry entry) {
+        final EntryKey entryKey = new EntryKey(key, appCode, application);
+        if (entry.ttl().isZero()) {
+            cache.invalidate(entryKey);
+        } else {
+            cache.put(entryKey, entry);
+        }
+    }
+
+    private record EntryKey(String key, String appCode, String application) {
+    }
+
+    /**
+     * Entry without response stands for a key the storage does not have.
+     */
+    record Entry(ModuleCacheResponse response, Duration ttl) {
+
+        boolean isNotFound() {
+            return response == null;
+        }
+    }
+}
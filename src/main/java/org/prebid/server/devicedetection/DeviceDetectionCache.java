@@ -0,0 +1,100 @@
+package org.prebid.server.devicedetection;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.openrtb.request.Device;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps devices resolved by device detection modules, so that repeated User-Agent and Client Hints are not
+ * detected again for each request.
+ * <p>
+ * Cached device is a patch: it holds only the values detected from the evidence, and it is up to the module to merge
+ * it into the device of the request. Entries of all modules share one cache, so they are bounded and evicted
+ * together, but are kept apart by the detector name, since different detectors resolve different devices.
+ */
+public class DeviceDetectionCache {
+
+    // cached instead of null for evidence nothing could be detected from, since cache can not hold null values
+    private static final Device NOT_DETECTED = Device.builder().build();
+
+    private final Metrics metrics;
+    private final Cache<EvidenceKey, Device> cache;
+
+    public DeviceDetectionCache(long size, int ttlSeconds, Metrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+
+        cache = size > 0 && ttlSeconds > 0
+                ? Caffeine.newBuilder().maximumSize(size).expireAfterWrite(Duration.ofSeconds(ttlSeconds)).build()
+                : null;
+    }
+
+    /**
+     * Returns device detected by the given detector from the evidence, calling the detection only when there is no
+     * cached one. Returns null when nothing could be detected from the evidence.
+     * <p>
+     * Evidence is expected to be the headers the detection is run on: their names are case-insensitive and their
+     * order does not matter.
+     */
+    public Device get(String detector, Map<String, String> evidence, Supplier<Device> detection) {
+        if (cache == null) {
+            return detection.get();
+        }
+
+        final EvidenceKey key = EvidenceKey.of(detector, evidence);
+        final Device cachedDevice = cache.getIfPresent(key);
+        if (cachedDevice != null) {
+            metrics.updateDeviceDetectionCacheMetric(MetricName.hit);
+            return cachedDevice != NOT_DETECTED ? cachedDevice : null;
+        }
+
+        metrics.updateDeviceDetectionCacheMetric(MetricName.miss);
+        final Device device = detection.get();
+        cache.put(key, device != null ? device : NOT_DETECTED);
+        return device;
+    }
+
+    /**
+     * Drops devices detected by the given detector, e.g. when its device data is updated.
+     */
+    public void invalidate(String detector) {
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.detector().equals(detector));
+        }
+    }
+
+    /**
+     * Keeps 128-bit hash of the normalized evidence instead of the evidence itself: User-Agent and Client Hints
+     * values are long, while the chance of two different evidences to collide is negligible.
+     */
+    private record EvidenceKey(String detector, long hashHigh, long hashLow) {
+
+        static EvidenceKey of(String detector, Map<String, String> evidence) {
+            final Map<String, String> normalizedEvidence = new TreeMap<>();
+            if (evidence != null) {
+                evidence.forEach((name, value) -> {
+                    if (name != null && value != null) {
+                        normalizedEvidence.put(name.toLowerCase(Locale.ROOT), value);
+                    }
+                });
+            }
+
+            final StringBuilder evidenceBuilder = new StringBuilder();
+            normalizedEvidence.forEach((name, value) -> evidenceBuilder.append(name).append('\0')
+                    .append(value).append('\0'));
+
+            final long[] hash = MurmurHash3.hash128x64(evidenceBuilder.toString().getBytes(StandardCharsets.UTF_8));
+            return new EvidenceKey(detector, hash[0], hash[1]);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.prebid.server.hooks.execution;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
+import org.prebid.server.hooks.execution.model.ExecutionGroup;
+import org.prebid.server.hooks.execution.model.ExecutionPlan;
+import org.prebid.server.hooks.execution.model.HookHttpEndpoint;
+import org.prebid.server.hooks.execution.model.HookId;
+import org.prebid.server.hooks.execution.model.Stage;
+import org.prebid.server.hooks.execution.model.StageExecutionPlan;
+import org.prebid.server.hooks.execution.model.StageWithHookType;
+import org.prebid.server.hooks.v1.Hook;
+import org.prebid.server.hooks.v1.InvocationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Host and account execution plans merged per endpoint and stage, with hooks of disabled modules left out
+ * and the rest resolved from {@link HookCatalog} up front. Instances are immutable and meant to be built once
+ * per account hooks configuration.
+ */
+public class CompiledExecutionPlan {
+
+    private final Map<HookHttpEndpoint, Map<Stage, CompiledStagePlan>> stagePlans;
+
+    private CompiledExecutionPlan(Map<HookHttpEndpoint, Map<Stage, CompiledStagePlan>> stagePlans) {
+        this.stagePlans = stagePlans;
+    }
+
+    static CompiledExecutionPlan compile(ExecutionPlan hostExecutionPlan,
+                                         ExecutionPlan accountExecutionPlan,
+                                         Set<Stage> stages,
+                                         Map<String, Boolean> modulesExecution,
+                                         HookCatalog hookCatalog) {
+
+        final Map<HookHttpEndpoint, Map<Stage, CompiledStagePlan>> stagePlans = new EnumMap<>(HookHttpEndpoint.class);
+        for (HookHttpEndpoint endpoint : HookHttpEndpoint.values()) {
+            final Map<Stage, CompiledStagePlan> endpointStagePlans = new EnumMap<>(Stage.class);
+            for (Stage stage : stages) {
+                final StageExecutionPlan stagePlan =
+                        effectiveStagePlanFrom(hostExecutionPlan, accountExecutionPlan, endpoint, stage);
+                if (!stagePlan.isEmpty()) {
+                    endpointStagePlans.put(stage, CompiledStagePlan.compile(
+                            stagePlan, StageWithHookType.forStage(stage), modulesExecution, hookCatalog));
+                }
+            }
+
+            if (!endpointStagePlans.isEmpty()) {
+                stagePlans.put(endpoint, endpointStagePlans);
+            }
+        }
+
+        return new CompiledExecutionPlan(stagePlans);
+    }
+
+    private static StageExecutionPlan effectiveStagePlanFrom(ExecutionPlan hostExecutionPlan,
+                                                             ExecutionPlan accountExecutionPlan,
+                                                             HookHttpEndpoint endpoint,
+                                                             Stage stage) {
+
+        final StageExecutionPlan hostStageExecutionPlan = stagePlanFrom(hostExecutionPlan, endpoint, stage);
+        final StageExecutionPlan accountStageExecutionPlan = stagePlanFrom(accountExecutionPlan, endpoint, stage);
+
+        if (hostStageExecutionPlan.isEmpty()) {
+            return accountStageExecutionPlan;
+        } else if (accountStageExecutionPlan.isEmpty()) {
+            return hostStageExecutionPlan;
+        }
+
+        return StageExecutionPlan.of(ListUtils.union(
+                ListUtils.emptyIfNull(hostStageExecutionPlan.getGroups()),
+                ListUtils.emptyIfNull(accountStageExecutionPlan.getGroups())));
+    }
+
+    private static StageExecutionPlan stagePlanFrom(ExecutionPlan executionPlan,
+                                                    HookHttpEndpoint endpoint,
+                                                    Stage stage) {
+
+        return MapUtils.emptyIfNull(executionPlan.getEndpoints())
+                .getOrDefault(endpoint, EndpointExecutionPlan.empty())
+                .getStages()
+                .getOrDefault(stage, StageExecutionPlan.empty());
+    }
+
+    CompiledStagePlan stagePlan(HookHttpEndpoint endpoint, Stage stage) {
+        final Map<Stage, CompiledStagePlan> endpointStagePlans = stagePlans.get(endpoint);
+        final CompiledStagePlan stagePlan = endpointStagePlans != null ? endpointStagePlans.get(stage) : null;
+
+        return stagePlan != null ? stagePlan : CompiledStagePlan.EMPTY;
+    }
+
+    static class CompiledStagePlan {
+
+        private static final CompiledStagePlan EMPTY =
+                new CompiledStagePlan(StageExecutionPlan.empty(), Collections.emptyMap());
+
+        private final StageExecutionPlan executionPlan;
+        private final Map<HookId, ResolvedHook> hooks;
+
+        private CompiledStagePlan(StageExecutionPlan executionPlan, Map<HookId, ResolvedHook> hooks) {
+            this.executionPlan = executionPlan;
+            this.hooks = hooks;
+        }
+
+        private static CompiledStagePlan compile(StageExecutionPlan stagePlan,
+                                                 StageWithHookType<?> stage,
+                                                 Map<String, Boolean> modulesExecution,
+                                                 HookCatalog hookCatalog) {
+
+            final Map<HookId, ResolvedHook> hooks = new HashMap<>();
+            final List<ExecutionGroup> groups = new ArrayList<>();
+
+            for (ExecutionGroup group : ListUtils.emptyIfNull(stagePlan.getGroups())) {
+                final List<HookId> hookSequence = new ArrayList<>();
+                for (HookId hookId : ListUtils.emptyIfNull(group.getHookSequence())) {
+                    if (BooleanUtils.isTrue(modulesExecution.get(hookId.getModuleCode()))) {
+                        hookSequence.add(hookId);
+                        hooks.computeIfAbsent(hookId, key -> ResolvedHook.resolve(key, stage, hookCatalog));
+                    }
+                }
+
+                groups.add(ExecutionGroup.of(
+                        group.getTimeout(), Collections.unmodifiableList(hookSequence), group.isOptional()));
+            }
+
+            return new CompiledStagePlan(
+                    StageExecutionPlan.of(Collections.unmodifiableList(groups)),
+                    Collections.unmodifiableMap(hooks));
+        }
+
+        StageExecutionPlan executionPlan() {
+            return executionPlan;
+        }
+
+        /**
+         * Returns hook resolved for given id, or throws the exception {@link HookCatalog} failed with.
+         */
+        @SuppressWarnings("unchecked")
+        <PAYLOAD, CONTEXT extends InvocationContext> Hook<PAYLOAD, CONTEXT> hook(HookId hookId) {
+            final ResolvedHook resolvedHook = hooks.get(hookId);
+            if (resolvedHook == null) {
+                throw new IllegalArgumentException("Hook implementation does not exist or disabled");
+            }
+            if (resolvedHook.failure() != null) {
+                throw resolvedHook.failure();
+            }
+
+            return (Hook<PAYLOAD, CONTEXT>) resolvedHook.hook();
+        }
+    }
+
+    private record ResolvedHook(Hook<?, ? extends InvocationContext> hook, RuntimeException failure) {
+
+        static ResolvedHook resolve(HookId hookId, StageWithHookType<?> stage, HookCatalog hookCatalog) {
+            try {
+                return new ResolvedHook(hookCatalog.hookById(hookId, stage), null);
+            } catch (RuntimeException e) {
+                return new ResolvedHook(null, e);
+            }
+        }
+    }
+}
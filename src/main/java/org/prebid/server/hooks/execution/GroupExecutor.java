@@ -3,7 +3,7 @@ package org.prebid.server.hooks.execution;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookId;
@@ -11,17 +11,16 @@ import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
 import org.prebid.server.hooks.v1.InvocationResult;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
-import java.util.Map;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
     private final Clock clock;
-    private final Map<String, Boolean> modulesExecution;
 
     private ExecutionGroup group;
     private PAYLOAD initialPayload;
@@ -29,19 +28,19 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private InvocationContextProvider<CONTEXT> invocationContextProvider;
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
+    private HookExecutionBudget executionBudget = HookExecutionBudget.disabled();
+    private Timeout auctionTimeout;
 
-    private GroupExecutor(Vertx vertx, Clock clock, Map<String, Boolean> modulesExecution) {
-        this.vertx = vertx;
+    private GroupExecutor(TimingWheel timingWheel, Clock clock) {
+        this.timingWheel = timingWheel;
         this.clock = clock;
-        this.modulesExecution = modulesExecution;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> GroupExecutor<PAYLOAD, CONTEXT> create(
-            Vertx vertx,
-            Clock clock,
-            Map<String, Boolean> modulesExecution) {
+            TimingWheel timingWheel,
+            Clock clock) {
 
-        return new GroupExecutor<>(vertx, clock, modulesExecution);
+        return new GroupExecutor<>(timingWheel, clock);
     }
 
     public GroupExecutor<PAYLOAD, CONTEXT> withGroup(ExecutionGroup group) {
@@ -76,20 +75,32 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return this;
     }
 
+    public GroupExecutor<PAYLOAD, CONTEXT> withExecutionBudget(HookExecutionBudget executionBudget) {
+        this.executionBudget = executionBudget;
+        return this;
+    }
+
+    public GroupExecutor<PAYLOAD, CONTEXT> withAuctionTimeout(Timeout auctionTimeout) {
+        this.auctionTimeout = auctionTimeout;
+        return this;
+    }
+
     public Future<GroupResult<PAYLOAD>> execute() {
         final GroupResult<PAYLOAD> initialGroupResult = GroupResult.of(initialPayload, rejectAllowed);
+        if (executionBudget.shouldSkip(group, auctionTimeout)) {
+            group.getHookSequence().forEach(initialGroupResult::applySkip);
+            return Future.succeededFuture(initialGroupResult);
+        }
+
+        final Long timeout = executionBudget.groupTimeout(group, auctionTimeout);
         Future<GroupResult<PAYLOAD>> groupFuture = Future.succeededFuture(initialGroupResult);
 
         for (final HookId hookId : group.getHookSequence()) {
-            if (!modulesExecution.get(hookId.getModuleCode())) {
-                continue;
-            }
-
             final Future<Hook<PAYLOAD, CONTEXT>> hookFuture = hook(hookId);
 
             final long startTime = clock.millis();
             final Future<InvocationResult<PAYLOAD>> invocationResult = hookFuture
-                    .compose(hook -> executeHook(hook, group.getTimeout(), initialGroupResult, hookId));
+                    .compose(hook -> executeHook(hook, timeout, initialGroupResult, hookId));
 
             groupFuture = groupFuture.compose(groupResult ->
                     applyInvocationResult(invocationResult, hookId, startTime, groupResult));
@@ -116,23 +127,22 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     }
 
     private <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, Long timeout) {
+        final Future<T> result = executeSafely(action);
+        // synchronous hooks do not need deadline tracking at all
+        if (result.isComplete()) {
+            return result;
+        }
+
         final Promise<T> promise = Promise.promise();
 
-        final long timeoutTimerId = vertx.setTimer(timeout, id -> failWithTimeout(promise));
+        final TimingWheel.Registration timeoutRegistration = timingWheel.schedule(timeout, () ->
+                promise.tryFail(new TimeoutException("Timed out while executing action")));
 
-        executeSafely(action)
-                .onComplete(result -> completeWithActionResult(promise, timeoutTimerId, result));
+        result.onComplete(actionResult -> completeWithActionResult(promise, timeoutRegistration, actionResult));
 
         return promise.future();
     }
 
-    private static <T> void failWithTimeout(Promise<T> promise) {
-        // no need for synchronization since timer is fired on the same event loop thread
-        if (!promise.future().isComplete()) {
-            promise.fail(new TimeoutException("Timed out while executing action"));
-        }
-    }
-
     private static <T> Future<T> executeSafely(Supplier<Future<T>> action) {
         try {
             final Future<T> result = action.get();
@@ -142,13 +152,14 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         }
     }
 
-    private <T> void completeWithActionResult(Promise<T> promise, long timeoutTimerId, AsyncResult<T> result) {
-        vertx.cancelTimer(timeoutTimerId);
+    private static <T> void completeWithActionResult(Promise<T> promise,
+                                                     TimingWheel.Registration timeoutRegistration,
+                                                     AsyncResult<T> result) {
 
-        // check is to avoid harmless exception if timeout exceeds before successful result becomes ready
-        if (!promise.future().isComplete()) {
-            promise.handle(result);
-        }
+        timeoutRegistration.cancel();
+
+        // try is to avoid harmless exception if timeout exceeds before successful result becomes ready
+        promise.tryHandle(result);
     }
 
     private long executionTime(long startTime) {
@@ -78,6 +78,18 @@ class GroupResult<T> {
         return this;
     }
 
+    public GroupResult<T> applySkip(HookId hookId) {
+        hookExecutionOutcomes.add(HookExecutionOutcome.builder()
+                .hookId(hookId)
+                .executionTime(0L)
+                .status(ExecutionStatus.skipped)
+                .message("Skipped as auction time left is not enough for optional hooks")
+                .action(ExecutionAction.no_invocation)
+                .build());
+
+        return this;
+    }
+
     public GroupExecutionOutcome toGroupExecutionOutcome() {
         return GroupExecutionOutcome.of(this.hookExecutionOutcomes());
     }
@@ -0,0 +1,62 @@
+package org.prebid.server.hooks.execution;
+
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.hooks.execution.model.ExecutionGroup;
+
+/**
+ * Limits time optional hooks may spend on the auction: groups marked as optional in the execution plan get
+ * no more than a share of the auction time left when the group starts, and are not executed at all once the time
+ * left falls below the threshold. Other groups always get their configured timeout, since post-bid stages run when
+ * most of the auction time is already spent.
+ * <p>
+ * Only stages running before the auction response is built are affected: the entrypoint stage has no auction
+ * timeout yet, while auction response and exitpoint hooks run when the auction time is already spent.
+ */
+public class HookExecutionBudget {
+
+    private static final HookExecutionBudget DISABLED = new HookExecutionBudget(false, 1.0, 0L);
+
+    private final boolean enabled;
+    private final double remainingTimeShare;
+    private final long optionalMinRemainingTime;
+
+    private HookExecutionBudget(boolean enabled, double remainingTimeShare, long optionalMinRemainingTime) {
+        this.enabled = enabled;
+        this.remainingTimeShare = remainingTimeShare;
+        this.optionalMinRemainingTime = optionalMinRemainingTime;
+    }
+
+    public static HookExecutionBudget of(double remainingTimeShare, long optionalMinRemainingTime) {
+        if (remainingTimeShare <= 0 || remainingTimeShare > 1) {
+            throw new IllegalArgumentException(
+                    "Hooks remaining time share should be in (0, 1] range: " + remainingTimeShare);
+        }
+        if (optionalMinRemainingTime < 0) {
+            throw new IllegalArgumentException(
+                    "Hooks optional min remaining time should not be negative: " + optionalMinRemainingTime);
+        }
+
+        return new HookExecutionBudget(true, remainingTimeShare, optionalMinRemainingTime);
+    }
+
+    public static HookExecutionBudget disabled() {
+        return DISABLED;
+    }
+
+    boolean shouldSkip(ExecutionGroup group, Timeout auctionTimeout) {
+        return enabled
+                && auctionTimeout != null
+                && group.isOptional()
+                && auctionTimeout.remaining() < optionalMinRemainingTime;
+    }
+
+    Long groupTimeout(ExecutionGroup group, Timeout auctionTimeout) {
+        final Long timeout = group.getTimeout();
+        if (!enabled || auctionTimeout == null || timeout == null || !group.isOptional()) {
+            return timeout;
+        }
+
+        final long budget = Math.max((long) (auctionTimeout.remaining() * remainingTimeShare), 1L);
+        return Math.min(timeout, budget);
+    }
+}
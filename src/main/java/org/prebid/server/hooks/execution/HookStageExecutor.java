@@ -2,11 +2,12 @@ package org.prebid.server.hooks.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
-import io.vertx.core.Vertx;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
@@ -18,9 +19,11 @@ import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.Rejection;
+import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.execution.CompiledExecutionPlan.CompiledStagePlan;
 import org.prebid.server.hooks.execution.model.ABTest;
 import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
@@ -30,7 +33,6 @@ import org.prebid.server.hooks.execution.model.HookHttpEndpoint;
 import org.prebid.server.hooks.execution.model.HookId;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
 import org.prebid.server.hooks.execution.model.Stage;
-import org.prebid.server.hooks.execution.model.StageExecutionPlan;
 import org.prebid.server.hooks.execution.model.StageWithHookType;
 import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.execution.provider.abtest.ABTestHookProvider;
@@ -61,10 +63,12 @@ import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountHooksConfiguration;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,7 +76,6 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class HookStageExecutor {
 
@@ -82,24 +85,35 @@ public class HookStageExecutor {
     private static final String ENTITY_AUCTION_RESPONSE = "auction-response";
     private static final String ENTITY_ALL_PROCESSED_BID_RESPONSES = "all-processed-bid-responses";
     private static final Account EMPTY_ACCOUNT = Account.empty(StringUtils.EMPTY);
+    private static final Set<Stage> ENTRYPOINT_STAGES = EnumSet.of(Stage.entrypoint);
+    private static final Set<Stage> ACCOUNT_STAGES = EnumSet.complementOf(EnumSet.of(Stage.entrypoint));
+    private static final int MAX_ACCOUNT_EXECUTION_PLANS = 10_000;
 
     private final ExecutionPlan hostExecutionPlan;
     private final ExecutionPlan defaultAccountExecutionPlan;
     private final Map<String, Boolean> hostModuleExecution;
     private final HookCatalog hookCatalog;
     private final TimeoutFactory timeoutFactory;
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
+    private final HookExecutionBudget executionBudget;
     private final Clock clock;
     private final ObjectMapper mapper;
     private final boolean isConfigToInvokeRequired;
     private final double logSamplingRate;
 
+    // keyed by content, since account settings may build a new hooks configuration object for every request
+    private final Cache<AccountPlanKey, CompiledExecutionPlan> accountExecutionPlans =
+            Caffeine.newBuilder().maximumSize(MAX_ACCOUNT_EXECUTION_PLANS).build();
+    private volatile CompiledExecutionPlan compiledEntrypointExecutionPlan;
+    private volatile CompiledExecutionPlan defaultAccountCompiledExecutionPlan;
+
     private HookStageExecutor(ExecutionPlan hostExecutionPlan,
                               ExecutionPlan defaultAccountExecutionPlan,
                               Map<String, Boolean> hostModuleExecution,
                               HookCatalog hookCatalog,
                               TimeoutFactory timeoutFactory,
-                              Vertx vertx,
+                              TimingWheel timingWheel,
+                              HookExecutionBudget executionBudget,
                               Clock clock,
                               ObjectMapper mapper,
                               boolean isConfigToInvokeRequired,
@@ -109,7 +123,8 @@ public class HookStageExecutor {
         this.defaultAccountExecutionPlan = defaultAccountExecutionPlan;
         this.hookCatalog = hookCatalog;
         this.timeoutFactory = timeoutFactory;
-        this.vertx = vertx;
+        this.timingWheel = timingWheel;
+        this.executionBudget = executionBudget;
         this.clock = clock;
         this.mapper = mapper;
         this.isConfigToInvokeRequired = isConfigToInvokeRequired;
@@ -122,7 +137,8 @@ public class HookStageExecutor {
                                            Map<String, Boolean> hostModuleExecution,
                                            HookCatalog hookCatalog,
                                            TimeoutFactory timeoutFactory,
-                                           Vertx vertx,
+                                           TimingWheel timingWheel,
+                                           HookExecutionBudget executionBudget,
                                            Clock clock,
                                            JacksonMapper mapper,
                                            boolean isConfigToInvokeRequired,
@@ -137,7 +153,8 @@ public class HookStageExecutor {
                 hostModuleExecution,
                 hookCatalog,
                 Objects.requireNonNull(timeoutFactory),
-                Objects.requireNonNull(vertx),
+                Objects.requireNonNull(timingWheel),
+                Objects.requireNonNull(executionBudget),
                 Objects.requireNonNull(clock),
                 mapper.mapper(),
                 isConfigToInvokeRequired,
@@ -194,13 +211,13 @@ public class HookStageExecutor {
 
         final HookExecutionContext context = auctionContext.getHookExecutionContext();
         final HookHttpEndpoint endpoint = context.getEndpoint();
+        final CompiledStagePlan stagePlan = compiledEntrypointPlan().stagePlan(endpoint, Stage.entrypoint);
 
         return stageExecutor(StageWithHookType.ENTRYPOINT, ENTITY_HTTP_REQUEST, context)
-                .withExecutionPlan(planForEntrypointStage(endpoint))
-                .withHookProvider(hookProviderForEntrypointStage(context))
+                .withExecutionPlan(stagePlan.executionPlan())
+                .withHookProvider(hookProviderForEntrypointStage(stagePlan, context))
                 .withInitialPayload(EntrypointPayloadImpl.of(queryParams, headers, body))
                 .withInvocationContextProvider(invocationContextProvider(endpoint))
-                .withModulesExecution(DefaultedMap.defaultedMap(hostModuleExecution, true))
                 .withRejectAllowed(true)
                 .execute()
                 .map(result -> rejectAll(auctionContext, result));
@@ -216,6 +233,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.RAW_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(true)
                 .execute()
@@ -233,6 +251,7 @@ public class HookStageExecutor {
         return stageExecutor(
                 StageWithHookType.PROCESSED_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(true)
                 .execute()
@@ -251,6 +270,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.BIDDER_REQUEST, bidder, context, account, endpoint)
                 .withInitialPayload(BidderRequestPayloadImpl.of(bidderRequest.getBidRequest()))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute()
@@ -270,6 +290,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.RAW_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute()
@@ -289,6 +310,7 @@ public class HookStageExecutor {
 
         return stageExecutor(StageWithHookType.PROCESSED_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
                 .withRejectAllowed(true)
                 .execute()
@@ -310,6 +332,7 @@ public class HookStageExecutor {
                 account,
                 endpoint)
                 .withInitialPayload(AllProcessedBidResponsesPayloadImpl.of(bidderResponses))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
                 .withRejectAllowed(false)
                 .execute()
@@ -351,10 +374,11 @@ public class HookStageExecutor {
             String entity,
             HookExecutionContext context) {
 
-        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock)
+        return StageExecutor.<PAYLOAD, CONTEXT>create(timingWheel, clock)
                 .withStage(stage)
                 .withEntity(entity)
-                .withHookExecutionContext(context);
+                .withHookExecutionContext(context)
+                .withExecutionBudget(executionBudget);
     }
 
     private <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> stageExecutor(
@@ -364,106 +388,132 @@ public class HookStageExecutor {
             Account account,
             HookHttpEndpoint endpoint) {
 
+        final CompiledStagePlan stagePlan = compiledPlanFor(account, context).stagePlan(endpoint, stage.stage());
+
         return stageExecutor(stage, entity, context)
-                .withModulesExecution(modulesExecutionForAccount(account))
-                .withExecutionPlan(planForStage(account, endpoint, stage.stage()))
-                .withHookProvider(hookProvider(stage, account, context));
+                .withExecutionPlan(stagePlan.executionPlan())
+                .withHookProvider(hookProvider(stagePlan, account, context));
     }
 
-    private Map<String, Boolean> modulesExecutionForAccount(Account account) {
-        final Map<String, Boolean> accountModulesExecution = Optional.ofNullable(account.getHooks())
-                .map(AccountHooksConfiguration::getAdmin)
-                .map(HooksAdminConfig::getModuleExecution)
-                .orElse(Collections.emptyMap());
-
-        final Map<String, Boolean> resultModulesExecution = new HashMap<>(accountModulesExecution);
+    private static Timeout auctionTimeout(AuctionContext auctionContext) {
+        final TimeoutContext timeoutContext = auctionContext.getTimeoutContext();
+        return timeoutContext != null ? timeoutContext.getTimeout() : null;
+    }
 
-        if (isConfigToInvokeRequired) {
-            Optional.ofNullable(account.getHooks())
-                    .map(AccountHooksConfiguration::getModules)
-                    .map(Map::keySet)
-                    .stream()
-                    .flatMap(Collection::stream)
-                    .forEach(module -> resultModulesExecution.computeIfAbsent(module, key -> true));
+    private CompiledExecutionPlan compiledEntrypointPlan() {
+        CompiledExecutionPlan compiledPlan = compiledEntrypointExecutionPlan;
+        if (compiledPlan == null) {
+            compiledPlan = CompiledExecutionPlan.compile(
+                    hostExecutionPlan,
+                    ExecutionPlan.empty(),
+                    ENTRYPOINT_STAGES,
+                    DefaultedMap.defaultedMap(hostModuleExecution, true),
+                    hookCatalog);
+            compiledEntrypointExecutionPlan = compiledPlan;
         }
 
-        resultModulesExecution.putAll(hostModuleExecution);
-        return DefaultedMap.defaultedMap(resultModulesExecution, !isConfigToInvokeRequired);
+        return compiledPlan;
     }
 
-    private StageExecutionPlan planForEntrypointStage(HookHttpEndpoint endpoint) {
-        return effectiveStagePlanFrom(ExecutionPlan.empty(), endpoint, Stage.entrypoint);
-    }
+    /**
+     * Resolves account plan once per auction, account does not change after the first account-aware stage,
+     * so later stages only read the plan kept in {@link HookExecutionContext}.
+     */
+    private CompiledExecutionPlan compiledPlanFor(Account account, HookExecutionContext context) {
+        CompiledExecutionPlan compiledPlan = context.getAccountExecutionPlan();
+        if (compiledPlan == null) {
+            compiledPlan = compiledPlanFor(account);
+            context.setAccountExecutionPlan(compiledPlan);
+        }
 
-    private StageExecutionPlan planForStage(Account account, HookHttpEndpoint endpoint, Stage stage) {
-        return effectiveStagePlanFrom(effectiveExecutionPlanFor(account), endpoint, stage);
+        return compiledPlan;
     }
 
-    private StageExecutionPlan effectiveStagePlanFrom(ExecutionPlan accountExecutionPlan,
-                                                      HookHttpEndpoint endpoint,
-                                                      Stage stage) {
-
-        final StageExecutionPlan hostStageExecutionPlan = stagePlanFrom(hostExecutionPlan, endpoint, stage);
-        final StageExecutionPlan accountStageExecutionPlan = stagePlanFrom(accountExecutionPlan, endpoint, stage);
-
-        if (hostStageExecutionPlan.isEmpty()) {
-            return accountStageExecutionPlan;
-        } else if (accountStageExecutionPlan.isEmpty()) {
-            return hostStageExecutionPlan;
+    private CompiledExecutionPlan compiledPlanFor(Account account) {
+        final AccountHooksConfiguration hooksAccountConfig = account.getHooks();
+        if (hooksAccountConfig != null) {
+            return accountExecutionPlans.get(accountPlanKey(hooksAccountConfig), this::compileAccountPlan);
         }
 
-        final List<ExecutionGroup> combinedGroups = Stream.of(hostStageExecutionPlan, accountStageExecutionPlan)
-                .map(StageExecutionPlan::getGroups)
-                .flatMap(Collection::stream)
-                .toList();
+        CompiledExecutionPlan compiledPlan = defaultAccountCompiledExecutionPlan;
+        if (compiledPlan == null) {
+            compiledPlan = compileAccountPlan(AccountPlanKey.EMPTY);
+            defaultAccountCompiledExecutionPlan = compiledPlan;
+        }
 
-        return StageExecutionPlan.of(combinedGroups);
+        return compiledPlan;
     }
 
-    private static StageExecutionPlan stagePlanFrom(ExecutionPlan executionPlan,
-                                                    HookHttpEndpoint endpoint,
-                                                    Stage stage) {
+    /**
+     * Picks only the parts of account hooks configuration the compiled plan depends on, so that module configs
+     * are neither compared nor retained by the cache.
+     */
+    private AccountPlanKey accountPlanKey(AccountHooksConfiguration hooksAccountConfig) {
+        final HooksAdminConfig admin = hooksAccountConfig.getAdmin();
+        final Map<String, ObjectNode> modules = hooksAccountConfig.getModules();
 
-        return MapUtils.emptyIfNull(executionPlan.getEndpoints())
-                .getOrDefault(endpoint, EndpointExecutionPlan.empty())
-                .getStages()
-                .getOrDefault(stage, StageExecutionPlan.empty());
+        return new AccountPlanKey(
+                hooksAccountConfig.getExecutionPlan(),
+                admin != null ? admin.getModuleExecution() : null,
+                isConfigToInvokeRequired && modules != null
+                        ? Set.copyOf(modules.keySet())
+                        : Collections.emptySet());
     }
 
-    private ExecutionPlan effectiveExecutionPlanFor(Account account) {
-        final AccountHooksConfiguration hooksAccountConfig = account.getHooks();
-        final ExecutionPlan accountExecutionPlan =
-                hooksAccountConfig != null ? hooksAccountConfig.getExecutionPlan() : null;
+    private CompiledExecutionPlan compileAccountPlan(AccountPlanKey accountPlanKey) {
+        return CompiledExecutionPlan.compile(
+                hostExecutionPlan,
+                effectiveExecutionPlanFor(accountPlanKey.executionPlan()),
+                ACCOUNT_STAGES,
+                modulesExecutionFor(accountPlanKey),
+                hookCatalog);
+    }
+
+    private Map<String, Boolean> modulesExecutionFor(AccountPlanKey accountPlanKey) {
+        final Map<String, Boolean> accountModulesExecution = accountPlanKey.moduleExecution();
+        final Map<String, Boolean> resultModulesExecution = accountModulesExecution != null
+                ? new HashMap<>(accountModulesExecution)
+                : new HashMap<>();
+
+        if (isConfigToInvokeRequired) {
+            accountPlanKey.modules().forEach(module -> resultModulesExecution.computeIfAbsent(module, key -> true));
+        }
+
+        resultModulesExecution.putAll(hostModuleExecution);
+        return DefaultedMap.defaultedMap(resultModulesExecution, !isConfigToInvokeRequired);
+    }
 
+    private ExecutionPlan effectiveExecutionPlanFor(ExecutionPlan accountExecutionPlan) {
         return accountExecutionPlan != null ? accountExecutionPlan : defaultAccountExecutionPlan;
     }
 
     private HookProvider<EntrypointPayload, InvocationContext> hookProviderForEntrypointStage(
+            CompiledStagePlan stagePlan,
             HookExecutionContext context) {
 
         return new ABTestHookProvider<>(
-                defaultHookProvider(StageWithHookType.ENTRYPOINT),
+                defaultHookProvider(stagePlan),
                 abTestsForEntrypointStage(),
                 context,
                 mapper);
     }
 
     private <PAYLOAD, CONTEXT extends InvocationContext> HookProvider<PAYLOAD, CONTEXT> hookProvider(
-            StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage,
+            CompiledStagePlan stagePlan,
             Account account,
             HookExecutionContext context) {
 
         return new ABTestHookProvider<>(
-                defaultHookProvider(stage),
+                defaultHookProvider(stagePlan),
                 abTests(account),
                 context,
                 mapper);
     }
 
-    private <PAYLOAD, CONTEXT extends InvocationContext> HookProvider<PAYLOAD, CONTEXT> defaultHookProvider(
-            StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage) {
+    private static <PAYLOAD, CONTEXT extends InvocationContext> HookProvider<PAYLOAD, CONTEXT> defaultHookProvider(
+            CompiledStagePlan stagePlan) {
 
-        return hookId -> hookCatalog.hookById(hookId, stage);
+        return stagePlan::hook;
     }
 
     private InvocationContextProvider<InvocationContext> invocationContextProvider(HookHttpEndpoint endpoint) {
@@ -535,7 +585,11 @@ public class HookStageExecutor {
     }
 
     private Optional<List<ABTest>> abTestsFromAccount(Account account) {
-        return Optional.of(effectiveExecutionPlanFor(account))
+        final AccountHooksConfiguration hooksAccountConfig = account.getHooks();
+        final ExecutionPlan accountExecutionPlan =
+                hooksAccountConfig != null ? hooksAccountConfig.getExecutionPlan() : null;
+
+        return Optional.of(effectiveExecutionPlanFor(accountExecutionPlan))
                 .map(ExecutionPlan::getAbTests)
                 .map(abTests -> abTests.stream()
                         .filter(HookStageExecutor::isABTestEnabled)
@@ -584,4 +638,11 @@ public class HookStageExecutor {
 
         return result;
     }
+
+    private record AccountPlanKey(ExecutionPlan executionPlan,
+                                  Map<String, Boolean> moduleExecution,
+                                  Set<String> modules) {
+
+        private static final AccountPlanKey EMPTY = new AccountPlanKey(null, null, Collections.emptySet());
+    }
 }
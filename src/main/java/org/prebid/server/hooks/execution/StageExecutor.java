@@ -1,7 +1,7 @@
 package org.prebid.server.hooks.execution;
 
 import io.vertx.core.Future;
-import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
@@ -10,14 +10,14 @@ import org.prebid.server.hooks.execution.model.StageWithHookType;
 import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.util.ArrayList;
-import java.util.Map;
 
 class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
     private final Clock clock;
 
     private StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage;
@@ -28,18 +28,19 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private InvocationContextProvider<CONTEXT> invocationContextProvider;
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
-    private Map<String, Boolean> modulesExecution;
+    private HookExecutionBudget executionBudget = HookExecutionBudget.disabled();
+    private Timeout auctionTimeout;
 
-    private StageExecutor(Vertx vertx, Clock clock) {
-        this.vertx = vertx;
+    private StageExecutor(TimingWheel timingWheel, Clock clock) {
+        this.timingWheel = timingWheel;
         this.clock = clock;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> create(
-            Vertx vertx,
+            TimingWheel timingWheel,
             Clock clock) {
 
-        return new StageExecutor<>(vertx, clock);
+        return new StageExecutor<>(timingWheel, clock);
     }
 
     public StageExecutor<PAYLOAD, CONTEXT> withStage(StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage) {
@@ -84,8 +85,13 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return this;
     }
 
-    public StageExecutor<PAYLOAD, CONTEXT> withModulesExecution(Map<String, Boolean> modulesExecution) {
-        this.modulesExecution = modulesExecution;
+    public StageExecutor<PAYLOAD, CONTEXT> withExecutionBudget(HookExecutionBudget executionBudget) {
+        this.executionBudget = executionBudget;
+        return this;
+    }
+
+    public StageExecutor<PAYLOAD, CONTEXT> withAuctionTimeout(Timeout auctionTimeout) {
+        this.auctionTimeout = auctionTimeout;
         return this;
     }
 
@@ -105,13 +111,15 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     }
 
     private Future<GroupResult<PAYLOAD>> executeGroup(ExecutionGroup group, PAYLOAD initialPayload) {
-        return GroupExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, modulesExecution)
+        return GroupExecutor.<PAYLOAD, CONTEXT>create(timingWheel, clock)
                 .withGroup(group)
                 .withInitialPayload(initialPayload)
                 .withHookProvider(hookProvider)
                 .withInvocationContextProvider(invocationContextProvider)
                 .withHookExecutionContext(hookExecutionContext)
                 .withRejectAllowed(rejectAllowed)
+                .withExecutionBudget(executionBudget)
+                .withAuctionTimeout(auctionTimeout)
                 .execute();
     }
 
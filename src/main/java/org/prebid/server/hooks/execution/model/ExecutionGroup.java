@@ -14,4 +14,10 @@ public class ExecutionGroup {
     @JsonProperty("hook-sequence")
     @JsonAlias("hook_sequence")
     List<HookId> hookSequence;
+
+    boolean optional;
+
+    public static ExecutionGroup of(Long timeout, List<HookId> hookSequence) {
+        return of(timeout, hookSequence, false);
+    }
 }
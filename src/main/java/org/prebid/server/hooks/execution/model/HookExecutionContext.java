@@ -1,13 +1,21 @@
 package org.prebid.server.hooks.execution.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.prebid.server.hooks.execution.CompiledExecutionPlan;
 
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-@Value(staticConstructor = "of")
+@Value
+@RequiredArgsConstructor(staticName = "of")
 public class HookExecutionContext {
 
     HookHttpEndpoint endpoint;
@@ -16,6 +24,16 @@ public class HookExecutionContext {
 
     Map<String, Object> moduleContexts = new HashMap<>();
 
+    /**
+     * Account execution plan resolved by the first account-aware stage of the auction and reused by later ones.
+     */
+    @JsonIgnore
+    @NonFinal
+    @Setter
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    CompiledExecutionPlan accountExecutionPlan;
+
     public static HookExecutionContext of(HookHttpEndpoint endpoint) {
         return of(endpoint, new EnumMap<>(Stage.class));
     }
@@ -0,0 +1,91 @@
+package org.prebid.server.log;
+
+import io.vertx.core.Vertx;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes diagnostic log messages on a worker thread, optionally keeping the amount of logged bytes
+ * within a per-second budget. Messages above the budget are dropped and reported once per window.
+ * Without a budget every message is written.
+ */
+public class BudgetedLogSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetedLogSink.class);
+
+    private static final long WINDOW_MILLIS = 1000L;
+
+    private final Vertx vertx;
+    private final Clock clock;
+    private final Long maxBytesPerSecond;
+
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicLong windowBytes = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    public BudgetedLogSink(Vertx vertx, Clock clock, Long maxBytesPerSecond) {
+        if (maxBytesPerSecond != null && maxBytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Log sink budget should be positive: " + maxBytesPerSecond);
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.clock = Objects.requireNonNull(clock);
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    /**
+     * Cheap check to be done before building an expensive message. Counts the message as dropped if false.
+     */
+    public boolean hasBudget() {
+        if (maxBytesPerSecond == null) {
+            return true;
+        }
+
+        rollWindow();
+        if (windowBytes.get() < maxBytesPerSecond) {
+            return true;
+        }
+
+        droppedMessages.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Charges the budget with given size and runs the write off the calling thread. Messages that must not be
+     * logged partially, like a request and its response, should be written by a single call.
+     * Returns false if the write was dropped because the budget is exhausted.
+     */
+    public boolean submit(long sizeBytes, Runnable write) {
+        if (maxBytesPerSecond != null && !charge(sizeBytes)) {
+            droppedMessages.incrementAndGet();
+            return false;
+        }
+
+        vertx.executeBlocking(() -> {
+            write.run();
+            return null;
+        }, false);
+        return true;
+    }
+
+    private boolean charge(long sizeBytes) {
+        rollWindow();
+        return windowBytes.addAndGet(sizeBytes) - sizeBytes < maxBytesPerSecond;
+    }
+
+    private void rollWindow() {
+        final long now = clock.millis();
+        final long start = windowStart.get();
+        if (now - start < WINDOW_MILLIS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+
+        windowBytes.set(0);
+        final long dropped = droppedMessages.getAndSet(0);
+        if (dropped > 0) {
+            logger.warn("Dropped {} log messages exceeding budget of {} bytes per second", dropped, maxBytesPerSecond);
+        }
+    }
+}
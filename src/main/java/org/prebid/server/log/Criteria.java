@@ -2,6 +2,7 @@ package org.prebid.server.log;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 
@@ -28,22 +29,33 @@ public class Criteria {
         return new Criteria(account, bidder, loggerLevel);
     }
 
-    public void logResponse(String bidResponse, Logger logger) {
-        if (isMatchedToString(bidResponse)) {
-            loggerLevel.accept(logger, TAGGED_RESPONSE_PATTERN.formatted(tag, BID_RESPONSE, bidResponse));
-        }
+    /**
+     * Matches criteria against already resolved auction fields, so no serialization is needed to reject it.
+     */
+    public boolean isMatched(String accountId, Collection<String> bidders) {
+        return (account == null || account.equals(accountId))
+                && (bidder == null || (bidders != null && bidders.contains(bidder)));
     }
 
-    public void logResponseAndRequest(String bidResponse, String bidRequest, Logger logger) {
-        if (isMatchedToString(bidResponse + bidRequest)) {
-            loggerLevel.accept(logger, TAGGED_RESPONSE_PATTERN.formatted(tag, BID_RESPONSE, bidResponse));
-            loggerLevel.accept(logger, TAGGED_RESPONSE_PATTERN.formatted(tag, RESOLVED_BID_REQUEST, bidRequest));
-        }
+    public boolean hasBidder() {
+        return bidder != null;
+    }
+
+    public void logResponse(String bidResponse, Logger logger, BudgetedLogSink logSink) {
+        final String responseMessage = TAGGED_RESPONSE_PATTERN.formatted(tag, BID_RESPONSE, bidResponse);
+        logSink.submit(responseMessage.length(), () -> loggerLevel.accept(logger, responseMessage));
     }
 
-    private boolean isMatchedToString(String value) {
-        return (account == null || value.contains(account))
-                && (bidder == null || value.contains(bidder));
+    /**
+     * Logs response together with its request, so the budget never lets only one of them through.
+     */
+    public void logResponseAndRequest(String bidResponse, String bidRequest, Logger logger, BudgetedLogSink logSink) {
+        final String responseMessage = TAGGED_RESPONSE_PATTERN.formatted(tag, BID_RESPONSE, bidResponse);
+        final String requestMessage = TAGGED_RESPONSE_PATTERN.formatted(tag, RESOLVED_BID_REQUEST, bidRequest);
+        logSink.submit(responseMessage.length() + requestMessage.length(), () -> {
+            loggerLevel.accept(logger, responseMessage);
+            loggerLevel.accept(logger, requestMessage);
+        });
     }
 
     private static String makeTag(String account, String bidder) {
@@ -1,10 +1,17 @@
 package org.prebid.server.log;
 
-import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionParticipation;
 import org.prebid.server.json.EncodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.util.ObjectUtil;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,39 +23,76 @@ public class CriteriaLogManager {
     private final Set<Criteria> criterias = ConcurrentHashMap.newKeySet();
 
     private final JacksonMapper mapper;
+    private final BudgetedLogSink logSink;
 
-    public CriteriaLogManager(JacksonMapper mapper) {
+    public CriteriaLogManager(JacksonMapper mapper, BudgetedLogSink logSink) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.logSink = Objects.requireNonNull(logSink);
     }
 
     public BidResponse traceResponse(Logger logger,
                                      BidResponse bidResponse,
-                                     BidRequest bidRequest,
+                                     AuctionContext auctionContext,
                                      boolean debugEnabled) {
 
         if (criterias.isEmpty()) {
             return bidResponse;
         }
 
+        final List<Criteria> matchedCriterias = matchedCriterias(bidResponse, auctionContext);
+        if (matchedCriterias.isEmpty() || !logSink.hasBudget()) {
+            return bidResponse;
+        }
+
         final String jsonBidResponse;
         final String jsonBidRequest;
         try {
             jsonBidResponse = mapper.encodeToString(bidResponse);
-            jsonBidRequest = debugEnabled ? null : mapper.encodeToString(bidRequest);
+            jsonBidRequest = debugEnabled ? null : mapper.encodeToString(auctionContext.getBidRequest());
         } catch (EncodeException e) {
             CriteriaLogManager.logger.warn("Failed to parse bidResponse or bidRequest to json string: {}", e);
             return bidResponse;
         }
 
         if (debugEnabled) {
-            criterias.forEach(criteria -> criteria.logResponse(jsonBidResponse, logger));
+            matchedCriterias.forEach(criteria -> criteria.logResponse(jsonBidResponse, logger, logSink));
         } else {
-            criterias.forEach(criteria -> criteria.logResponseAndRequest(jsonBidResponse, jsonBidRequest, logger));
+            matchedCriterias.forEach(criteria ->
+                    criteria.logResponseAndRequest(jsonBidResponse, jsonBidRequest, logger, logSink));
         }
 
         return bidResponse;
     }
 
+    private List<Criteria> matchedCriterias(BidResponse bidResponse, AuctionContext auctionContext) {
+        final Account account = ObjectUtil.getIfNotNull(auctionContext, AuctionContext::getAccount);
+        final String accountId = ObjectUtil.getIfNotNull(account, Account::getId);
+        final Set<String> bidders = criterias.stream().anyMatch(Criteria::hasBidder)
+                ? bidders(bidResponse, auctionContext)
+                : null;
+
+        return criterias.stream()
+                .filter(criteria -> criteria.isMatched(accountId, bidders))
+                .toList();
+    }
+
+    private static Set<String> bidders(BidResponse bidResponse, AuctionContext auctionContext) {
+        final Set<String> bidders = new HashSet<>();
+
+        final List<AuctionParticipation> auctionParticipations =
+                ObjectUtil.getIfNotNull(auctionContext, AuctionContext::getAuctionParticipations);
+        if (CollectionUtils.isNotEmpty(auctionParticipations)) {
+            auctionParticipations.forEach(auctionParticipation -> bidders.add(auctionParticipation.getBidder()));
+        }
+
+        final List<SeatBid> seatBids = ObjectUtil.getIfNotNull(bidResponse, BidResponse::getSeatbid);
+        if (CollectionUtils.isNotEmpty(seatBids)) {
+            seatBids.forEach(seatBid -> bidders.add(seatBid.getSeat()));
+        }
+
+        return bidders;
+    }
+
     public void removeCriteria(Criteria criteria) {
         criterias.remove(criteria);
     }
@@ -27,11 +27,13 @@ public class HttpInteractionLogger {
     private final Logger logger = LoggerFactory.getLogger(HTTP_INTERACTION_LOGGER_NAME);
 
     private final JacksonMapper mapper;
+    private final BudgetedLogSink logSink;
 
     private final AtomicReference<SpecWithCounter> specWithCounter = new AtomicReference<>();
 
-    public HttpInteractionLogger(JacksonMapper mapper) {
+    public HttpInteractionLogger(JacksonMapper mapper, BudgetedLogSink logSink) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.logSink = Objects.requireNonNull(logSink);
     }
 
     public void setSpec(HttpLogSpec spec) {
@@ -43,15 +45,24 @@ public class HttpInteractionLogger {
                                         int statusCode,
                                         String responseBody) {
 
-        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext)) {
-            logger.info(
-                    "Requested URL: \"{}\", request body: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
-                    toOneLineString(routingContext.body().asString()),
-                    statusCode,
-                    responseBody);
-
-            incLoggedInteractions();
+        if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext)
+                && logSink.hasBudget()) {
+
+            final String uri = routingContext.request().uri();
+            final String requestBody = toOneLineString(routingContext.body().asString());
+            final boolean submitted = logSink.submit(
+                    length(uri) + length(requestBody) + length(responseBody),
+                    () -> logger.info(
+                            "Requested URL: \"{}\", request body: \"{}\", response status: \"{}\", "
+                                    + "response body: \"{}\"",
+                            uri,
+                            requestBody,
+                            statusCode,
+                            responseBody));
+
+            if (submitted) {
+                incLoggedInteractions();
+            }
         }
     }
 
@@ -69,28 +80,41 @@ public class HttpInteractionLogger {
                                     String responseBody) {
 
         if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.amp, statusCode, auctionContext)) {
-            logger.info(
-                    "Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
-                    statusCode,
-                    responseBody);
-
-            incLoggedInteractions();
+            final String uri = routingContext.request().uri();
+            final boolean submitted = logSink.submit(
+                    length(uri) + length(responseBody),
+                    () -> logger.info(
+                            "Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
+                            uri,
+                            statusCode,
+                            responseBody));
+
+            if (submitted) {
+                incLoggedInteractions();
+            }
         }
     }
 
     public void maybeLogBidderRequest(AuctionContext context, BidderRequest bidderRequest) {
         final String bidder = bidderRequest.getBidder();
-        if (interactionSatisfiesSpec(context, bidder)) {
+        if (interactionSatisfiesSpec(context, bidder) && logSink.hasBudget()) {
             final BidRequest bidRequest = bidderRequest.getBidRequest();
             final BidRequest updatedBidRequest = bidRequestWithBidderName(bidder, bidRequest);
             final String jsonBidRequest = mapper.encodeToString(updatedBidRequest);
-            logger.info("Request body to {}: \"{}\"", bidder, jsonBidRequest);
+            final boolean submitted = logSink.submit(
+                    jsonBidRequest.length(),
+                    () -> logger.info("Request body to {}: \"{}\"", bidder, jsonBidRequest));
 
-            incLoggedInteractions();
+            if (submitted) {
+                incLoggedInteractions();
+            }
         }
     }
 
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
     private boolean interactionSatisfiesSpec(HttpLogSpec.Endpoint requestEndpoint,
                                              int requestStatusCode,
                                              AuctionContext auctionContext) {
@@ -12,6 +12,7 @@ class CacheModuleStorageMetrics extends UpdatableMetrics {
     private final CacheWriteMetrics writeMetrics;
     private final CacheCreativeSizeMetrics entrySizeMetrics;
     private final CacheCreativeTtlMetrics entryTtlMetrics;
+    private final CacheNearCacheMetrics nearCacheMetrics;
 
     CacheModuleStorageMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String module) {
         super(
@@ -25,6 +26,7 @@ class CacheModuleStorageMetrics extends UpdatableMetrics {
                 metricRegistry, counterType, createPrefix(prefix, module), CacheCreativeType.ENTRY);
         entryTtlMetrics = new CacheCreativeTtlMetrics(
                 metricRegistry, counterType, createPrefix(prefix, module), CacheCreativeType.ENTRY);
+        nearCacheMetrics = new CacheNearCacheMetrics(metricRegistry, counterType, createPrefix(prefix, module));
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
@@ -50,4 +52,8 @@ class CacheModuleStorageMetrics extends UpdatableMetrics {
     CacheCreativeTtlMetrics entryTtl() {
         return entryTtlMetrics;
     }
+
+    CacheNearCacheMetrics nearCache() {
+        return nearCacheMetrics;
+    }
 }
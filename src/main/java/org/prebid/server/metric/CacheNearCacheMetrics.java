@@ -0,0 +1,19 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+public class CacheNearCacheMetrics extends UpdatableMetrics {
+
+    CacheNearCacheMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+        super(Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(Objects.requireNonNull(prefix)));
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.near_cache.%s".formatted(prefix, metricName);
+    }
+}
@@ -0,0 +1,27 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * HTTP client concurrency limit metrics support.
+ */
+class ConcurrencyLimitMetrics extends UpdatableMetrics {
+
+    ConcurrencyLimitMetrics(MetricRegistry metricRegistry, CounterType counterType, String hostId) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(hostId))));
+    }
+
+    private static String createPrefix(String hostId) {
+        return "http-client.concurrency-limit." + hostId;
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+}
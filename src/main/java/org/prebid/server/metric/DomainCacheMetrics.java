@@ -0,0 +1,20 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Host to registrable domain cache metrics support.
+ */
+class DomainCacheMetrics extends UpdatableMetrics {
+
+    DomainCacheMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType), nameCreator());
+    }
+
+    private static Function<MetricName, String> nameCreator() {
+        return metricName -> "domain-cache." + metricName;
+    }
+}
@@ -0,0 +1,27 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Hedged HTTP client requests metrics support.
+ */
+class HedgingMetrics extends UpdatableMetrics {
+
+    HedgingMetrics(MetricRegistry metricRegistry, CounterType counterType, String clientName) {
+        super(
+                Objects.requireNonNull(metricRegistry),
+                Objects.requireNonNull(counterType),
+                nameCreator(createPrefix(Objects.requireNonNull(clientName))));
+    }
+
+    private static String createPrefix(String clientName) {
+        return "http-client.hedging." + clientName;
+    }
+
+    private static Function<MetricName, String> nameCreator(String prefix) {
+        return metricName -> "%s.%s".formatted(prefix, metricName);
+    }
+}
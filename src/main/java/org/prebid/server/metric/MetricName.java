@@ -72,6 +72,7 @@ public enum MetricName {
     failedtorequestbids,
     timeout,
     bid_validation,
+    concurrency_limited,
     unknown_error,
     err,
     networkerr,
@@ -141,6 +142,7 @@ public enum MetricName {
     update,
     hit,
     miss,
+    coalesced,
 
     // hooks
     call,
@@ -151,6 +153,7 @@ public enum MetricName {
     unknown,
     failure,
     execution_error("execution-error"),
+    skipped,
     duration,
 
     // price-floors
@@ -161,7 +164,31 @@ public enum MetricName {
     processed_rules_count("processedrules.count"),
 
     // profiles
-    limit_exceeded;
+    limit_exceeded,
+
+    // startup phases
+    bidder_catalog("bidder-catalog"),
+    bidder_params("bidder-params"),
+    context_refresh("context-refresh"),
+
+    // http client hedging
+    hedged,
+    hedge_wins("hedge-wins"),
+
+    // http client concurrency limit
+    shed,
+    limit_decreased("limit-decreased"),
+
+    // analytics pipeline
+    pipeline_dropped("pipeline.dropped"),
+    pipeline_lag("pipeline.lag"),
+
+    // analytics spool
+    spool_written("spool.written"),
+    spool_replayed("spool.replayed"),
+    spool_dropped("spool.dropped"),
+    spool_discarded("spool.discarded"),
+    spool_size("spool.size-bytes");
 
     private final String name;
 
@@ -39,6 +39,8 @@ public class Metrics extends UpdatableMetrics {
     private final Function<Integer, BidderCardinalityMetrics> bidderCardinalityMetricsCreator;
     private final Function<MetricName, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
     private final Function<MetricName, SettingsCacheMetrics> settingsCacheMetricsCreator;
+    private final Function<String, HedgingMetrics> hedgingMetricsCreator;
+    private final Function<String, ConcurrencyLimitMetrics> concurrencyLimitMetricsCreator;
     // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
     // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
     // thread-safe
@@ -57,9 +59,14 @@ public class Metrics extends UpdatableMetrics {
     private final CacheMetrics cacheMetrics;
     private final TimeoutNotificationMetrics timeoutNotificationMetrics;
     private final CurrencyRatesMetrics currencyRatesMetrics;
+    private final DomainCacheMetrics domainCacheMetrics;
+    private final DeviceDetectionCacheMetrics deviceDetectionCacheMetrics;
     private final Map<MetricName, SettingsCacheMetrics> settingsCacheMetrics;
     private final HooksMetrics hooksMetrics;
     private final ProfileMetrics profileMetrics;
+    private final StartupMetrics startupMetrics;
+    private final Map<String, HedgingMetrics> hedgingMetrics;
+    private final Map<String, ConcurrencyLimitMetrics> concurrencyLimitMetrics;
 
     public Metrics(MetricRegistry metricRegistry,
                    CounterType counterType,
@@ -80,6 +87,8 @@ public class Metrics extends UpdatableMetrics {
                 metricRegistry, counterType, moduleType);
         circuitBreakerMetricsCreator = type -> new CircuitBreakerMetrics(metricRegistry, counterType, type);
         settingsCacheMetricsCreator = type -> new SettingsCacheMetrics(metricRegistry, counterType, type);
+        hedgingMetricsCreator = clientName -> new HedgingMetrics(metricRegistry, counterType, clientName);
+        concurrencyLimitMetricsCreator = hostId -> new ConcurrencyLimitMetrics(metricRegistry, counterType, hostId);
 
         requestsMetrics = new RequestsMetrics(metricRegistry, counterType);
         requestMetrics = new EnumMap<>(MetricName.class);
@@ -96,9 +105,14 @@ public class Metrics extends UpdatableMetrics {
         cacheMetrics = new CacheMetrics(metricRegistry, counterType);
         timeoutNotificationMetrics = new TimeoutNotificationMetrics(metricRegistry, counterType);
         currencyRatesMetrics = new CurrencyRatesMetrics(metricRegistry, counterType);
+        domainCacheMetrics = new DomainCacheMetrics(metricRegistry, counterType);
+        deviceDetectionCacheMetrics = new DeviceDetectionCacheMetrics(metricRegistry, counterType);
         settingsCacheMetrics = new HashMap<>();
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
         profileMetrics = new ProfileMetrics(metricRegistry, counterType);
+        startupMetrics = new StartupMetrics(metricRegistry, counterType);
+        hedgingMetrics = new HashMap<>();
+        concurrencyLimitMetrics = new HashMap<>();
     }
 
     RequestsMetrics requests() {
@@ -149,6 +163,14 @@ public class Metrics extends UpdatableMetrics {
         return privacyMetrics;
     }
 
+    HedgingMetrics forHedgingClient(String clientName) {
+        return hedgingMetrics.computeIfAbsent(clientName, hedgingMetricsCreator);
+    }
+
+    ConcurrencyLimitMetrics forConcurrencyLimitedHost(String hostId) {
+        return concurrencyLimitMetrics.computeIfAbsent(hostId, concurrencyLimitMetricsCreator);
+    }
+
     CircuitBreakerMetrics forCircuitBreakerType(MetricName type) {
         return circuitBreakerMetrics.computeIfAbsent(type, circuitBreakerMetricsCreator);
     }
@@ -161,6 +183,14 @@ public class Metrics extends UpdatableMetrics {
         return currencyRatesMetrics;
     }
 
+    DomainCacheMetrics domainCache() {
+        return domainCacheMetrics;
+    }
+
+    DeviceDetectionCacheMetrics deviceDetectionCache() {
+        return deviceDetectionCacheMetrics;
+    }
+
     SettingsCacheMetrics forSettingsCacheType(MetricName type) {
         return settingsCacheMetrics.computeIfAbsent(type, settingsCacheMetricsCreator);
     }
@@ -362,6 +392,22 @@ public class Metrics extends UpdatableMetrics {
         forAnalyticReporter(analyticCode).forEventType(eventType).incCounter(result);
     }
 
+    public void updateAnalyticsPipelineDroppedMetric(String analyticCode, long count) {
+        forAnalyticReporter(analyticCode).incCounter(MetricName.pipeline_dropped, count);
+    }
+
+    public void updateAnalyticsPipelineLagMetric(String analyticCode, long millis) {
+        forAnalyticReporter(analyticCode).updateTimer(MetricName.pipeline_lag, millis);
+    }
+
+    public void updateAnalyticsSpoolMetric(String analyticCode, MetricName metricName) {
+        forAnalyticReporter(analyticCode).incCounter(metricName);
+    }
+
+    public void createAnalyticsSpoolSizeGauge(String analyticCode, LongSupplier sizeSupplier) {
+        forAnalyticReporter(analyticCode).createGauge(MetricName.spool_size, sizeSupplier);
+    }
+
     public void updatePriceFloorFetchMetric(MetricName result) {
         forPriceFloorFetch().incCounter(result);
     }
@@ -659,6 +705,10 @@ public class Metrics extends UpdatableMetrics {
         cache().moduleStorage(moduleCode).entryTtl().updateHistogram(type, entryTtl);
     }
 
+    public void updateModuleStorageNearCacheMetric(String moduleCode, MetricName event) {
+        cache().moduleStorage(moduleCode).nearCache().incCounter(event);
+    }
+
     public void updateAuctionCacheRequestTime(String accountId, long timeElapsed, MetricName metricName) {
         cache().requests().updateTimer(metricName, timeElapsed);
         forAccount(accountId).cache().requests().updateTimer(metricName, timeElapsed);
@@ -686,6 +736,14 @@ public class Metrics extends UpdatableMetrics {
         currencyRates().createGauge(MetricName.stale, () -> stateSupplier.getAsBoolean() ? 1 : 0);
     }
 
+    public void updateDomainCacheMetric(MetricName event) {
+        domainCache().incCounter(event);
+    }
+
+    public void updateDeviceDetectionCacheMetric(MetricName event) {
+        deviceDetectionCache().incCounter(event);
+    }
+
     public void updateSettingsCacheRefreshTime(MetricName cacheType, MetricName refreshType, long timeElapsed) {
         forSettingsCacheType(cacheType).forRefreshType(refreshType).updateTimer(MetricName.db_query_time, timeElapsed);
     }
@@ -739,12 +797,22 @@ public class Metrics extends UpdatableMetrics {
 
             if (status == ExecutionStatus.success) {
                 accountModuleMetrics.success().incCounter(HookMetricMapper.fromAction(action));
+            } else if (status == ExecutionStatus.skipped) {
+                accountModuleMetrics.incCounter(MetricName.skipped);
             } else {
                 accountModuleMetrics.incCounter(MetricName.failure);
             }
         }
     }
 
+    public void updateModuleCacheMetric(String moduleCode, MetricName event) {
+        hooks().module(moduleCode).cache().incCounter(event);
+    }
+
+    public void updateModuleCacheRequestTime(String moduleCode, long timeElapsed) {
+        hooks().module(moduleCode).cache().updateTimer(MetricName.request_time, timeElapsed);
+    }
+
     public void updateAccountModuleDurationMetric(Account account, String moduleCode, Long executionTime) {
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
             forAccount(account.getId()).hooks().module(moduleCode).updateTimer(MetricName.duration, executionTime);
@@ -779,6 +847,18 @@ public class Metrics extends UpdatableMetrics {
         forAccount(account).profiles().incCounter(metricName);
     }
 
+    public void updateStartupPhaseMetric(MetricName phase, long millis) {
+        startupMetrics.updateTimer(phase, millis);
+    }
+
+    public void updateHttpClientHedgingMetric(String clientName, MetricName metricName) {
+        forHedgingClient(clientName).incCounter(metricName);
+    }
+
+    public void updateHttpClientConcurrencyLimitMetric(String hostId, MetricName metricName) {
+        forConcurrencyLimitedHost(hostId).incCounter(metricName);
+    }
+
     private static class HookMetricMapper {
 
         private static final EnumMap<ExecutionStatus, MetricName> STATUS_TO_METRIC =
@@ -791,6 +871,7 @@ public class Metrics extends UpdatableMetrics {
             STATUS_TO_METRIC.put(ExecutionStatus.timeout, MetricName.timeout);
             STATUS_TO_METRIC.put(ExecutionStatus.invocation_failure, MetricName.execution_error);
             STATUS_TO_METRIC.put(ExecutionStatus.execution_failure, MetricName.execution_error);
+            STATUS_TO_METRIC.put(ExecutionStatus.skipped, MetricName.skipped);
 
             ACTION_TO_METRIC.put(ExecutionAction.no_action, MetricName.noop);
             ACTION_TO_METRIC.put(ExecutionAction.update, MetricName.update);
@@ -18,6 +18,8 @@ class ModuleMetrics extends UpdatableMetrics {
 
     private final HookSuccessMetrics successMetrics;
 
+    private final ModuleCacheMetrics cacheMetrics;
+
     ModuleMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix, String moduleCode) {
         super(
                 Objects.requireNonNull(metricRegistry),
@@ -29,6 +31,8 @@ class ModuleMetrics extends UpdatableMetrics {
         stageMetrics = new HashMap<>();
 
         successMetrics = new HookSuccessMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode));
+
+        cacheMetrics = new ModuleCacheMetrics(metricRegistry, counterType, createPrefix(prefix, moduleCode));
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
@@ -46,4 +50,8 @@ class ModuleMetrics extends UpdatableMetrics {
     HookSuccessMetrics success() {
         return successMetrics;
     }
+
+    ModuleCacheMetrics cache() {
+        return cacheMetrics;
+    }
 }
@@ -0,0 +1,35 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Application startup metrics support.
+ */
+class StartupMetrics extends UpdatableMetrics {
+
+    StartupMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType), nameCreator());
+    }
+
+    private static Function<MetricName, String> nameCreator() {
+        return metricName -> "startup.%s.duration".formatted(metricName);
+    }
+
+    @Override
+    void incCounter(MetricName metricName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    void incCounter(MetricName metricName, long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    void updateHistogram(MetricName metricName, long value) {
+        throw new UnsupportedOperationException();
+    }
+}
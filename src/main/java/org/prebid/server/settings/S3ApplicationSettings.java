@@ -15,6 +15,7 @@ import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.Profile;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
+import org.prebid.server.vertx.TimingWheel;
 import software.amazon.awssdk.core.BytesWrapper;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
@@ -50,6 +51,7 @@ public class S3ApplicationSettings implements ApplicationSettings {
     final String storedResponsesDirectory;
     final JacksonMapper jacksonMapper;
     final Vertx vertx;
+    final TimingWheel timingWheel;
 
     public S3ApplicationSettings(S3AsyncClient asyncClient,
                                  String bucket,
@@ -58,7 +60,8 @@ public class S3ApplicationSettings implements ApplicationSettings {
                                  String storedRequestsDirectory,
                                  String storedResponsesDirectory,
                                  JacksonMapper jacksonMapper,
-                                 Vertx vertx) {
+                                 Vertx vertx,
+                                 TimingWheel timingWheel) {
 
         this.asyncClient = Objects.requireNonNull(asyncClient);
         this.bucket = Objects.requireNonNull(bucket);
@@ -68,6 +71,7 @@ public class S3ApplicationSettings implements ApplicationSettings {
         this.storedResponsesDirectory = Objects.requireNonNull(storedResponsesDirectory);
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.vertx = Objects.requireNonNull(vertx);
+        this.timingWheel = Objects.requireNonNull(timingWheel);
     }
 
     @Override
@@ -218,14 +222,17 @@ public class S3ApplicationSettings implements ApplicationSettings {
             return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
         }
 
-        final Promise<T> promise = Promise.promise();
         final Future<T> future = futureFactory.get();
+        if (future.isComplete()) {
+            return future;
+        }
 
-        final long timerId = vertx.setTimer(remainingTime, id ->
+        final Promise<T> promise = Promise.promise();
+        final TimingWheel.Registration timeoutRegistration = timingWheel.schedule(remainingTime, () ->
                 promise.tryFail(new TimeoutException("Timeout has been exceeded")));
 
         future.onComplete(result -> {
-            vertx.cancelTimer(timerId);
+            timeoutRegistration.cancel();
             if (result.succeeded()) {
                 promise.tryComplete(result.result());
             } else {
@@ -7,6 +7,10 @@ import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineConfig;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.OverflowPolicy;
+import org.prebid.server.analytics.pipeline.SpoolConfig;
 import org.prebid.server.analytics.reporter.AnalyticsReporterDelegator;
 import org.prebid.server.analytics.reporter.agma.AgmaAnalyticsReporter;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
@@ -31,6 +35,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.time.Clock;
@@ -64,12 +73,102 @@ public class AnalyticsConfiguration {
                 mapper);
     }
 
+    @Bean
+    AnalyticsPipelineFactory analyticsPipelineFactory(AnalyticsPipelineProperties analyticsPipelineProperties,
+                                                      Vertx vertx,
+                                                      Metrics metrics,
+                                                      Clock clock) {
+
+        return new AnalyticsPipelineFactory(analyticsPipelineProperties.toPipelineConfig(), vertx, metrics, clock);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "analytics.pipeline")
+    AnalyticsPipelineProperties analyticsPipelineProperties() {
+        return new AnalyticsPipelineProperties();
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "analytics.log", name = "enabled", havingValue = "true")
     LogAnalyticsReporter logAnalyticsReporter(JacksonMapper mapper) {
         return new LogAnalyticsReporter(mapper);
     }
 
+    @Validated
+    @NoArgsConstructor
+    @Data
+    private static class AnalyticsPipelineProperties {
+
+        @NotNull
+        @Min(1)
+        private Integer capacity;
+
+        @NotNull
+        private OverflowPolicy overflowPolicy;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double sampleRate;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double highWatermark;
+
+        @Valid
+        private AnalyticsSpoolProperties spool;
+
+        public AnalyticsPipelineConfig toPipelineConfig() {
+            return AnalyticsPipelineConfig.builder()
+                    .capacity(capacity)
+                    .overflowPolicy(overflowPolicy)
+                    .sampleRate(sampleRate)
+                    .highWatermark(highWatermark)
+                    .spool(spool != null && spool.isEnabled() ? spool.toSpoolConfig() : null)
+                    .build();
+        }
+    }
+
+    @Validated
+    @NoArgsConstructor
+    @Data
+    private static class AnalyticsSpoolProperties {
+
+        private boolean enabled;
+
+        @NotBlank
+        private String directory;
+
+        @Min(1024)
+        private long segmentSizeBytes;
+
+        @Min(1024)
+        private long maxSizeBytes;
+
+        @Min(1)
+        private long replayIntervalMs;
+
+        @Min(1)
+        private int replayBatches;
+
+        @Min(1)
+        private int maxInFlightBatches;
+
+        @Min(1)
+        private int maxReplayAttempts;
+
+        public SpoolConfig toSpoolConfig() {
+            return SpoolConfig.builder()
+                    .directory(directory)
+                    .segmentSizeBytes(segmentSizeBytes)
+                    .maxSizeBytes(maxSizeBytes)
+                    .replayIntervalMs(replayIntervalMs)
+                    .replayBatches(replayBatches)
+                    .maxInFlightBatches(maxInFlightBatches)
+                    .maxReplayAttempts(maxReplayAttempts)
+                    .build();
+        }
+    }
+
     @Configuration
     @ConditionalOnProperty(prefix = "analytics.agma", name = "enabled", havingValue = "true")
     public static class AgmaAnalyticsConfiguration {
@@ -80,7 +179,7 @@ public class AnalyticsConfiguration {
                                                     HttpClient httpClient,
                                                     Clock clock,
                                                     PrebidVersionProvider prebidVersionProvider,
-                                                    Vertx vertx) {
+                                                    AnalyticsPipelineFactory analyticsPipelineFactory) {
 
             return new AgmaAnalyticsReporter(
                     properties.toComponentProperties(),
@@ -88,7 +187,7 @@ public class AnalyticsConfiguration {
                     jacksonMapper,
                     clock,
                     httpClient,
-                    vertx);
+                    analyticsPipelineFactory);
         }
 
         @Bean
@@ -189,13 +288,15 @@ public class AnalyticsConfiguration {
                 JacksonMapper jacksonMapper,
                 HttpClient httpClient,
                 Clock clock,
-                PrebidVersionProvider prebidVersionProvider) {
+                PrebidVersionProvider prebidVersionProvider,
+                AnalyticsPipelineFactory analyticsPipelineFactory) {
             return new GreenbidsAnalyticsReporter(
                     greenbidsAnalyticsConfigurationProperties.toComponentProperties(),
                     jacksonMapper,
                     httpClient,
                     clock,
-                    prebidVersionProvider);
+                    prebidVersionProvider,
+                    analyticsPipelineFactory);
         }
 
         @Bean
@@ -239,12 +340,14 @@ public class AnalyticsConfiguration {
                 PubstackAnalyticsConfiguratinProperties pubstackAnalyticsConfiguratinProperties,
                 HttpClient httpClient,
                 JacksonMapper jacksonMapper,
+                AnalyticsPipelineFactory analyticsPipelineFactory,
                 Vertx vertx) {
 
             return new PubstackAnalyticsReporter(
                     pubstackAnalyticsConfiguratinProperties.toComponentProperties(),
                     httpClient,
                     jacksonMapper,
+                    analyticsPipelineFactory,
                     vertx);
         }
 
@@ -313,12 +416,14 @@ public class AnalyticsConfiguration {
         LiveIntentAnalyticsReporter liveIntentAnalyticsReporter(
                 LiveIntentAnalyticsConfigurationProperties properties,
                 HttpClient httpClient,
-                JacksonMapper jacksonMapper) {
+                JacksonMapper jacksonMapper,
+                AnalyticsPipelineFactory analyticsPipelineFactory) {
 
             return new LiveIntentAnalyticsReporter(
                     properties.toComponentProperties(),
                     httpClient,
-                    jacksonMapper);
+                    jacksonMapper,
+                    analyticsPipelineFactory);
         }
 
         @Bean
@@ -1,14 +1,15 @@
 package org.prebid.server.spring.config;
 
-import io.vertx.core.Vertx;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.hooks.execution.HookCatalog;
+import org.prebid.server.hooks.execution.HookExecutionBudget;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -32,7 +33,8 @@ public class HooksConfiguration {
     HookStageExecutor hookStageExecutor(HooksConfigurationProperties hooksConfiguration,
                                         HookCatalog hookCatalog,
                                         TimeoutFactory timeoutFactory,
-                                        Vertx vertx,
+                                        TimingWheel timingWheel,
+                                        HookExecutionBudget hookExecutionBudget,
                                         Clock clock,
                                         JacksonMapper mapper,
                                         @Value("${settings.modules.require-config-to-invoke:false}")
@@ -47,13 +49,25 @@ public class HooksConfiguration {
                         .orElseGet(Collections::emptyMap),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
+                hookExecutionBudget,
                 clock,
                 mapper,
                 isConfigToInvokeRequired,
                 logSamplingRate);
     }
 
+    @Bean
+    HookExecutionBudget hookExecutionBudget(
+            @Value("${hooks.budget.enabled:false}") boolean enabled,
+            @Value("${hooks.budget.remaining-time-share:0.5}") double remainingTimeShare,
+            @Value("${hooks.budget.optional-min-remaining-ms:100}") long optionalMinRemainingMs) {
+
+        return enabled
+                ? HookExecutionBudget.of(remainingTimeShare, optionalMinRemainingMs)
+                : HookExecutionBudget.disabled();
+    }
+
     @Bean
     @ConfigurationProperties("hooks")
     HooksConfigurationProperties hooksConfigurationProperties() {
@@ -81,6 +81,7 @@ import org.prebid.server.bidder.HttpBidderRequester;
 import org.prebid.server.bidder.UsersyncInfoFactory;
 import org.prebid.server.cache.BasicPbcStorageService;
 import org.prebid.server.cache.CoreCacheService;
+import org.prebid.server.cache.PbcStorageNearCache;
 import org.prebid.server.cache.PbcStorageService;
 import org.prebid.server.cache.model.CacheTtl;
 import org.prebid.server.cache.utils.CacheServiceUtil;
@@ -90,6 +91,7 @@ import org.prebid.server.cookie.CoopSyncProvider;
 import org.prebid.server.cookie.PrioritizedCoopSyncProvider;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.devicedetection.DeviceDetectionCache;
 import org.prebid.server.events.EventsService;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.floors.PriceFloorAdjuster;
@@ -103,10 +105,12 @@ import org.prebid.server.identity.NoneIdGenerator;
 import org.prebid.server.identity.UUIDIdGenerator;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.json.JsonMerger;
+import org.prebid.server.log.BudgetedLogSink;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.log.CriteriaManager;
 import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.log.LoggerControlKnob;
+import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
@@ -118,6 +122,8 @@ import org.prebid.server.settings.model.GdprConfig;
 import org.prebid.server.spring.config.model.CacheDefaultTtlProperties;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
 import org.prebid.server.spring.config.model.HttpClientCircuitBreakerProperties;
+import org.prebid.server.spring.config.model.HttpClientConcurrencyLimitProperties;
+import org.prebid.server.spring.config.model.HttpClientHedgingProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
 import org.prebid.server.util.VersionInfo;
 import org.prebid.server.util.system.CpuLoadAverageStats;
@@ -128,9 +134,14 @@ import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
 import org.prebid.server.vast.VastModifier;
 import org.prebid.server.version.PrebidVersionProvider;
+import org.prebid.server.vertx.TimingWheel;
 import org.prebid.server.vertx.httpclient.BasicHttpClient;
 import org.prebid.server.vertx.httpclient.CircuitBreakerSecuredHttpClient;
+import org.prebid.server.vertx.httpclient.ConcurrencyLimitedHttpClient;
+import org.prebid.server.vertx.httpclient.HedgingHttpClient;
 import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HedgingPolicy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -170,6 +181,8 @@ public class ServiceConfiguration {
                                   VastModifier vastModifier,
                                   EventsService eventsService,
                                   HttpClient httpClient,
+                                  @Autowired(required = false) HedgingPolicy hedgingPolicy,
+                                  Vertx vertx,
                                   Metrics metrics,
                                   Clock clock,
                                   JacksonMapper mapper) {
@@ -182,7 +195,9 @@ public class ServiceConfiguration {
                 cacheConfigurationProperties.getInternal();
 
         return new CoreCacheService(
-                httpClient,
+                hedgingPolicy != null
+                        ? new HedgingHttpClient(vertx, httpClient, metrics, "cache", hedgingPolicy, clock)
+                        : httpClient,
                 CacheServiceUtil.getCacheEndpointUrl(scheme, host, path),
                 internalProperties == null ? null : CacheServiceUtil.getCacheEndpointUrl(
                         internalProperties.getScheme(),
@@ -250,11 +265,20 @@ public class ServiceConfiguration {
             @Value("${storage.pbc.path}") String path,
             @Value("${storage.pbc.call-timeout-ms}") int callTimeoutMs,
             @Value("${pbc.api.key}") String apiKey,
+            @Value("${storage.pbc.near-cache.ttl-seconds:0}") int nearCacheTtlSeconds,
+            @Value("${storage.pbc.near-cache.retrieved-ttl-seconds:1}") int nearCacheRetrievedTtlSeconds,
+            @Value("${storage.pbc.near-cache.not-found-ttl-seconds:1}") int nearCacheNotFoundTtlSeconds,
+            @Value("${storage.pbc.near-cache.size:10000}") long nearCacheSize,
             HttpClient httpClient,
             JacksonMapper mapper,
             Clock clock,
             Metrics metrics) {
 
+        final PbcStorageNearCache nearCache = nearCacheTtlSeconds > 0
+                ? new PbcStorageNearCache(
+                        nearCacheTtlSeconds, nearCacheRetrievedTtlSeconds, nearCacheNotFoundTtlSeconds, nearCacheSize)
+                : null;
+
         return new BasicPbcStorageService(
                 httpClient,
                 CacheServiceUtil.getCacheEndpointUrl(scheme, host, path),
@@ -262,7 +286,8 @@ public class ServiceConfiguration {
                 callTimeoutMs,
                 mapper,
                 clock,
-                metrics);
+                metrics,
+                nearCache);
     }
 
     @Bean
@@ -289,8 +314,21 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    ImplicitParametersExtractor implicitParametersExtractor(PublicSuffixList psl) {
-        return new ImplicitParametersExtractor(psl);
+    ImplicitParametersExtractor implicitParametersExtractor(
+            PublicSuffixList psl,
+            @Value("${auction.domain-cache-size:10000}") int domainCacheSize,
+            Metrics metrics) {
+
+        return new ImplicitParametersExtractor(psl, domainCacheSize, metrics);
+    }
+
+    @Bean
+    DeviceDetectionCache deviceDetectionCache(
+            @Value("${device-detection.cache.size:0}") long size,
+            @Value("${device-detection.cache.ttl-seconds:3600}") int ttlSeconds,
+            Metrics metrics) {
+
+        return new DeviceDetectionCache(size, ttlSeconds, metrics);
     }
 
     @Bean
@@ -639,8 +677,11 @@ public class ServiceConfiguration {
     @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "false",
             matchIfMissing = true)
-    BasicHttpClient basicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
-        return createBasicHttpClient(vertx, httpClientProperties);
+    BasicHttpClient basicHttpClient(Vertx vertx,
+                                    TimingWheel timingWheel,
+                                    HttpClientProperties httpClientProperties) {
+
+        return createBasicHttpClient(vertx, timingWheel, httpClientProperties);
     }
 
     @Bean
@@ -655,12 +696,13 @@ public class ServiceConfiguration {
     @ConditionalOnProperty(prefix = "http-client.circuit-breaker", name = "enabled", havingValue = "true")
     CircuitBreakerSecuredHttpClient circuitBreakerSecuredHttpClient(
             Vertx vertx,
+            TimingWheel timingWheel,
             Metrics metrics,
             HttpClientProperties httpClientProperties,
             @Qualifier("httpClientCircuitBreakerProperties")
             HttpClientCircuitBreakerProperties circuitBreakerProperties) {
 
-        final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
+        final HttpClient httpClient = createBasicHttpClient(vertx, timingWheel, httpClientProperties);
 
         return new CircuitBreakerSecuredHttpClient(
                 vertx,
@@ -672,7 +714,33 @@ public class ServiceConfiguration {
                 circuitBreakerProperties.getIdleExpireHours());
     }
 
-    private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+    @Bean
+    @ConfigurationProperties(prefix = "http-client.concurrency-limit")
+    @ConditionalOnProperty(prefix = "http-client.concurrency-limit", name = "enabled", havingValue = "true")
+    HttpClientConcurrencyLimitProperties httpClientConcurrencyLimitProperties() {
+        return new HttpClientConcurrencyLimitProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "http-client.hedging")
+    @ConditionalOnProperty(prefix = "http-client.hedging", name = "enabled", havingValue = "true")
+    HttpClientHedgingProperties httpClientHedgingProperties() {
+        return new HttpClientHedgingProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "http-client.hedging", name = "enabled", havingValue = "true")
+    HedgingPolicy httpClientHedgingPolicy(HttpClientHedgingProperties httpClientHedgingProperties) {
+        return HedgingPolicy.of(
+                httpClientHedgingProperties.getPercentile(),
+                httpClientHedgingProperties.getMinDelayMs(),
+                httpClientHedgingProperties.getWindowSize());
+    }
+
+    private static BasicHttpClient createBasicHttpClient(Vertx vertx,
+                                                         TimingWheel timingWheel,
+                                                         HttpClientProperties httpClientProperties) {
+
         final PoolOptions poolOptions = new PoolOptions()
                 .setHttp1MaxSize(httpClientProperties.getMaxPoolSize())
                 .setCleanerPeriod(httpClientProperties.getPoolCleanerPeriodMs());
@@ -696,7 +764,7 @@ public class ServiceConfiguration {
                     .setKeyCertOptions(jksOptions);
         }
 
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options, poolOptions));
+        return new BasicHttpClient(timingWheel, vertx.createHttpClient(options, poolOptions));
     }
 
     @Bean
@@ -793,8 +861,12 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    BidderCatalog bidderCatalog(List<BidderDeps> bidderDeps) {
-        return new BidderCatalog(bidderDeps);
+    BidderCatalog bidderCatalog(ObjectProvider<BidderDeps> bidderDeps, Metrics metrics) {
+        final long startTime = System.currentTimeMillis();
+        final BidderCatalog bidderCatalog = new BidderCatalog(bidderDeps.orderedStream().toList());
+        metrics.updateStartupPhaseMetric(MetricName.bidder_catalog, System.currentTimeMillis() - startTime);
+
+        return bidderCatalog;
     }
 
     @Bean
@@ -840,10 +912,23 @@ public class ServiceConfiguration {
             @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
             BidderErrorNotifier bidderErrorNotifier,
             HttpBidderRequestEnricher requestEnricher,
+            @Autowired(required = false) HttpClientConcurrencyLimitProperties concurrencyLimitProperties,
+            Metrics metrics,
             JacksonMapper mapper) {
 
+        final HttpClient bidderHttpClient = concurrencyLimitProperties != null
+                ? new ConcurrencyLimitedHttpClient(
+                        httpClient,
+                        metrics,
+                        concurrencyLimitProperties.getInitialLimit(),
+                        concurrencyLimitProperties.getMinLimit(),
+                        concurrencyLimitProperties.getMaxLimit(),
+                        concurrencyLimitProperties.getBackoffRatio(),
+                        concurrencyLimitProperties.getIdleExpireHours())
+                : httpClient;
+
         return new HttpBidderRequester(
-                httpClient,
+                bidderHttpClient,
                 bidderRequestCompletionTrackerFactory,
                 bidderErrorNotifier,
                 requestEnricher,
@@ -1166,8 +1251,18 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    BidderParamValidator bidderParamValidator(BidderCatalog bidderCatalog, JacksonMapper mapper) {
-        return BidderParamValidator.create(bidderCatalog, "static/bidder-params", mapper);
+    BidderParamValidator bidderParamValidator(
+            BidderCatalog bidderCatalog,
+            JacksonMapper mapper,
+            @Value("${startup.lazy-disabled-bidders:false}") boolean lazyDisabledBidders,
+            Metrics metrics) {
+
+        final long startTime = System.currentTimeMillis();
+        final BidderParamValidator bidderParamValidator = BidderParamValidator.create(
+                bidderCatalog, "static/bidder-params", mapper, lazyDisabledBidders);
+        metrics.updateStartupPhaseMetric(MetricName.bidder_params, System.currentTimeMillis() - startTime);
+
+        return bidderParamValidator;
     }
 
     @Bean
@@ -1184,8 +1279,17 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    CriteriaLogManager criteriaLogManager(JacksonMapper mapper) {
-        return new CriteriaLogManager(mapper);
+    BudgetedLogSink budgetedLogSink(
+            Vertx vertx,
+            Clock clock,
+            @Value("${logging.sink.max-bytes-per-second:#{null}}") Long maxBytesPerSecond) {
+
+        return new BudgetedLogSink(vertx, clock, maxBytesPerSecond);
+    }
+
+    @Bean
+    CriteriaLogManager criteriaLogManager(JacksonMapper mapper, BudgetedLogSink budgetedLogSink) {
+        return new CriteriaLogManager(mapper, budgetedLogSink);
     }
 
     @Bean
@@ -1270,8 +1374,8 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    HttpInteractionLogger httpInteractionLogger(JacksonMapper mapper) {
-        return new HttpInteractionLogger(mapper);
+    HttpInteractionLogger httpInteractionLogger(JacksonMapper mapper, BudgetedLogSink budgetedLogSink) {
+        return new HttpInteractionLogger(mapper, budgetedLogSink);
     }
 
     @Bean
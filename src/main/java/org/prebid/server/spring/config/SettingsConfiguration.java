@@ -31,8 +31,11 @@ import org.prebid.server.settings.service.DatabasePeriodicRefreshService;
 import org.prebid.server.settings.service.HttpPeriodicRefreshService;
 import org.prebid.server.settings.service.S3PeriodicRefreshService;
 import org.prebid.server.spring.config.database.DatabaseConfiguration;
+import org.prebid.server.vertx.TimingWheel;
 import org.prebid.server.vertx.database.DatabaseClient;
+import org.prebid.server.vertx.httpclient.HedgingHttpClient;
 import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HedgingPolicy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -130,6 +133,10 @@ public class SettingsConfiguration {
         HttpApplicationSettings httpApplicationSettings(
                 @Value("${settings.http.rfc3986-compatible:true}") boolean isRfc3986Compatible,
                 HttpClient httpClient,
+                @Autowired(required = false) HedgingPolicy hedgingPolicy,
+                Vertx vertx,
+                Metrics metrics,
+                Clock clock,
                 JacksonMapper mapper,
                 @Value("${settings.http.endpoint}") String endpoint,
                 @Value("${settings.http.amp-endpoint}") String ampEndpoint,
@@ -142,7 +149,9 @@ public class SettingsConfiguration {
                     ampEndpoint,
                     videoEndpoint,
                     categoryEndpoint,
-                    httpClient,
+                    hedgingPolicy != null
+                            ? new HedgingHttpClient(vertx, httpClient, metrics, "settings", hedgingPolicy, clock)
+                            : httpClient,
                     mapper);
         }
     }
@@ -164,6 +173,15 @@ public class SettingsConfiguration {
         @Autowired
         HttpClient httpClient;
 
+        @Autowired(required = false)
+        HedgingPolicy hedgingPolicy;
+
+        @Autowired
+        Metrics metrics;
+
+        @Autowired
+        Clock clock;
+
         @Bean
         public HttpPeriodicRefreshService httpPeriodicRefreshService(
                 @Value("${settings.in-memory-cache.http-update.endpoint}") String endpoint,
@@ -171,7 +189,7 @@ public class SettingsConfiguration {
                 JacksonMapper mapper) {
 
             return new HttpPeriodicRefreshService(
-                    endpoint, refreshPeriod, timeout, settingsCache, vertx, httpClient, mapper);
+                    endpoint, refreshPeriod, timeout, settingsCache, vertx, refreshHttpClient(), mapper);
         }
 
         @Bean
@@ -181,7 +199,13 @@ public class SettingsConfiguration {
                 JacksonMapper mapper) {
 
             return new HttpPeriodicRefreshService(
-                    ampEndpoint, refreshPeriod, timeout, ampSettingsCache, vertx, httpClient, mapper);
+                    ampEndpoint, refreshPeriod, timeout, ampSettingsCache, vertx, refreshHttpClient(), mapper);
+        }
+
+        private HttpClient refreshHttpClient() {
+            return hedgingPolicy != null
+                    ? new HedgingHttpClient(vertx, httpClient, metrics, "settings-refresh", hedgingPolicy, clock)
+                    : httpClient;
         }
     }
 
@@ -343,7 +367,8 @@ public class SettingsConfiguration {
         S3ApplicationSettings s3ApplicationSettings(S3AsyncClient s3AsyncClient,
                                                     S3ConfigurationProperties s3ConfigurationProperties,
                                                     JacksonMapper mapper,
-                                                    Vertx vertx) {
+                                                    Vertx vertx,
+                                                    TimingWheel timingWheel) {
 
             return new S3ApplicationSettings(
                     s3AsyncClient,
@@ -353,7 +378,8 @@ public class SettingsConfiguration {
                     s3ConfigurationProperties.getStoredRequestsDir(),
                     s3ConfigurationProperties.getStoredResponsesDir(),
                     mapper,
-                    vertx);
+                    vertx,
+                    timingWheel);
         }
     }
 
@@ -2,6 +2,8 @@ package org.prebid.server.spring.config;
 
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.verticles.VerticleDefinition;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,8 +25,15 @@ public class VerticleStarter {
     @Autowired
     private List<VerticleDefinition> definitions;
 
+    @Autowired
+    private Metrics metrics;
+
     @EventListener(ContextRefreshedEvent.class)
-    public void start() {
+    public void start(ContextRefreshedEvent event) {
+        metrics.updateStartupPhaseMetric(
+                MetricName.context_refresh,
+                event.getTimestamp() - event.getApplicationContext().getStartupDate());
+
         for (VerticleDefinition definition : definitions) {
             if (definition.getAmount() <= 0) {
                 continue;
@@ -12,6 +12,7 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.spring.config.metrics.MetricsConfiguration;
 import org.prebid.server.vertx.ContextRunner;
+import org.prebid.server.vertx.TimingWheel;
 import org.prebid.server.vertx.http.ParametrizedDecompressionHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -76,4 +77,12 @@ public class VertxConfiguration {
     ContextRunner contextRunner(Vertx vertx, @Value("${vertx.init-timeout-ms}") long initTimeoutMs) {
         return new ContextRunner(vertx, initTimeoutMs);
     }
+
+    @Bean
+    TimingWheel timingWheel(Vertx vertx,
+                            @Value("${vertx.timing-wheel.tick-ms}") long tickMs,
+                            @Value("${vertx.timing-wheel.ticks-per-wheel}") int ticksPerWheel) {
+
+        return new TimingWheel(vertx, tickMs, ticksPerWheel);
+    }
 }
@@ -0,0 +1,37 @@
+package org.prebid.server.spring.config.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@Data
+@NoArgsConstructor
+public class HttpClientConcurrencyLimitProperties {
+
+    @NotNull
+    @Min(1)
+    private Integer initialLimit;
+
+    @NotNull
+    @Min(1)
+    private Integer minLimit;
+
+    @NotNull
+    @Min(1)
+    private Integer maxLimit;
+
+    @NotNull
+    @DecimalMin("0.1")
+    @DecimalMax("0.99")
+    private Double backoffRatio;
+
+    @NotNull
+    @Min(1)
+    private Integer idleExpireHours;
+}
@@ -0,0 +1,29 @@
+package org.prebid.server.spring.config.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Validated
+@Data
+@NoArgsConstructor
+public class HttpClientHedgingProperties {
+
+    @NotNull
+    @DecimalMin("1")
+    @DecimalMax("99.9")
+    private Double percentile;
+
+    @NotNull
+    @Min(0)
+    private Long minDelayMs;
+
+    @NotNull
+    @Min(1)
+    private Integer windowSize;
+}
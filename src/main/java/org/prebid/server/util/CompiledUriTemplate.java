@@ -0,0 +1,215 @@
+package org.prebid.server.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Precompiled form of a {@link Uri} template consisting of literals and simple {@code {name}} macros only.
+ * <p>
+ * Expansion produces the same result as RFC 6570 simple string expansion followed by form-style query expansion,
+ * but writes directly into a reusable per-thread buffer without building intermediate variable holders.
+ */
+final class CompiledUriTemplate {
+
+    private static final char[] HEX_ALPHABET = "0123456789ABCDEF".toCharArray();
+
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 8192;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
+
+    private final String[] literals;
+    private final String[] macros;
+    private final char querySeparator;
+
+    private CompiledUriTemplate(List<String> literals, List<String> macros, boolean hasQuery) {
+        this.literals = literals.toArray(String[]::new);
+        this.macros = macros.toArray(String[]::new);
+        this.querySeparator = hasQuery ? '&' : '?';
+    }
+
+    /**
+     * Returns compiled template or null if template uses expressions that can only be handled
+     * by full RFC 6570 implementation.
+     */
+    static CompiledUriTemplate compile(String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> macros = new ArrayList<>();
+
+        int literalStart = 0;
+        int pos = 0;
+        while (pos < template.length()) {
+            final char ch = template.charAt(pos);
+            if (ch == '{') {
+                final int end = template.indexOf('}', pos + 1);
+                if (end < 0 || !isSimpleMacroName(template, pos + 1, end)) {
+                    return null;
+                }
+
+                literals.add(template.substring(literalStart, pos));
+                macros.add(template.substring(pos + 1, end));
+                pos = end + 1;
+                literalStart = pos;
+            } else if (isLiteral(ch)) {
+                pos++;
+            } else if (isPctEncoded(template, pos)) {
+                pos += 3;
+            } else {
+                return null;
+            }
+        }
+        literals.add(template.substring(literalStart));
+
+        return new CompiledUriTemplate(literals, macros, template.contains("?"));
+    }
+
+    String expand(Map<String, Object> macroValues, Map<String, String> queryParams) throws NoSuchElementException {
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+
+        for (int i = 0; i < macros.length; i++) {
+            buffer.append(literals[i]);
+            appendMacro(macros[i], macroValues.get(macros[i]), buffer);
+        }
+        buffer.append(literals[macros.length]);
+
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = querySeparator;
+            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+                buffer.append(separator);
+                encode(entry.getKey(), buffer);
+                buffer.append('=');
+                encode(entry.getValue(), buffer);
+                separator = '&';
+            }
+        }
+
+        final String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static void appendMacro(String name, Object value, StringBuilder buffer) {
+        if (value == null) {
+            throw new NoSuchElementException("Variable " + name + " is missing");
+        }
+
+        if (value instanceof String stringValue) {
+            encode(stringValue, buffer);
+        } else if (value instanceof Collection<?> collectionValue) {
+            boolean first = true;
+            for (Object element : collectionValue) {
+                if (!first) {
+                    buffer.append(',');
+                }
+                encode(String.valueOf(element), buffer);
+                first = false;
+            }
+        } else {
+            throw new IllegalStateException(
+                    "Variable %s has unsupported value type: %s".formatted(name, value.getClass().getName()));
+        }
+    }
+
+    /**
+     * Percent-encodes everything except RFC 3986 unreserved characters.
+     */
+    static void encode(String value, StringBuilder buffer) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
+            if (isUnreserved(ch)) {
+                buffer.append(ch);
+            } else if (ch < 0x80) {
+                pctEncode(ch, buffer);
+            } else if (ch < 0x800) {
+                pctEncode(0xC0 | (ch >> 6), buffer);
+                pctEncode(0x80 | (ch & 0x3F), buffer);
+            } else if (Character.isHighSurrogate(ch)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+
+                final int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                pctEncode(0xF0 | (codePoint >> 18), buffer);
+                pctEncode(0x80 | ((codePoint >> 12) & 0x3F), buffer);
+                pctEncode(0x80 | ((codePoint >> 6) & 0x3F), buffer);
+                pctEncode(0x80 | (codePoint & 0x3F), buffer);
+            } else if (!Character.isSurrogate(ch)) {
+                // unpaired surrogates are skipped as they can not be represented in UTF-8
+                pctEncode(0xE0 | (ch >> 12), buffer);
+                pctEncode(0x80 | ((ch >> 6) & 0x3F), buffer);
+                pctEncode(0x80 | (ch & 0x3F), buffer);
+            }
+        }
+    }
+
+    static String encode(String value) {
+        final StringBuilder buffer = new StringBuilder(value.length() + 16);
+        encode(value, buffer);
+        return buffer.toString();
+    }
+
+    private static void pctEncode(int value, StringBuilder buffer) {
+        buffer.append('%')
+                .append(HEX_ALPHABET[(value >> 4) & 0x0F])
+                .append(HEX_ALPHABET[value & 0x0F]);
+    }
+
+    private static boolean isSimpleMacroName(String template, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            final char ch = template.charAt(i);
+            if (!isAlpha(ch) && !isDigit(ch) && ch != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPctEncoded(String template, int pos) {
+        return template.charAt(pos) == '%'
+                && pos + 2 < template.length()
+                && isHexDigit(template.charAt(pos + 1))
+                && isHexDigit(template.charAt(pos + 2));
+    }
+
+    /**
+     * Mirrors the set of characters allowed to appear as-is outside of expressions, see RFC 6570 section 2.1.
+     */
+    private static boolean isLiteral(char ch) {
+        return ch == 0x21
+                || (0x23 <= ch && ch <= 0x24)
+                || ch == 0x26
+                || (0x28 <= ch && ch <= 0x3B)
+                || ch == 0x3D
+                || (0x3F <= ch && ch <= 0x5B)
+                || ch == 0x5D
+                || ch == 0x5F
+                || (0x61 <= ch && ch <= 0x7A)
+                || ch == 0x7E;
+    }
+
+    private static boolean isUnreserved(char ch) {
+        return isAlpha(ch) || isDigit(ch) || ch == '-' || ch == '.' || ch == '_' || ch == '~';
+    }
+
+    private static boolean isAlpha(char ch) {
+        return ('A' <= ch && ch <= 'Z') || ('a' <= ch && ch <= 'z');
+    }
+
+    private static boolean isDigit(char ch) {
+        return '0' <= ch && ch <= '9';
+    }
+
+    private static boolean isHexDigit(char ch) {
+        return isDigit(ch) || ('A' <= ch && ch <= 'F') || ('a' <= ch && ch <= 'f');
+    }
+}
@@ -7,8 +7,6 @@ import io.vertx.core.http.Cookie;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
-import io.vertx.uritemplate.UriTemplate;
-import io.vertx.uritemplate.Variables;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
@@ -96,7 +94,7 @@ public final class HttpUtil {
     }
 
     public static String encodeUrl(String value) {
-        return UrlEncoder.encode(value);
+        return value != null ? CompiledUriTemplate.encode(value) : StringUtils.EMPTY;
     }
 
     public static String decodeUrl(String value) {
@@ -202,14 +200,4 @@ public final class HttpUtil {
     private static boolean isSensitiveHeader(String header) {
         return SENSITIVE_HEADERS.stream().anyMatch(header::equalsIgnoreCase);
     }
-
-    private static class UrlEncoder {
-
-        private static final String CONTENT = "CONTENT";
-        private static final UriTemplate ENCODER = UriTemplate.of("{" + CONTENT + "}");
-
-        public static String encode(String value) {
-            return ENCODER.expandToString(Variables.variables().set(CONTENT, value));
-        }
-    }
 }
@@ -6,6 +6,7 @@ import io.vertx.uritemplate.Variables;
 import lombok.EqualsAndHashCode;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,10 +26,13 @@ public class Uri {
     private final String baseUri;
     @EqualsAndHashCode.Exclude
     private final UriTemplate template;
+    @EqualsAndHashCode.Exclude
+    private final CompiledUriTemplate compiledTemplate;
 
     private Uri(String uri) {
         this.baseUri = uri;
         this.template = UriTemplate.of(uri + chooseMacro(uri));
+        this.compiledTemplate = CompiledUriTemplate.compile(uri);
     }
 
     public static Uri of(String uri) throws IllegalArgumentException {
@@ -53,7 +57,7 @@ public class Uri {
     }
 
     public ParameterizedUri parameterized() {
-        return new ParameterizedUri(template);
+        return new ParameterizedUri(template, compiledTemplate);
     }
 
     public ParameterizedUri replaceMacro(String key, String value) {
@@ -88,21 +92,24 @@ public class Uri {
     public static class ParameterizedUri {
 
         private final UriTemplate template;
-        private final Variables variables;
+        private final CompiledUriTemplate compiledTemplate;
+        private final Map<String, Object> macros;
+        private final Map<String, String> queryParams;
 
-        private ParameterizedUri(UriTemplate template) {
+        private ParameterizedUri(UriTemplate template, CompiledUriTemplate compiledTemplate) {
             this.template = template;
-            this.variables = Variables.variables();
-            variables.set(DYNAMIC_QUERY_PARAM, new LinkedHashMap<>());
+            this.compiledTemplate = compiledTemplate;
+            this.macros = new HashMap<>();
+            this.queryParams = new LinkedHashMap<>();
         }
 
         public ParameterizedUri replaceMacro(String key, String value) {
-            variables.set(key, value);
+            macros.put(key, value);
             return this;
         }
 
         public ParameterizedUri replaceMacro(String key, List<String> value) {
-            variables.set(key, value);
+            macros.put(key, value);
             return this;
         }
 
@@ -113,7 +120,7 @@ public class Uri {
 
         public ParameterizedUri addQueryParam(String key, String value) {
             if (value != null) {
-                variables.getMap(DYNAMIC_QUERY_PARAM).put(key, value);
+                queryParams.put(key, value);
             }
             return this;
         }
@@ -126,13 +133,30 @@ public class Uri {
             final String listAsString = value.stream()
                     .map(Objects::toString)
                     .collect(Collectors.joining(","));
-            variables.getMap(DYNAMIC_QUERY_PARAM).put(key, listAsString);
+            queryParams.put(key, listAsString);
 
             return this;
         }
 
         public String expand() throws NoSuchElementException {
-            return template.expandToString(variables, REQUIRE_ALL_PARAMS);
+            return compiledTemplate != null
+                    ? compiledTemplate.expand(macros, queryParams)
+                    : template.expandToString(toVariables(), REQUIRE_ALL_PARAMS);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Variables toVariables() {
+            final Variables variables = Variables.variables();
+            macros.forEach((key, value) -> {
+                if (value instanceof List<?> listValue) {
+                    variables.set(key, (List<String>) listValue);
+                } else {
+                    variables.set(key, (String) value);
+                }
+            });
+            variables.set(DYNAMIC_QUERY_PARAM, queryParams);
+
+            return variables;
         }
 
         @Override
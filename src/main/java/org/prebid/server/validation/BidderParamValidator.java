@@ -18,6 +18,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -31,22 +32,49 @@ public class BidderParamValidator {
     private static final String FILE_SEP = "/";
 
     private final Map<String, JsonSchema> bidderSchemas;
-    private final String schemas;
+    private final Map<String, JsonSchema> lazyBidderSchemas;
+    private final BidderCatalog bidderCatalog;
+    private final String schemaDirectory;
+    private final JacksonMapper mapper;
+
+    private volatile String schemas;
+
+    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas,
+                                 String schemas,
+                                 BidderCatalog bidderCatalog,
+                                 String schemaDirectory,
+                                 JacksonMapper mapper) {
 
-    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas, String schemas) {
         this.bidderSchemas = bidderSchemas;
         this.schemas = schemas;
+        this.bidderCatalog = bidderCatalog;
+        this.schemaDirectory = schemaDirectory;
+        this.mapper = mapper;
+
+        lazyBidderSchemas = new ConcurrentHashMap<>();
     }
 
     /**
      * Validates the {@link JsonNode} input parameter against bidder's JSON-schema
      */
     public Set<String> validate(String bidder, JsonNode jsonNode) {
-        return bidderSchemas.get(bidder).validate(jsonNode).stream()
+        return bidderSchema(bidder).validate(jsonNode).stream()
                 .map(ValidationMessage::getMessage)
                 .collect(Collectors.toSet());
     }
 
+    private JsonSchema bidderSchema(String bidder) {
+        final JsonSchema schema = bidderSchemas.get(bidder);
+        if (schema != null) {
+            return schema;
+        }
+
+        final String configuredName = bidderCatalog.configuredName(bidder);
+        return lazyBidderSchemas.computeIfAbsent(
+                configuredName != null ? configuredName : bidder,
+                name -> toBidderSchema(createSchemaNode(bidderCatalog, schemaDirectory, name, mapper), name));
+    }
+
     /**
      * Returns a JSON object combining all schemas for all bidders. Each bidder has a subnode with its schema within
      * framing object.
@@ -67,7 +95,10 @@ public class BidderParamValidator {
      * </pre>
      */
     public String schemas() {
-        return this.schemas;
+        if (schemas == null) {
+            schemas = toSchemas(readRawSchemas(bidderCatalog.names()), mapper);
+        }
+        return schemas;
     }
 
     /**
@@ -80,16 +111,52 @@ public class BidderParamValidator {
                                               String schemaDirectory,
                                               JacksonMapper mapper) {
 
+        return create(bidderCatalog, schemaDirectory, mapper, false);
+    }
+
+    /**
+     * Constructs an instance of {@link BidderParamValidator} the same way as
+     * {@link #create(BidderCatalog, String, JacksonMapper)} does, but when {@code lazyLoadInactive} is set
+     * only schemas of active bidders are loaded at startup. Schemas of disabled bidders are loaded on first use.
+     */
+    public static BidderParamValidator create(BidderCatalog bidderCatalog,
+                                              String schemaDirectory,
+                                              JacksonMapper mapper,
+                                              boolean lazyLoadInactive) {
+
         Objects.requireNonNull(bidderCatalog);
         Objects.requireNonNull(schemaDirectory);
         Objects.requireNonNull(mapper);
 
-        final Map<String, JsonNode> bidderRawSchemas = new LinkedHashMap<>();
+        final Set<String> eagerBidders = lazyLoadInactive
+                ? bidderCatalog.names().stream().filter(bidderCatalog::isActive).collect(Collectors.toSet())
+                : bidderCatalog.names();
+
+        final Map<String, JsonNode> bidderRawSchemas = readRawSchemas(
+                bidderCatalog, schemaDirectory, eagerBidders, mapper);
 
-        bidderCatalog.names().forEach(bidder -> bidderRawSchemas.put(
+        return new BidderParamValidator(
+                toBidderSchemas(bidderRawSchemas),
+                lazyLoadInactive ? null : toSchemas(bidderRawSchemas, mapper),
+                bidderCatalog,
+                schemaDirectory,
+                mapper);
+    }
+
+    private Map<String, JsonNode> readRawSchemas(Set<String> bidders) {
+        return readRawSchemas(bidderCatalog, schemaDirectory, bidders, mapper);
+    }
+
+    private static Map<String, JsonNode> readRawSchemas(BidderCatalog bidderCatalog,
+                                                        String schemaDirectory,
+                                                        Set<String> bidders,
+                                                        JacksonMapper mapper) {
+
+        final Map<String, JsonNode> bidderRawSchemas = new LinkedHashMap<>();
+        bidders.forEach(bidder -> bidderRawSchemas.put(
                 bidder, createSchemaNode(bidderCatalog, schemaDirectory, bidder, mapper)));
 
-        return new BidderParamValidator(toBidderSchemas(bidderRawSchemas), toSchemas(bidderRawSchemas, mapper));
+        return bidderRawSchemas;
     }
 
     private static Map<String, JsonSchema> toBidderSchemas(Map<String, JsonNode> bidderRawSchemas) {
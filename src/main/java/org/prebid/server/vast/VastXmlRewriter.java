@@ -0,0 +1,195 @@
+package org.prebid.server.vast;
+
+/**
+ * Finds the impression tracking insertion point of a VAST document in a single pass over the markup
+ * and writes the result directly into an exactly sized buffer.
+ * <p>
+ * Tags are matched the same way as {@code <\s*name(?:>|\s.*?>)} regular expressions in case-insensitive mode:
+ * whitespace is allowed around the slash and name, and attributes end at the first {@code >} on the same line.
+ */
+final class VastXmlRewriter {
+
+    private static final String INLINE = "inline";
+    private static final String WRAPPER = "wrapper";
+    private static final String IMPRESSION = "impression";
+
+    private static final String IMPRESSION_PREFIX = "<Impression><![CDATA[";
+    private static final String IMPRESSION_SUFFIX = "]]></Impression>";
+
+    private VastXmlRewriter() {
+    }
+
+    /**
+     * Inserts impression with given tracking url after the last Impression of the first InLine element,
+     * or before its closing tag when it has no impressions. Wrapper element is used the same way when there is
+     * no InLine. Returns document as is when the element is not closed and null when there is no such element.
+     */
+    static String insertImpressionTracking(String vastXml, String trackingUrl) {
+        final InsertionPoints points = InsertionPoints.scan(vastXml);
+
+        final int index;
+        if (points.inlineOpenEnd >= 0) {
+            index = points.inlineLastImpressionEnd >= 0 ? points.inlineLastImpressionEnd : points.inlineCloseStart;
+        } else if (points.wrapperOpenEnd >= 0) {
+            index = points.wrapperLastImpressionEnd >= 0 ? points.wrapperLastImpressionEnd : points.wrapperCloseStart;
+        } else {
+            return null;
+        }
+
+        if (index < 0) {
+            return vastXml;
+        }
+
+        final int insertionLength = IMPRESSION_PREFIX.length() + trackingUrl.length() + IMPRESSION_SUFFIX.length();
+        return new StringBuilder(vastXml.length() + insertionLength)
+                .append(vastXml, 0, index)
+                .append(IMPRESSION_PREFIX)
+                .append(trackingUrl)
+                .append(IMPRESSION_SUFFIX)
+                .append(vastXml, index, vastXml.length())
+                .toString();
+    }
+
+    private static class InsertionPoints {
+
+        private int inlineOpenEnd = -1;
+        private int inlineCloseStart = -1;
+        private int inlineLastImpressionEnd = -1;
+
+        private int wrapperOpenEnd = -1;
+        private int wrapperCloseStart = -1;
+        private int wrapperLastImpressionEnd = -1;
+
+        static InsertionPoints scan(String xml) {
+            final InsertionPoints points = new InsertionPoints();
+
+            int tagStart = xml.indexOf('<');
+            while (tagStart >= 0) {
+                final int tagEnd = points.visitTag(xml, tagStart);
+                tagStart = xml.indexOf('<', tagEnd >= 0 ? tagEnd : tagStart + 1);
+            }
+
+            return points;
+        }
+
+        /**
+         * Returns the end of the tag starting at given position if it is relevant, -1 otherwise.
+         */
+        private int visitTag(String xml, int tagStart) {
+            int nameStart = skipWhitespaces(xml, tagStart + 1);
+            final boolean closing = nameStart < xml.length() && xml.charAt(nameStart) == '/';
+            if (closing) {
+                nameStart = skipWhitespaces(xml, nameStart + 1);
+            }
+
+            return closing ? visitCloseTag(xml, tagStart, nameStart) : visitOpenTag(xml, nameStart);
+        }
+
+        private int visitOpenTag(String xml, int nameStart) {
+            if (inlineOpenEnd < 0) {
+                inlineOpenEnd = tagEnd(xml, nameStart, INLINE);
+                if (inlineOpenEnd >= 0) {
+                    return inlineOpenEnd;
+                }
+            }
+            if (wrapperOpenEnd < 0) {
+                wrapperOpenEnd = tagEnd(xml, nameStart, WRAPPER);
+                return wrapperOpenEnd;
+            }
+            return -1;
+        }
+
+        private int visitCloseTag(String xml, int tagStart, int nameStart) {
+            if (inlineOpenEnd < 0 && wrapperOpenEnd < 0) {
+                return -1;
+            }
+
+            final int impressionEnd = tagEnd(xml, nameStart, IMPRESSION);
+            if (impressionEnd >= 0) {
+                if (inlineOpenEnd >= 0) {
+                    inlineLastImpressionEnd = impressionEnd;
+                }
+                if (wrapperOpenEnd >= 0) {
+                    wrapperLastImpressionEnd = impressionEnd;
+                }
+                return impressionEnd;
+            }
+
+            if (inlineOpenEnd >= 0 && inlineCloseStart < 0) {
+                final int inlineCloseEnd = tagEnd(xml, nameStart, INLINE);
+                if (inlineCloseEnd >= 0) {
+                    inlineCloseStart = tagStart;
+                    return inlineCloseEnd;
+                }
+            }
+            if (wrapperOpenEnd >= 0 && wrapperCloseStart < 0) {
+                final int wrapperCloseEnd = tagEnd(xml, nameStart, WRAPPER);
+                if (wrapperCloseEnd >= 0) {
+                    wrapperCloseStart = tagStart;
+                    return wrapperCloseEnd;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the position after the tag if it has given name, -1 otherwise.
+         */
+        private static int tagEnd(String xml, int nameStart, String name) {
+            final int nameEnd = nameStart + name.length();
+            if (nameEnd >= xml.length() || !isNameAt(xml, nameStart, name)) {
+                return -1;
+            }
+
+            final char next = xml.charAt(nameEnd);
+            if (next == '>') {
+                return nameEnd + 1;
+            }
+            if (!isWhitespace(next)) {
+                return -1;
+            }
+
+            for (int i = nameEnd + 1; i < xml.length(); i++) {
+                final char current = xml.charAt(i);
+                if (current == '>') {
+                    return i + 1;
+                }
+                if (isLineTerminator(current)) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean isNameAt(String xml, int start, String lowerCaseName) {
+            for (int i = 0; i < lowerCaseName.length(); i++) {
+                char current = xml.charAt(start + i);
+                if (current >= 'A' && current <= 'Z') {
+                    current = (char) (current + ('a' - 'A'));
+                }
+                if (current != lowerCaseName.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int skipWhitespaces(String xml, int from) {
+            int i = from;
+            while (i < xml.length() && isWhitespace(xml.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+
+        private static boolean isWhitespace(char value) {
+            return value == ' ' || value == '\t' || value == '\n' || value == '\u000B' || value == '\f'
+                    || value == '\r';
+        }
+
+        private static boolean isLineTerminator(char value) {
+            return value == '\n' || value == '\r' || value == '\u0085' || value == '\u2028'
+                    || value == '\u2029';
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Coalesces items submitted by concurrent requests into batches processed at once.
+ * <p>
+ * Items submitted for the same key are collected into an open batch which is handed over to the processor
+ * once its size reaches {@code maxBatchSize} or {@code maxWaitMs} after it was opened, whichever comes first.
+ * Zero {@code maxWaitMs} hands every item over right away. The processor returns a result per item,
+ * and every submitter gets its result on the context it submitted the item from.
+ */
+public class MicroBatcher<K, T, R> {
+
+    private final Vertx vertx;
+    private final long maxWaitMs;
+    private final int maxBatchSize;
+    private final ToIntFunction<T> itemSize;
+    private final BatchProcessor<K, T, R> processor;
+
+    private final Map<K, Batch<K, T, R>> openBatches = new HashMap<>();
+
+    public MicroBatcher(Vertx vertx,
+                        long maxWaitMs,
+                        int maxBatchSize,
+                        ToIntFunction<T> itemSize,
+                        BatchProcessor<K, T, R> processor) {
+
+        if (maxWaitMs < 0) {
+            throw new IllegalArgumentException("Batch max wait should not be negative: " + maxWaitMs);
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch max size should be positive: " + maxBatchSize);
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.maxWaitMs = maxWaitMs;
+        this.maxBatchSize = maxBatchSize;
+        this.itemSize = Objects.requireNonNull(itemSize);
+        this.processor = Objects.requireNonNull(processor);
+    }
+
+    public Future<R> submit(K key, T item) {
+        final PendingItem<T, R> pendingItem = new PendingItem<>(item, Vertx.currentContext());
+
+        final Batch<K, T, R> readyBatch;
+        synchronized (openBatches) {
+            final Batch<K, T, R> batch = openBatches.computeIfAbsent(key, Batch::new);
+            batch.add(pendingItem, itemSize.applyAsInt(item));
+
+            readyBatch = batch.size >= maxBatchSize || maxWaitMs == 0 ? detach(batch) : null;
+            if (readyBatch == null && batch.timerId == -1) {
+                batch.timerId = vertx.setTimer(maxWaitMs, ignored -> flush(batch));
+            }
+        }
+
+        if (readyBatch != null) {
+            process(readyBatch);
+        }
+
+        return pendingItem.promise().future();
+    }
+
+    private void flush(Batch<K, T, R> batch) {
+        final boolean isOpen;
+        synchronized (openBatches) {
+            isOpen = openBatches.get(batch.key) == batch;
+            if (isOpen) {
+                openBatches.remove(batch.key);
+            }
+        }
+
+        if (isOpen) {
+            process(batch);
+        }
+    }
+
+    private Batch<K, T, R> detach(Batch<K, T, R> batch) {
+        openBatches.remove(batch.key);
+        if (batch.timerId != -1) {
+            vertx.cancelTimer(batch.timerId);
+        }
+        return batch;
+    }
+
+    private void process(Batch<K, T, R> batch) {
+        final List<PendingItem<T, R>> pendingItems = batch.pendingItems;
+        final List<T> items = pendingItems.stream()
+                .map(PendingItem::item)
+                .toList();
+
+        final List<Future<R>> results = processor.process(batch.key, items);
+        for (int i = 0; i < pendingItems.size(); i++) {
+            results.get(i).onComplete(pendingItems.get(i)::complete);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BatchProcessor<K, T, R> {
+
+        /**
+         * Processes items of a batch and returns a result per item, in the same order.
+         */
+        List<Future<R>> process(K key, List<T> items);
+    }
+
+    private record PendingItem<T, R>(T item, Context context, Promise<R> promise) {
+
+        private PendingItem(T item, Context context) {
+            this(item, context, Promise.promise());
+        }
+
+        private void complete(AsyncResult<R> result) {
+            if (context != null) {
+                context.runOnContext(ignored -> promise.handle(result));
+            } else {
+                promise.handle(result);
+            }
+        }
+    }
+
+    /**
+     * Guarded by the open batches map until detached from it, owned by the processor afterwards.
+     */
+    private static class Batch<K, T, R> {
+
+        private final K key;
+        private final List<PendingItem<T, R>> pendingItems = new ArrayList<>();
+
+        private int size;
+        private long timerId = -1;
+
+        private Batch(K key) {
+            this.key = key;
+        }
+
+        private void add(PendingItem<T, R> pendingItem, int itemSize) {
+            pendingItems.add(pendingItem);
+            size += itemSize;
+        }
+    }
+}
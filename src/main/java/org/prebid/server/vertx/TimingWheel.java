@@ -0,0 +1,184 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks deadlines of short-lived operations like hook invocations and HTTP calls without creating
+ * a Vert.x timer for each of them.
+ * <p>
+ * Every event loop context gets its own hashed wheel of {@code ticksPerWheel} buckets, advanced by a single
+ * periodic timer which is running only while the wheel has pending deadlines. Registration and cancellation
+ * are constant time; a task is never run before its deadline and usually within one tick after it.
+ * Calls made outside of an event loop context fall back to a regular Vert.x timer.
+ */
+public class TimingWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimingWheel.class);
+
+    private final Vertx vertx;
+    private final long tickMs;
+    private final long tickNanos;
+    private final int ticksPerWheel;
+
+    public TimingWheel(Vertx vertx, long tickMs, int ticksPerWheel) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("Timing wheel tick should be positive: " + tickMs);
+        }
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Timing wheel size should be positive: " + ticksPerWheel);
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.tickMs = tickMs;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.ticksPerWheel = ticksPerWheel;
+    }
+
+    /**
+     * Runs given task on the calling event loop context once the delay has passed,
+     * unless returned {@link Registration} is cancelled before.
+     */
+    public Registration schedule(long delayMs, Runnable task) {
+        final Context context = Vertx.currentContext();
+        if (context == null || !context.isEventLoopContext() || !Context.isOnEventLoopThread()
+                || context.owner() != vertx) {
+
+            final long timerId = vertx.setTimer(Math.max(delayMs, 1L), ignored -> task.run());
+            return () -> vertx.cancelTimer(timerId);
+        }
+
+        Wheel wheel = context.get(this);
+        if (wheel == null) {
+            wheel = new Wheel();
+            context.put(this, wheel);
+        }
+
+        return wheel.schedule(delayMs, task);
+    }
+
+    @FunctionalInterface
+    public interface Registration {
+
+        /**
+         * Prevents the task from being run. Can be called from any thread, does nothing if the task already ran.
+         */
+        void cancel();
+    }
+
+    private static class Entry implements Registration {
+
+        private final long deadlineTick;
+        private volatile Runnable task;
+
+        private Entry(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        @Override
+        public void cancel() {
+            task = null;
+        }
+    }
+
+    /**
+     * Not thread safe, accessed only from the thread of the event loop it belongs to.
+     */
+    private class Wheel {
+
+        private final long startNanos = System.nanoTime();
+        private final List<List<Entry>> buckets = new ArrayList<>(ticksPerWheel);
+
+        private long processedTick;
+        private int pending;
+        private long timerId = -1;
+
+        private Wheel() {
+            for (int i = 0; i < ticksPerWheel; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private Registration schedule(long delayMs, Runnable task) {
+            final long deadlineNanos = elapsedNanos() + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMs, 0L));
+            final long deadlineTick = Math.max((deadlineNanos + tickNanos - 1) / tickNanos, processedTick + 1);
+
+            final Entry entry = new Entry(deadlineTick, task);
+            buckets.get(bucketIndex(deadlineTick)).add(entry);
+            pending++;
+
+            if (timerId == -1) {
+                timerId = vertx.setPeriodic(tickMs, ignored -> advance());
+            }
+
+            return entry;
+        }
+
+        private void advance() {
+            final long currentTick = elapsedNanos() / tickNanos;
+            final long firstTick = Math.max(processedTick + 1, currentTick - ticksPerWheel + 1);
+
+            for (long tick = firstTick; tick <= currentTick; tick++) {
+                processedTick = tick;
+                expire(tick);
+            }
+
+            if (pending == 0) {
+                vertx.cancelTimer(timerId);
+                timerId = -1;
+            }
+        }
+
+        private void expire(long tick) {
+            final int index = bucketIndex(tick);
+            final List<Entry> bucket = buckets.get(index);
+            if (bucket.isEmpty()) {
+                return;
+            }
+
+            // tasks may register new deadlines, so the bucket is detached before running them
+            final List<Entry> retained = new ArrayList<>();
+            buckets.set(index, retained);
+
+            final List<Runnable> expired = new ArrayList<>();
+            for (Entry entry : bucket) {
+                final Runnable task = entry.task;
+                if (task == null) {
+                    pending--;
+                } else if (entry.deadlineTick <= tick) {
+                    entry.task = null;
+                    expired.add(task);
+                    pending--;
+                } else {
+                    retained.add(entry);
+                }
+            }
+
+            expired.forEach(TimingWheel::runSafely);
+        }
+
+        private int bucketIndex(long tick) {
+            return (int) (tick % ticksPerWheel);
+        }
+
+        private long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("Timing wheel task failed", e);
+        }
+    }
+}
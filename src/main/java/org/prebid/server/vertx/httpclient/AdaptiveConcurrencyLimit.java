@@ -0,0 +1,68 @@
+package org.prebid.server.vertx.httpclient;
+
+/**
+ * Additive-increase/multiplicative-decrease limit of in-flight requests.
+ * <p>
+ * Every response received while at least half of the limit was in use grows the limit by one, every overload signal
+ * (timeout, throttling status) shrinks it by the backoff ratio. Growth is skipped when the host is not loaded
+ * enough to prove it handles the current limit.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+
+        limit = initialLimit;
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns true if the limit has been decreased.
+     */
+    synchronized boolean release(Outcome outcome) {
+        final boolean loaded = inFlight * 2 >= limit;
+        inFlight--;
+
+        return switch (outcome) {
+            case SUCCESS -> {
+                if (loaded) {
+                    limit = Math.min(maxLimit, limit + 1);
+                }
+                yield false;
+            }
+            case OVERLOAD -> {
+                final double decreased = Math.max(minLimit, limit * backoffRatio);
+                final boolean changed = decreased < limit;
+                limit = decreased;
+                yield changed;
+            }
+            case IGNORED -> false;
+        };
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    enum Outcome {
+
+        SUCCESS, OVERLOAD, IGNORED
+    }
+}
@@ -3,7 +3,6 @@ package org.prebid.server.vertx.httpclient;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClientRequest;
 import io.vertx.core.http.HttpHeaders;
@@ -11,11 +10,13 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.RequestOptions;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.TimingWheel;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -23,11 +24,11 @@ import java.util.concurrent.TimeoutException;
  */
 public class BasicHttpClient implements HttpClient {
 
-    private final Vertx vertx;
+    private final TimingWheel timingWheel;
     private final io.vertx.core.http.HttpClient httpClient;
 
-    public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
-        this.vertx = Objects.requireNonNull(vertx);
+    public BasicHttpClient(TimingWheel timingWheel, io.vertx.core.http.HttpClient httpClient) {
+        this.timingWheel = Objects.requireNonNull(timingWheel);
         this.httpClient = Objects.requireNonNull(httpClient);
     }
 
@@ -35,18 +36,28 @@ public class BasicHttpClient implements HttpClient {
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                               String body, long timeoutMs, long maxResponseSize) {
 
-        return request(method, url, headers, timeoutMs, maxResponseSize, body != null ? body.getBytes() : null);
+        final byte[] bodyBytes = body != null ? body.getBytes() : null;
+        return request(method, url, headers, timeoutMs, maxResponseSize, bodyBytes, null);
     }
 
     @Override
     public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                               byte[] body, long timeoutMs, long maxResponseSize) {
 
-        return request(method, url, headers, timeoutMs, maxResponseSize, body);
+        return request(method, url, headers, timeoutMs, maxResponseSize, body, null);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize,
+                                              Future<Void> cancellation) {
+
+        return request(method, url, headers, timeoutMs, maxResponseSize, body, cancellation);
     }
 
     private Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
-                                               long timeoutMs, long maxResponseSize, byte[] body) {
+                                               long timeoutMs, long maxResponseSize, byte[] body,
+                                               Future<Void> cancellation) {
 
         if (timeoutMs <= 0) {
             return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
@@ -60,9 +71,11 @@ public class BasicHttpClient implements HttpClient {
         }
 
         final Promise<HttpClientResponse> responsePromise = Promise.promise();
-        final long timerId = vertx.setTimer(timeoutMs, ignored ->
-                responsePromise.tryFail(
-                        new TimeoutException("Timeout period of %dms has been exceeded".formatted(timeoutMs))));
+
+        if (cancellation != null) {
+            cancellation.onComplete(ignored ->
+                    responsePromise.tryFail(new CancellationException("Request has been cancelled")));
+        }
 
         final RequestOptions options = new RequestOptions()
                 .setFollowRedirects(true)
@@ -79,8 +92,15 @@ public class BasicHttpClient implements HttpClient {
                 .onSuccess(responsePromise::tryComplete)
                 .onFailure(responsePromise::tryFail);
 
-        return responsePromise.future()
-                .onComplete(ignored -> vertx.cancelTimer(timerId))
+        final Future<HttpClientResponse> responseFuture = responsePromise.future();
+        if (!responseFuture.isComplete()) {
+            final TimingWheel.Registration timeout = timingWheel.schedule(timeoutMs, () ->
+                    responsePromise.tryFail(
+                            new TimeoutException("Timeout period of %dms has been exceeded".formatted(timeoutMs))));
+            responseFuture.onComplete(ignored -> timeout.cancel());
+        }
+
+        return responseFuture
                 .onFailure(ignored -> requestFuture.onSuccess(HttpClientRequest::reset));
     }
 
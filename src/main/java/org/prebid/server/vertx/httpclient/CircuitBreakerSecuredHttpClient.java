@@ -19,6 +19,7 @@ import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 import java.net.URL;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -83,6 +84,20 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                 .execute(() -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize));
     }
 
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method,
+                                              String url,
+                                              MultiMap headers,
+                                              byte[] body,
+                                              long timeoutMs,
+                                              long maxResponseSize,
+                                              Future<Void> cancellation) {
+
+        return circuitBreakerByName.computeIfAbsent(nameFrom(url), circuitBreakerCreator)
+                .execute(() -> httpClient.request(
+                        method, url, headers, body, timeoutMs, maxResponseSize, cancellation));
+    }
+
     private CircuitBreaker createCircuitBreaker(String name,
                                                 Vertx vertx,
                                                 int openingThreshold,
@@ -100,13 +115,21 @@ public class CircuitBreakerSecuredHttpClient implements HttpClient {
                         "http_cb_" + name, Objects.requireNonNull(vertx), options)
                 .openHandler(ignored -> circuitOpened(name))
                 .halfOpenHandler(ignored -> circuitHalfOpened(name))
-                .closeHandler(ignored -> circuitClosed(name));
+                .closeHandler(ignored -> circuitClosed(name))
+                .failurePolicy(CircuitBreakerSecuredHttpClient::isFailure);
 
         createCircuitBreakerGauge(name, circuitBreaker, metrics);
 
         return circuitBreaker;
     }
 
+    /**
+     * Cancelled requests (e.g. losers of hedged requests) say nothing about the host health.
+     */
+    private static boolean isFailure(Future<?> result) {
+        return result.failed() && !(result.cause() instanceof CancellationException);
+    }
+
     private void createCircuitBreakerGauge(String name, CircuitBreaker circuitBreaker, Metrics metrics) {
         metrics.createHttpClientCircuitBreakerGauge(
                 idFrom(name), () -> circuitBreaker.state() != CircuitBreakerState.CLOSED);
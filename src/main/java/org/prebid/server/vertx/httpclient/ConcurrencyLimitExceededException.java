@@ -0,0 +1,11 @@
+package org.prebid.server.vertx.httpclient;
+
+/**
+ * Signals that request was not sent because the number of in-flight requests to the host reached its limit.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,154 @@
+package org.prebid.server.vertx.httpclient;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.httpclient.AdaptiveConcurrencyLimit.Outcome;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wrapper over {@link HttpClient} that caps the number of in-flight requests per host.
+ * <p>
+ * The cap adapts to the host behaviour (see {@link AdaptiveConcurrencyLimit}): it grows while the host keeps up and
+ * shrinks on timeouts and throttling responses. Requests above the cap are failed immediately with
+ * {@link ConcurrencyLimitExceededException} instead of occupying connections until they time out.
+ */
+public class ConcurrencyLimitedHttpClient implements HttpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitedHttpClient.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+    private static final int LOG_PERIOD_SECONDS = 5;
+
+    private final HttpClient httpClient;
+    private final Metrics metrics;
+
+    private final Function<String, AdaptiveConcurrencyLimit> limitCreator;
+    private final Map<String, AdaptiveConcurrencyLimit> limitByName;
+
+    public ConcurrencyLimitedHttpClient(HttpClient httpClient,
+                                        Metrics metrics,
+                                        int initialLimit,
+                                        int minLimit,
+                                        int maxLimit,
+                                        double backoffRatio,
+                                        int idleExpireHours) {
+
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        limitCreator = name -> new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, backoffRatio);
+        limitByName = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpireHours, TimeUnit.HOURS)
+                .<String, AdaptiveConcurrencyLimit>build()
+                .asMap();
+
+        logger.info("Initialized HTTP client with adaptive concurrency limit");
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              String body, long timeoutMs, long maxResponseSize) {
+
+        return limited(url, () -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize) {
+
+        return limited(url, () -> httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize,
+                                              Future<Void> cancellation) {
+
+        return limited(url, () -> httpClient.request(
+                method, url, headers, body, timeoutMs, maxResponseSize, cancellation));
+    }
+
+    private Future<HttpClientResponse> limited(String url, Supplier<Future<HttpClientResponse>> requestSupplier) {
+        final String name = nameFrom(url);
+        final AdaptiveConcurrencyLimit limit = limitByName.computeIfAbsent(name, limitCreator);
+
+        if (!limit.tryAcquire()) {
+            metrics.updateHttpClientConcurrencyLimitMetric(idFrom(name), MetricName.shed);
+            conditionalLogger.warn(
+                    "Http client request to %s is shed, concurrency limit %d reached."
+                            .formatted(name, limit.limit()),
+                    LOG_PERIOD_SECONDS,
+                    TimeUnit.SECONDS);
+
+            return Future.failedFuture(new ConcurrencyLimitExceededException(
+                    "Concurrency limit of %d in-flight requests to %s has been reached"
+                            .formatted(limit.limit(), name)));
+        }
+
+        final Future<HttpClientResponse> result;
+        try {
+            result = requestSupplier.get();
+        } catch (RuntimeException e) {
+            limit.release(Outcome.IGNORED);
+            throw e;
+        }
+
+        return result.onComplete(asyncResult -> {
+            if (limit.release(outcomeOf(asyncResult))) {
+                metrics.updateHttpClientConcurrencyLimitMetric(idFrom(name), MetricName.limit_decreased);
+            }
+        });
+    }
+
+    private static Outcome outcomeOf(AsyncResult<HttpClientResponse> result) {
+        if (result.succeeded()) {
+            final int statusCode = result.result().getStatusCode();
+            return statusCode == HttpResponseStatus.TOO_MANY_REQUESTS.code()
+                    || statusCode == HttpResponseStatus.SERVICE_UNAVAILABLE.code()
+                    ? Outcome.OVERLOAD
+                    : Outcome.SUCCESS;
+        }
+
+        final Throwable cause = result.cause();
+        return cause instanceof TimeoutException || cause instanceof ConnectTimeoutException
+                ? Outcome.OVERLOAD
+                : Outcome.IGNORED;
+    }
+
+    private static String nameFrom(String urlAsString) {
+        final URL url = parseUrl(urlAsString);
+        return url.getProtocol() + "://" + url.getHost() + (url.getPort() != -1 ? ":" + url.getPort() : "");
+    }
+
+    private static String idFrom(String urlAsString) {
+        return urlAsString
+                .replaceAll("[^\\w]+", "_");
+    }
+
+    private static URL parseUrl(String url) {
+        try {
+            return HttpUtil.parseUrl(url);
+        } catch (IllegalArgumentException e) {
+            throw new PreBidException("Invalid url: " + url, e);
+        }
+    }
+}
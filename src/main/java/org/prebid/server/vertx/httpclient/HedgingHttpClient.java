@@ -0,0 +1,186 @@
+package org.prebid.server.vertx.httpclient;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingWindowReservoir;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.model.HedgingPolicy;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wrapper over {@link HttpClient} that reduces tail latency by hedging slow requests.
+ * <p>
+ * If no response has been received within the configured percentile of recently observed latencies, the same
+ * request is sent once more (the connection pool is free to pick another connection or host behind the balancer).
+ * The first successful response wins and the other request is cancelled. Hedging stays inactive until
+ * enough latencies have been observed to estimate the percentile.
+ * <p>
+ * Only idempotent reads ({@code GET} and {@code HEAD}) are hedged and observed, other requests such as cache writes
+ * are passed to the wrapped client as is, since sending them twice would duplicate the write.
+ */
+public class HedgingHttpClient implements HttpClient {
+
+    private static final long HEDGING_DISABLED = Long.MAX_VALUE;
+    private static final Set<HttpMethod> HEDGED_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+
+    private final Vertx vertx;
+    private final HttpClient httpClient;
+    private final Metrics metrics;
+    private final String name;
+    private final Clock clock;
+    private final double quantile;
+    private final long minDelayMs;
+    private final int recalculationInterval;
+
+    private final Histogram latencies;
+    private final AtomicLong observedLatencies = new AtomicLong();
+    private volatile long hedgeDelayMs = HEDGING_DISABLED;
+
+    public HedgingHttpClient(Vertx vertx,
+                             HttpClient httpClient,
+                             Metrics metrics,
+                             String name,
+                             HedgingPolicy policy,
+                             Clock clock) {
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.name = Objects.requireNonNull(name);
+        this.clock = Objects.requireNonNull(clock);
+
+        quantile = policy.getPercentile() / 100;
+        minDelayMs = policy.getMinDelayMs();
+        recalculationInterval = policy.getWindowSize();
+        latencies = new Histogram(new SlidingWindowReservoir(policy.getWindowSize()));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              String body, long timeoutMs, long maxResponseSize) {
+
+        final byte[] bodyBytes = body != null ? body.getBytes() : null;
+        return request(method, url, headers, bodyBytes, timeoutMs, maxResponseSize, null);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize) {
+
+        return request(method, url, headers, body, timeoutMs, maxResponseSize, null);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize,
+                                              Future<Void> cancellation) {
+
+        if (!HEDGED_METHODS.contains(method)) {
+            return httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize, cancellation);
+        }
+
+        metrics.updateHttpClientHedgingMetric(name, MetricName.requests);
+
+        final long startTime = clock.millis();
+        final long delayMs = hedgeDelayMs;
+        if (timeoutMs <= delayMs) {
+            return httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize, cancellation)
+                    .onSuccess(ignored -> recordLatency(startTime));
+        }
+
+        final HedgedRequest hedgedRequest = new HedgedRequest(startTime, cancellation);
+
+        httpClient.request(method, url, headers, body, timeoutMs, maxResponseSize,
+                        hedgedRequest.primaryCancellation.future())
+                .onComplete(result -> hedgedRequest.handleAttempt(result, false));
+
+        final long timerId = vertx.setTimer(delayMs, ignored -> {
+            final long hedgeStartTime = clock.millis();
+            final long remainingTimeoutMs = timeoutMs - (hedgeStartTime - startTime);
+            if (remainingTimeoutMs <= 0 || !hedgedRequest.startHedge()) {
+                return;
+            }
+
+            metrics.updateHttpClientHedgingMetric(name, MetricName.hedged);
+            httpClient.request(method, url, headers, body, remainingTimeoutMs, maxResponseSize,
+                            hedgedRequest.hedgeCancellation.future())
+                    .onComplete(result -> hedgedRequest.handleAttempt(result, true));
+        });
+
+        return hedgedRequest.result.future()
+                .onComplete(ignored -> vertx.cancelTimer(timerId));
+    }
+
+    private void recordLatency(long startTime) {
+        latencies.update(clock.millis() - startTime);
+
+        if (observedLatencies.incrementAndGet() % recalculationInterval == 0) {
+            final long percentileMs = (long) latencies.getSnapshot().getValue(quantile);
+            hedgeDelayMs = Math.max(minDelayMs, percentileMs);
+        }
+    }
+
+    private class HedgedRequest {
+
+        private final long startTime;
+        private final Promise<HttpClientResponse> result = Promise.promise();
+        private final Promise<Void> primaryCancellation = Promise.promise();
+        private final Promise<Void> hedgeCancellation = Promise.promise();
+        private final AtomicInteger pendingAttempts = new AtomicInteger(1);
+        private final AtomicBoolean won = new AtomicBoolean();
+
+        HedgedRequest(long startTime, Future<Void> cancellation) {
+            this.startTime = startTime;
+            if (cancellation != null) {
+                cancellation.onComplete(ignored -> cancelAttempts());
+            }
+        }
+
+        boolean startHedge() {
+            if (result.future().isComplete()) {
+                return false;
+            }
+
+            pendingAttempts.incrementAndGet();
+            return true;
+        }
+
+        /**
+         * Records latency of the request as a whole, that is from the start of the primary attempt whichever attempt
+         * wins, so that a slow primary overtaken by the hedge still counts as slow. The losing attempt is cancelled
+         * before the result is completed.
+         */
+        void handleAttempt(AsyncResult<HttpClientResponse> attemptResult, boolean hedge) {
+            if (attemptResult.succeeded()) {
+                if (won.compareAndSet(false, true)) {
+                    recordLatency(startTime);
+                    if (hedge) {
+                        metrics.updateHttpClientHedgingMetric(name, MetricName.hedge_wins);
+                    }
+                    cancelAttempts();
+                    result.tryComplete(attemptResult.result());
+                }
+            } else if (pendingAttempts.decrementAndGet() == 0) {
+                result.tryFail(attemptResult.cause());
+            }
+        }
+
+        private void cancelAttempts() {
+            primaryCancellation.tryComplete();
+            hedgeCancellation.tryComplete();
+        }
+    }
+}
@@ -16,6 +16,18 @@ public interface HttpClient {
     Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
                                        byte[] body, long timeoutMs, long maxResponseSize);
 
+    /**
+     * Same as {@link #request(HttpMethod, String, MultiMap, byte[], long, long)}, but the request is abandoned
+     * and the result is failed with {@link java.util.concurrent.CancellationException} once {@code cancellation}
+     * is completed. Implementations not supporting cancellation ignore it.
+     */
+    default Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                               byte[] body, long timeoutMs, long maxResponseSize,
+                                               Future<Void> cancellation) {
+
+        return request(method, url, headers, body, timeoutMs, maxResponseSize);
+    }
+
     default Future<HttpClientResponse> request(HttpMethod method, String url,
                                                MultiMap headers, String body, long timeoutMs) {
         return request(method, url, headers, body, timeoutMs, Long.MAX_VALUE);
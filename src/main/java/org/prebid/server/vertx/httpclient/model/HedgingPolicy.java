@@ -0,0 +1,25 @@
+package org.prebid.server.vertx.httpclient.model;
+
+import lombok.Value;
+
+/**
+ * Defines when a hedged (duplicate) request is sent by {@link org.prebid.server.vertx.httpclient.HedgingHttpClient}.
+ */
+@Value(staticConstructor = "of")
+public class HedgingPolicy {
+
+    /**
+     * Percentile (0-100) of the observed response latency after which the hedged request is sent.
+     */
+    double percentile;
+
+    /**
+     * Lower bound for the hedge delay, protects backends from duplicate load when they respond fast.
+     */
+    long minDelayMs;
+
+    /**
+     * Number of the latest responses the percentile is calculated over.
+     */
+    int windowSize;
+}
@@ -0,0 +1,513 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsPipelineTest {
+
+    private static final EventEncoder<String> ENCODER =
+            (event, out) -> out.write(event.getBytes(StandardCharsets.UTF_8));
+
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private DiskSpool spool;
+
+    private final List<byte[]> sentPayloads = new ArrayList<>();
+
+    private Future<?> sendResult = Future.succeededFuture();
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-09-03T10:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    public void setUp() {
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
+            } catch (Throwable e) {
+                return Future.failedFuture(e);
+            }
+        });
+
+        spool = new DiskSpool(spoolDirectory, 1024, 4096);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    public void startShouldSchedulePeriodicFlush() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.start();
+
+        // then
+        verify(vertx).setPeriodic(eq(5000L), any());
+    }
+
+    @Test
+    public void flushShouldSendBufferedEventsAsJsonArray() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+        pipeline.offer("{\"a\":1}");
+        pipeline.offer("{\"b\":2}");
+
+        // when
+        pipeline.flush();
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString)
+                .containsExactly("[{\"a\":1},{\"b\":2}]");
+        verify(metrics).updateAnalyticsPipelineLagMetric(eq("reporter"), anyLong());
+    }
+
+    @Test
+    public void flushShouldSendGzippedNewLineDelimitedEvents() throws IOException {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, true, BatchFormat.NEWLINE_DELIMITED), ENCODER);
+        pipeline.offer("first");
+        pipeline.offer("second");
+
+        // when
+        pipeline.flush();
+
+        // then
+        assertThat(sentPayloads).hasSize(1);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(sentPayloads.getFirst()))) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("first\nsecond");
+        }
+    }
+
+    @Test
+    public void flushShouldDoNothingWhenBufferIsEmpty() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.flush();
+
+        // then
+        assertThat(sentPayloads).isEmpty();
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void flushShouldSplitBatchesExceedingMaxBytes() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 11, false, BatchFormat.JSON_ARRAY), ENCODER);
+        pipeline.offer("12345");
+        pipeline.offer("67890");
+        pipeline.offer("abcde");
+
+        // when
+        pipeline.flush();
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString)
+                .containsExactly("[12345]", "[67890]", "[abcde]");
+    }
+
+    @Test
+    public void offerShouldFlushWhenMaxEventsReached() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(2, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.offer("1");
+        pipeline.offer("2");
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1,2]");
+    }
+
+    @Test
+    public void offerShouldFlushWhenMaxBytesReachedByPreviouslyEncodedEventsSize() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 9, false, BatchFormat.NEWLINE_DELIMITED), ENCODER);
+        pipeline.offer("1234");
+        pipeline.flush();
+
+        // when
+        pipeline.offer("5678");
+        pipeline.offer("abcd");
+        final int sentBeforeMaxBytesReached = sentPayloads.size();
+        pipeline.offer("efgh");
+
+        // then
+        assertThat(sentBeforeMaxBytesReached).isEqualTo(1);
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString)
+                .containsExactly("1234", "5678\nabcd", "efgh");
+    }
+
+    @Test
+    public void offerShouldNotEncodeEventOnCallingThread() {
+        // given
+        final AtomicInteger encodedEvents = new AtomicInteger();
+        final EventEncoder<String> encoder = (event, out) -> {
+            encodedEvents.incrementAndGet();
+            ENCODER.encode(event, out);
+        };
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(1, 1000, false, BatchFormat.JSON_ARRAY), encoder);
+        final Promise<Object> worker = Promise.promise();
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean()))
+                .willAnswer(invocation -> worker.future());
+
+        // when
+        pipeline.offer("1");
+
+        // then
+        verify(vertx).executeBlocking(Mockito.<Callable<?>>any(), anyBoolean());
+        assertThat(encodedEvents).hasValue(0);
+        assertThat(sentPayloads).isEmpty();
+    }
+
+    @Test
+    public void offerShouldDropNewestEventWhenBufferIsFull() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(2, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.offer("1");
+        pipeline.offer("2");
+        pipeline.offer("3");
+        pipeline.flush();
+
+        // then
+        verify(metrics).updateAnalyticsPipelineDroppedMetric("reporter", 1);
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1,2]");
+    }
+
+    @Test
+    public void offerShouldDropOldestEventWhenBufferIsFull() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(2, OverflowPolicy.DROP_OLDEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.offer("1");
+        pipeline.offer("2");
+        pipeline.offer("3");
+        pipeline.flush();
+
+        // then
+        verify(metrics).updateAnalyticsPipelineDroppedMetric("reporter", 1);
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[2,3]");
+    }
+
+    @Test
+    public void offerShouldDropEventsAboveHighWatermarkWhenSamplingWithZeroRate() {
+        // given
+        final AnalyticsPipelineConfig config = AnalyticsPipelineConfig.builder()
+                .capacity(4)
+                .overflowPolicy(OverflowPolicy.SAMPLE)
+                .sampleRate(0.0)
+                .highWatermark(0.5)
+                .build();
+        final AnalyticsPipeline<String> pipeline = givenPipeline(config,
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), ENCODER);
+
+        // when
+        pipeline.offer("1");
+        pipeline.offer("2");
+        pipeline.offer("3");
+        pipeline.flush();
+
+        // then
+        verify(metrics).updateAnalyticsPipelineDroppedMetric("reporter", 1);
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1,2]");
+    }
+
+    @Test
+    public void flushShouldDropEventsThatFailedToEncode() {
+        // given
+        final EventEncoder<String> encoder = (event, out) -> {
+            if (event.equals("bad")) {
+                throw new IOException("bad event");
+            }
+            ENCODER.encode(event, out);
+        };
+        final AnalyticsPipeline<String> pipeline = givenPipeline(givenConfig(16, OverflowPolicy.DROP_NEWEST),
+                givenBatchOptions(10, 1000, false, BatchFormat.JSON_ARRAY), encoder);
+        pipeline.offer("1");
+        pipeline.offer("bad");
+        pipeline.offer("2");
+
+        // when
+        pipeline.flush();
+
+        // then
+        verify(metrics).updateAnalyticsPipelineDroppedMetric("reporter", 1);
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1,2]");
+    }
+
+    @Test
+    public void offerShouldSpoolBatchWhenCollectorRejectedIt() {
+        // given
+        sendResult = Future.failedFuture("collector is down");
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4);
+
+        // when
+        pipeline.offer("1");
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1]");
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[1]");
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_written);
+    }
+
+    @Test
+    public void offerShouldSpoolBatchWithoutSendingWhenTooManyBatchesAreInFlight() {
+        // given
+        sendResult = Promise.promise().future();
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(1);
+
+        // when
+        pipeline.offer("1");
+        pipeline.offer("2");
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1]");
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[2]");
+    }
+
+    @Test
+    public void startShouldRegisterSpoolGaugeAndReplaySpooledBatches() {
+        // given
+        spool.append("[1]".getBytes(StandardCharsets.UTF_8));
+        spool.append("[2]".getBytes(StandardCharsets.UTF_8));
+        given(vertx.setPeriodic(eq(1000L), any())).willAnswer(invocation -> {
+            ((Handler<Long>) invocation.getArgument(1)).handle(1L);
+            return 1L;
+        });
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4);
+
+        // when
+        pipeline.start();
+
+        // then
+        verify(metrics).createAnalyticsSpoolSizeGauge(eq("reporter"), any());
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1]");
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[2]");
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_replayed);
+    }
+
+    @Test
+    public void replayShouldKeepBatchInSpoolWhenCollectorRejectedIt() {
+        // given
+        sendResult = Future.failedFuture("collector is down");
+        spool.append("[1]".getBytes(StandardCharsets.UTF_8));
+        given(vertx.setPeriodic(eq(1000L), any())).willAnswer(invocation -> {
+            ((Handler<Long>) invocation.getArgument(1)).handle(1L);
+            return 1L;
+        });
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4);
+
+        // when
+        pipeline.start();
+
+        // then
+        assertThat(sentPayloads).hasSize(1);
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[1]");
+        verify(metrics, never()).updateAnalyticsSpoolMetric("reporter", MetricName.spool_replayed);
+    }
+
+    @Test
+    public void offerShouldDiscardBatchWhenCollectorRejectedItPermanently() {
+        // given
+        sendResult = Future.failedFuture(new BatchRejectedException("malformed batch"));
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4);
+
+        // when
+        pipeline.offer("1");
+
+        // then
+        assertThat(sentPayloads).hasSize(1);
+        assertThat(spool.peek()).isNull();
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_discarded);
+        verify(metrics, never()).updateAnalyticsSpoolMetric("reporter", MetricName.spool_written);
+    }
+
+    @Test
+    public void replayShouldDiscardBatchWhenCollectorRejectedItPermanently() {
+        // given
+        sendResult = Future.failedFuture(new BatchRejectedException("malformed batch"));
+        spool.append("[1]".getBytes(StandardCharsets.UTF_8));
+        spool.append("[2]".getBytes(StandardCharsets.UTF_8));
+        given(vertx.setPeriodic(eq(1000L), any())).willAnswer(invocation -> {
+            ((Handler<Long>) invocation.getArgument(1)).handle(1L);
+            return 1L;
+        });
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4);
+
+        // when
+        pipeline.start();
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1]");
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[2]");
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_discarded);
+    }
+
+    @Test
+    public void replayShouldDiscardBatchAfterMaxReplayAttempts() {
+        // given
+        sendResult = Future.failedFuture("collector is down");
+        spool.append("[1]".getBytes(StandardCharsets.UTF_8));
+        spool.append("[2]".getBytes(StandardCharsets.UTF_8));
+        given(vertx.setPeriodic(eq(1000L), any())).willAnswer(invocation -> {
+            final Handler<Long> handler = invocation.getArgument(1);
+            handler.handle(1L);
+            handler.handle(1L);
+            return 1L;
+        });
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4, 2, 1);
+
+        // when
+        pipeline.start();
+
+        // then
+        assertThat(sentPayloads).extracting(AnalyticsPipelineTest::asString).containsExactly("[1]", "[1]");
+        assertThat(spool.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[2]");
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_discarded);
+    }
+
+    @Test
+    public void closeShouldCancelTimersAndSpoolBufferedEvents() {
+        // given
+        final AnalyticsPipeline<String> pipeline = givenSpooledPipeline(4, 10, 10);
+        pipeline.start();
+        pipeline.offer("1");
+        pipeline.offer("2");
+
+        // when
+        pipeline.close();
+
+        // then
+        verify(vertx, times(2)).cancelTimer(anyLong());
+        assertThat(sentPayloads).isEmpty();
+        verify(metrics).updateAnalyticsSpoolMetric("reporter", MetricName.spool_written);
+        assertThat(spool.append("[3]".getBytes(StandardCharsets.UTF_8))).isFalse();
+
+        final DiskSpool reopened = new DiskSpool(spoolDirectory, 1024, 4096);
+        assertThat(reopened.peek()).asString(StandardCharsets.UTF_8).isEqualTo("[1,2]");
+        reopened.close();
+    }
+
+    private AnalyticsPipeline<String> givenPipeline(AnalyticsPipelineConfig config,
+                                                    BatchOptions batchOptions,
+                                                    EventEncoder<String> encoder) {
+
+        return new AnalyticsPipeline<>(
+                "reporter", config, batchOptions, encoder, this::send, null, vertx, metrics, clock);
+    }
+
+    private AnalyticsPipeline<String> givenSpooledPipeline(int maxInFlightBatches) {
+        return givenSpooledPipeline(maxInFlightBatches, 10, 1);
+    }
+
+    private AnalyticsPipeline<String> givenSpooledPipeline(int maxInFlightBatches,
+                                                           int maxReplayAttempts,
+                                                           int maxBatchEvents) {
+
+        final AnalyticsPipelineConfig config = AnalyticsPipelineConfig.builder()
+                .capacity(16)
+                .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                .spool(SpoolConfig.builder()
+                        .directory(spoolDirectory.toString())
+                        .segmentSizeBytes(1024)
+                        .maxSizeBytes(4096)
+                        .replayIntervalMs(1000L)
+                        .replayBatches(1)
+                        .maxInFlightBatches(maxInFlightBatches)
+                        .maxReplayAttempts(maxReplayAttempts)
+                        .build())
+                .build();
+
+        return new AnalyticsPipeline<>("reporter", config,
+                givenBatchOptions(maxBatchEvents, 1000, false, BatchFormat.JSON_ARRAY),
+                ENCODER, this::send, spool, vertx, metrics, clock);
+    }
+
+    private Future<?> send(byte[] payload) {
+        sentPayloads.add(payload);
+        return sendResult;
+    }
+
+    private static AnalyticsPipelineConfig givenConfig(int capacity, OverflowPolicy overflowPolicy) {
+        return AnalyticsPipelineConfig.builder()
+                .capacity(capacity)
+                .overflowPolicy(overflowPolicy)
+                .build();
+    }
+
+    private static BatchOptions givenBatchOptions(int maxEvents, long maxBytes, boolean gzip, BatchFormat format) {
+        return BatchOptions.builder()
+                .maxEvents(maxEvents)
+                .maxBytes(maxBytes)
+                .flushIntervalMs(5000L)
+                .gzip(gzip)
+                .format(format)
+                .build();
+    }
+
+    private static String asString(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}
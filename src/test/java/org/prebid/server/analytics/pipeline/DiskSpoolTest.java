@@ -0,0 +1,154 @@
+package org.prebid.server.analytics.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class DiskSpoolTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void creationShouldFailOnTooSmallSegmentSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new DiskSpool(directory, 16, 1024));
+    }
+
+    @Test
+    public void peekShouldReturnNullWhenSpoolIsEmpty() {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 1024, 4096);
+
+        // when and then
+        assertThat(spool.peek()).isNull();
+        assertThat(spool.sizeBytes()).isZero();
+    }
+
+    @Test
+    public void peekAndCommitShouldReturnRecordsInAppendOrder() {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 1024, 4096);
+        spool.append(bytes("first"));
+        spool.append(bytes("second"));
+
+        // when and then
+        assertThat(spool.peek()).isEqualTo(bytes("first"));
+        assertThat(spool.peek()).isEqualTo(bytes("first"));
+        spool.commit();
+        assertThat(spool.peek()).isEqualTo(bytes("second"));
+        spool.commit();
+        assertThat(spool.peek()).isNull();
+        assertThat(spool.sizeBytes()).isZero();
+    }
+
+    @Test
+    public void appendShouldRotateSegmentsAndDeleteConsumedOnes() throws IOException {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 64, 1024);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            spool.append(bytes("record-" + i + "-" + "x".repeat(25)));
+        }
+
+        // then
+        assertThat(segmentFiles()).hasSize(5);
+
+        for (int i = 0; i < 4; i++) {
+            spool.commit();
+        }
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(spool.peek()).isEqualTo(bytes("record-4-" + "x".repeat(25)));
+    }
+
+    @Test
+    public void appendShouldRejectRecordsAboveSizeLimits() {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 64, 128);
+
+        // when and then
+        assertThat(spool.append(new byte[100])).isFalse();
+        assertThat(spool.append(new byte[40])).isTrue();
+        assertThat(spool.append(new byte[40])).isTrue();
+        assertThat(spool.append(new byte[40])).isFalse();
+    }
+
+    @Test
+    public void creationShouldRecoverNotCommittedRecords() {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 1024, 4096);
+        spool.append(bytes("first"));
+        spool.append(bytes("second"));
+        spool.commit();
+        spool.close();
+
+        // when
+        final DiskSpool recovered = new DiskSpool(directory, 1024, 4096);
+
+        // then
+        assertThat(recovered.peek()).isEqualTo(bytes("second"));
+        assertThat(recovered.sizeBytes()).isEqualTo(8 + "second".length());
+        recovered.append(bytes("third"));
+        recovered.commit();
+        assertThat(recovered.peek()).isEqualTo(bytes("third"));
+    }
+
+    @Test
+    public void creationShouldDiscardTornRecord() throws IOException {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 1024, 4096);
+        spool.append(bytes("first"));
+        spool.append(bytes("second"));
+        spool.close();
+
+        // corrupt payload of the second record
+        try (FileChannel channel = FileChannel.open(segmentFiles()[0], StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("X")), 8 + 8 + "first".length() + 8);
+        }
+
+        // when
+        final DiskSpool recovered = new DiskSpool(directory, 1024, 4096);
+
+        // then
+        assertThat(recovered.peek()).isEqualTo(bytes("first"));
+        recovered.commit();
+        assertThat(recovered.peek()).isNull();
+    }
+
+    @Test
+    public void closeShouldKeepRecordsAndRejectFurtherAccess() {
+        // given
+        final DiskSpool spool = new DiskSpool(directory, 1024, 4096);
+        spool.append(bytes("first"));
+
+        // when
+        spool.close();
+
+        // then
+        assertThat(spool.append(bytes("second"))).isFalse();
+        assertThat(spool.peek()).isNull();
+        spool.commit();
+        assertThat(new DiskSpool(directory, 1024, 4096).peek()).isEqualTo(bytes("first"));
+    }
+
+    private Path[] segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toArray(Path[]::new);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
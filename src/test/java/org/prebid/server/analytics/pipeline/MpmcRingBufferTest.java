@@ -0,0 +1,99 @@
+package org.prebid.server.analytics.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class MpmcRingBufferTest {
+
+    @Test
+    public void creationShouldFailOnNonPositiveCapacity() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new MpmcRingBuffer<>(0));
+    }
+
+    @Test
+    public void capacityShouldBeRoundedUpToPowerOfTwo() {
+        // when and then
+        assertThat(new MpmcRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpmcRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpmcRingBuffer<>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    public void offerShouldRejectElementWhenBufferIsFull() {
+        // given
+        final MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(2);
+
+        // when and then
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void pollShouldReturnElementsInInsertionOrderAndNullWhenEmpty() {
+        // given
+        final MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+            if (i % 2 == 1) {
+                buffer.poll();
+            }
+        }
+
+        // when and then
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(4);
+        assertThat(buffer.poll()).isEqualTo(5);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    public void bufferShouldNotLoseOrDuplicateElementsUnderConcurrentAccess() throws InterruptedException {
+        // given
+        final int producers = 4;
+        final int elementsPerProducer = 10_000;
+        final MpmcRingBuffer<Integer> buffer = new MpmcRingBuffer<>(64);
+        final Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+        final CountDownLatch producersDone = new CountDownLatch(producers);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+
+        // when
+        for (int producer = 0; producer < producers; producer++) {
+            final int offset = producer * elementsPerProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                producersDone.countDown();
+            });
+        }
+        for (int consumer = 0; consumer < 2; consumer++) {
+            executor.execute(() -> {
+                while (producersDone.getCount() > 0 || buffer.size() > 0) {
+                    final Integer element = buffer.poll();
+                    if (element != null) {
+                        consumed.add(element);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(consumed).hasSize(producers * elementsPerProducer);
+    }
+}
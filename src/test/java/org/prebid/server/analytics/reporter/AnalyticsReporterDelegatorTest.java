@@ -58,6 +58,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -399,6 +400,61 @@ public class AnalyticsReporterDelegatorTest extends VertxTest {
                 });
     }
 
+    @Test
+    public void shouldMaskAuctionEventOnceForReportersWithSameActivityOutcome() {
+        // given
+        final AnalyticsReporter thirdReporter = mock(AnalyticsReporter.class);
+        given(thirdReporter.vendorId()).willReturn(3);
+        given(thirdReporter.name()).willReturn("anotherAdapter");
+        given(thirdReporter.processEvent(any())).willReturn(Future.succeededFuture());
+        given(tcfEnforcement.enforce(any(), any())).willReturn(Future.succeededFuture(Map.of(
+                FIRST_REPORTER_ID, PrivacyEnforcementAction.allowAll(),
+                SECOND_REPORTER_ID, PrivacyEnforcementAction.allowAll(),
+                3, PrivacyEnforcementAction.allowAll())));
+
+        target = new AnalyticsReporterDelegator(
+                vertx,
+                List.of(firstReporter, secondReporter, thirdReporter),
+                tcfEnforcement,
+                userFpdActivityMask,
+                metrics,
+                0.01,
+                Set.of("logAnalytics", "adapter", "anotherAdapter"),
+                jacksonMapper);
+
+        given(activityInfrastructure.isAllowed(eq(Activity.REPORT_ANALYTICS), any())).willReturn(true);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_UFPD), any())).willReturn(false);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_EIDS), any())).willReturn(true);
+        given(activityInfrastructure.isAllowed(eq(Activity.TRANSMIT_GEO), any())).willReturn(true);
+
+        given(userFpdActivityMask.maskUser(any(), eq(true), eq(false)))
+                .willReturn(User.builder().id("masked").build());
+        given(userFpdActivityMask.maskDevice(any(), eq(true), eq(false)))
+                .willReturn(Device.builder().model("masked").build());
+
+        final AuctionEvent auctionEvent = AuctionEvent.builder()
+                .auctionContext(AuctionContext.builder()
+                        .bidRequest(BidRequest.builder()
+                                .user(User.builder().id("original").build())
+                                .device(Device.builder().model("original").build())
+                                .build())
+                        .activityInfrastructure(activityInfrastructure)
+                        .build())
+                .build();
+
+        // when
+        target.processEvent(auctionEvent, TcfContext.empty());
+
+        // then
+        verify(userFpdActivityMask).maskUser(any(), eq(true), eq(false));
+        verify(userFpdActivityMask).maskDevice(any(), eq(true), eq(false));
+
+        final AuctionEvent secondReporterEvent = captureAuctionEvent(secondReporter);
+        assertThat(captureAuctionEvent(thirdReporter)).isSameAs(secondReporterEvent);
+        assertThat(secondReporterEvent.getAuctionContext().getBidRequest().getUser().getId()).isEqualTo("masked");
+        assertThat(captureAuctionEvent(firstReporter)).isSameAs(auctionEvent);
+    }
+
     @Test
     public void shouldNotCallAnalyticsAdapterIfDisabledByAccount() {
         // given
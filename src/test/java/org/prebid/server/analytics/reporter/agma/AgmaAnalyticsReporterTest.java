@@ -16,16 +16,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineConfig;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.OverflowPolicy;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.model.PrivacyContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
@@ -33,7 +38,7 @@ import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Clock;
@@ -41,13 +46,15 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
 
 import static io.vertx.core.http.HttpMethod.POST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -76,9 +83,17 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
     @Mock
     private PrebidVersionProvider versionProvider;
 
+    @Mock
+    private Metrics metrics;
+
     @Captor
     private ArgumentCaptor<MultiMap> headersCaptor;
 
+    @Captor
+    private ArgumentCaptor<byte[]> payloadCaptor;
+
+    private AnalyticsPipelineFactory pipelineFactory;
+
     private Clock clock;
 
     private AgmaAnalyticsReporter target;
@@ -100,13 +115,27 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
         clock = Clock.fixed(Instant.parse("2024-09-03T10:00:00Z"), ZoneId.of("UTC+05:00"));
 
         given(versionProvider.getNameVersionRecord()).willReturn("pbs_version");
-        given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        given(httpClient.request(eq(POST), anyString(), any(), anyString(), anyLong())).willReturn(
-                Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
+            } catch (Throwable e) {
+                return Future.failedFuture(e);
+            }
+        });
         given(httpClient.request(eq(POST), anyString(), any(), any(byte[].class), anyLong())).willReturn(
                 Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        pipelineFactory = new AnalyticsPipelineFactory(
+                AnalyticsPipelineConfig.builder()
+                        .capacity(16)
+                        .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build(),
+                vertx,
+                metrics,
+                clock);
+
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
     }
 
     @Test
@@ -168,7 +197,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -224,7 +253,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -280,7 +309,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -347,7 +376,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(result.succeeded()).isTrue();
@@ -402,7 +431,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("unknown_publisherId", "anotherCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
 
         // given
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
@@ -436,7 +466,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId_bundleId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
 
         // given
         final App givenApp = App.builder().bundle("bundleId")
@@ -479,10 +510,43 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
+    @Test
+    public void processEventShouldSendEventsWhenBufferSizeIsExceeded() {
+        // given
+        final AgmaAnalyticsProperties properties = AgmaAnalyticsProperties.builder()
+                .url("http://endpoint.com")
+                .gzip(false)
+                .bufferSize(1)
+                .bufferTimeoutMs(10000L)
+                .maxEventsCount(100)
+                .httpTimeoutMs(1000L)
+                .accounts(Map.of("publisherId", "accountCode"))
+                .build();
+
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
+
+        final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
+        final AuctionEvent auctionEvent = AuctionEvent.builder()
+                .auctionContext(AuctionContext.builder()
+                        .privacyContext(PrivacyContext.of(
+                                null, TcfContext.builder().consent(PARSED_VALID_CONSENT).build()))
+                        .timeoutContext(TimeoutContext.of(clock.millis(), null, 1))
+                        .bidRequest(BidRequest.builder().id("requestId").site(givenSite).build())
+                        .build())
+                .build();
+
+        // when
+        target.processEvent(auctionEvent);
+
+        // then
+        verify(httpClient).request(eq(POST), eq("http://endpoint.com"), any(), any(byte[].class), eq(1000L));
+    }
+
     @Test
     public void processEventShouldSendWhenAccountsHasConfiguredAppsOrSitesOnly() {
         // given
@@ -496,7 +560,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("_mySite", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
 
         // given
         final Site givenSite = Site.builder().id("mySite").build();
@@ -537,7 +602,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
@@ -554,7 +619,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(
+                properties, versionProvider, jacksonMapper, clock, httpClient, pipelineFactory);
 
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
 
@@ -584,9 +650,11 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                aryEq(gzip(expectedEventPayload)),
+                payloadCaptor.capture(),
                 eq(1000L));
 
+        assertThat(gunzip(payloadCaptor.getValue())).isEqualTo(expectedEventPayload);
+
         assertThat(headersCaptor.getValue())
                 .extracting(Map.Entry::getKey, Map.Entry::getValue)
                 .containsOnly(
@@ -597,16 +665,11 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
         assertThat(result.succeeded()).isTrue();
     }
 
-    private static byte[] gzip(String value) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
+    private static String gunzip(byte[] payload) {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
         } catch (IOException e) {
-            return new byte[]{};
+            return null;
         }
     }
 }
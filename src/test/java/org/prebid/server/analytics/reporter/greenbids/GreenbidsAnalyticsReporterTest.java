@@ -16,16 +16,25 @@ import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.SeatBid;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineConfig;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.OverflowPolicy;
+import org.prebid.server.analytics.pipeline.SpoolConfig;
 import org.prebid.server.analytics.reporter.greenbids.model.CommonMessage;
 import org.prebid.server.analytics.reporter.greenbids.model.ExplorationResult;
 import org.prebid.server.analytics.reporter.greenbids.model.ExtBanner;
@@ -52,8 +61,9 @@ import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ResultImpl;
 import org.prebid.server.hooks.execution.v1.analytics.TagsImpl;
 import org.prebid.server.hooks.v1.analytics.AppliedTo;
-import org.prebid.server.json.EncodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
@@ -65,7 +75,9 @@ import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.util.Arrays;
 import java.util.Collections;
@@ -73,6 +85,7 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
@@ -80,12 +93,18 @@ import static java.util.Collections.singletonMap;
 import static java.util.function.UnaryOperator.identity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -106,6 +125,20 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
     @Mock
     private PrebidVersionProvider prebidVersionProvider;
 
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    @Captor
+    private ArgumentCaptor<Handler<Long>> replayHandlerCaptor;
+
+    private AnalyticsPipelineFactory pipelineFactory;
+
     private GreenbidsAnalyticsReporter target;
 
     private GreenbidsAnalyticsProperties greenbidsAnalyticsProperties;
@@ -125,12 +158,29 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
                 .timeoutMs(100000L)
                 .build();
 
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
+            } catch (Throwable e) {
+                return Future.failedFuture(e);
+            }
+        });
+        pipelineFactory = new AnalyticsPipelineFactory(
+                AnalyticsPipelineConfig.builder()
+                        .capacity(16)
+                        .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build(),
+                vertx,
+                metrics,
+                Clock.systemUTC());
+
         target = new GreenbidsAnalyticsReporter(
                 greenbidsAnalyticsProperties,
                 jacksonMapper,
                 httpClient,
                 clock,
-                prebidVersionProvider);
+                prebidVersionProvider,
+                pipelineFactory);
     }
 
     @Test
@@ -489,7 +539,7 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
     }
 
     @Test
-    public void shouldFailOnEncodeException() {
+    public void shouldDropEventWhenEncodingFails() throws IOException {
         // given
         final ObjectNode impExtNode = mapper.createObjectNode();
         impExtNode.set("gpid", TextNode.valueOf("gpidvalue"));
@@ -507,28 +557,60 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
                 .build();
 
         final JacksonMapper mockJacksonMapper = mock(JacksonMapper.class);
-        final ObjectMapper realObjectMapper = new ObjectMapper();
-        when(mockJacksonMapper.mapper()).thenReturn(realObjectMapper);
-        doThrow(new EncodeException("Failed to encode as JSON")).when(mockJacksonMapper).encodeToString(any());
+        final ObjectMapper failingObjectMapper = spy(new ObjectMapper());
+        when(mockJacksonMapper.mapper()).thenReturn(failingObjectMapper);
+        doThrow(new IOException("Failed to encode as JSON"))
+                .when(failingObjectMapper).writeValue(any(OutputStream.class), any(CommonMessage.class));
 
         target = new GreenbidsAnalyticsReporter(
                 greenbidsAnalyticsProperties,
                 mockJacksonMapper,
                 httpClient,
                 clock,
-                prebidVersionProvider);
+                prebidVersionProvider,
+                pipelineFactory);
 
         // when
         final Future<Void> result = target.processEvent(event);
 
         // then
-        assertThat(result.failed()).isTrue();
-        assertThat(result.cause())
-                .hasMessageStartingWith("Failed to encode as JSON");
+        assertThat(result.succeeded()).isTrue();
+        verify(metrics).updateAnalyticsPipelineDroppedMetric("greenbids", 1);
+        verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void shouldFailOnUnexpectedResponseStatus() {
+    public void shouldEncodeAndSendEventOnWorkerThread() {
+        // given
+        final ObjectNode impExtNode = mapper.createObjectNode();
+        impExtNode.set("gpid", TextNode.valueOf("gpidvalue"));
+        impExtNode.set("prebid", givenPrebidBidderParamsNode());
+
+        final Imp imp = Imp.builder()
+                .id("adunitcodevalue")
+                .ext(impExtNode)
+                .banner(givenBanner())
+                .build();
+        final AuctionContext auctionContext = givenAuctionContext(identity(), List.of(imp), true);
+        final AuctionEvent event = AuctionEvent.builder()
+                .auctionContext(auctionContext)
+                .bidResponse(auctionContext.getBidResponse())
+                .build();
+
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean()))
+                .willAnswer(invocation -> Promise.promise().future());
+
+        // when
+        final Future<Void> result = target.processEvent(event);
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        verify(vertx).executeBlocking(Mockito.<Callable<?>>any(), anyBoolean());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void shouldNotFailEventOnUnexpectedResponseStatus() {
         // given
         final ObjectNode impExtNode = mapper.createObjectNode();
         impExtNode.set("gpid", TextNode.valueOf("gpidvalue"));
@@ -554,9 +636,96 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
         final Future<Void> result = target.processEvent(event);
 
         // then
-        assertThat(result.failed()).isTrue();
-        assertThat(result.cause())
-                .hasMessageStartingWith("Unexpected response status: 500");
+        assertThat(result.succeeded()).isTrue();
+        verify(httpClient).post(anyString(), any(MultiMap.class), anyString(), anyLong());
+    }
+
+    @Test
+    public void shouldReplayEventWithUserAgentAfterCollectorOutage() {
+        // given
+        target = new GreenbidsAnalyticsReporter(
+                greenbidsAnalyticsProperties,
+                jacksonMapper,
+                httpClient,
+                clock,
+                prebidVersionProvider,
+                givenSpooledPipelineFactory());
+        target.initialize();
+
+        final ObjectNode impExtNode = mapper.createObjectNode();
+        impExtNode.set("gpid", TextNode.valueOf("gpidvalue"));
+        impExtNode.set("prebid", givenPrebidBidderParamsNode());
+
+        final Imp imp = Imp.builder()
+                .banner(givenBanner())
+                .ext(impExtNode)
+                .build();
+        final AuctionContext auctionContext = givenAuctionContext(identity(), List.of(imp), true);
+        final AuctionEvent event = AuctionEvent.builder()
+                .auctionContext(auctionContext)
+                .bidResponse(auctionContext.getBidResponse())
+                .build();
+
+        given(httpClient.post(anyString(), any(MultiMap.class), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(503, null, null)))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        target.processEvent(event);
+        verify(vertx).setPeriodic(eq(500L), replayHandlerCaptor.capture());
+        replayHandlerCaptor.getValue().handle(1L);
+
+        // then
+        verify(httpClient, times(2)).post(
+                eq(greenbidsAnalyticsProperties.getAnalyticsServerUrl()),
+                headersCaptor.capture(),
+                jsonCaptor.capture(),
+                eq(greenbidsAnalyticsProperties.getTimeoutMs()));
+
+        assertThat(jsonCaptor.getAllValues().get(1)).isEqualTo(jsonCaptor.getAllValues().get(0));
+        assertThat(headersCaptor.getAllValues().get(1).get(HttpUtil.USER_AGENT_HEADER))
+                .isEqualTo(givenUserAgent());
+        verify(metrics).updateAnalyticsSpoolMetric("greenbids", MetricName.spool_written);
+        verify(metrics).updateAnalyticsSpoolMetric("greenbids", MetricName.spool_replayed);
+    }
+
+    @Test
+    public void shouldNotReplayEventRejectedByCollector() {
+        // given
+        target = new GreenbidsAnalyticsReporter(
+                greenbidsAnalyticsProperties,
+                jacksonMapper,
+                httpClient,
+                clock,
+                prebidVersionProvider,
+                givenSpooledPipelineFactory());
+        target.initialize();
+
+        final ObjectNode impExtNode = mapper.createObjectNode();
+        impExtNode.set("gpid", TextNode.valueOf("gpidvalue"));
+        impExtNode.set("prebid", givenPrebidBidderParamsNode());
+
+        final Imp imp = Imp.builder()
+                .banner(givenBanner())
+                .ext(impExtNode)
+                .build();
+        final AuctionContext auctionContext = givenAuctionContext(identity(), List.of(imp), true);
+        final AuctionEvent event = AuctionEvent.builder()
+                .auctionContext(auctionContext)
+                .bidResponse(auctionContext.getBidResponse())
+                .build();
+
+        given(httpClient.post(anyString(), any(MultiMap.class), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(400, null, null)));
+
+        // when
+        target.processEvent(event);
+        verify(vertx).setPeriodic(eq(500L), replayHandlerCaptor.capture());
+        replayHandlerCaptor.getValue().handle(1L);
+
+        // then
+        verify(httpClient).post(anyString(), any(MultiMap.class), anyString(), anyLong());
+        verify(metrics).updateAnalyticsSpoolMetric("greenbids", MetricName.spool_discarded);
     }
 
     @Test
@@ -721,6 +890,26 @@ public class GreenbidsAnalyticsReporterTest extends VertxTest {
                 .build();
     }
 
+    private AnalyticsPipelineFactory givenSpooledPipelineFactory() {
+        return new AnalyticsPipelineFactory(
+                AnalyticsPipelineConfig.builder()
+                        .capacity(16)
+                        .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .spool(SpoolConfig.builder()
+                                .directory(spoolDirectory.toString())
+                                .segmentSizeBytes(65536)
+                                .maxSizeBytes(1048576)
+                                .replayIntervalMs(500L)
+                                .replayBatches(1)
+                                .maxInFlightBatches(4)
+                                .maxReplayAttempts(10)
+                                .build())
+                        .build(),
+                vertx,
+                metrics,
+                Clock.systemUTC());
+    }
+
     private static String givenUserAgent() {
         return "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_6_8)"
                 + "AppleWebKit/537.13 (KHTML, like Gecko) Version/5.1.7 Safari/534.57.2";
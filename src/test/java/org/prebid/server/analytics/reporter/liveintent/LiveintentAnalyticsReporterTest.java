@@ -8,16 +8,24 @@ import com.iab.openrtb.response.Bid;
 import com.iab.openrtb.response.BidResponse;
 import com.iab.openrtb.response.SeatBid;
 import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineConfig;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.OverflowPolicy;
+import org.prebid.server.analytics.pipeline.SpoolConfig;
 import org.prebid.server.analytics.reporter.liveintent.model.LiveIntentAnalyticsProperties;
 import org.prebid.server.analytics.reporter.liveintent.model.PbsjBid;
 import org.prebid.server.auction.model.AuctionContext;
@@ -34,31 +42,55 @@ import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ResultImpl;
 import org.prebid.server.hooks.execution.v1.analytics.TagsImpl;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.util.ListUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class LiveintentAnalyticsReporterTest extends VertxTest {
 
+    private static final long REPLAY_INTERVAL_MS = 500L;
+
     @Mock
     private HttpClient httpClient;
 
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    @TempDir
+    private Path spoolDirectory;
+
     @Captor
     private ArgumentCaptor<String> jsonCaptor;
 
+    @Captor
+    private ArgumentCaptor<Handler<Long>> replayHandlerCaptor;
+
     private LiveIntentAnalyticsReporter target;
 
     private LiveIntentAnalyticsProperties properties;
@@ -74,13 +106,40 @@ public class LiveintentAnalyticsReporterTest extends VertxTest {
                 .timeoutMs(1000L)
                 .build();
 
-        target = new LiveIntentAnalyticsReporter(properties, httpClient, jacksonMapper);
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
+            } catch (Throwable e) {
+                return Future.failedFuture(e);
+            }
+        });
+        final AnalyticsPipelineFactory pipelineFactory = new AnalyticsPipelineFactory(
+                AnalyticsPipelineConfig.builder()
+                        .capacity(16)
+                        .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .spool(SpoolConfig.builder()
+                                .directory(spoolDirectory.toString())
+                                .segmentSizeBytes(1024)
+                                .maxSizeBytes(4096)
+                                .replayIntervalMs(REPLAY_INTERVAL_MS)
+                                .replayBatches(1)
+                                .maxInFlightBatches(4)
+                                .maxReplayAttempts(10)
+                                .build())
+                        .build(),
+                vertx,
+                metrics,
+                Clock.systemUTC());
+
+        target = new LiveIntentAnalyticsReporter(properties, httpClient, jacksonMapper, pipelineFactory);
+        target.initialize();
     }
 
     @Test
     public void shouldProcessNotificationEvent() {
         // given
         final HttpClientResponse mockResponse = mock(HttpClientResponse.class);
+        when(mockResponse.getStatusCode()).thenReturn(200);
         when(httpClient.get(anyString(), anyLong())).thenReturn(Future.succeededFuture(mockResponse));
 
         // when
@@ -97,6 +156,7 @@ public class LiveintentAnalyticsReporterTest extends VertxTest {
     public void shouldSendAllBidsToLiveIntent() {
         // given
         final HttpClientResponse mockResponse = mock(HttpClientResponse.class);
+        when(mockResponse.getStatusCode()).thenReturn(200);
         when(httpClient.post(anyString(), anyString(), anyLong())).thenReturn(Future.succeededFuture(mockResponse));
 
         // when
@@ -119,6 +179,7 @@ public class LiveintentAnalyticsReporterTest extends VertxTest {
     public void shouldSendAllBidsToLiveIntentNotEnriched() {
         // given
         final HttpClientResponse mockResponse = mock(HttpClientResponse.class);
+        when(mockResponse.getStatusCode()).thenReturn(200);
         when(httpClient.post(anyString(), anyString(), anyLong())).thenReturn(Future.succeededFuture(mockResponse));
 
         // when
@@ -141,6 +202,7 @@ public class LiveintentAnalyticsReporterTest extends VertxTest {
     public void shouldSendAllBidsToLiveIntentNoTreatmentRate() {
         // given
         final HttpClientResponse mockResponse = mock(HttpClientResponse.class);
+        when(mockResponse.getStatusCode()).thenReturn(200);
         when(httpClient.post(anyString(), anyString(), anyLong())).thenReturn(Future.succeededFuture(mockResponse));
 
         // when
@@ -159,6 +221,66 @@ public class LiveintentAnalyticsReporterTest extends VertxTest {
                         .enriched(false).currency("USD").timestamp(0L).treatmentRate(null).partnerId("pbsj").build()));
     }
 
+    @Test
+    public void shouldReplayBidsAfterCollectorOutage() {
+        // given
+        given(httpClient.post(anyString(), anyString(), anyLong()))
+                .willReturn(Future.failedFuture("collector is down"))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        target.processEvent(buildEvent(true));
+        replay();
+
+        // then
+        verify(httpClient, times(2)).post(
+                eq("https://localhost:8080/analytic-events/pbsj-bids"),
+                jsonCaptor.capture(),
+                eq(properties.getTimeoutMs()));
+        assertThat(jsonCaptor.getAllValues().get(1)).isEqualTo(jsonCaptor.getAllValues().get(0));
+        verify(metrics).updateAnalyticsSpoolMetric("liveintentAnalytics", MetricName.spool_written);
+        verify(metrics).updateAnalyticsSpoolMetric("liveintentAnalytics", MetricName.spool_replayed);
+    }
+
+    @Test
+    public void shouldReplayNotificationAfterCollectorOutage() {
+        // given
+        given(httpClient.get(anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(503, null, null)))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        target.processEvent(NotificationEvent.builder().bidId("123").bidder("foo").build());
+        replay();
+
+        // then
+        verify(httpClient, times(2)).get(
+                eq("https://localhost:8080/analytic-events/pbsj-winning-bid?b=foo&bidId=123"),
+                eq(properties.getTimeoutMs()));
+        verify(metrics).updateAnalyticsSpoolMetric("liveintentAnalyticsNotifications", MetricName.spool_written);
+        verify(metrics).updateAnalyticsSpoolMetric("liveintentAnalyticsNotifications", MetricName.spool_replayed);
+    }
+
+    @Test
+    public void shouldNotReplayBidsRejectedByCollector() {
+        // given
+        given(httpClient.post(anyString(), anyString(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(400, null, null)));
+
+        // when
+        target.processEvent(buildEvent(true));
+        replay();
+
+        // then
+        verify(httpClient).post(anyString(), anyString(), anyLong());
+        verify(metrics).updateAnalyticsSpoolMetric("liveintentAnalytics", MetricName.spool_discarded);
+    }
+
+    private void replay() {
+        verify(vertx, times(2)).setPeriodic(eq(REPLAY_INTERVAL_MS), replayHandlerCaptor.capture());
+        replayHandlerCaptor.getAllValues().forEach(handler -> handler.handle(1L));
+    }
+
     private AuctionEvent buildEvent(Boolean isEnriched) {
         return buildEvent(isEnriched, true);
     }
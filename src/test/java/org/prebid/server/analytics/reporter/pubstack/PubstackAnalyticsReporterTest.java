@@ -14,6 +14,7 @@ import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.CookieSyncEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
@@ -38,7 +39,6 @@ import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +50,9 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private AnalyticsPipelineFactory pipelineFactory;
+
     @Mock
     private PubstackEventHandler auctionHandler;
 
@@ -78,7 +81,7 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         handlers.put(EventType.setuid, setuidHandler);
 
         pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper,
-                vertx);
+                pipelineFactory, vertx);
         // inject mocked handlers to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers", handlers);
     }
@@ -97,6 +100,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         // then
         verify(vertx).setPeriodic(anyLong(), any());
         verify(httpClient).get(anyString(), anyLong());
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
         verify(auctionHandler).reportEvents();
         verify(setuidHandler).reportEvents();
         verify(auctionHandler).updateConfig(eq(true), eq("http://newendpoint/intake/auction"), eq("newScopeId"));
@@ -120,6 +125,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         assertThatThrownBy(() -> result.await(5, TimeUnit.SECONDS))
                 .hasMessage("[pubstack] Failed to create event report url for endpoint: invalid")
                 .isInstanceOf(PreBidException.class);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
         verify(auctionHandler).reportEvents();
         verify(setuidHandler).reportEvents();
         verifyNoMoreInteractions(auctionHandler);
@@ -160,8 +167,10 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         // then
         verify(vertx).setPeriodic(anyLong(), any());
         verify(httpClient).get(anyString(), anyLong());
-        verifyNoInteractions(auctionHandler);
-        verifyNoInteractions(setuidHandler);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
+        verifyNoMoreInteractions(auctionHandler);
+        verifyNoMoreInteractions(setuidHandler);
     }
 
     @Test
@@ -176,8 +185,10 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         // then
         verify(vertx).setPeriodic(anyLong(), any());
         verify(httpClient).get(anyString(), anyLong());
-        verifyNoInteractions(auctionHandler);
-        verifyNoInteractions(setuidHandler);
+        verify(auctionHandler).start();
+        verify(setuidHandler).start();
+        verifyNoMoreInteractions(auctionHandler);
+        verifyNoMoreInteractions(setuidHandler);
     }
 
     @Test
@@ -193,7 +204,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForAuction() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, pipelineFactory, vertx);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.auction, auctionHandler));
@@ -209,7 +221,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForSetuid() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, pipelineFactory, vertx);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.setuid, setuidHandler));
@@ -226,7 +239,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForCookieSync() {
         // given
         final PubstackEventHandler cookieSyncHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, pipelineFactory, vertx);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.cookiesync, cookieSyncHandler));
@@ -243,7 +257,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForAmp() {
         // given
         final PubstackEventHandler ampHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, pipelineFactory, vertx);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.amp, ampHandler));
@@ -260,7 +275,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForVideo() {
         // given
         final PubstackEventHandler videoHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, pipelineFactory, vertx);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.video, videoHandler));
@@ -1,124 +1,126 @@
 package org.prebid.server.analytics.reporter.pubstack;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineConfig;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.OverflowPolicy;
+import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class PubstackEventHandlerTest extends VertxTest {
 
-    @Mock
+    @Mock(strictness = LENIENT)
     private Vertx vertx;
 
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private Metrics metrics;
+
+    @Captor
+    private ArgumentCaptor<byte[]> payloadCaptor;
+
+    private AnalyticsPipelineFactory pipelineFactory;
+
     private PubstackEventHandler pubstackEventHandler;
 
     @BeforeEach
     public void setUp() {
-        given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(100000)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation -> {
+            try {
+                return Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call());
+            } catch (Throwable e) {
+                return Future.failedFuture(e);
+            }
+        });
+
+        pipelineFactory = new AnalyticsPipelineFactory(
+                AnalyticsPipelineConfig.builder()
+                        .capacity(16)
+                        .overflowPolicy(OverflowPolicy.DROP_NEWEST)
+                        .build(),
+                vertx,
+                metrics,
+                Clock.systemUTC());
+
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(100000, 100), EventType.setuid, true,
+                "http://example.com", jacksonMapper, httpClient, pipelineFactory);
     }
 
     @Test
-    public void handleShouldNotAcceptEventsWhenNotEnabled() {
-        // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(1)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, false, "http://example.com", jacksonMapper,
-                httpClient, vertx);
-
+    public void startShouldScheduleReportTimer() {
         // when
-        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.start();
 
         // then
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        assertThat(events.get()).isEmpty();
-        verifyNoInteractions(httpClient);
+        verify(vertx).setPeriodic(eq(10000L), any());
     }
 
     @Test
-    public void handleShouldAddEventWithScopeIdAndIncreaseByteSize() throws JsonProcessingException {
-        // given and when
-        final SetuidEvent setuidEvent = SetuidEvent.builder().bidder("bidder1").build();
-        pubstackEventHandler.handle(setuidEvent);
+    public void handleShouldNotAcceptEventsWhenNotEnabled() {
+        // given
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(1, 1), EventType.setuid, false,
+                "http://example.com", jacksonMapper, httpClient, pipelineFactory);
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        final ObjectNode eventJsonNode = mapper.valueToTree(setuidEvent);
-        eventJsonNode.put("scope", "scopeId");
-        final String eventJsonRow = mapper.writeValueAsString(eventJsonNode);
-        assertThat(byteSize.get()).isEqualTo(eventJsonRow.getBytes().length);
-        assertThat(events.get()).hasSize(1)
-                .containsOnly(eventJsonRow);
+        verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void handleShouldSendEventsWhenMaxByteBufferSizeExceedsSize() {
+    public void handleShouldSendEventsWhenMaxCountEventsBufferExceeds() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = new PubstackEventHandler(givenProperties(20000, 1), EventType.setuid, true,
+                "http://example.com", jacksonMapper, httpClient, pipelineFactory);
+        givenHttpClientReturnsResponse(200);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
@@ -128,97 +130,127 @@ public class PubstackEventHandlerTest extends VertxTest {
     }
 
     @Test
-    public void handleShouldSendEventsWhenMaxCountEventsBufferExceeds() {
+    public void handleShouldBeAbleToEncodeAuctionEvent() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20000)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
+        givenHttpClientReturnsResponse(200);
+        final AuctionEvent event = AuctionEvent.builder()
+                .auctionContext(AuctionContext.builder()
+                        .uidsCookie(mock(UidsCookie.class))
+                        .timeoutContext(TimeoutContext.of(0, mock(Timeout.class), 0))
+                        .build())
                 .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
 
         // when
-        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
-        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
+        pubstackEventHandler.handle(event);
+        pubstackEventHandler.reportEvents();
 
         // then
         verify(httpClient).request(any(), anyString(), any(), (byte[]) any(), anyLong());
+        verify(metrics, never()).updateAnalyticsPipelineDroppedMetric(anyString(), anyLong());
     }
 
     @Test
-    public void handleShouldBeAbleToEncodeAuctionEvent() {
+    public void handleShouldSendEventAsItWasWhenHandled() throws IOException {
         // given
+        givenHttpClientReturnsResponse(200);
+        final List<String> debugWarnings = new ArrayList<>(List.of("first"));
         final AuctionEvent event = AuctionEvent.builder()
                 .auctionContext(AuctionContext.builder()
-                        .uidsCookie(mock(UidsCookie.class))
-                        .timeoutContext(TimeoutContext.of(0, mock(Timeout.class), 0))
+                        .debugWarnings(debugWarnings)
                         .build())
                 .build();
 
-        // when and then
-        assertThatCode(() -> pubstackEventHandler.handle(event))
-                .doesNotThrowAnyException();
+        // when
+        pubstackEventHandler.handle(event);
+        debugWarnings.add("second");
+        pubstackEventHandler.reportEvents();
+
+        // then
+        verify(httpClient).request(any(), anyString(), any(), payloadCaptor.capture(), anyLong());
+        assertThat(mapper.readTree(gunzip(payloadCaptor.getValue())).at("/auctionContext/debugWarnings"))
+                .containsExactly(TextNode.valueOf("first"));
     }
 
     @Test
-    public void sendEventsShouldSendEventsAndResetSendConditionParameters() {
+    public void reportEventsShouldSendGzippedNewLineDelimitedEventsWithScope() throws IOException {
         // given
-        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        givenHttpClientReturnsResponse(200);
+        final SetuidEvent firstEvent = SetuidEvent.builder().bidder("bidder1").build();
+        final SetuidEvent secondEvent = SetuidEvent.builder().bidder("bidder2").build();
 
-        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.handle(firstEvent);
+        pubstackEventHandler.handle(secondEvent);
 
         // when
         pubstackEventHandler.reportEvents();
 
         // then
-        verify(vertx).cancelTimer(anyLong());
-        // one time in constructor and second after the send request
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        assertThat(byteSize.get()).isEqualTo(0);
-        final Long currentTimerId = (Long) ReflectionTestUtils.getField(pubstackEventHandler,
-                "reportTimerId");
-        assertThat(currentTimerId).isEqualTo(2);
+        verify(httpClient).request(any(), eq("http://example.com"), any(), payloadCaptor.capture(), eq(5000L));
+        assertThat(gunzip(payloadCaptor.getValue()))
+                .isEqualTo(givenScopedEvent(firstEvent, "scopeId") + "\n" + givenScopedEvent(secondEvent, "scopeId"));
     }
 
     @Test
-    public void updateConfigShouldSetNewValuesToEndpointScopeIdAndEnabledConfigs() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+    public void reportEventsShouldNotSendAnythingWhenNoEventsBuffered() {
+        // when
+        pubstackEventHandler.reportEvents();
 
         // then
-        final Boolean enabled = (Boolean) ReflectionTestUtils.getField(pubstackEventHandler, "enabled");
-        final String endpoint = (String) ReflectionTestUtils.getField(pubstackEventHandler, "endpoint");
-        final String newScope = (String) ReflectionTestUtils.getField(pubstackEventHandler, "scopeId");
-        assertThat(enabled).isFalse();
-        assertThat(endpoint).isEqualTo("newEndpoint");
-        assertThat(newScope).isEqualTo("newScope");
+        verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void updateConfigShouldCancelReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+    public void updateConfigShouldApplyNewScopeIdAndEndpoint() throws IOException {
+        // given
+        givenHttpClientReturnsResponse(200);
+        final SetuidEvent event = SetuidEvent.builder().bidder("bidder1").build();
+
+        // when
+        pubstackEventHandler.updateConfig(true, "http://new-endpoint.com", "newScope");
+        pubstackEventHandler.handle(event);
+        pubstackEventHandler.reportEvents();
 
         // then
-        verify(vertx).setTimer(anyLong(), any());
-        verify(vertx).cancelTimer(anyLong());
+        verify(httpClient).request(any(), eq("http://new-endpoint.com"), any(), payloadCaptor.capture(), anyLong());
+        assertThat(gunzip(payloadCaptor.getValue())).isEqualTo(givenScopedEvent(event, "newScope"));
     }
 
     @Test
-    public void updateConfigShouldSetReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
-        pubstackEventHandler.updateConfig(true, "newEndpoint", "newScope");
+    public void updateConfigShouldStopAcceptingEventsOnDisablingHandler() {
+        // when
+        pubstackEventHandler.updateConfig(false, "http://example.com", "scopeId");
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        // first time on handler creation, second time on enabling after it was disabled
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        verify(vertx).cancelTimer(anyLong());
+        verifyNoInteractions(httpClient);
+    }
+
+    private void givenHttpClientReturnsResponse(int statusCode) {
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(statusCode, null, null)));
+    }
+
+    private static PubstackAnalyticsProperties givenProperties(int sizeBytes, int count) {
+        return PubstackAnalyticsProperties.builder()
+                .endpoint("http://endpoint.com")
+                .scopeId("scopeId")
+                .sizeBytes(sizeBytes)
+                .count(count)
+                .reportTtlMs(10000L)
+                .timeoutMs(5000L)
+                .build();
+    }
+
+    private static String givenScopedEvent(Object event, String scopeId) throws IOException {
+        final ObjectNode eventNode = mapper.valueToTree(event);
+        eventNode.put("scope", scopeId);
+        return mapper.writeValueAsString(eventNode);
+    }
+
+    private static String gunzip(byte[] payload) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 }
@@ -5,25 +5,32 @@ import de.malkusch.whoisServerList.publicSuffixList.PublicSuffixListFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.HttpRequestContext;
 import org.prebid.server.util.HttpUtil;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ImplicitParametersExtractorTest {
 
     private final PublicSuffixList psl = new PublicSuffixListFactory().build();
 
+    @Mock
+    private Metrics metrics;
+
     private ImplicitParametersExtractor extractor;
 
     @BeforeEach
     public void setUp() {
-        extractor = new ImplicitParametersExtractor(psl);
+        extractor = new ImplicitParametersExtractor(psl, 100, metrics);
     }
 
     @Test
@@ -120,6 +127,30 @@ public class ImplicitParametersExtractorTest {
         assertThat(extractor.domainFrom("subdomain.example.com")).isEqualTo("example.com");
     }
 
+    @Test
+    public void domainFromShouldReturnCachedDomainForRepeatedHost() {
+        // when
+        extractor.domainFrom("subdomain.example.com");
+        final String result = extractor.domainFrom("subdomain.example.com");
+
+        // then
+        assertThat(result).isEqualTo("example.com");
+        verify(metrics).updateDomainCacheMetric(MetricName.miss);
+        verify(metrics).updateDomainCacheMetric(MetricName.hit);
+    }
+
+    @Test
+    public void domainFromShouldFailForRepeatedHostWithoutDomain() {
+        // given
+        assertThatCode(() -> extractor.domainFrom("domain")).isInstanceOf(PreBidException.class);
+
+        // when and then
+        assertThatCode(() -> extractor.domainFrom("domain"))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Cannot derive eTLD+1 for host domain");
+        verify(metrics).updateDomainCacheMetric(MetricName.hit);
+    }
+
     @Test
     public void ipFromShouldReturnIpFromHeadersAndRemoteAddress() {
         // given
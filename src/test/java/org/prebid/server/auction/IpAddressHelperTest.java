@@ -138,4 +138,31 @@ public class IpAddressHelperTest {
         assertThat(ipAddressHelper.toIpAddress("2001:1db8:85a3:a5b7:0000:8a2e:0370:7334"))
                 .isEqualTo(IpAddress.of("2001:1db8:85a3:a5b7::", IpAddress.IP.v6));
     }
+
+    @Test
+    public void toIpAddressShouldReturnCanonicalIpV6AddressForCompressedUpperCaseInput() {
+        assertThat(ipAddressHelper.toIpAddress("2001:DB8:0:0:1::1"))
+                .isEqualTo(IpAddress.of("2001:db8::", IpAddress.IP.v6));
+        assertThat(ipAddressHelper.toIpAddress("2a00:1450:0:1::"))
+                .isEqualTo(IpAddress.of("2a00:1450:0:1::", IpAddress.IP.v6));
+    }
+
+    @Test
+    public void toIpAddressShouldReturnNullIfGlobalIpIsInConfiguredLocalNetwork() {
+        // given
+        ipAddressHelper = new IpAddressHelper(64, 56, asList("2001:db8::/32", "100.64.0.0/10"));
+
+        // when and then
+        assertThat(ipAddressHelper.toIpAddress("2001:db8::1")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("100.64.0.1")).isNull();
+        assertThat(ipAddressHelper.toIpAddress("100.128.0.1"))
+                .isEqualTo(IpAddress.of("100.128.0.1", IpAddress.IP.v4));
+    }
+
+    @Test
+    public void toIpAddressShouldHandleUncommonNotations() {
+        assertThat(ipAddressHelper.toIpAddress("::ffff:12.34.56.78"))
+                .isEqualTo(IpAddress.of("::", IpAddress.IP.v6));
+        assertThat(ipAddressHelper.toIpAddress("012.34.56.78")).isNull();
+    }
 }
@@ -38,6 +38,7 @@ import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.httpclient.ConcurrencyLimitExceededException;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
@@ -844,6 +845,47 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(bidRejectionTracker).rejectImps(singleton("impId"), BidRejectionReason.ERROR_GENERAL);
     }
 
+    @Test
+    public void shouldRejectImpsWithConcurrencyLimitedReasonWhenRequestIsShed() throws JsonProcessingException {
+        // given
+        final BidRequest givenBidRequest = givenBidRequest(identity());
+        final byte[] requestBody = mapper.writeValueAsBytes(givenBidRequest);
+        given(bidder.makeHttpRequests(any())).willReturn(Result.withValue(
+                givenSimpleHttpRequest(httpRequestBuilder -> httpRequestBuilder
+                        .uri("uri1")
+                        .payload(givenBidRequest)
+                        .impIds(givenBidRequest.getImp().stream().map(Imp::getId).collect(Collectors.toSet()))
+                        .body(requestBody))));
+
+        givenHttpClientProducesException(new ConcurrencyLimitExceededException("Limit reached"));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid =
+                target
+                        .requestBids(
+                                bidder,
+                                bidderRequest,
+                                bidRejectionTracker,
+                                timeout,
+                                CaseInsensitiveMultiMap.empty(),
+                                bidderAliases,
+                                false)
+                        .result();
+
+        // then
+        assertThat(bidderSeatBid.getErrors())
+                .extracting(BidderError::getType)
+                .containsExactly(BidderError.Type.concurrency_limited);
+
+        verify(bidRejectionTracker)
+                .rejectImps(singleton("impId"), BidRejectionReason.REQUEST_BLOCKED_CONCURRENCY_LIMITED);
+    }
+
     @Test
     public void shouldReturnFullDebugInfoIfDebugEnabledAndErrorStatus() throws JsonProcessingException {
         // given
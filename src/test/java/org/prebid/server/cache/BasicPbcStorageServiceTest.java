@@ -32,6 +32,8 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -55,7 +57,8 @@ public class BasicPbcStorageServiceTest extends VertxTest {
                 10,
                 jacksonMapper,
                 Clock.fixed(Instant.now(), ZoneId.systemDefault()),
-                metrics);
+                metrics,
+                null);
 
         given(httpClient.post(anyString(), any(), any(), anyLong())).willReturn(Future.succeededFuture(
                 HttpClientResponse.of(204, null, null)));
@@ -425,6 +428,115 @@ public class BasicPbcStorageServiceTest extends VertxTest {
         verify(metrics).updateModuleStorageCacheReadRequestTime(eq("some-module-code"), anyLong(), eq(MetricName.err));
     }
 
+    @Test
+    public void retrieveEntryShouldServeRepeatedLookupFromNearCache() {
+        // given
+        target = givenTargetWithNearCache();
+
+        // when
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+        final Future<ModuleCacheResponse> result =
+                target.retrieveEntry("some-key", "some-module-code", "some-app");
+
+        // then
+        assertThat(result.result())
+                .isEqualTo(ModuleCacheResponse.of("some-key", StorageDataType.JSON, "some-value"));
+
+        verify(httpClient).get(anyString(), any(), anyLong());
+        verify(metrics).updateModuleStorageNearCacheMetric("some-module-code", MetricName.miss);
+        verify(metrics).updateModuleStorageNearCacheMetric("some-module-code", MetricName.hit);
+    }
+
+    @Test
+    public void retrieveEntryShouldNotKeepRetrievedEntryInNearCacheWhenRetrievedTtlIsZero() {
+        // given
+        target = givenTargetWithNearCache(0);
+
+        // when
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+
+        // then
+        verify(httpClient, times(2)).get(anyString(), any(), anyLong());
+        verify(metrics, never()).updateModuleStorageNearCacheMetric("some-module-code", MetricName.hit);
+    }
+
+    @Test
+    public void retrieveEntryShouldServeRepeatedLookupOfMissingKeyFromNearCache() {
+        // given
+        target = givenTargetWithNearCache();
+        given(httpClient.get(anyString(), any(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(404, null, null)));
+
+        // when
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+        final Future<ModuleCacheResponse> result =
+                target.retrieveEntry("some-key", "some-module-code", "some-app");
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("HTTP status code 404");
+
+        verify(httpClient).get(anyString(), any(), anyLong());
+        verify(metrics).updateModuleStorageNearCacheMetric("some-module-code", MetricName.hit);
+    }
+
+    @Test
+    public void retrieveEntryShouldNotKeepFailedLookupInNearCache() {
+        // given
+        target = givenTargetWithNearCache();
+        given(httpClient.get(anyString(), any(), anyLong())).willReturn(Future.succeededFuture(
+                HttpClientResponse.of(500, null, "error")));
+
+        // when
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+        target.retrieveEntry("some-key", "some-module-code", "some-app");
+
+        // then
+        verify(httpClient, times(2)).get(anyString(), any(), anyLong());
+        verify(metrics, never()).updateModuleStorageNearCacheMetric("some-module-code", MetricName.hit);
+    }
+
+    @Test
+    public void retrieveEntryShouldReturnEntryStoredThroughNearCache() {
+        // given
+        target = givenTargetWithNearCache();
+
+        // when
+        target.storeEntry("some-key",
+                "some-stored-value",
+                StorageDataType.TEXT,
+                12,
+                "some-app",
+                "some-module-code");
+        final Future<ModuleCacheResponse> result =
+                target.retrieveEntry("some-key", "some-module-code", "some-app");
+
+        // then
+        assertThat(result.result()).isEqualTo(ModuleCacheResponse.of(
+                "module.some-module-code.some-key", StorageDataType.TEXT, "some-stored-value"));
+
+        verify(httpClient, never()).get(anyString(), any(), anyLong());
+    }
+
+    private BasicPbcStorageService givenTargetWithNearCache() {
+        return givenTargetWithNearCache(5);
+    }
+
+    private BasicPbcStorageService givenTargetWithNearCache(int retrievedTtlSeconds) {
+        return new BasicPbcStorageService(
+                httpClient,
+                HttpUtil.parseUrl("http://cache-service/cache"),
+                "pbc-api-key",
+                10,
+                jacksonMapper,
+                Clock.fixed(Instant.now(), ZoneId.systemDefault()),
+                metrics,
+                new PbcStorageNearCache(60, retrievedTtlSeconds, 5, 100));
+    }
+
     @SneakyThrows
     private ModuleCacheRequest captureModuleCacheRequest() {
         final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
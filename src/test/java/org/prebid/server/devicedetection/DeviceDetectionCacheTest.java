@@ -0,0 +1,123 @@
+package org.prebid.server.devicedetection;
+
+import com.iab.openrtb.request.Device;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DeviceDetectionCacheTest {
+
+    @Mock
+    private Metrics metrics;
+
+    private DeviceDetectionCache target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new DeviceDetectionCache(100, 60, metrics);
+    }
+
+    @Test
+    public void getShouldDetectDeviceOnceForSameEvidence() {
+        // given
+        final AtomicInteger detections = new AtomicInteger();
+        final Supplier<Device> detection = () -> givenDevice(detections.incrementAndGet());
+
+        // when
+        target.get("detector", Map.of("User-Agent", "ua", "Sec-CH-UA-Mobile", "?0"), detection);
+        final Device result = target.get("detector", Map.of("sec-ch-ua-mobile", "?0", "user-agent", "ua"), detection);
+
+        // then
+        assertThat(result).isEqualTo(givenDevice(1));
+        assertThat(detections).hasValue(1);
+        verify(metrics).updateDeviceDetectionCacheMetric(MetricName.miss);
+        verify(metrics).updateDeviceDetectionCacheMetric(MetricName.hit);
+    }
+
+    @Test
+    public void getShouldDetectDeviceAgainForDifferentEvidence() {
+        // given
+        final AtomicInteger detections = new AtomicInteger();
+        final Supplier<Device> detection = () -> givenDevice(detections.incrementAndGet());
+
+        // when
+        target.get("detector", Map.of("User-Agent", "ua"), detection);
+        final Device result = target.get("detector", Map.of("User-Agent", "other-ua"), detection);
+
+        // then
+        assertThat(result).isEqualTo(givenDevice(2));
+    }
+
+    @Test
+    public void getShouldKeepDevicesOfDifferentDetectorsApart() {
+        // when
+        target.get("detector", Map.of("User-Agent", "ua"), () -> givenDevice(1));
+        final Device result = target.get("other-detector", Map.of("User-Agent", "ua"), () -> givenDevice(2));
+
+        // then
+        assertThat(result).isEqualTo(givenDevice(2));
+    }
+
+    @Test
+    public void getShouldRememberEvidenceNothingWasDetectedFrom() {
+        // given
+        final AtomicInteger detections = new AtomicInteger();
+        final Supplier<Device> detection = () -> {
+            detections.incrementAndGet();
+            return null;
+        };
+
+        // when
+        target.get("detector", Map.of("User-Agent", "ua"), detection);
+        final Device result = target.get("detector", Map.of("User-Agent", "ua"), detection);
+
+        // then
+        assertThat(result).isNull();
+        assertThat(detections).hasValue(1);
+    }
+
+    @Test
+    public void getShouldDetectDeviceAgainAfterDetectorIsInvalidated() {
+        // given
+        target.get("detector", Map.of("User-Agent", "ua"), () -> givenDevice(1));
+
+        // when
+        target.invalidate("detector");
+        final Device result = target.get("detector", Map.of("User-Agent", "ua"), () -> givenDevice(2));
+
+        // then
+        assertThat(result).isEqualTo(givenDevice(2));
+    }
+
+    @Test
+    public void getShouldAlwaysDetectDeviceWhenCacheIsDisabled() {
+        // given
+        target = new DeviceDetectionCache(0, 60, metrics);
+
+        // when
+        target.get("detector", Map.of("User-Agent", "ua"), () -> givenDevice(1));
+        final Device result = target.get("detector", Map.of("User-Agent", "ua"), () -> givenDevice(2));
+
+        // then
+        assertThat(result).isEqualTo(givenDevice(2));
+        verify(metrics, never()).updateDeviceDetectionCacheMetric(any());
+    }
+
+    private static Device givenDevice(int devicetype) {
+        return Device.builder().devicetype(devicetype).build();
+    }
+}
@@ -25,16 +25,19 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
+import org.prebid.server.activity.ActivitiesConfigResolver;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidRejection;
 import org.prebid.server.auction.model.BidRejectionTracker;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.ImpRejection;
+import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.auction.model.debug.DebugContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.floors.PriceFloorsConfigResolver;
 import org.prebid.server.hooks.execution.model.ABTest;
 import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
 import org.prebid.server.hooks.execution.model.ExecutionAction;
@@ -86,15 +89,20 @@ import org.prebid.server.hooks.v1.entrypoint.EntrypointHook;
 import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointHook;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
+import org.prebid.server.json.JsonMerger;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.EnrichingApplicationSettings;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountHooksConfiguration;
 import org.prebid.server.settings.model.HooksAdminConfig;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.time.Clock;
 import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -138,13 +146,21 @@ public class HookStageExecutorTest extends VertxTest {
 
     @Mock(strictness = LENIENT)
     private HookCatalog hookCatalog;
+    @Mock
+    private ApplicationSettings applicationSettings;
+    @Mock
+    private PriceFloorsConfigResolver priceFloorsConfigResolver;
+    @Mock
+    private ActivitiesConfigResolver activitiesConfigResolver;
     private TimeoutFactory timeoutFactory;
     private Vertx vertx;
+    private TimingWheel timingWheel;
     private Clock clock;
 
     @BeforeEach
     public void setUp() {
         vertx = Vertx.vertx();
+        timingWheel = new TimingWheel(vertx, 5L, 512);
         clock = Clock.systemUTC();
         timeoutFactory = new TimeoutFactory(Clock.fixed(clock.instant(), ZoneOffset.UTC));
     }
@@ -475,7 +491,8 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-alpha", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
+                HookExecutionBudget.disabled(),
                 clock,
                 jacksonMapper,
                 false,
@@ -1333,6 +1350,268 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldResolveAccountPlanHooksOncePerAccountHooksConfigurationContent(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookStageExecutor executor = createExecutor(null, null);
+
+        final Account account = accountWithRawAuctionRequestHook("hook-a");
+        final Account reloadedAccount = accountWithRawAuctionRequestHook("hook-a");
+        final Account changedAccount = accountWithRawAuctionRequestHook("hook-b");
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future =
+                executor.executeRawAuctionRequestStage(auctionContextWithAccount(account))
+                        .compose(ignored -> executor.executeRawAuctionRequestStage(
+                                auctionContextWithAccount(reloadedAccount)))
+                        .compose(ignored -> executor.executeRawAuctionRequestStage(
+                                auctionContextWithAccount(changedAccount)));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hookImpl, times(3)).call(any(), any());
+            verify(hookCatalog)
+                    .hookById(eqHook("module-alpha", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+            verify(hookCatalog)
+                    .hookById(eqHook("module-alpha", "hook-b"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldResolveAccountPlanHooksOnceWhenAccountIsMergedWithDefaultAccountOnEveryLookup(
+            VertxTestContext context) {
+
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookStageExecutor executor = createExecutor(null, null);
+
+        given(applicationSettings.getAccountById(any(), any()))
+                .willReturn(Future.succeededFuture(accountWithRawAuctionRequestHook("hook-a")));
+        given(priceFloorsConfigResolver.resolve(any(), any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(activitiesConfigResolver.resolve(any())).willAnswer(invocation -> invocation.getArgument(0));
+        final ApplicationSettings enrichingApplicationSettings = new EnrichingApplicationSettings(
+                false,
+                "{\"auction\": {\"banner-cache-ttl\": 100}}",
+                applicationSettings,
+                priceFloorsConfigResolver,
+                activitiesConfigResolver,
+                new JsonMerger(jacksonMapper),
+                jacksonMapper);
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future =
+                enrichingApplicationSettings.getAccountById("accountId", null)
+                        .compose(account -> executor.executeRawAuctionRequestStage(auctionContextWithAccount(account)))
+                        .compose(ignored -> enrichingApplicationSettings.getAccountById("accountId", null))
+                        .compose(account -> executor.executeRawAuctionRequestStage(
+                                auctionContextWithAccount(account)));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(hookImpl, times(2)).call(any(), any());
+            verify(hookCatalog)
+                    .hookById(eqHook("module-alpha", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldResolveAccountPlanOncePerAuction(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl rawHookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(rawHookImpl);
+        final ProcessedAuctionRequestHookImpl processedHookImpl = spy(
+                ProcessedAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.noAction())));
+        given(hookCatalog.hookById(any(), eq(StageWithHookType.PROCESSED_AUCTION_REQUEST)))
+                .willReturn(processedHookImpl);
+
+        final HookStageExecutor executor = createExecutor(null, null);
+
+        final Map<Stage, StageExecutionPlan> stagePlans = new EnumMap<>(Stage.class);
+        stagePlans.put(Stage.raw_auction_request, execPlanOneGroupOneHook("module-alpha", "hook-a"));
+        stagePlans.put(Stage.processed_auction_request, execPlanOneGroupOneHook("module-alpha", "hook-b"));
+        final AccountHooksConfiguration hooksConfiguration = spy(AccountHooksConfiguration.of(
+                ExecutionPlan.of(emptyList(), singletonMap(
+                        HookHttpEndpoint.POST_AUCTION, EndpointExecutionPlan.of(stagePlans))),
+                null,
+                null));
+        final AuctionContext auctionContext = auctionContextWithAccount(
+                Account.builder().id("accountId").hooks(hooksConfiguration).build());
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future =
+                executor.executeRawAuctionRequestStage(auctionContext)
+                        .compose(ignored -> executor.executeProcessedAuctionRequestStage(auctionContext));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(rawHookImpl).call(any(), any());
+            verify(processedHookImpl).call(any(), any());
+            verify(hooksConfiguration).getAdmin();
+            assertThat(auctionContext.getHookExecutionContext().getAccountExecutionPlan()).isNotNull();
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldSkipOptionalRawAuctionRequestHooksWhenAuctionTimeLeftIsBelowThreshold(
+            VertxTestContext context) {
+
+        // given
+        givenRawAuctionRequestHook(
+                "module-alpha",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(payload -> AuctionRequestPayloadImpl.of(
+                        payload.bidRequest().toBuilder().at(1).build()))));
+
+        givenRawAuctionRequestHook(
+                "module-beta",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(payload -> AuctionRequestPayloadImpl.of(
+                        payload.bidRequest().toBuilder().id("id").build()))));
+
+        final String hostExecutionPlan = executionPlan(singletonMap(
+                HookHttpEndpoint.POST_AUCTION,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_auction_request,
+                        StageExecutionPlan.of(asList(
+                                ExecutionGroup.of(200L, singletonList(HookId.of("module-alpha", "hook-a")), true),
+                                ExecutionGroup.of(200L, singletonList(HookId.of("module-beta", "hook-a")))))))));
+
+        final HookStageExecutor executor = createExecutor(hostExecutionPlan, null, HookExecutionBudget.of(0.5, 100L));
+
+        final HookExecutionContext hookExecutionContext = HookExecutionContext.of(HookHttpEndpoint.POST_AUCTION);
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor.executeRawAuctionRequestStage(
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .timeoutContext(TimeoutContext.of(0L, timeoutFactory.create(50L), 0))
+                        .hookExecutionContext(hookExecutionContext)
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(result.getPayload()).isNotNull().satisfies(payload ->
+                    assertThat(payload.bidRequest()).isEqualTo(BidRequest.builder().id("id").build()));
+
+            assertThat(hookExecutionContext.getStageOutcomes().get(Stage.raw_auction_request))
+                    .flatExtracting(StageExecutionOutcome::getGroups)
+                    .flatExtracting(GroupExecutionOutcome::getHooks)
+                    .extracting(HookExecutionOutcome::getStatus, HookExecutionOutcome::getAction)
+                    .containsExactly(
+                            tuple(ExecutionStatus.skipped, ExecutionAction.no_invocation),
+                            tuple(ExecutionStatus.success, ExecutionAction.update));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldCapRawAuctionRequestHooksTimeoutByShareOfAuctionTimeLeft(VertxTestContext context) {
+        // given
+        givenRawAuctionRequestHook(
+                "module-alpha",
+                "hook-a",
+                (payload, invocationContext) -> {
+                    assertThat(invocationContext.timeout().remaining()).isEqualTo(40L);
+                    return Future.succeededFuture(InvocationResultUtils.noAction());
+                });
+
+        final String hostExecutionPlan = executionPlan(singletonMap(
+                HookHttpEndpoint.POST_AUCTION,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_auction_request,
+                        StageExecutionPlan.of(singletonList(
+                                ExecutionGroup.of(200L, singletonList(HookId.of("module-alpha", "hook-a")), true)))))));
+
+        final HookStageExecutor executor = createExecutor(hostExecutionPlan, null, HookExecutionBudget.of(0.5, 50L));
+
+        final HookExecutionContext hookExecutionContext = HookExecutionContext.of(HookHttpEndpoint.POST_AUCTION);
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor.executeRawAuctionRequestStage(
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .timeoutContext(TimeoutContext.of(0L, timeoutFactory.create(80L), 0))
+                        .hookExecutionContext(hookExecutionContext)
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(hookExecutionContext.getStageOutcomes().get(Stage.raw_auction_request))
+                    .flatExtracting(StageExecutionOutcome::getGroups)
+                    .flatExtracting(GroupExecutionOutcome::getHooks)
+                    .extracting(HookExecutionOutcome::getStatus)
+                    .containsExactly(ExecutionStatus.success);
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldNotCapMandatoryRawBidderResponseHooksTimeoutWhenAuctionTimeIsSpent(VertxTestContext context) {
+        // given
+        givenRawBidderResponseHook(
+                "module-alpha",
+                "hook-a",
+                (payload, invocationContext) -> {
+                    assertThat(invocationContext.timeout().remaining()).isEqualTo(200L);
+                    return Future.succeededFuture(InvocationResultUtils.noAction());
+                });
+
+        final String hostExecutionPlan = executionPlan(singletonMap(
+                HookHttpEndpoint.POST_AUCTION,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_bidder_response,
+                        execPlanOneGroupOneHook("module-alpha", "hook-a")))));
+
+        final HookStageExecutor executor = createExecutor(hostExecutionPlan, null, HookExecutionBudget.of(0.5, 50L));
+
+        final HookExecutionContext hookExecutionContext = HookExecutionContext.of(HookHttpEndpoint.POST_AUCTION);
+
+        // when
+        final Future<HookStageExecutionResult<BidderResponsePayload>> future = executor.executeRawBidderResponseStage(
+                BidderResponse.of("bidder1", BidderSeatBid.empty(), 0),
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .timeoutContext(TimeoutContext.of(0L, timeoutFactory.create(1L), 0))
+                        .hookExecutionContext(hookExecutionContext)
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(hookExecutionContext.getStageOutcomes().get(Stage.raw_bidder_response))
+                    .flatExtracting(StageExecutionOutcome::getGroups)
+                    .flatExtracting(GroupExecutionOutcome::getHooks)
+                    .extracting(HookExecutionOutcome::getStatus)
+                    .containsExactly(ExecutionStatus.success);
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteRawAuctionRequestHooksToleratingUnknownHookInAccountPlan(VertxTestContext context) {
         // given
@@ -1477,7 +1756,8 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-epsilon", true, "module-zeta", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
+                HookExecutionBudget.disabled(),
                 clock,
                 jacksonMapper,
                 false,
@@ -1595,7 +1875,8 @@ public class HookStageExecutorTest extends VertxTest {
                 Map.of("module-epsilon", true, "module-zeta", false),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
+                HookExecutionBudget.disabled(),
                 clock,
                 jacksonMapper,
                 true,
@@ -3719,6 +4000,28 @@ public class HookStageExecutorTest extends VertxTest {
         return (payload, context) -> Future.succeededFuture(result);
     }
 
+    private static Account accountWithRawAuctionRequestHook(String hookCode) {
+        final ExecutionPlan accountPlan = ExecutionPlan.of(emptyList(), singletonMap(
+                HookHttpEndpoint.POST_AUCTION,
+                EndpointExecutionPlan.of(singletonMap(
+                        Stage.raw_auction_request,
+                        execPlanOneGroupOneHook("module-alpha", hookCode)))));
+
+        return Account.builder()
+                .id("accountId")
+                .hooks(AccountHooksConfiguration.of(accountPlan, null, null))
+                .build();
+    }
+
+    private static AuctionContext auctionContextWithAccount(Account account) {
+        return AuctionContext.builder()
+                .bidRequest(BidRequest.builder().build())
+                .account(account)
+                .hookExecutionContext(HookExecutionContext.of(HookHttpEndpoint.POST_AUCTION))
+                .debugContext(DebugContext.empty())
+                .build();
+    }
+
     private static HookId eqHook(String moduleCode, String hookCode) {
         return ArgumentMatchers.eq(HookId.of(moduleCode, hookCode));
     }
@@ -3728,13 +4031,21 @@ public class HookStageExecutorTest extends VertxTest {
     }
 
     private HookStageExecutor createExecutor(String hostExecutionPlan, String defaultAccountExecutionPlan) {
+        return createExecutor(hostExecutionPlan, defaultAccountExecutionPlan, HookExecutionBudget.disabled());
+    }
+
+    private HookStageExecutor createExecutor(String hostExecutionPlan,
+                                             String defaultAccountExecutionPlan,
+                                             HookExecutionBudget executionBudget) {
+
         return HookStageExecutor.create(
                 hostExecutionPlan,
                 defaultAccountExecutionPlan,
                 Collections.emptyMap(),
                 hookCatalog,
                 timeoutFactory,
-                vertx,
+                timingWheel,
+                executionBudget,
                 clock,
                 jacksonMapper,
                 false,
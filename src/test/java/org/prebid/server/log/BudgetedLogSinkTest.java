@@ -0,0 +1,110 @@
+package org.prebid.server.log;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class BudgetedLogSinkTest {
+
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+
+    @Mock
+    private Clock clock;
+
+    private final List<String> written = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation ->
+                Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call()));
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveBudget() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BudgetedLogSink(vertx, clock, 0L));
+    }
+
+    @Test
+    public void submitShouldWriteMessagesUntilBudgetIsExhausted() {
+        // given
+        given(clock.millis()).willReturn(5000L);
+        final BudgetedLogSink target = new BudgetedLogSink(vertx, clock, 10L);
+
+        // when
+        final boolean first = target.submit(6, () -> written.add("first"));
+        final boolean second = target.submit(6, () -> written.add("second"));
+        final boolean third = target.submit(1, () -> written.add("third"));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(target.hasBudget()).isFalse();
+        assertThat(written).containsExactly("first", "second");
+    }
+
+    @Test
+    public void submitShouldRestoreBudgetInNextWindow() {
+        // given
+        given(clock.millis()).willReturn(5000L, 5000L, 6000L);
+        final BudgetedLogSink target = new BudgetedLogSink(vertx, clock, 10L);
+
+        // when
+        target.submit(10, () -> written.add("first"));
+        final boolean sameWindow = target.hasBudget();
+        final boolean nextWindow = target.submit(10, () -> written.add("second"));
+
+        // then
+        assertThat(sameWindow).isFalse();
+        assertThat(nextWindow).isTrue();
+        assertThat(written).containsExactly("first", "second");
+    }
+
+    @Test
+    public void submitShouldWriteAllMessagesWhenBudgetIsNotSet() {
+        // given
+        final BudgetedLogSink target = new BudgetedLogSink(vertx, clock, null);
+
+        // when
+        final boolean first = target.submit(Long.MAX_VALUE, () -> written.add("first"));
+        final boolean second = target.submit(Long.MAX_VALUE, () -> written.add("second"));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(target.hasBudget()).isTrue();
+        assertThat(written).containsExactly("first", "second");
+        verifyNoInteractions(clock);
+    }
+
+    @Test
+    public void hasBudgetShouldReturnTrueForFreshSink() {
+        // given
+        final BudgetedLogSink target = new BudgetedLogSink(
+                vertx, Clock.fixed(Instant.ofEpochMilli(5000L), ZoneOffset.UTC), 10L);
+
+        // when and then
+        assertThat(target.hasBudget()).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package org.prebid.server.log;
+
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.VertxTest;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.settings.model.Account;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class CriteriaLogManagerTest extends VertxTest {
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private BudgetedLogSink logSink;
+
+    private CriteriaLogManager target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new CriteriaLogManager(jacksonMapper, logSink);
+    }
+
+    @Test
+    public void traceResponseShouldNotTouchSinkWhenNoCriteriaMatched() {
+        // given
+        target.addCriteria(Criteria.create("otherAccount", null, Logger::error));
+
+        // when
+        target.traceResponse(logger, givenBidResponse("bidder"), givenAuctionContext("account"), true);
+
+        // then
+        verifyNoInteractions(logSink, logger);
+    }
+
+    @Test
+    public void traceResponseShouldNotLogWhenSinkHasNoBudget() {
+        // given
+        target.addCriteria(Criteria.create("account", null, Logger::error));
+        given(logSink.hasBudget()).willReturn(false);
+
+        // when
+        target.traceResponse(logger, givenBidResponse("bidder"), givenAuctionContext("account"), true);
+
+        // then
+        verify(logSink).hasBudget();
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void traceResponseShouldLogResponseWhenAccountAndBidderMatched() {
+        // given
+        target.addCriteria(Criteria.create("account", "bidder", Logger::error));
+        given(logSink.hasBudget()).willReturn(true);
+        given(logSink.submit(anyLong(), any())).willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return true;
+        });
+
+        // when
+        target.traceResponse(logger, givenBidResponse("bidder"), givenAuctionContext("account"), true);
+
+        // then
+        verify(logger).error("[account-bidder]: BidResponse - {\"seatbid\":[{\"seat\":\"bidder\"}]}");
+    }
+
+    private static BidResponse givenBidResponse(String seat) {
+        return BidResponse.builder()
+                .seatbid(singletonList(SeatBid.builder().seat(seat).build()))
+                .build();
+    }
+
+    private static AuctionContext givenAuctionContext(String accountId) {
+        return AuctionContext.builder()
+                .account(Account.builder().id(accountId).build())
+                .bidRequest(BidRequest.builder().build())
+                .build();
+    }
+}
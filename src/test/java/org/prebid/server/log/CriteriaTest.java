@@ -5,10 +5,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.times;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class CriteriaTest {
@@ -16,51 +20,72 @@ public class CriteriaTest {
     @Mock
     private Logger logger;
 
+    @Mock
+    private BudgetedLogSink logSink;
+
     @Test
-    public void logResponseShouldLogResponseWhenAllNotNullCriteriasPresent() {
+    public void isMatchedShouldReturnTrueWhenAllNotNullCriteriasPresent() {
         // given
         final Criteria criteria = Criteria.create("account", null, Logger::error);
 
-        // when
-        criteria.logResponse("Response has account", logger);
-
-        // then
-        verify(logger).error(anyString());
+        // when and then
+        assertThat(criteria.isMatched("account", null)).isTrue();
     }
 
     @Test
-    public void logResponseShouldNotLogResponseWhenOneOfNotNullCriteriaMissing() {
+    public void isMatchedShouldReturnFalseWhenOneOfNotNullCriteriaMissing() {
         // given
         final Criteria criteria = Criteria.create("account", "bidder", Logger::error);
 
-        // when
-        criteria.logResponse("Response has account", logger);
+        // when and then
+        assertThat(criteria.isMatched("account", Set.of("otherBidder"))).isFalse();
+        assertThat(criteria.isMatched("account", null)).isFalse();
+    }
 
-        // then
-        verifyNoInteractions(logger);
+    @Test
+    public void isMatchedShouldNotMatchAccountBySubstring() {
+        // given
+        final Criteria criteria = Criteria.create("account", "bidder", Logger::error);
+
+        // when and then
+        assertThat(criteria.isMatched("account1", Set.of("bidder"))).isFalse();
+        assertThat(criteria.isMatched("account", Set.of("bidder"))).isTrue();
     }
 
     @Test
-    public void logResponseAndRequestShouldLogResponseWhenAllNotNullCriteriasPresent() {
+    public void logResponseShouldSubmitTaggedResponseToSink() {
         // given
-        final Criteria criteria = Criteria.create("account", null, Logger::error);
+        final Criteria criteria = Criteria.create("account", "bidder", Logger::error);
+        givenSinkRunsWrites();
 
         // when
-        criteria.logResponseAndRequest("Response has account", "Request", logger);
+        criteria.logResponse("response", logger, logSink);
 
         // then
-        verify(logger, times(2)).error(anyString());
+        verify(logger).error("[account-bidder]: BidResponse - response");
     }
 
     @Test
-    public void logResponseAndRequestShouldNotLogResponseWhenOneOfNotNullCriteriaMissing() {
+    public void logResponseAndRequestShouldSubmitResponseAndRequestToSinkAtOnce() {
         // given
-        final Criteria criteria = Criteria.create("account", "bidder", Logger::error);
+        final Criteria criteria = Criteria.create("account", null, Logger::error);
+        givenSinkRunsWrites();
 
         // when
-        criteria.logResponseAndRequest("Response has account", "Request", logger);
+        criteria.logResponseAndRequest("response", "request", logger, logSink);
 
         // then
-        verifyNoInteractions(logger);
+        final String responseMessage = "[account]: BidResponse - response";
+        final String requestMessage = "[account]: Resolved BidRequest - request";
+        verify(logSink).submit(eq((long) (responseMessage.length() + requestMessage.length())), any());
+        verify(logger).error(responseMessage);
+        verify(logger).error(requestMessage);
+    }
+
+    private void givenSinkRunsWrites() {
+        given(logSink.submit(anyLong(), any())).willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return true;
+        });
     }
 }
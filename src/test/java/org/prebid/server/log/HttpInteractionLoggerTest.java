@@ -3,6 +3,8 @@ package org.prebid.server.log;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
@@ -19,11 +22,14 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.settings.model.Account;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
+import java.util.concurrent.Callable;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.singletonList;
 import static java.util.function.UnaryOperator.identity;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -43,12 +49,17 @@ public class HttpInteractionLoggerTest extends VertxTest {
     private HttpServerRequest serverRequest;
     @Mock(strictness = LENIENT)
     private RequestBody requestBody;
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
 
     private HttpInteractionLogger target;
 
     @BeforeEach
     public void setUp() {
-        target = new HttpInteractionLogger(jacksonMapper);
+        given(vertx.executeBlocking(Mockito.<Callable<?>>any(), anyBoolean())).willAnswer(invocation ->
+                Future.succeededFuture(((Callable<?>) invocation.getArgument(0)).call()));
+
+        target = new HttpInteractionLogger(jacksonMapper, new BudgetedLogSink(vertx, Clock.systemUTC(), 100000L));
         given(routingContext.request()).willReturn(serverRequest);
         given(routingContext.body()).willReturn(requestBody);
         given(requestBody.asString()).willReturn("{}");
@@ -490,6 +490,17 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("analytics.analyticCode.setuid.badinput").getCount()).isOne();
     }
 
+    @Test
+    public void updateAnalyticsPipelineMetricsShouldUpdateMetricsAsExpected() {
+        // when
+        metrics.updateAnalyticsPipelineDroppedMetric(ANALYTIC_CODE, 3);
+        metrics.updateAnalyticsPipelineLagMetric(ANALYTIC_CODE, 100L);
+
+        // then
+        assertThat(metricRegistry.counter("analytics.analyticCode.pipeline.dropped").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.timer("analytics.analyticCode.pipeline.lag").getCount()).isOne();
+    }
+
     @Test
     public void updateFetchWithFetchResultShouldCreateMetricsAsExpected() {
         // when
@@ -1294,6 +1305,20 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("prebid_cache.module_storage.module_code.read.err").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldIncrementModuleStorageNearCacheMetric() {
+        // when
+        metrics.updateModuleStorageNearCacheMetric("module_code", MetricName.hit);
+        metrics.updateModuleStorageNearCacheMetric("module_code", MetricName.miss);
+        metrics.updateModuleStorageNearCacheMetric("module_code", MetricName.miss);
+
+        // then
+        assertThat(metricRegistry.counter("prebid_cache.module_storage.module_code.near_cache.hit").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.counter("prebid_cache.module_storage.module_code.near_cache.miss").getCount())
+                .isEqualTo(2);
+    }
+
     @Test
     public void shouldIncrementModuleStorageWritePrebidCacheRequestTimer() {
         // when
@@ -1459,6 +1484,24 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("settings.cache.account.hit").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateDomainCacheMetricShouldIncrementMetric() {
+        // when
+        metrics.updateDomainCacheMetric(MetricName.miss);
+
+        // then
+        assertThat(metricRegistry.counter("domain-cache.miss").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateDeviceDetectionCacheMetricShouldIncrementMetric() {
+        // when
+        metrics.updateDeviceDetectionCacheMetric(MetricName.hit);
+
+        // then
+        assertThat(metricRegistry.counter("device-detection-cache.hit").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateHooksMetricsShouldIncrementMetrics() {
         // when
@@ -1562,6 +1605,35 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateHooksMetricsShouldIncrementSkippedMetricWithoutCallAndDuration() {
+        // given
+        given(accountMetricsVerbosityResolver.forAccount(any())).willReturn(AccountMetricsVerbosityLevel.detailed);
+
+        // when
+        metrics.updateHooksMetrics(
+                "module1",
+                Stage.raw_auction_request,
+                "hook1",
+                ExecutionStatus.skipped,
+                0L,
+                ExecutionAction.no_invocation);
+        metrics.updateAccountHooksMetrics(
+                Account.empty("accountId"), "module1", ExecutionStatus.skipped, ExecutionAction.no_invocation);
+
+        // then
+        assertThat(metricRegistry.counter("modules.module.module1.stage.rawauction.hook.hook1.skipped").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.counter("modules.module.module1.stage.rawauction.hook.hook1.call").getCount())
+                .isZero();
+        assertThat(metricRegistry.timer("modules.module.module1.stage.rawauction.hook.hook1.duration").getCount())
+                .isZero();
+        assertThat(metricRegistry.counter("account.accountId.modules.module.module1.skipped").getCount())
+                .isEqualTo(1);
+        assertThat(metricRegistry.counter("account.accountId.modules.module.module1.failure").getCount())
+                .isZero();
+    }
+
     @Test
     public void updateAccountHooksMetricsShouldIncrementMetricsIfVerbosityIsDetailed() {
         // given
@@ -1647,6 +1719,27 @@ public class MetricsTest {
                 .isZero();
     }
 
+    @Test
+    public void updateModuleCacheMetricShouldIncrementMetric() {
+        // when
+        metrics.updateModuleCacheMetric("module1", MetricName.hit);
+        metrics.updateModuleCacheMetric("module1", MetricName.coalesced);
+        metrics.updateModuleCacheMetric("module1", MetricName.coalesced);
+
+        // then
+        assertThat(metricRegistry.counter("modules.module.module1.cache.hit").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("modules.module.module1.cache.coalesced").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateModuleCacheRequestTimeShouldUpdateTimer() {
+        // when
+        metrics.updateModuleCacheRequestTime("module1", 42L);
+
+        // then
+        assertThat(metricRegistry.timer("modules.module.module1.cache.request_time").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void shouldIncrementRequestsActivityDisallowedCount() {
         // when
@@ -1726,6 +1819,26 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateStartupPhaseMetricShouldUpdateTimer() {
+        // when
+        metrics.updateStartupPhaseMetric(MetricName.bidder_catalog, 123L);
+
+        // then
+        assertThat(metricRegistry.timer("startup.bidder-catalog.duration").getCount()).isOne();
+    }
+
+    @Test
+    public void updateHttpClientHedgingMetricShouldIncrementMetric() {
+        // when
+        metrics.updateHttpClientHedgingMetric("cache", MetricName.hedged);
+        metrics.updateHttpClientHedgingMetric("cache", MetricName.hedge_wins);
+
+        // then
+        assertThat(metricRegistry.counter("http-client.hedging.cache.hedged").getCount()).isOne();
+        assertThat(metricRegistry.counter("http-client.hedging.cache.hedge-wins").getCount()).isOne();
+    }
+
     private void verifyCreatesConfiguredCounterType(Consumer<Metrics> metricsConsumer) {
         final EnumMap<CounterType, Class<? extends Metric>> counterTypeClasses = new EnumMap<>(CounterType.class);
         counterTypeClasses.put(CounterType.counter, Counter.class);
@@ -17,6 +17,7 @@ import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
+import org.prebid.server.vertx.TimingWheel;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
@@ -67,7 +68,8 @@ public class S3ApplicationSettingsTest extends VertxTest {
                 STORED_REQUESTS_DIR,
                 STORED_RESPONSES_DIR,
                 jacksonMapper,
-                vertx);
+                vertx,
+                new TimingWheel(vertx, 5L, 512));
 
         given(timeout.remaining()).willReturn(500L);
     }
@@ -0,0 +1,112 @@
+package org.prebid.server.util;
+
+import io.vertx.uritemplate.ExpandOptions;
+import io.vertx.uritemplate.UriTemplate;
+import io.vertx.uritemplate.Variables;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class CompiledUriTemplateTest {
+
+    @Test
+    public void compileShouldReturnNullWhenTemplateHasOperatorExpression() {
+        // when and then
+        assertThat(CompiledUriTemplate.compile("https://prebid.org/{+path}")).isNull();
+        assertThat(CompiledUriTemplate.compile("https://prebid.org/{a,b}")).isNull();
+        assertThat(CompiledUriTemplate.compile("https://prebid.org/{path:3}")).isNull();
+    }
+
+    @Test
+    public void compileShouldReturnNullWhenTemplateHasUnclosedExpression() {
+        // when and then
+        assertThat(CompiledUriTemplate.compile("https://prebid.org/{path")).isNull();
+    }
+
+    @Test
+    public void expandShouldReplaceMacrosAndPreserveLiterals() {
+        // given
+        final CompiledUriTemplate template = CompiledUriTemplate.compile("https://{host}.prebid.org/%20{path}?a=b");
+        final Map<String, Object> macros = new HashMap<>();
+        macros.put("host", "test");
+        macros.put("path", List.of("a", "b"));
+
+        // when and then
+        assertThat(template.expand(macros, emptyMap())).isEqualTo("https://test.prebid.org/%20a,b?a=b");
+    }
+
+    @Test
+    public void expandShouldExpandEmptyListMacroSameAsUriTemplate() {
+        // given
+        final String template = "https://prebid.org/{path}?a=b";
+        final Map<String, Object> macros = new HashMap<>();
+        macros.put("path", emptyList());
+
+        // when
+        final String result = CompiledUriTemplate.compile(template).expand(macros, emptyMap());
+
+        // then
+        final String expected = UriTemplate.of(template).expandToString(
+                Variables.variables().set("path", emptyList()),
+                new ExpandOptions().setAllowVariableMiss(false));
+        assertThat(result).isEqualTo(expected).isEqualTo("https://prebid.org/?a=b");
+    }
+
+    @Test
+    public void expandShouldThrowIllegalStateExceptionWhenMacroValueHasUnsupportedType() {
+        // given
+        final CompiledUriTemplate template = CompiledUriTemplate.compile("https://{host}.prebid.org");
+
+        // when and then
+        assertThatIllegalStateException()
+                .isThrownBy(() -> template.expand(Map.of("host", 1), emptyMap()))
+                .withMessage("Variable host has unsupported value type: java.lang.Integer");
+    }
+
+    @Test
+    public void expandShouldThrowNoSuchElementExceptionWhenMacroIsMissing() {
+        // given
+        final CompiledUriTemplate template = CompiledUriTemplate.compile("https://{host}.prebid.org");
+
+        // when and then
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> template.expand(emptyMap(), emptyMap()))
+                .withMessage("Variable host is missing");
+    }
+
+    @Test
+    public void expandShouldAppendQueryParamsWithProperSeparator() {
+        // given
+        final Map<String, String> queryParams = new LinkedHashMap<>();
+        queryParams.put("a", "1");
+        queryParams.put("b", "2");
+
+        // when and then
+        assertThat(CompiledUriTemplate.compile("https://prebid.org").expand(emptyMap(), queryParams))
+                .isEqualTo("https://prebid.org?a=1&b=2");
+        assertThat(CompiledUriTemplate.compile("https://prebid.org?c=3").expand(emptyMap(), queryParams))
+                .isEqualTo("https://prebid.org?c=3&a=1&b=2");
+    }
+
+    @Test
+    public void encodeShouldPercentEncodeEverythingExceptUnreservedCharacters() {
+        // when and then
+        assertThat(CompiledUriTemplate.encode("aZ0-._~ /?&=%")).isEqualTo("aZ0-._~%20%2F%3F%26%3D%25");
+    }
+
+    @Test
+    public void encodeShouldEncodeMultiByteCharactersAsUtf8() {
+        // when and then
+        assertThat(CompiledUriTemplate.encode("é€😀")).isEqualTo("%C3%A9%E2%82%AC%F0%9F%98%80");
+    }
+}
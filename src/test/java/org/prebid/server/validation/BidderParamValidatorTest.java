@@ -96,6 +96,61 @@ public class BidderParamValidatorTest extends VertxTest {
                         bidderCatalog, "org/prebid/server/validation/schema/invalid", jacksonMapper));
     }
 
+    @Test
+    public void createShouldNotFailOnInvalidSchemaPathForInactiveBiddersWhenLazyLoadEnabled() {
+        // given
+        given(bidderCatalog.isActive(anyString())).willReturn(false);
+
+        // when and then
+        assertThat(BidderParamValidator.create(bidderCatalog, "noschema", jacksonMapper, true)).isNotNull();
+    }
+
+    @Test
+    public void createShouldFailOnInvalidSchemaPathForActiveBiddersWhenLazyLoadEnabled() {
+        // given
+        given(bidderCatalog.isActive(anyString())).willReturn(true);
+
+        // when and then
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> BidderParamValidator.create(bidderCatalog, "noschema", jacksonMapper, true));
+    }
+
+    @Test
+    public void validateShouldLoadSchemaOfInactiveBidderOnFirstUseWhenLazyLoadEnabled() {
+        // given
+        given(bidderCatalog.isActive(anyString())).willReturn(false);
+        given(bidderCatalog.configuredName(eq("MAGnite"))).willReturn(MAGNITE);
+
+        bidderParamValidator = BidderParamValidator.create(
+                bidderCatalog, "static/bidder-params", jacksonMapper, true);
+
+        final ExtImpMagnite ext = ExtImpMagnite.builder().siteId(2).zoneId(3).build();
+        final JsonNode node = mapper.convertValue(ext, JsonNode.class);
+
+        // when
+        final Set<String> messages = bidderParamValidator.validate("MAGnite", node);
+
+        // then
+        assertThat(messages).hasSize(1);
+    }
+
+    @Test
+    public void schemaShouldReturnSchemasStringWhenLazyLoadEnabled() throws IOException {
+        // given
+        given(bidderCatalog.names()).willReturn(new HashSet<>(asList("test-magnite", "test-appnexus")));
+        given(bidderCatalog.isActive(anyString())).willReturn(false);
+
+        bidderParamValidator = BidderParamValidator.create(
+                bidderCatalog, "org/prebid/server/validation/schema/valid", jacksonMapper, true);
+
+        // when
+        final String result = bidderParamValidator.schemas();
+
+        // then
+        assertThat(result).isEqualTo(ResourceUtil.readFromClasspath(
+                "org/prebid/server/validation/schema//valid/test-schemas.json"));
+    }
+
     @Test
     public void validateShouldNotReturnValidationMessagesWhenMagniteImpExtIsOkIgnoringCase() {
         // given
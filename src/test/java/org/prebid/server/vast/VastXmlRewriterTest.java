@@ -0,0 +1,66 @@
+package org.prebid.server.vast;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VastXmlRewriterTest {
+
+    private static final String IMPRESSION = "<Impression><![CDATA[url]]></Impression>";
+
+    @Test
+    public void insertImpressionTrackingShouldReturnNullWhenNeitherInLineNorWrapperPresent() {
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking("<VAST><Ad></Ad></VAST>", "url")).isNull();
+        assertThat(VastXmlRewriter.insertImpressionTracking("<InLineAd></InLineAd>", "url")).isNull();
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldReturnSameDocumentWhenElementIsNotClosed() {
+        // given
+        final String vastXml = "<InLine><Creatives>";
+
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking(vastXml, "url")).isSameAs(vastXml);
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldPreferInLineOverPrecedingWrapper() {
+        // given
+        final String vastXml = "<Wrapper></Wrapper><InLine></InLine>";
+
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking(vastXml, "url"))
+                .isEqualTo("<Wrapper></Wrapper><InLine>" + IMPRESSION + "</InLine>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldIgnoreImpressionsBeforeElement() {
+        // given
+        final String vastXml = "<Impression>a</Impression><Wrapper><Creatives/></Wrapper>";
+
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking(vastXml, "url"))
+                .isEqualTo("<Impression>a</Impression><Wrapper><Creatives/>" + IMPRESSION + "</Wrapper>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldNotMatchTagWithAttributesBrokenByNewLine() {
+        // given
+        final String vastXml = "<InLine id=\"1\"\n></InLine><Wrapper></Wrapper>";
+
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking(vastXml, "url"))
+                .isEqualTo("<InLine id=\"1\"\n></InLine><Wrapper>" + IMPRESSION + "</Wrapper>");
+    }
+
+    @Test
+    public void insertImpressionTrackingShouldAllowNewLineRightAfterTagName() {
+        // given
+        final String vastXml = "<InLine\nid=\"1\"><Impression>a</Impression\n></InLine>";
+
+        // when and then
+        assertThat(VastXmlRewriter.insertImpressionTracking(vastXml, "url"))
+                .isEqualTo("<InLine\nid=\"1\"><Impression>a</Impression\n>" + IMPRESSION + "</InLine>");
+    }
+}
@@ -0,0 +1,158 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class MicroBatcherTest {
+
+    @Mock
+    private Vertx vertx;
+
+    private final List<List<String>> processedBatches = new ArrayList<>();
+
+    @Test
+    public void creationShouldFailOnNegativeMaxWait() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new MicroBatcher<>(vertx, -1L, 3, String::length, this::process))
+                .withMessage("Batch max wait should not be negative: -1");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveMaxSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new MicroBatcher<>(vertx, 5L, 0, String::length, this::process))
+                .withMessage("Batch max size should be positive: 0");
+    }
+
+    @Test
+    public void submitShouldProcessItemsOfSameKeyInOneBatchWhenMaxWaitIsReached() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        final MicroBatcher<String, String, String> target = givenMicroBatcher(5L, 10);
+
+        // when
+        final Future<String> firstResult = target.submit("key", "a");
+        final Future<String> secondResult = target.submit("key", "b");
+
+        // then
+        assertThat(processedBatches).isEmpty();
+        assertThat(firstResult.isComplete()).isFalse();
+
+        captureTimerHandler().handle(1L);
+
+        assertThat(processedBatches).containsExactly(List.of("a", "b"));
+        assertThat(firstResult.result()).isEqualTo("key:a");
+        assertThat(secondResult.result()).isEqualTo("key:b");
+    }
+
+    @Test
+    public void submitShouldProcessBatchRightAwayWhenItemsSizeReachesMaxSize() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        final MicroBatcher<String, String, String> target = givenMicroBatcher(5L, 4);
+
+        // when
+        target.submit("key", "ab");
+        final Future<String> result = target.submit("key", "cd");
+
+        // then
+        assertThat(processedBatches).containsExactly(List.of("ab", "cd"));
+        assertThat(result.result()).isEqualTo("key:cd");
+        verify(vertx).cancelTimer(1L);
+    }
+
+    @Test
+    public void submitShouldNotProcessBatchAgainWhenTimerOfProcessedBatchFires() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L);
+        final MicroBatcher<String, String, String> target = givenMicroBatcher(5L, 2);
+        target.submit("key", "a");
+        target.submit("key", "b");
+
+        // when
+        captureTimerHandler().handle(1L);
+
+        // then
+        assertThat(processedBatches).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    public void submitShouldKeepSeparateBatchesPerKey() {
+        // given
+        given(vertx.setTimer(eq(5L), any())).willReturn(1L, 2L);
+        final MicroBatcher<String, String, String> target = givenMicroBatcher(5L, 2);
+
+        // when
+        final Future<String> firstResult = target.submit("first", "a");
+        final Future<String> secondResult = target.submit("second", "b");
+        target.submit("first", "c");
+
+        // then
+        assertThat(processedBatches).containsExactly(List.of("a", "c"));
+        assertThat(firstResult.result()).isEqualTo("first:a");
+        assertThat(secondResult.isComplete()).isFalse();
+    }
+
+    @Test
+    public void submitShouldProcessItemRightAwayWhenMaxWaitIsZero() {
+        // given
+        final MicroBatcher<String, String, String> target = givenMicroBatcher(0L, 10);
+
+        // when
+        final Future<String> result = target.submit("key", "a");
+
+        // then
+        assertThat(result.result()).isEqualTo("key:a");
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+
+    @Test
+    public void submitShouldCompleteItemsWithResultsOfProcessor() {
+        // given
+        final MicroBatcher<String, String, String> target = new MicroBatcher<>(vertx, 0L, 10, String::length,
+                (key, items) -> List.of(Future.failedFuture("failed " + items.getFirst())));
+
+        // when
+        final Future<String> result = target.submit("key", "a");
+
+        // then
+        assertThat(result.cause()).hasMessage("failed a");
+    }
+
+    private MicroBatcher<String, String, String> givenMicroBatcher(long maxWaitMs, int maxBatchSize) {
+        return new MicroBatcher<>(vertx, maxWaitMs, maxBatchSize, String::length, this::process);
+    }
+
+    private List<Future<String>> process(String key, List<String> items) {
+        processedBatches.add(items);
+        return items.stream()
+                .map(item -> Future.succeededFuture(key + ":" + item))
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Handler<Long> captureTimerHandler() {
+        final ArgumentCaptor<Handler<Long>> timerHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setTimer(anyLong(), timerHandlerCaptor.capture());
+        return timerHandlerCaptor.getValue();
+    }
+}
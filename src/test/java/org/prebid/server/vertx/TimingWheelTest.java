@@ -0,0 +1,79 @@
+package org.prebid.server.vertx;
+
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(VertxExtension.class)
+public class TimingWheelTest {
+
+    @Test
+    public void creationShouldFailOnNonPositiveTick(Vertx vertx) {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TimingWheel(vertx, 0L, 512));
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveWheelSize(Vertx vertx) {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TimingWheel(vertx, 5L, 0));
+    }
+
+    @Test
+    public void scheduleShouldRunTaskOnEventLoopNotBeforeDelay(Vertx vertx, VertxTestContext context) {
+        // given
+        final TimingWheel timingWheel = new TimingWheel(vertx, 5L, 8);
+
+        // when
+        vertx.runOnContext(ignored -> {
+            final long startNanos = System.nanoTime();
+            timingWheel.schedule(70L, () -> context.verify(() -> {
+                assertThat(Vertx.currentContext()).isNotNull();
+                assertThat((System.nanoTime() - startNanos) / 1_000_000).isGreaterThanOrEqualTo(70L);
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void cancelShouldPreventTaskFromRunning(Vertx vertx, VertxTestContext context) {
+        // given
+        final TimingWheel timingWheel = new TimingWheel(vertx, 5L, 512);
+        final AtomicBoolean cancelledTaskRun = new AtomicBoolean();
+
+        // when
+        vertx.runOnContext(ignored -> {
+            timingWheel.schedule(10L, () -> cancelledTaskRun.set(true)).cancel();
+            timingWheel.schedule(50L, () -> context.verify(() -> {
+                assertThat(cancelledTaskRun).isFalse();
+                context.completeNow();
+            }));
+        });
+    }
+
+    @Test
+    public void scheduleShouldFallBackToVertxTimerOutsideOfEventLoop() {
+        // given
+        final Vertx vertx = mock(Vertx.class);
+        given(vertx.setTimer(eq(100L), any())).willReturn(1L);
+        final TimingWheel timingWheel = new TimingWheel(vertx, 5L, 512);
+
+        // when
+        timingWheel.schedule(100L, () -> {
+        }).cancel();
+
+        // then
+        verify(vertx).setTimer(eq(100L), any());
+        verify(vertx).cancelTimer(1L);
+    }
+}
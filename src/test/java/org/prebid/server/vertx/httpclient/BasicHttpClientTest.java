@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.vertx.TimingWheel;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -58,7 +59,7 @@ public class BasicHttpClientTest {
         given(httpClientRequest.send()).willReturn(Future.succeededFuture(httpClientResponse));
         given(httpClientRequest.send(any(Buffer.class))).willReturn(Future.succeededFuture(httpClientResponse));
 
-        httpClient = new BasicHttpClient(vertx, wrappedHttpClient);
+        httpClient = new BasicHttpClient(new TimingWheel(vertx, 5L, 512), wrappedHttpClient);
     }
 
     @Test
@@ -149,7 +150,8 @@ public class BasicHttpClientTest {
     @Test
     public void requestShouldFailIfHttpRequestTimedOut(Vertx vertx, VertxTestContext context) {
         // given
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(
+                new TimingWheel(vertx, 5L, 512), vertx.createHttpClient());
         final int serverPort = 7777;
 
         startServer(serverPort, 2000L, 0L);
@@ -169,7 +171,8 @@ public class BasicHttpClientTest {
     @Test
     public void requestShouldFailIfHttpResponseTimedOut(Vertx vertx, VertxTestContext context) {
         // given
-        final BasicHttpClient httpClient = new BasicHttpClient(vertx, vertx.createHttpClient());
+        final BasicHttpClient httpClient = new BasicHttpClient(
+                new TimingWheel(vertx, 5L, 512), vertx.createHttpClient());
         final int serverPort = 8888;
 
         startServer(serverPort, 0L, 2000L);
@@ -0,0 +1,138 @@
+package org.prebid.server.vertx.httpclient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitedHttpClientTest {
+
+    @Mock
+    private HttpClient wrappedHttpClient;
+    @Mock
+    private Metrics metrics;
+
+    private ConcurrencyLimitedHttpClient httpClient;
+
+    @BeforeEach
+    public void setUp() {
+        httpClient = new ConcurrencyLimitedHttpClient(wrappedHttpClient, metrics, 2, 1, 4, 0.5, 24);
+    }
+
+    @Test
+    public void requestShouldFailOnInvalidUrl() {
+        // when and then
+        assertThatThrownBy(() -> httpClient.request(HttpMethod.GET, "invalid_url", null, (String) null, 0L))
+                .isInstanceOf(PreBidException.class)
+                .hasMessage("Invalid url: invalid_url");
+    }
+
+    @Test
+    public void requestShouldShedRequestsAboveLimit() {
+        // given
+        givenHttpClientReturning(Promise.<HttpClientResponse>promise().future());
+
+        // when
+        doRequest("http://bidder.com/a");
+        doRequest("http://bidder.com/b");
+        final Future<HttpClientResponse> shed = doRequest("http://bidder.com/c");
+
+        // then
+        assertThat(shed.failed()).isTrue();
+        assertThat(shed.cause())
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessage("Concurrency limit of 2 in-flight requests to http://bidder.com has been reached");
+        verify(wrappedHttpClient, times(2)).request(any(), anyString(), any(), (String) any(), anyLong(), anyLong());
+        verify(metrics).updateHttpClientConcurrencyLimitMetric("http_bidder_com", MetricName.shed);
+    }
+
+    @Test
+    public void requestShouldTrackLimitPerHost() {
+        // given
+        givenHttpClientReturning(Promise.<HttpClientResponse>promise().future());
+
+        // when
+        doRequest("http://bidder.com");
+        doRequest("http://bidder.com");
+        final Future<HttpClientResponse> otherHost = doRequest("http://other.com");
+
+        // then
+        assertThat(otherHost.isComplete()).isFalse();
+        verify(metrics, never()).updateHttpClientConcurrencyLimitMetric(any(), any());
+    }
+
+    @Test
+    public void requestShouldReleaseSlotWhenRequestCompletes() {
+        // given
+        givenHttpClientReturning(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        // when
+        doRequest("http://bidder.com");
+        doRequest("http://bidder.com");
+        final Future<HttpClientResponse> third = doRequest("http://bidder.com");
+
+        // then
+        assertThat(third.succeeded()).isTrue();
+    }
+
+    @Test
+    public void requestShouldDecreaseLimitOnTimeout() {
+        // given
+        final Promise<HttpClientResponse> pending = Promise.promise();
+        givenHttpClientReturning(
+                Future.failedFuture(new TimeoutException("Timeout")),
+                pending.future());
+
+        // when
+        doRequest("http://bidder.com");
+        doRequest("http://bidder.com");
+        final Future<HttpClientResponse> shed = doRequest("http://bidder.com");
+
+        // then
+        verify(metrics).updateHttpClientConcurrencyLimitMetric("http_bidder_com", MetricName.limit_decreased);
+        assertThat(shed.cause()).isInstanceOf(ConcurrencyLimitExceededException.class);
+    }
+
+    @Test
+    public void requestShouldDecreaseLimitOnThrottlingResponse() {
+        // given
+        givenHttpClientReturning(Future.succeededFuture(HttpClientResponse.of(429, null, null)));
+
+        // when
+        doRequest("http://bidder.com");
+
+        // then
+        verify(metrics).updateHttpClientConcurrencyLimitMetric("http_bidder_com", MetricName.limit_decreased);
+    }
+
+    @SafeVarargs
+    private void givenHttpClientReturning(Future<HttpClientResponse> result, Future<HttpClientResponse>... results) {
+        given(wrappedHttpClient.request(any(), anyString(), any(), (String) any(), anyLong(), anyLong()))
+                .willReturn(result, results);
+    }
+
+    private Future<HttpClientResponse> doRequest(String url) {
+        return httpClient.request(HttpMethod.GET, url, null, (String) null, 0L);
+    }
+}
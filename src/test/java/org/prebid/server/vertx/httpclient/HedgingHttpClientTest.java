@@ -0,0 +1,220 @@
+package org.prebid.server.vertx.httpclient;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.model.HedgingPolicy;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.time.Clock;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(VertxExtension.class)
+public class HedgingHttpClientTest {
+
+    private static final String CLIENT_NAME = "test";
+
+    private Vertx vertx;
+
+    @Mock
+    private HttpClient wrappedHttpClient;
+    @Mock
+    private Metrics metrics;
+    @Mock
+    private Clock clock;
+    @Captor
+    private ArgumentCaptor<Future<Void>> cancellationCaptor;
+
+    private HedgingHttpClient httpClient;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+        httpClient = new HedgingHttpClient(
+                vertx, wrappedHttpClient, metrics, CLIENT_NAME, HedgingPolicy.of(50, 20L, 1), Clock.systemUTC());
+    }
+
+    @AfterEach
+    public void tearDown(VertxTestContext context) {
+        vertx.close().onComplete(context.succeedingThenComplete());
+    }
+
+    @Test
+    public void requestShouldNotHedgeUntilLatenciesAreObserved() {
+        // given
+        final Promise<HttpClientResponse> pending = Promise.promise();
+        givenHttpClientReturning(pending.future());
+
+        // when
+        final Future<HttpClientResponse> future = doRequest();
+
+        // then
+        assertThat(future.isComplete()).isFalse();
+        verify(wrappedHttpClient)
+                .request(any(), anyString(), any(), (byte[]) any(), eq(1000L), anyLong(), isNull());
+        verify(metrics).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.requests);
+        verify(metrics, never()).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.hedged);
+    }
+
+    @Test
+    public void requestShouldReturnHedgedResponseAndCancelPrimaryWhenPrimaryIsSlow(VertxTestContext context) {
+        // given
+        warmUp();
+
+        final Promise<HttpClientResponse> primary = Promise.promise();
+        final HttpClientResponse hedgedResponse = HttpClientResponse.of(200, null, "hedged");
+        givenHttpClientReturning(primary.future(), Future.succeededFuture(hedgedResponse));
+
+        // when
+        final Future<HttpClientResponse> future = doRequest();
+
+        // then
+        future.onComplete(context.succeeding(response -> context.verify(() -> {
+            assertThat(response).isSameAs(hedgedResponse);
+
+            verify(wrappedHttpClient, times(3))
+                    .request(any(), anyString(), any(), (byte[]) any(), anyLong(), anyLong(),
+                            cancellationCaptor.capture());
+            assertThat(cancellationCaptor.getAllValues().get(1).isComplete()).isTrue();
+
+            verify(metrics).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.hedged);
+            verify(metrics).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.hedge_wins);
+            context.completeNow();
+        })));
+    }
+
+    @Test
+    public void requestShouldNotHedgeWhenPrimaryRespondsBeforeDelay(VertxTestContext context) {
+        // given
+        warmUp();
+
+        final Promise<HttpClientResponse> primary = Promise.promise();
+        givenHttpClientReturning(primary.future());
+
+        // when
+        final Future<HttpClientResponse> future = doRequest();
+        primary.complete(HttpClientResponse.of(200, null, "primary"));
+
+        // then
+        vertx.setTimer(100L, ignored -> context.verify(() -> {
+            assertThat(future.result().getBody()).isEqualTo("primary");
+            verify(wrappedHttpClient, times(2))
+                    .request(any(), anyString(), any(), (byte[]) any(), anyLong(), anyLong(), any());
+            verify(metrics, never()).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.hedged);
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void requestShouldFailWhenBothRequestsFail(VertxTestContext context) {
+        // given
+        warmUp();
+
+        final Promise<HttpClientResponse> primary = Promise.promise();
+        final Promise<HttpClientResponse> hedge = Promise.promise();
+        givenHttpClientReturning(primary.future(), hedge.future());
+        vertx.setTimer(50L, ignored -> {
+            primary.fail(new RuntimeException("primary"));
+            hedge.fail(new RuntimeException("hedge"));
+        });
+
+        // when
+        final Future<HttpClientResponse> future = doRequest();
+
+        // then
+        future.onComplete(context.failing(throwable -> context.verify(() -> {
+            assertThat(throwable).isNotInstanceOf(CancellationException.class).hasMessage("hedge");
+            context.completeNow();
+        })));
+    }
+
+    @Test
+    public void requestShouldNotHedgeNonIdempotentRequests(VertxTestContext context) {
+        // given
+        warmUp();
+
+        final Promise<HttpClientResponse> primary = Promise.promise();
+        givenHttpClientReturning(primary.future());
+
+        // when
+        final Future<HttpClientResponse> future = httpClient.request(
+                HttpMethod.POST, "http://localhost", null, (byte[]) null, 1000L, 0L);
+
+        // then
+        vertx.setTimer(100L, ignored -> context.verify(() -> {
+            assertThat(future.isComplete()).isFalse();
+            verify(wrappedHttpClient)
+                    .request(eq(HttpMethod.POST), anyString(), any(), (byte[]) any(), eq(1000L), anyLong(), isNull());
+            verify(metrics).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.requests);
+            verify(metrics, never()).updateHttpClientHedgingMetric(CLIENT_NAME, MetricName.hedged);
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void requestShouldRecordLatencyOfHedgeWinnerFromPrimaryStart(VertxTestContext context) {
+        // given
+        httpClient = new HedgingHttpClient(
+                vertx, wrappedHttpClient, metrics, CLIENT_NAME, HedgingPolicy.of(50, 20L, 1), clock);
+        // warm-up request takes 0 ms, the hedged one starts at 1000 and its hedge wins at 1100
+        given(clock.millis()).willReturn(0L, 0L, 1000L, 1100L);
+        warmUp();
+
+        givenHttpClientReturning(
+                Promise.<HttpClientResponse>promise().future(),
+                Future.succeededFuture(HttpClientResponse.of(200, null, "hedged")));
+
+        // when
+        final Future<HttpClientResponse> future = doRequest();
+
+        // then
+        future.onComplete(context.succeeding(ignored -> context.verify(() -> {
+            // hedge delay became 100 ms, which is not less than the timeout, so the request is not hedged
+            httpClient.request(HttpMethod.GET, "http://localhost", null, (byte[]) null, 100L, 0L);
+
+            verify(wrappedHttpClient)
+                    .request(any(), anyString(), any(), (byte[]) any(), eq(100L), anyLong(), isNull());
+            context.completeNow();
+        })));
+    }
+
+    private void warmUp() {
+        givenHttpClientReturning(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        doRequest();
+    }
+
+    @SafeVarargs
+    private void givenHttpClientReturning(Future<HttpClientResponse> result, Future<HttpClientResponse>... results) {
+        given(wrappedHttpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong(), anyLong(), any()))
+                .willReturn(result, results);
+    }
+
+    private Future<HttpClientResponse> doRequest() {
+        return httpClient.request(HttpMethod.GET, "http://localhost", null, (byte[]) null, 1000L, 0L);
+    }
+}